@@ -182,6 +182,7 @@ public class DisplayApplication extends Application{
 				log.error( "tspModel for '" + jsonFile + "' is null! Skip to next json result file if existing!" );
 				continue;
 			}
+			tspModel.calculateDistancesIfMissing();
 
 
 			//TODO generalize log warnings
@@ -326,7 +327,7 @@ public class DisplayApplication extends Application{
 					} else {
 						normalizedDroneFlightRange = ((Pdstsp)tspModel).getDroneFlightRange();
 					}
-					normalizedDroneFlightRange *= (calculateDistance( nodes[0], nodes[1] ) / tspModel.getDistances()[0][1]);
+					normalizedDroneFlightRange *= (calculateDistance( nodes[0], nodes[1] ) / tspModel.getDistances().get( 0, 1 ));
 					log.info( "normalized drone flight range: " + normalizedDroneFlightRange );
 					drawDroneFlightRange( gc, nodes[0], normalizedDroneFlightRange );
 				}
@@ -342,9 +343,9 @@ public class DisplayApplication extends Application{
 				if( iterationCount > 0 ){
 					if( tspType.equals( Defines.PDSTSP ) ){
 						PdstspIterationResult pdstspIterationResult = (PdstspIterationResult)iterationResult;
-						ArrayList<Integer>[] dronesCustomers = pdstspIterationResult.getDronesCustomers();
-						for( int v = 0; v < dronesCustomers.length; v++ ){
-							for(int droneCustomer : dronesCustomers[v]){
+						ArrayList<ArrayList<Integer>> dronesCustomers = pdstspIterationResult.getDronesCustomers();
+						for( int v = 0; v < dronesCustomers.size(); v++ ){
+							for(int droneCustomer : dronesCustomers.get( v )){
 								drawEdge( gc, new Edge( nodes[0], nodes[droneCustomer], Edge.EdgeType.DRONE ), DRONE_EDGE_COLORS[v], DASHES_DISTANCE );
 							}
 						}
@@ -0,0 +1,27 @@
+package de.hbrs.inf.tsp;
+
+//heuristic solution, which is found in a callback and submitted to the solver, values of vars which are not given are completed by the solver
+public class CallbackSolution{
+
+	private final double objective;
+	private final int[] vars;
+	private final double[] values;
+
+	public CallbackSolution( double objective, int[] vars, double[] values ){
+		this.objective = objective;
+		this.vars = vars;
+		this.values = values;
+	}
+
+	public double getObjective(){
+		return objective;
+	}
+
+	public int[] getVars(){
+		return vars;
+	}
+
+	public double[] getValues(){
+		return values;
+	}
+}
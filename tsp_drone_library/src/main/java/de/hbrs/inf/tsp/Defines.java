@@ -6,10 +6,17 @@ public class Defines{
 	public static final String PDSTSP = "PDSTSP";
 	public static final String FSTSP = "FSTSP";
 
+	//the tsplib distances are multiplied by this factor, so the integer travel times of the slower vehicle keep their precision
+	public static final int DISTANCE_SCALE_FACTOR = 100;
+
+	//the depot has degree 2, so the truck of the heuristics has to serve at least 2 customers
+	public static final int MIN_TRUCK_CUSTOMERS = 2;
+
 	public static class Strings {
 		public static final String TYPE = "Type";
 		public static final String NAME = "Name";
 		public static final String IS_LAZY_ACTIVE = "IsLazyActive";
+		public static final String IS_USER_CUTS_ACTIVE = "IsUserCutsActive";
 		public static final String HOSTNAME = "Hostname";
 		public static final String DIMENSION = "Dimension";
 		public static final String RUNTIME_TOTAL = "RuntimeTotal [s]";
@@ -21,6 +28,9 @@ public class Defines{
 		public static final String DECISION_VARIABLES = "DecisionVariables";
 		public static final String TOTAL_CONSTRAINTS = "TotalConstraints";
 		public static final String ADDITIONAL_CONSTRAINTS = "AdditionalConstraints";
+		public static final String USER_CUTS = "UserCuts";
+		public static final String LAZY_CONSTRAINT_POOL_SIZE = "LazyConstraintPoolSize";
+		public static final String LAZY_CONSTRAINT_DUPLICATE_RATE = "LazyConstraintDuplicateRate";
 		public static final String ITERATIONS = "Iterations";
 		public static final String TRUCK_SPEED = "TruckSpeed";
 		public static final String DRONE_SPEED = "DroneSpeed";
@@ -34,6 +44,7 @@ public class Defines{
 		public static final String MAX_RUNTIME_SECONDS = "MaxSeconds";
 		public static final String TEST_DESCRIPTION = "testDescription";
 		public static final String PRESOLVE_HEURISTIC_TYPE = "PresolveHeuristicType";
+		public static final String BACKEND_TYPE = "BackendType";
 		public static final String OBJECTIVE_BOUND = "ObjectiveBound";
 		public static final String OBJECTIVE_GAP = "ObjectiveGap";
 		public static final String POSSIBLE_DRONE_FLIGHTS = "PossibleDroneFlights";
@@ -41,7 +52,7 @@ public class Defines{
 
 	public enum PresolveHeuristicType{
 
-		NONE( "None" ), TSP( "TSP" ), FSTSP( "FSTSP" );
+		NONE( "None" ), TSP( "TSP" ), FSTSP( "FSTSP" ), LOCAL_SEARCH( "Local_Search" ), LIN_KERNIGHAN( "Lin_Kernighan" ), PDSTSP( "PDSTSP" );
 
 		private String type;
 
@@ -54,4 +65,34 @@ public class Defines{
 		}
 	}
 
+	public enum TruckEdgeSparsificationType{
+
+		NONE( "None" ), K_NEAREST( "K_Nearest" ), QUADRANT( "Quadrant" );
+
+		private String type;
+
+		TruckEdgeSparsificationType( String type ){
+			this.type = type.toUpperCase();
+		}
+
+		public String getType(){
+			return type;
+		}
+	}
+
+	public enum BackendType{
+
+		GUROBI( "Gurobi" ), BRANCH_AND_BOUND( "Branch_And_Bound" ), ALNS( "ALNS" );
+
+		private String type;
+
+		BackendType( String type ){
+			this.type = type.toUpperCase();
+		}
+
+		public String getType(){
+			return type;
+		}
+	}
+
 }
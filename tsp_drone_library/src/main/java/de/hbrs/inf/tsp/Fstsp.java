@@ -1,7 +1,18 @@
 package de.hbrs.inf.tsp;
 
-import de.hbrs.inf.tsp.gurobi.GurobiConstraint;
-import gurobi.*;
+import de.hbrs.inf.tsp.backend.CallbackContext;
+import de.hbrs.inf.tsp.backend.Constraint;
+import de.hbrs.inf.tsp.backend.LinExpr;
+import de.hbrs.inf.tsp.backend.Sense;
+import de.hbrs.inf.tsp.backend.SolverBackend;
+import de.hbrs.inf.tsp.backend.SolverException;
+import de.hbrs.inf.tsp.backend.VarType;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import de.hbrs.inf.tsp.graph.PossibleDroneFlights;
+import de.hbrs.inf.tsp.graph.TruckEdgeSolution;
+import de.hbrs.inf.tsp.heuristic.FstspAlns;
+import de.hbrs.inf.tsp.heuristic.FstspHeuristic;
+import de.hbrs.inf.tsp.heuristic.SubtourRepair;
 import org.apache.log4j.Logger;
 
 import java.util.*;
@@ -9,17 +20,18 @@ import java.util.*;
 public class Fstsp extends TspModel{
 
 	private double truckSpeed;
-	private int[][] truckTimes;
+	private DistanceMatrix truckTimes;
 	private double droneSpeed;
 	private double droneFlightTime;
-	private int[][] droneTimes;
+	private DistanceMatrix droneTimes;
 	private int[] droneDeliveryPossible;
-	private boolean[][][] possibleDroneFlights;
+	private PossibleDroneFlights possibleDroneFlights;
 	private int possibleDroneFlightsSize = 0;
-	private transient GRBVar[][] grbTruckEdgeWaitVars;
+	private transient int[][] grbTruckEdgeWaitVars;
+	private transient int[] grbTruckEdgeWaitVarsList;
 	private transient double[][] grbTruckEdgeWaitVarsStartValues = null;
-	private transient GRBVar[][][] grbDroneFlightsVars;
-	private transient double[][][] grbDroneFlightsVarsStartValues = null;
+	private transient int[] grbDroneFlightsVarsList;
+	private transient double[] grbDroneFlightsVarsStartValues = null;
 	private transient double valueBiggerThanObjective = 0;
 	private FstspResult result;
 
@@ -28,8 +40,8 @@ public class Fstsp extends TspModel{
 	public Fstsp(){
 	}
 
-	public Fstsp( String name, String comment, String type, int dimension, double[][] nodes, int[][] distances, double truckSpeed, int[][] truckTimes, double droneSpeed,
-					double droneFlightTime, int[][] droneTimes, int[] droneDeliveryPossible ){
+	public Fstsp( String name, String comment, String type, int dimension, double[][] nodes, DistanceMatrix distances, double truckSpeed, DistanceMatrix truckTimes, double droneSpeed,
+					double droneFlightTime, DistanceMatrix droneTimes, int[] droneDeliveryPossible ){
 		super( name, comment, type, dimension, nodes, distances );
 		this.truckSpeed = truckSpeed;
 		this.truckTimes = truckTimes;
@@ -38,22 +50,10 @@ public class Fstsp extends TspModel{
 		this.droneTimes = droneTimes;
 		this.droneDeliveryPossible = droneDeliveryPossible;
 
-		// [i][j][customer]
-		this.possibleDroneFlights = new boolean[dimension][dimension][dimension];
-		for( int i = 0; i < dimension; i++ ){
-			for( int customer : droneDeliveryPossible ){
-				for( int j = 0; j < dimension; j++ ){
-					if( i != j && i != customer && j != customer ){
-						if( droneTimes[i][customer] + droneTimes[customer][j] <= this.droneFlightTime ){
-							possibleDroneFlights[i][j][customer] = true;
-							possibleDroneFlights[j][i][customer] = true;
-							possibleDroneFlightsSize++;
-						}
-
-					}
-				}
-			}
-		}
+		//only the feasible drone flights ({ i, j }, customer) are stored
+		this.possibleDroneFlights = new PossibleDroneFlights( dimension, droneDeliveryPossible, droneTimes, this.droneFlightTime );
+		//possibleDroneFlightsSize counts both directions of a drone flight
+		possibleDroneFlightsSize = 2 * possibleDroneFlights.size();
 		log.info( "possibleDroneFlightsSize: " + possibleDroneFlightsSize );
 
 		this.result = new FstspResult( name );
@@ -62,8 +62,8 @@ public class Fstsp extends TspModel{
 		int maxTruckTimes = 0;
 		for( int i = 0; i < dimension; i++ ){
 			for( int j = i; j < dimension; j++ ){
-				if( truckTimes[i][j] > maxTruckTimes ){
-					maxTruckTimes = truckTimes[i][j];
+				if( truckTimes.get( i, j ) > maxTruckTimes ){
+					maxTruckTimes = truckTimes.get( i, j );
 				}
 			}
 		}
@@ -93,7 +93,7 @@ public class Fstsp extends TspModel{
 		toString += "Drone Times: \n";
 		for( int i = 0; i < droneTimes.length; i++ ){
 			for( int j = 0; j < droneTimes[0].length; j++ ){
-				toString += droneTimes[i][j] + ", ";
+				toString += droneTimes.get( i, j ) + ", ";
 			}
 			toString = toString.substring( 0, toString.length() - 2 ) + "\n";
 		}
@@ -104,124 +104,132 @@ public class Fstsp extends TspModel{
 		*/
 	}
 
-	@Override protected GRBModel calcGrbModel() throws GRBException{
+	@Override protected void calcGrbModel() throws SolverException{
 
 		log.info( "Start calculation of gurobi model for the FSTSP without all special constraints" );
 
-		GRBModel grbModel = new GRBModel( grbEnv );
-
 		//init arrays for decision variables
-		grbTruckEdgeVars = new GRBVar[dimension][dimension];
-		grbTruckEdgeWaitVars = new GRBVar[dimension][dimension];
-		grbDroneFlightsVars = new GRBVar[dimension][dimension][dimension];
+		grbTruckEdgeVars = new int[dimension][dimension];
+		grbTruckEdgeWaitVars = new int[dimension][dimension];
 
-		GRBLinExpr grbLinExpr;
+		LinExpr linExpr;
 		StringBuilder logString;
+		//the log strings are only created if debug is enabled
+		boolean isDebugEnabled = log.isDebugEnabled();
 
 		//create decision variables for the truck edges and for the wait times
 		for( int i = 0; i < dimension; i++ ){
 			for( int j = i; j < dimension; j++ ){
 				if( i == j ){
-					grbTruckEdgeVars[i][i] = grbModel.addVar( 0.0, 0.0, 0.0, GRB.BINARY, "x" + i + "_" + i );
-					grbTruckEdgeWaitVars[i][i] = grbModel.addVar( 0.0, 0.0, 0.0, GRB.INTEGER, "w" + i + "_" + i );
+					grbTruckEdgeVars[i][i] = solverBackend.addVar( 0.0, 0.0, 0.0, VarType.BINARY, name( "x", i, i ) );
+					grbTruckEdgeWaitVars[i][i] = solverBackend.addVar( 0.0, 0.0, 0.0, VarType.INTEGER, name( "w", i, i ) );
 				} else {
-					log.debug( "Add decision var x" + i + "_" + j + " with factor " + truckTimes[i][j] );
-					grbTruckEdgeVars[i][j] = grbModel.addVar( 0.0, 1.0, truckTimes[i][j], GRB.BINARY, "x" + i + "_" + j );
+					if( isDebugEnabled ){
+						log.debug( "Add decision var x" + i + "_" + j + " with factor " + truckTimes.get( i, j ) );
+					}
+					grbTruckEdgeVars[i][j] = solverBackend.addVar( 0.0, 1.0, truckTimes.get( i, j ), VarType.BINARY, name( "x", i, j ) );
 					grbTruckEdgeVars[j][i] = grbTruckEdgeVars[i][j];
 
-					boolean droneFlightPossibleForIToJ = false;
-					for( int customer = 0; customer < dimension; customer++ ){
-						if( possibleDroneFlights[i][j][customer] ){
-							droneFlightPossibleForIToJ = true;
-							break;
+					if( !possibleDroneFlights.hasDroneFlights( i, j ) ){
+						if( isDebugEnabled ){
+							log.debug( "- Add decision var w" + i + "_" + j + " with 0.0" );
 						}
-					}
-					if( !droneFlightPossibleForIToJ ){
-						log.debug( "- Add decision var w" + i + "_" + j + " with 0.0" );
-						grbTruckEdgeWaitVars[i][j] = grbModel.addVar( 0.0, 0.0, 0.0, GRB.INTEGER, "w" + i + "_" + j );
+						grbTruckEdgeWaitVars[i][j] = solverBackend.addVar( 0.0, 0.0, 0.0, VarType.INTEGER, name( "w", i, j ) );
 					} else {
-						log.debug( "Add decision var w" + i + "_" + j + " with factor 1.0 and upper bound " + droneFlightTime );
-						grbTruckEdgeWaitVars[i][j] = grbModel.addVar( 0.0, droneFlightTime, 1.0, GRB.INTEGER, "w" + i + "_" + j );
+						if( isDebugEnabled ){
+							log.debug( "Add decision var w" + i + "_" + j + " with factor 1.0 and upper bound " + droneFlightTime );
+						}
+						grbTruckEdgeWaitVars[i][j] = solverBackend.addVar( 0.0, droneFlightTime, 1.0, VarType.INTEGER, name( "w", i, j ) );
 					}
 					grbTruckEdgeWaitVars[j][i] = grbTruckEdgeWaitVars[i][j];
 				}
 			}
 		}
 
-		//create decision variables for the drone flights
-		for( int i = 0; i < dimension; i++ ){
-			for( int j = i; j < dimension; j++ ){
-				for( int customer = 0; customer < dimension; customer++ ){
-					if( possibleDroneFlights[i][j][customer] ){
-						log.debug( "Add decision var y" + i + "_" + j + "_" + customer + " with factor 0.0 " );
-						grbDroneFlightsVars[i][j][customer] = grbModel.addVar( 0.0, 1.0, 0.0, GRB.BINARY, "y" + i + "_" + j + "_" + customer );
-					} else {
-						grbDroneFlightsVars[i][j][customer] = grbModel.addVar( 0.0, 0.0, 0.0, GRB.BINARY, "y" + i + "_" + j + "_" + customer );
-					}
-					grbDroneFlightsVars[j][i][customer] = grbDroneFlightsVars[i][j][customer];
-				}
+		//create list of the truck edge wait vars in the same order as the truck edges
+		grbTruckEdgeWaitVarsList = new int[truckEdges[0].length];
+		for( int e = 0; e < grbTruckEdgeWaitVarsList.length; e++ ){
+			grbTruckEdgeWaitVarsList[e] = grbTruckEdgeWaitVars[truckEdges[0][e]][truckEdges[1][e]];
+		}
+
+		//create decision variables only for the possible drone flights (in the order of possibleDroneFlights)
+		grbDroneFlightsVarsList = new int[possibleDroneFlights.size()];
+		for( int f = 0; f < possibleDroneFlights.size(); f++ ){
+			int i = possibleDroneFlights.getStart( f );
+			int j = possibleDroneFlights.getEnd( f );
+			int customer = possibleDroneFlights.getCustomer( f );
+			if( isDebugEnabled ){
+				log.debug( "Add decision var y" + i + "_" + j + "_" + customer + " with factor 0.0 " );
 			}
+			grbDroneFlightsVarsList[f] = solverBackend.addVar( 0.0, 1.0, 0.0, VarType.BINARY, name( "y", i, j, customer ) );
 		}
 
 		//create constraints that each customer is served by truck or drone exactly once
 		//the constraint implicit contains degree-2 constraints for customers
 		for( int customer = 1; customer < dimension; customer++ ) {
-			grbLinExpr = new GRBLinExpr();
-			logString = new StringBuilder( "0.5 * (" );
+			linExpr = new LinExpr();
 			for( int i = 0; i < dimension; i++ ) {
 				if( i != customer ){
-					logString.append( "x" ).append( i ).append( "_" ).append( customer ).append( " + " );
-					grbLinExpr.addTerm( 0.5, grbTruckEdgeVars[i][customer] );
+					linExpr.addTerm( 0.5, grbTruckEdgeVars[i][customer] );
 				}
 			}
-			logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) ).append( ") + " );
+			for( int f = possibleDroneFlights.getCustomerFlightsBegin( customer ); f < possibleDroneFlights.getCustomerFlightsEnd( customer ); f++ ){
+				linExpr.addTerm( 1.0, grbDroneFlightsVarsList[f] );
+			}
 
-			for( int i = 0; i < dimension; i++ ){
-				for( int j = i; j < dimension; j++ ){
-					if( possibleDroneFlights[i][j][customer] ){
-						logString.append( "y" ).append( i ).append( "_" ).append( j ).append( "_" ).append( customer ).append( " + " );
-						grbLinExpr.addTerm( 1.0, grbDroneFlightsVars[i][j][customer] );
+			if( isDebugEnabled ){
+				logString = new StringBuilder( "0.5 * (" );
+				for( int i = 0; i < dimension; i++ ) {
+					if( i != customer ){
+						logString.append( "x" ).append( i ).append( "_" ).append( customer ).append( " + " );
 					}
 				}
+				logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) ).append( ") + " );
+				for( int f = possibleDroneFlights.getCustomerFlightsBegin( customer ); f < possibleDroneFlights.getCustomerFlightsEnd( customer ); f++ ){
+					appendDroneFlightVar( logString, f ).append( " + " );
+				}
+				log.debug( "Add constraint customer_served_once_" + customer + ": " + logString.substring( 0, logString.length() - 3 ) + " = 1" );
 			}
-			logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) );
-
-			log.debug( "Add constraint customer_served_once_" + customer + ": " + logString + " = 1" );
-			grbModel.addConstr( grbLinExpr, GRB.EQUAL, 1.0, "customer_served_once_" + customer );
+			solverBackend.addConstr( linExpr, Sense.EQUAL, 1.0, name( "customer_served_once_", customer ) );
 			calculatedConstraintsCounter++;
 		}
 
 		//Add degree-2 constraint for depot
-		grbLinExpr = new GRBLinExpr();
-		logString = new StringBuilder();
+		linExpr = new LinExpr();
+		logString = isDebugEnabled ? new StringBuilder() : null;
 		for( int customer = 1; customer < dimension; customer++ ){
-			logString.append( "x0_" ).append( customer ).append( " + " );
-			grbLinExpr.addTerm( 1.0, grbTruckEdgeVars[0][customer] );
+			if( isDebugEnabled ){
+				logString.append( "x0_" ).append( customer ).append( " + " );
+			}
+			linExpr.addTerm( 1.0, grbTruckEdgeVars[0][customer] );
 		}
-		logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) );
-		log.debug( "Add degree-2 constraint for depot: " + logString + " = 2" );
-		grbModel.addConstr( grbLinExpr, GRB.EQUAL, 2.0, "deg2_depot" );
+		if( isDebugEnabled ){
+			log.debug( "Add degree-2 constraint for depot: " + logString.substring( 0, logString.length() - 3 ) + " = 2" );
+		}
+		solverBackend.addConstr( linExpr, Sense.EQUAL, 2.0, "deg2_depot" );
 		calculatedConstraintsCounter++;
 
 		// each node max 2 drone edges
 		for( int i = 0; i < dimension; i++ ){
-			grbLinExpr = new GRBLinExpr();
-			logString = new StringBuilder();
+			linExpr = new LinExpr();
+			logString = isDebugEnabled ? new StringBuilder() : null;
 			boolean termsAdded = false;
-			for( int customer = 1; customer < dimension; customer++ ){
-				for( int j = 0; j < dimension; j++ ){
-					if( possibleDroneFlights[i][j][customer] ){
-						termsAdded = true;
-						logString.append( "y" ).append( i ).append( "_" ).append( j ).append( "_" ).append( customer ).append( " + " );
-						grbLinExpr.addTerm( 1.0, grbDroneFlightsVars[i][j][customer] );
+			for( int k = possibleDroneFlights.getNodeFlightsBegin( i ); k < possibleDroneFlights.getNodeFlightsEnd( i ); k++ ){
+				int f = possibleDroneFlights.getNodeFlight( k );
+				if( possibleDroneFlights.getCustomer( f ) > 0 ){
+					termsAdded = true;
+					if( isDebugEnabled ){
+						appendDroneFlightVar( logString, f ).append( " + " );
 					}
+					linExpr.addTerm( 1.0, grbDroneFlightsVarsList[f] );
 				}
 			}
 
 			if( termsAdded ){
-				logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) );
-				log.debug( "Add constraint max_drone_edge_constraint_" + i + ":  2 >= " + logString );
-				grbModel.addConstr( grbLinExpr, GRB.LESS_EQUAL, 2, "max_drone_edge_constraint_" + i );
+				if( isDebugEnabled ){
+					log.debug( "Add constraint max_drone_edge_constraint_" + i + ":  2 >= " + logString.substring( 0, logString.length() - 3 ) );
+				}
+				solverBackend.addConstr( linExpr, Sense.LESS_EQUAL, 2, name( "max_drone_edge_constraint_", i ) );
 				calculatedConstraintsCounter++;
 			}
 		}
@@ -229,43 +237,48 @@ public class Fstsp extends TspModel{
 		//create constraints that the truck visits start and end nodes of a drone flight
 		for( int i = 0; i < dimension; i++ ){
 			boolean possibleDroneFlightsForNodeI = false;
-			GRBLinExpr grbLinExprRhs = new GRBLinExpr();
-			StringBuilder logStringRhs = new StringBuilder();
-			for( int j = 0; j < dimension; j++ ){
-				for( int customer = 1; customer < dimension; customer++ ){
-					if( i != j && i != customer && j != customer ){
-						if( possibleDroneFlights[i][j][customer] ){
-							logStringRhs.append( "y" ).append( i ).append( "_" ).append( j ).append( "_" ).append( customer ).append( " + " );
-							grbLinExprRhs.addTerm( 1.0, grbDroneFlightsVars[i][j][customer] );
-							possibleDroneFlightsForNodeI = true;
-						}
+			//the drone flights of the right hand side are moved to the left hand side
+			linExpr = new LinExpr();
+			StringBuilder logStringRhs = isDebugEnabled ? new StringBuilder() : null;
+			for( int k = possibleDroneFlights.getNodeFlightsBegin( i ); k < possibleDroneFlights.getNodeFlightsEnd( i ); k++ ){
+				int f = possibleDroneFlights.getNodeFlight( k );
+				if( possibleDroneFlights.getCustomer( f ) > 0 ){
+					if( isDebugEnabled ){
+						appendDroneFlightVar( logStringRhs, f ).append( " + " );
 					}
+					linExpr.addTerm( -1.0, grbDroneFlightsVarsList[f] );
+					possibleDroneFlightsForNodeI = true;
 				}
 			}
 			if( !possibleDroneFlightsForNodeI ){
 				continue;
 			}
 
-			GRBLinExpr grbLinExprLhs = new GRBLinExpr();
-			StringBuilder logStringLhs = new StringBuilder();
+			StringBuilder logStringLhs = isDebugEnabled ? new StringBuilder() : null;
 			for( int j = 0; j < dimension; j++ ){
 				if( i != j ){
-					logStringLhs.append( "x" ).append( i ).append( "_" ).append( j ).append( " + " );
-					grbLinExprLhs.addTerm( 1.0, grbTruckEdgeVars[i][j] );
+					if( isDebugEnabled ){
+						logStringLhs.append( "x" ).append( i ).append( "_" ).append( j ).append( " + " );
+					}
+					linExpr.addTerm( 1.0, grbTruckEdgeVars[i][j] );
 				}
 			}
 
-			logStringLhs = new StringBuilder( logStringLhs.substring( 0, logStringLhs.length() - 3 ) );
-			logStringRhs = new StringBuilder( logStringRhs.substring( 0, logStringRhs.length() - 3 ) );
-			log.debug( "Add constraint truck_visits_drone_nodes: " + logStringLhs + " >= " + logStringRhs );
-			grbModel.addConstr( grbLinExprLhs, GRB.GREATER_EQUAL, grbLinExprRhs, "truck_visits_drone_node_" + i );
+			if( isDebugEnabled ){
+				log.debug( "Add constraint truck_visits_drone_nodes: " + logStringLhs.substring( 0, logStringLhs.length() - 3 ) + " >= "
+								+ logStringRhs.substring( 0, logStringRhs.length() - 3 ) );
+			}
+			solverBackend.addConstr( linExpr, Sense.GREATER_EQUAL, 0.0, name( "truck_visits_drone_node_", i ) );
 			calculatedConstraintsCounter++;
 		}
 
 		log.debug( "calculatedConstraintsCounter: " + calculatedConstraintsCounter );
 		log.info( "End calculation of gurobi model for the FSTSP without all special constraints" );
+	}
 
-		return grbModel;
+	private StringBuilder appendDroneFlightVar( StringBuilder logString, int f ){
+		return logString.append( "y" ).append( possibleDroneFlights.getStart( f ) ).append( "_" ).append( possibleDroneFlights.getEnd( f ) ).append( "_" )
+						.append( possibleDroneFlights.getCustomer( f ) );
 	}
 
 	@Override public boolean presolveHeuristic( Defines.PresolveHeuristicType presolveHeuristicType ){
@@ -273,275 +286,58 @@ public class Fstsp extends TspModel{
 		switch( presolveHeuristicType ){
 			case TSP:
 				//tsp as heuristic solution
-				Tsp tsp = new Tsp( this.name, this.comment, Defines.TSP, this.dimension, this.nodes, this.distances );
-				if( tsp.grbOptimize() != null ){
-					if( tsp.getResult().isOptimal() ){
-						grbTruckEdgeVarsStartValues = tsp.truckEdgeVars.clone();
-						//calculate heuristic value with tsp solution and calculated trucktimes of fstsp
-						double calculatedHeuristicValue = 0.0;
-						for( int i = 0; i < dimension; i++ ){
-							for( int j = i; j < dimension; j++ ){
-								if( (int)(grbTruckEdgeVarsStartValues[i][j] + 0.5d) == 1 ){
-									calculatedHeuristicValue += truckTimes[i][j];
-								}
-							}
-						}
-						log.info( "Calculated heuristicValue with TSP solution and trucktimes: " + calculatedHeuristicValue );
-						setHeuristicValue( calculatedHeuristicValue );
-						// set the grbDroneFlightsVarsStartValues and grbTruckEdgeWaitVarsStartValues to 0 (doubles are 0 by default)
-						grbDroneFlightsVarsStartValues = new double[dimension][dimension][dimension];
-						grbTruckEdgeWaitVarsStartValues = new double[dimension][dimension];
-						return true;
-					}
+				TspPresolveCache.CachedTspSolution tspSolution = TspPresolveCache.getTspSolution( this.name, this.comment, this.dimension, this.nodes, this.distances, this.backendType, this.threadCount );
+				if( tspSolution != null ){
+					setTruckTourStartValues( tspSolution.getTour() );
+					return true;
 				}
 				return false;
+			case LOCAL_SEARCH:
+				//heuristic tsp tour as heuristic solution
+				setTruckTourStartValues( createLocalSearchTour().getTour() );
+				return true;
+			case LIN_KERNIGHAN:
+				//iterated lin-kernighan tour as heuristic solution
+				setTruckTourStartValues( createLinKernighanTour().getTour() );
+				return true;
 			case FSTSP:
-				//calculate tsp solution to create a heurisitc FSTSP solution
-				Tsp tspProblem = new Tsp( this.name, this.comment, Defines.TSP, this.dimension, this.nodes, this.distances );
-				if( tspProblem.grbOptimize() != null ){
-					if( tspProblem.getResult().isOptimal() ){
-
-						ArrayList<Integer> tspTruckTour = tspProblem.getResult().getLast().getTruckTours().get( 0 );
-
-						int[][] adjMatrix = new int[dimension][dimension];
-						int[][] customerWithGreatestSaving = new int[dimension][dimension];
-						int[][] truckEdgeWaitTimes = new int[dimension][dimension];
-						for( int[] row : adjMatrix ){
-							Arrays.fill( row, -1 );
-						}
-						for( int[] row : customerWithGreatestSaving ){
-							Arrays.fill( row, -1 );
-						}
-
-						//TODO interpret tsp solution the other way round
-						//add directed weighted edges for tsp solution
-						for( int i = 0; i < tspTruckTour.size() - 1; i++ ){
-							adjMatrix[tspTruckTour.get( i )][tspTruckTour.get( i + 1 )] = 0;
-						}
-						//TODO use this when droneflight to end depot allowed
-						//adjMatrix[tspTruckTour.size() - 1][0] = 0;
-
-						for( int i = 0; i < tspTruckTour.size(); i++ ){
-							for( int j = i + 2; j < tspTruckTour.size(); j++ ){
-
-								int startNode = tspTruckTour.get( i );
-								int endNode = tspTruckTour.get( j );
-
-								List<Integer> truckTourFromIToJ = tspTruckTour.subList( i, j + 1 );
-								List<Integer> truckTourBetweenIAndJ = tspTruckTour.subList( i + 1, j );
-								log.debug( "truckTourFromIToJ: " + truckTourFromIToJ );
-								log.debug( "truckTourBetweenIAndJ: " + truckTourBetweenIAndJ );
-
-								//calculate truck time without customer
-								int truckTimeIToJOld = 0;
-								for( int k = 0; k < truckTourFromIToJ.size() - 1; k++ ){
-									truckTimeIToJOld += truckTimes[truckTourFromIToJ.get( k )][truckTourFromIToJ.get( k + 1 )];
-								}
-
-								for( int customer : truckTourBetweenIAndJ ){
-
-									if( possibleDroneFlights[startNode][endNode][customer] ){
-
-										log.debug( "Check droneFlight: ({ " + startNode + ", " + endNode + " }, " + customer + " )" );
-
-										List<Integer> truckTourFromIToJWithoutCustomer = new ArrayList<>( truckTourFromIToJ );
-										truckTourFromIToJWithoutCustomer.remove( new Integer( customer ) );
-
-										//calculate droneFlightTime
-										int droneFlightTime = droneTimes[startNode][customer] + droneTimes[customer][endNode];
-
-										//calculate truck time without customer
-										int truckTimeIToJNew = 0;
-										for( int k = 0; k < truckTourFromIToJWithoutCustomer.size() - 1; k++ ){
-											truckTimeIToJNew += truckTimes[truckTourFromIToJWithoutCustomer.get( k )][truckTourFromIToJWithoutCustomer.get( k + 1 )];
-										}
-
-										int truckEdgeWaitTime = 0;
-										if( droneFlightTime > truckTimeIToJNew ){
-											truckEdgeWaitTime = droneFlightTime - truckTimeIToJNew;
-										} else if( truckTimeIToJNew > this.droneFlightTime ){
-											log.debug( "droneFlight: ({ " + startNode + ", " + endNode + " }, " + customer + " ) not possible, cause flight time plus "
-															+ "wait time exceeds droneFlightTime!" );
-											break;
-										}
-
-										int saving = (-truckEdgeWaitTime - truckTimeIToJNew) + truckTimeIToJOld;
-
-										log.debug( "truckTimeIToJOld for tour ( " + startNode + ", " + endNode + " ) is: " + truckTimeIToJOld );
-										log.debug( "truckTimeIToJNew for tour ( " + startNode + ", " + endNode + " ) is: " + truckTimeIToJNew );
-										log.debug( "droneFlightTime for droneflight ({ " + startNode + ", " + endNode + " }, " + customer + " ) is: " + droneFlightTime );
-										log.debug( "truckEdgeWaitTime for tour ( " + startNode + ", " + endNode + " ) is: " + truckEdgeWaitTime );
-										log.debug( "saving for tour ( " + startNode + ", " + endNode + " ) is: " + saving );
-
-										if( saving > 0 && saving > adjMatrix[startNode][endNode] ){
-											adjMatrix[startNode][endNode] = saving;
-											customerWithGreatestSaving[startNode][endNode] = customer;
-											truckEdgeWaitTimes[startNode][endNode] = truckEdgeWaitTime;
-										}
-
-									} else {
-										log.debug( "droneFlight: ({ " + startNode + ", " + endNode + " }, " + customer + " ) not possible. Skip it!" );
-									}
-								}
-							}
-						}
-
-						log2DimIntArray( adjMatrix, "Adjacency matrix of directed heuristic graph" );
-						log2DimIntArray( customerWithGreatestSaving, "customerWithGreatestSaving" );
-						log2DimIntArray( truckEdgeWaitTimes, "truckEdgeWaitTimes" );
-
-						//calculate path with most savings (longest path)
-						log.debug( "tspTruckTour: " + tspTruckTour );
-						ArrayList<Integer>[] longestPathOfI = new ArrayList[dimension];
-						ArrayList<Integer>[] truckTourToI = new ArrayList[dimension];
-						int[] greatestSavingOfI = new int[dimension];
-						ArrayList<Integer[]>[] droneFlightsInLongestPathOfI = new ArrayList[dimension];
-
-						longestPathOfI[0] = new ArrayList<>();
-						longestPathOfI[0].add( 0 );
-						for( int i = 0; i < dimension; i++ ){
-							droneFlightsInLongestPathOfI[i] = new ArrayList<>();
-						}
-
-						for( int i = 1; i < tspTruckTour.size(); i++ ){
-							longestPathOfI[tspTruckTour.get( i )] = new ArrayList<>( longestPathOfI[tspTruckTour.get( i - 1 )] );
-							longestPathOfI[tspTruckTour.get( i )].add( tspTruckTour.get( i ) );
-						}
-/*
-						for( int i = 0; i < longestPathOfI.length; i++ ){
-							log.debug( "longestPathOfI[" + tspTruckTour.get( i ) + "]: " + longestPathOfI[tspTruckTour.get( i )] );
-							log.debug( "truckTourOfI[" + tspTruckTour.get( i ) + "]: " + truckTourOfI[tspTruckTour.get( i )] );
-							log.debug( "greatestSavingsOfI[" + tspTruckTour.get( i ) + "]: " + greatestSavingOfI[tspTruckTour.get( i )] );
-						}
- */
-
-						for( int k = 1; k < dimension; k++ ){
-							int i = tspTruckTour.get( k );
-							for( int j = 0; j < dimension; j++ ){
-								if( i != j && adjMatrix[j][i] >= 0 ){
-									//log.debug( "edge: (" + j + ", " + i + ") has saving: " + (adjMatrix[j][i] + greatestSavingOfI[j]) );
-									if( adjMatrix[j][i] + greatestSavingOfI[j] > greatestSavingOfI[i] ){
-
-										//log.debug( "New best saving found!" );
-
-										longestPathOfI[i] = new ArrayList<>( longestPathOfI[j] );
-										droneFlightsInLongestPathOfI[i] = new ArrayList<>( droneFlightsInLongestPathOfI[j] );
-										int customer = customerWithGreatestSaving[j][i];
-										if( customer > 0 ){
-											longestPathOfI[i].add( customer );
-											droneFlightsInLongestPathOfI[i].add( new Integer[]{ j, i, customer } );
-										}
-										//droneFlightCustomerInSolution[i] = customer;
-
-										longestPathOfI[i].add( i );
-										greatestSavingOfI[i] = adjMatrix[j][i] + greatestSavingOfI[j];
-
-										//log.debug( "longestPathOfI[" + i + "]: " + longestPathOfI[i] );
-										//log.debug( "greatestSavingOfI[" + i + "]: " + greatestSavingOfI[i] );
-									} else {
-										//log.debug( "Current saving is below current best saving of: " + greatestSavingOfI[i] );
-									}
-								}
-							}
-							truckTourToI[i] = new ArrayList<>( tspTruckTour.subList( 0, k + 1 ) );
-							for( Integer[] droneFlight : droneFlightsInLongestPathOfI[i] ){
-								truckTourToI[i].remove( new Integer( droneFlight[2] ) );
-							}
-
-							log.debug( "greatestSavingOfI[" + i + "]: " + greatestSavingOfI[i] );
-							log.debug( "longestPathOfI[" + i + "]: " + longestPathOfI[i] );
-							log.debug( "truckTourToI[" + i + "]: " + truckTourToI[i] );
-							log.debug( "droneFlightsInLongestPathOfI[" + i + "]: " );
-							if( droneFlightsInLongestPathOfI[i].size() <= 0 ){
-								log.debug( "-" );
-							}
-							for( Integer[] droneFlight : droneFlightsInLongestPathOfI[i] ){
-								log.debug( "droneFlight: ({ " + droneFlight[0] + ", " + droneFlight[1] + " }, " + droneFlight[2] + " )" );
-							}
-						}
-
-						log.debug( "------------------------------------------------------------------" );
-						log.debug( "tspTruckTour: " + tspTruckTour );
-						int lastNode = tspTruckTour.get( tspTruckTour.size() - 1 );
-						log.debug( "longestPathOf last node (" + lastNode + "): " + longestPathOfI[lastNode] );
-						log.debug( "truckTourTo last node (" + lastNode + "): " + truckTourToI[lastNode] );
-						log.debug( "greatestSavingOf last node (" + lastNode + "): " + greatestSavingOfI[lastNode] );
-						log.debug( "droneFlightsInLongestPathOf last node (" + lastNode + "): " );
-						if( droneFlightsInLongestPathOfI[lastNode].size() <= 0 ){
-							log.debug( "-" );
-						}
-						for( Integer[] droneFlight : droneFlightsInLongestPathOfI[lastNode] ){
-							log.debug( "droneFlight: ({ " + droneFlight[0] + ", " + droneFlight[1] + " }, " + droneFlight[2] + " )" );
-						}
-
-						// intialize grbTruckEdgeVarsStartValues, grbDroneFlightsVarsStartValues and grbTruckEdgeWaitVarsStartValues
-						grbTruckEdgeVarsStartValues = new double[dimension][dimension];
-						grbDroneFlightsVarsStartValues = new double[dimension][dimension][dimension];
-						grbTruckEdgeWaitVarsStartValues = new double[dimension][dimension];
-
-						for( int i = 0; i < truckTourToI[lastNode].size(); i++ ){
-							int startNode = truckTourToI[lastNode].get( i );
-							int endNode;
-							if( i == truckTourToI[lastNode].size() - 1 ){
-								endNode = 0;
-							} else {
-								endNode = truckTourToI[lastNode].get( i + 1 );
-							}
-							grbTruckEdgeVarsStartValues[startNode][endNode] = 1;
-							grbTruckEdgeVarsStartValues[endNode][startNode] = 1;
-						}
-
-						for( Integer[] droneFlight : droneFlightsInLongestPathOfI[lastNode] ){
-							grbDroneFlightsVarsStartValues[droneFlight[0]][droneFlight[1]][droneFlight[2]] = 1;
-							grbDroneFlightsVarsStartValues[droneFlight[1]][droneFlight[0]][droneFlight[2]] = 1;
-
-							grbTruckEdgeWaitVarsStartValues[droneFlight[0]][droneFlight[1]] = truckEdgeWaitTimes[droneFlight[0]][droneFlight[1]];
-							grbTruckEdgeWaitVarsStartValues[droneFlight[1]][droneFlight[0]] = truckEdgeWaitTimes[droneFlight[0]][droneFlight[1]];
-						}
-
-						double calculatedHeuristicValue = 0.0;
-						log.debug( "Calculate heuristicValue: " );
-						for( int i = 0; i < dimension; i++ ){
-							for( int j = i; j < dimension; j++ ){
-								if( (int)(grbTruckEdgeVarsStartValues[i][j] + 0.5d) == 1 ){
-									log.debug( "Add truckEdge ( " + i + ", " + j + " ) with truckTime " + truckTimes[i][j] );
-									calculatedHeuristicValue += truckTimes[i][j];
-								}
-								if( grbTruckEdgeWaitVarsStartValues[i][j] > 0 ){
-									log.debug( "Add truckEdgeWaitTime " + grbTruckEdgeWaitVarsStartValues[i][j] );
-									calculatedHeuristicValue += grbTruckEdgeWaitVarsStartValues[i][j];
-								}
-							}
-						}
-
-						log.info( "Calculated heuristicValue with FSTSP heuristic solution: " + calculatedHeuristicValue );
-						setHeuristicValue( calculatedHeuristicValue );
-
-						return true;
-					}
+				//split of a lin-kernighan tour into truck edges and drone flights as heuristic solution
+				FstspHeuristic.Solution solution = new FstspHeuristic( truckTimes, droneTimes, droneFlightTime, possibleDroneFlights )
+								.solve( createLinKernighanTour().getTour() );
+
+				grbTruckEdgeVarsStartValues = createAdjacencyMatrix( solution.getTruckTour() );
+				grbDroneFlightsVarsStartValues = new double[possibleDroneFlights.size()];
+				grbTruckEdgeWaitVarsStartValues = new double[dimension][dimension];
+				for( int f = 0; f < solution.getDroneFlights().size(); f++ ){
+					Integer[] droneFlight = solution.getDroneFlights().get( f );
+					log.debug( "Heuristic droneFlight: ({ " + droneFlight[0] + ", " + droneFlight[1] + " }, " + droneFlight[2] + " ) with truckEdgeWaitTime "
+									+ solution.getWaitTimes()[f] );
+					grbDroneFlightsVarsStartValues[possibleDroneFlights.indexOf( droneFlight[0], droneFlight[1], droneFlight[2] )] = 1;
+					grbTruckEdgeWaitVarsStartValues[droneFlight[0]][droneFlight[1]] = solution.getWaitTimes()[f];
+					grbTruckEdgeWaitVarsStartValues[droneFlight[1]][droneFlight[0]] = solution.getWaitTimes()[f];
 				}
-				return false;
+
+				log.info( "Calculated heuristicValue with FSTSP heuristic solution: " + solution.getObjective() );
+				setHeuristicValue( solution.getObjective() );
+				return true;
 			default:
 				log.info( "PresolveHeuristicType + '" + presolveHeuristicType.toString() + "' not supported for TSP!" );
 				return false;
 		}
 	}
 
-	@Override protected void setStartValues() throws GRBException{
+	@Override protected void setStartValues() throws SolverException{
 
 		super.setStartValues();
 		if( grbDroneFlightsVarsStartValues != null ){
 			log.info( "Set start values for grbDroneFlightsVars!" );
-			for( int i = 0; i < dimension; i++ ){
-				for( int j = i; j < dimension; j++ ){
-					for( int customer = 0; customer < dimension; customer++ ){
-						if( possibleDroneFlights[i][j][customer] && grbDroneFlightsVarsStartValues[i][j][customer] >= 0 ){
-							log.debug( "Set start value for y" + i + "_" + j + "_" + customer + ": " + (int)(grbDroneFlightsVarsStartValues[i][j][customer] + 0.5d) );
-							grbDroneFlightsVars[i][j][customer].set( GRB.DoubleAttr.Start, (int)(grbDroneFlightsVarsStartValues[i][j][customer] + 0.5d) );
-						} else {
-							grbDroneFlightsVars[i][j][customer].set( GRB.DoubleAttr.Start, GRB.UNDEFINED );
-						}
-					}
+			for( int f = 0; f < possibleDroneFlights.size(); f++ ){
+				if( grbDroneFlightsVarsStartValues[f] >= 0 ){
+					log.debug( "Set start value for y" + possibleDroneFlights.getStart( f ) + "_" + possibleDroneFlights.getEnd( f ) + "_" + possibleDroneFlights.getCustomer( f )
+									+ ": " + (int)(grbDroneFlightsVarsStartValues[f] + 0.5d) );
+					solverBackend.setStart( grbDroneFlightsVarsList[f], (int)(grbDroneFlightsVarsStartValues[f] + 0.5d) );
+				} else {
+					solverBackend.setStart( grbDroneFlightsVarsList[f], SolverBackend.UNDEFINED );
 				}
 			}
 		} else {
@@ -554,9 +350,9 @@ public class Fstsp extends TspModel{
 				for( int j = i; j < dimension; j++ ){
 					if( i != j && grbTruckEdgeWaitVarsStartValues[i][j] >= 0 ){
 						log.debug( "Set start value for w" + i + "_" + j + ": " + (int)(grbTruckEdgeWaitVarsStartValues[i][j] + 0.5d) );
-						grbTruckEdgeWaitVars[i][j].set( GRB.DoubleAttr.Start, (int)(grbTruckEdgeWaitVarsStartValues[i][j] + 0.5d) );
+						solverBackend.setStart( grbTruckEdgeWaitVars[i][j], (int)(grbTruckEdgeWaitVarsStartValues[i][j] + 0.5d) );
 					} else {
-						grbTruckEdgeWaitVars[i][j].set( GRB.DoubleAttr.Start, GRB.UNDEFINED );
+						solverBackend.setStart( grbTruckEdgeWaitVars[i][j], SolverBackend.UNDEFINED );
 					}
 				}
 			}
@@ -565,42 +361,87 @@ public class Fstsp extends TspModel{
 		}
 	}
 
-	@Override protected TspModelIterationResult calculateAndAddIterationResult() throws GRBException{
+	//all customers are served by the truck
+	private void setTruckTourStartValues( ArrayList<Integer> tour ){
+		grbTruckEdgeVarsStartValues = createAdjacencyMatrix( tour );
+		//calculate heuristic value with the truck tour and calculated trucktimes of fstsp
+		double calculatedHeuristicValue = calculateTourValue( tour, truckTimes );
+		log.info( "Calculated heuristicValue with truck tour and trucktimes: " + calculatedHeuristicValue );
+		setHeuristicValue( calculatedHeuristicValue );
+		// set the grbDroneFlightsVarsStartValues and grbTruckEdgeWaitVarsStartValues to 0 (doubles are 0 by default)
+		grbDroneFlightsVarsStartValues = new double[possibleDroneFlights.size()];
+		grbTruckEdgeWaitVarsStartValues = new double[dimension][dimension];
+	}
+
+	//the solution of the fstsp heuristic is the start solution of the alns
+	@Override protected TspModelIterationResult calculateAlnsIterationResult( int alnsThreadCount ){
+		long runtimePresolveHeuristic = System.nanoTime();
+		FstspHeuristic.Solution startSolution = new FstspHeuristic( truckTimes, droneTimes, droneFlightTime, possibleDroneFlights )
+						.solve( createLinKernighanTour().getTour() );
+		setHeuristicValue( startSolution.getObjective() );
+		getResult().setRuntimePresolveHeuristic( ( System.nanoTime() - runtimePresolveHeuristic ) / 1e9 );
+
+		FstspHeuristic.Solution solution = new FstspAlns( truckTimes, droneTimes, droneFlightTime, possibleDroneFlights )
+						.solve( startSolution, alnsThreadCount, getAlnsSeed(), calculateAlnsSeconds() );
+		FstspIterationResult fstspIterationResult = new FstspIterationResult();
+		ArrayList<ArrayList<Integer>> truckTours = new ArrayList<>();
+		truckTours.add( solution.getTruckTour() );
+		fstspIterationResult.setTruckTours( truckTours );
+		//the drone flights and wait vars of the model are stored from the smaller to the greater node
+		ArrayList<Integer[]> droneFlights = new ArrayList<>();
+		double[][] truckEdgeWaitVars = new double[dimension][dimension];
+		for( int f = 0; f < solution.getDroneFlights().size(); f++ ){
+			Integer[] droneFlight = solution.getDroneFlights().get( f );
+			int i = Math.min( droneFlight[0], droneFlight[1] );
+			int j = Math.max( droneFlight[0], droneFlight[1] );
+			droneFlights.add( new Integer[]{ i, j, droneFlight[2] } );
+			truckEdgeWaitVars[i][j] = solution.getWaitTimes()[f];
+			truckEdgeWaitVars[j][i] = solution.getWaitTimes()[f];
+		}
+		fstspIterationResult.setDroneFlights( droneFlights );
+		fstspIterationResult.setTruckEdgeWaitVars( truckEdgeWaitVars );
+		fstspIterationResult.setObjective( solution.getObjective() );
+		result.getFstspIterationResults().add( fstspIterationResult );
+		return fstspIterationResult;
+	}
+
+	@Override protected TspModelIterationResult calculateAndAddIterationResult() throws SolverException{
 
 		FstspIterationResult fstspIterationResult = new FstspIterationResult();
-		double[][] truckEdgeVars = grbModel.get( GRB.DoubleAttr.X, grbTruckEdgeVars );
-		fstspIterationResult.setTruckTours( findSubtours( truckEdgeVars ) );
-		double[][][] droneFlightsVars = grbModel.get( GRB.DoubleAttr.X, grbDroneFlightsVars );
-		fstspIterationResult.setDroneFlights( findDroneFlights( droneFlightsVars ) );
-		fstspIterationResult.setTruckEdgeWaitVars( grbModel.get( GRB.DoubleAttr.X, grbTruckEdgeWaitVars ) );
+		truckEdgeSolution = createTruckEdgeSolution( solverBackend.getValues( grbTruckEdgeVarsList ) );
+		fstspIterationResult.setTruckTours( truckEdgeSolution.getSubtours() );
+		double[] droneFlightsValues = solverBackend.getValues( grbDroneFlightsVarsList );
+		fstspIterationResult.setDroneFlights( findDroneFlights( droneFlightsValues ) );
+		fstspIterationResult.setTruckEdgeWaitVars( createTruckEdgeWaitMatrix( solverBackend.getValues( grbTruckEdgeWaitVarsList ) ) );
 		result.getFstspIterationResults().add( fstspIterationResult );
 
 		return fstspIterationResult;
 	}
 
-	private ArrayList<Integer[]> findDroneFlights( double[][][] droneFlightsVars ){
+	//the results keep the wait vars as symmetric matrix, the model reads them in the order of the truck edges
+	private double[][] createTruckEdgeWaitMatrix( double[] truckEdgeWaitValues ){
+		double[][] truckEdgeWaitMatrix = new double[dimension][dimension];
+		for( int e = 0; e < truckEdgeWaitValues.length; e++ ){
+			truckEdgeWaitMatrix[truckEdges[0][e]][truckEdges[1][e]] = truckEdgeWaitValues[e];
+			truckEdgeWaitMatrix[truckEdges[1][e]][truckEdges[0][e]] = truckEdgeWaitValues[e];
+		}
+		return truckEdgeWaitMatrix;
+	}
+
+	private ArrayList<Integer[]> findDroneFlights( double[] droneFlightsValues ){
 		ArrayList<Integer[]> droneFlights = new ArrayList<>();
-		for( int i = 0; i < droneFlightsVars.length; i++ ) {
-			for( int j = i + 1; j < droneFlightsVars[i].length; j++ ){
-				for( int c = 0; c < droneFlightsVars[i][j].length; c++ ){
-					if( (int)(droneFlightsVars[i][j][c] + 0.5d) != 0 ){
-						droneFlights.add( new Integer[]{ i, j, c } );
-					}
-				}
+		for( int k = 0; k < droneFlightsValues.length; k++ ){
+			if( (int)(droneFlightsValues[k] + 0.5d) != 0 ){
+				droneFlights.add( new Integer[]{ possibleDroneFlights.getStart( k ), possibleDroneFlights.getEnd( k ), possibleDroneFlights.getCustomer( k ) } );
 			}
 		}
 		return droneFlights;
 	}
 
-	protected String logSolution() throws GRBException{
-		StringBuilder solutionString = new StringBuilder( super.logSolution() ).append( "\n" );
-
-		double[][][] droneFlightsVars = new double[dimension][dimension][dimension];
-		for( int i = 0; i < dimension; i++ ){
-			droneFlightsVars[i] = getSolution( grbDroneFlightsVars[i] );
-		}
+	protected String logSolution( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException{
+		StringBuilder solutionString = new StringBuilder( super.logSolution( context, truckEdgeSolution ) ).append( "\n" );
 
-		ArrayList<Integer[]> droneFlights = findDroneFlights( droneFlightsVars );
+		ArrayList<Integer[]> droneFlights = findDroneFlights( context.getSolution( grbDroneFlightsVarsList ) );
 
 		if( droneFlights.size() > 0 ){
 			solutionString.append( "Drone_Flights_Size" ).append( ": " ).append( droneFlights.size() ).append( "\n" );
@@ -621,25 +462,25 @@ public class Fstsp extends TspModel{
 		return result;
 	}
 
-	@Override protected void logIterationDebug() throws GRBException{
+	@Override protected void logIterationDebug() throws SolverException{
 		super.logIterationDebug();
 		//TODO add debug information for droneFlights?!
 	}
 
-	@Override protected boolean addViolatedConstraints() throws GRBException{
+	@Override protected boolean addViolatedConstraints() throws SolverException{
 		log.info( "Look for violated constraints and add them." );
 
 		ArrayList<ArrayList<Integer>> subtours = result.getLast().getTruckTours();
 
 		ArrayList<Integer[]> droneFlights = ((FstspIterationResult)result.getLast()).getDroneFlights();
 
-		double[][] truckEdgeWaitVars = ((FstspIterationResult)result.getLast()).getTruckEdgeWaitVars();
+		double[] truckEdgeWaitVars = solverBackend.getValues( grbTruckEdgeWaitVarsList );
 
-		ArrayList<GurobiConstraint> violatedConstraints = getViolatedConstraints( subtours, droneFlights, truckEdgeWaitVars );
+		ArrayList<Constraint> violatedConstraints = getViolatedConstraints( subtours, droneFlights, truckEdgeWaitVars, null );
 		if( violatedConstraints.size() > 0 ){
 			log.info( "Add all violated constraints!" );
-			for( GurobiConstraint violatedConstraint : violatedConstraints ){
-				grbModel.addConstr( violatedConstraint.getLinExpr(), violatedConstraint.getSense(), violatedConstraint.getRhs(), violatedConstraint.getName() );
+			for( Constraint violatedConstraint : violatedConstraints ){
+				solverBackend.addConstr( violatedConstraint.getLinExpr(), violatedConstraint.getSense(), violatedConstraint.getRhs(), violatedConstraint.getName() );
 				additionalConstraintsCounter++;
 			}
 			return true;
@@ -649,29 +490,21 @@ public class Fstsp extends TspModel{
 		}
 	}
 
-	@Override protected boolean addViolatedLazyConstraints() throws GRBException{
+	@Override protected boolean addViolatedLazyConstraints( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException{
 		log.info( "Look for violated constraints and add them as lazy constraints." );
 
 		log.info( "Looking for truck subtours." );
-		ArrayList<ArrayList<Integer>> subtours;
-		double[][] truckEdgeVars = getSolution( grbTruckEdgeVars );
-		subtours = findSubtours( truckEdgeVars );
+		ArrayList<ArrayList<Integer>> subtours = truckEdgeSolution.getSubtours();
 
-		double[][][] droneFlightsVars = new double[dimension][dimension][dimension];
-		for( int i = 0; i < dimension; i++ ){
-			droneFlightsVars[i] = getSolution( grbDroneFlightsVars[i] );
-		}
-		ArrayList<Integer[]> droneFlights = findDroneFlights( droneFlightsVars );
+		ArrayList<Integer[]> droneFlights = findDroneFlights( context.getSolution( grbDroneFlightsVarsList ) );
 
-		double[][] truckEdgeWaitVars = getSolution( grbTruckEdgeWaitVars );
+		double[] truckEdgeWaitVars = context.getSolution( grbTruckEdgeWaitVarsList );
 
-		ArrayList<GurobiConstraint> violatedConstraints = getViolatedConstraints( subtours, droneFlights, truckEdgeWaitVars );
+		ArrayList<LazyConstraintPool.Key> keys = new ArrayList<>();
+		ArrayList<Constraint> violatedConstraints = getViolatedConstraints( subtours, droneFlights, truckEdgeWaitVars, keys );
 		if( violatedConstraints.size() > 0 ){
 			log.info( "Add all violated constraints as lazy constraints!" );
-			for( GurobiConstraint violatedConstraint : violatedConstraints ){
-				addLazy( violatedConstraint.getLinExpr(), violatedConstraint.getSense(), violatedConstraint.getRhs() );
-				additionalConstraintsCounter++;
-			}
+			addLazyConstraints( context, violatedConstraints, keys );
 			return true;
 		} else {
 			log.info( "No violated constraints found!" );
@@ -679,12 +512,90 @@ public class Fstsp extends TspModel{
 		}
 	}
 
-	private ArrayList<GurobiConstraint> getViolatedConstraints( ArrayList<ArrayList<Integer>> subtours, ArrayList<Integer[]> droneFlights, double[][] truckEdgeWaitVars ){
-		ArrayList<GurobiConstraint> violatedConstraints = new ArrayList<>();
+	//the subtours of the truck are merged, afterwards the drone flights, which are not feasible on the merged tour, are dropped
+	//and their customers are inserted into the truck tour until all remaining drone flights are feasible
+	@Override
+	protected CallbackSolution repairSolution( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException{
+		SubtourRepair subtourRepair = new SubtourRepair( truckTimes );
+		ArrayList<Integer> tour = subtourRepair.repair( truckEdgeSolution.getSubtours() );
+		double[] droneFlightsValues = context.getSolution( grbDroneFlightsVarsList );
+		ArrayList<Integer> droneFlights = new ArrayList<>();
+		for( int f = 0; f < droneFlightsValues.length; f++ ){
+			if( (int)( droneFlightsValues[f] + 0.5d ) != 0 ){
+				droneFlights.add( f );
+			}
+		}
+
+		int droppedDroneFlightsCounter = 0;
+		int[] positions = new int[dimension];
+		long[] prefixTimes = new long[dimension];
+		boolean isTourChanged = true;
+		while( isTourChanged ){
+			Arrays.fill( positions, -1 );
+			long truckTime = 0;
+			for( int k = 0; k < tour.size(); k++ ){
+				positions[tour.get( k )] = k;
+				prefixTimes[k] = truckTime;
+				truckTime += truckTimes.get( tour.get( k ), tour.get( ( k + 1 ) % tour.size() ) );
+			}
+			//the truck path of a drone flight is the part of the tour between the first and the last node of the flight
+			droneFlights.sort( Comparator.comparingInt( f -> Math.min( positions[possibleDroneFlights.getStart( f )], positions[possibleDroneFlights.getEnd( f )] ) ) );
+			ArrayList<Integer> droppedDroneFlights = new ArrayList<>();
+			int lastEnd = 0;
+			for( int f : droneFlights ){
+				int start = Math.min( positions[possibleDroneFlights.getStart( f )], positions[possibleDroneFlights.getEnd( f )] );
+				int end = Math.max( positions[possibleDroneFlights.getStart( f )], positions[possibleDroneFlights.getEnd( f )] );
+				if( start < 0 || start < lastEnd || prefixTimes[end] - prefixTimes[start] > droneFlightTime ){
+					droppedDroneFlights.add( f );
+				} else {
+					lastEnd = end;
+				}
+			}
+			isTourChanged = !droppedDroneFlights.isEmpty();
+			for( int f : droppedDroneFlights ){
+				droneFlights.remove( (Integer)f );
+				subtourRepair.insertCheapest( tour, possibleDroneFlights.getCustomer( f ) );
+				droppedDroneFlightsCounter++;
+			}
+		}
+
+		double[] truckEdgeValues = createTruckEdgeValues( tour );
+		if( truckEdgeValues == null ){
+			log.debug( "Repaired truck tour uses truck edges which are no candidates. Skip it!" );
+			return null;
+		}
+		int[] vars = new int[grbTruckEdgeVarsList.length + grbDroneFlightsVarsList.length + grbTruckEdgeWaitVarsList.length];
+		System.arraycopy( grbTruckEdgeVarsList, 0, vars, 0, grbTruckEdgeVarsList.length );
+		System.arraycopy( grbDroneFlightsVarsList, 0, vars, grbTruckEdgeVarsList.length, grbDroneFlightsVarsList.length );
+		System.arraycopy( grbTruckEdgeWaitVarsList, 0, vars, grbTruckEdgeVarsList.length + grbDroneFlightsVarsList.length, grbTruckEdgeWaitVarsList.length );
+		double[] values = Arrays.copyOf( truckEdgeValues, vars.length );
+		long objective = subtourRepair.calculateLength( tour );
+		for( int f : droneFlights ){
+			int i = possibleDroneFlights.getStart( f );
+			int j = possibleDroneFlights.getEnd( f );
+			int customer = possibleDroneFlights.getCustomer( f );
+			values[grbTruckEdgeVarsList.length + f] = 1.0;
+			long waitTime = Math.max( 0, droneTimes.get( i, customer ) + droneTimes.get( customer, j ) - Math.abs( prefixTimes[positions[j]] - prefixTimes[positions[i]] ) );
+			values[grbTruckEdgeVarsList.length + grbDroneFlightsVarsList.length + TruckEdgeSolution.getEdgeIndex( dimension, i, j )] = waitTime;
+			objective += waitTime;
+		}
+		log.info( "Repaired " + truckEdgeSolution.getSubtours().size() + " truck subtours and dropped " + droppedDroneFlightsCounter
+						+ " drone flights to solution with objective " + objective + "." );
+		return new CallbackSolution( objective, vars, values );
+	}
+
+	//the keys of the lazy constraint pool are added in the same order as the constraints, if the list is given
+	private ArrayList<Constraint> getViolatedConstraints( ArrayList<ArrayList<Integer>> subtours, ArrayList<Integer[]> droneFlights, double[] truckEdgeWaitVars,
+					ArrayList<LazyConstraintPool.Key> keys ){
+		ArrayList<Constraint> violatedConstraints = new ArrayList<>();
+		//called in the callback, so the log strings are only created if debug is enabled
+		boolean isDebugEnabled = log.isDebugEnabled();
 
 		if( subtours.size() > 1 ){
 			log.info( "Found subtours: " + subtours.size() );
-			log.info( "Subtours: " + subtours );
+			if( log.isDebugEnabled() ){
+				log.debug( "Subtours: " + subtours );
+			}
 
 			log.info( "Get violated subtour elimination constraints" );
 			for( ArrayList<Integer> subtour : subtours ){
@@ -695,15 +606,17 @@ public class Fstsp extends TspModel{
 					int subtourVertexCounter = subtour.size();
 
 					ArrayList<int[]> edges = createEdgesForSubtourEliminationConstraint( subtour );
-					StringBuilder subtourEliminationConstraintString = new StringBuilder();
-					GRBLinExpr grbExpr = new GRBLinExpr();
+					LinExpr linExpr = new LinExpr();
 					for( int[] edge : edges ){
-						subtourEliminationConstraintString.append( "x" ).append( edge[0] ).append( "_" ).append( edge[1] ).append( " + " );
-						grbExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
+						linExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
+					}
+					if( isDebugEnabled ){
+						log.debug( "Found violated subtour elimination constraint: " + createSubtourEliminationConstraintLogString( edges ) + " <= " + (subtour.size() - 1) );
+					}
+					violatedConstraints.add( new Constraint( linExpr, Sense.LESS_EQUAL, subtourVertexCounter - 1, null ) );
+					if( keys != null ){
+						keys.add( LazyConstraintPool.createVertexSetKey( subtour ) );
 					}
-					log.debug( "Found violated subtour elimination constraint: " + subtourEliminationConstraintString
-									.substring( 0, subtourEliminationConstraintString.length() - 2 ) + "<= " + (subtour.size() - 1) );
-					violatedConstraints.add( new GurobiConstraint( grbExpr, GRB.LESS_EQUAL, subtourVertexCounter - 1, null ) );
 				}
 			}
 		}
@@ -717,7 +630,7 @@ public class Fstsp extends TspModel{
 				Integer c = droneFlights.get( k )[2];
 				log.info( "droneFlight_" + k + ": ({ " + i + ", " + j + " }, " + c + " )" );
 			}
-		} else {
+		} else if( isDebugEnabled ){
 			log.debug( "No droneFlights in solution!" );
 		}
 
@@ -725,7 +638,9 @@ public class Fstsp extends TspModel{
 			Integer i = droneFlight[0];
 			Integer j = droneFlight[1];
 			Integer c = droneFlight[2];
-			log.debug( "Check drone flight ({ " + i + ", " + j + " }, " + c + " ) for sub-drone-flights." );
+			if( isDebugEnabled ){
+				log.debug( "Check drone flight ({ " + i + ", " + j + " }, " + c + " ) for sub-drone-flights." );
+			}
 			for( ArrayList<Integer> subtour : subtours ){
 				if( subtour.contains( i ) && subtour.contains( j ) ){
 					//droneFlight start/end in same subtour
@@ -737,9 +652,13 @@ public class Fstsp extends TspModel{
 						indexJ = tmp;
 					}
 					List<Integer> truckTourItoJ = subtour.subList( indexI, indexJ + 1 );
-					log.debug( "truckTourItoJ: " + truckTourItoJ );
+					if( isDebugEnabled ){
+						log.debug( "truckTourItoJ: " + truckTourItoJ );
+					}
 					List<Integer> truckTourBetweenIToJ = subtour.subList( indexI + 1, indexJ );
-					log.debug( "truckTourBetweenIToJ: " + truckTourBetweenIToJ );
+					if( isDebugEnabled ){
+						log.debug( "truckTourBetweenIToJ: " + truckTourBetweenIToJ );
+					}
 
 					for( Integer[] subDroneFlight : droneFlights ){
 						Integer i2 = subDroneFlight[0];
@@ -753,29 +672,27 @@ public class Fstsp extends TspModel{
 											.get( truckTourItoJ.size() - 1 ).equals( j2 )) || (truckTourItoJ.get( 0 ).equals( j2 ) && truckTourItoJ
 											.get( truckTourItoJ.size() - 1 ).equals( i2 )) ){
 
-								StringBuilder subDroneFlightEliminationConstraintString = new StringBuilder();
-								GRBLinExpr grbExpr = new GRBLinExpr();
-
-								grbExpr.addTerm( 1.0, grbDroneFlightsVars[i][j][c] );
-								subDroneFlightEliminationConstraintString.append( "y" ).append( i ).append( "_" ).append( j ).append( "_" ).append( c ).append( " + " );
-								grbExpr.addTerm( 1.0, grbDroneFlightsVars[i2][j2][c2] );
-								subDroneFlightEliminationConstraintString.append( "y" ).append( i2 ).append( "_" ).append( j2 ).append( "_" ).append( c2 )
-												.append( " + " );
+								LinExpr linExpr = new LinExpr();
+								linExpr.addTerm( 1.0, getGrbDroneFlightVar( i, j, c ) );
+								linExpr.addTerm( 1.0, getGrbDroneFlightVar( i2, j2, c2 ) );
 								for( int k = 0; k < truckTourItoJ.size() - 1; k++ ){
-									int node1 = truckTourItoJ.get( k );
-									int node2 = truckTourItoJ.get( k + 1 );
-									grbExpr.addTerm( 1.0, grbTruckEdgeVars[node1][node2] );
-									subDroneFlightEliminationConstraintString.append( "x" ).append( node1 ).append( "_" ).append( node2 ).append( " + " );
+									linExpr.addTerm( 1.0, grbTruckEdgeVars[truckTourItoJ.get( k )][truckTourItoJ.get( k + 1 )] );
 								}
 
-								log.debug( "Found violated sub-drone-flight elimination constraint: " + subDroneFlightEliminationConstraintString
-												.substring( 0, subDroneFlightEliminationConstraintString.length() - 2 ) + "<= " + truckTourItoJ.size() );
-								violatedConstraints.add( new GurobiConstraint( grbExpr, GRB.LESS_EQUAL, truckTourItoJ.size(), null ) );
+								if( isDebugEnabled ){
+									log.debug( "Found violated sub-drone-flight elimination constraint: y" + i + "_" + j + "_" + c + " + y" + i2 + "_" + j2 + "_" + c2
+													+ " + " + createTruckTourLogString( truckTourItoJ, " + " ) + " <= " + truckTourItoJ.size() );
+								}
+								violatedConstraints.add( new Constraint( linExpr, Sense.LESS_EQUAL, truckTourItoJ.size(), null ) );
 							} else {
-								log.debug( "Skip sub drone flight ({ " + i2 + ", " + j2 + " }, " + c2 + " ), cause it is not forbidden." );
+								if( isDebugEnabled ){
+									log.debug( "Skip sub drone flight ({ " + i2 + ", " + j2 + " }, " + c2 + " ), cause it is not forbidden." );
+								}
 							}
 						} else {
-							log.debug( "Skip the current sub drone flight ({ " + i2 + ", " + j2 + " }, " + c2 + " ), cause it is the current drone flight." );
+							if( isDebugEnabled ){
+								log.debug( "Skip the current sub drone flight ({ " + i2 + ", " + j2 + " }, " + c2 + " ), cause it is the current drone flight." );
+							}
 						}
 					}
 				}
@@ -788,7 +705,9 @@ public class Fstsp extends TspModel{
 			Integer i = droneFlight[0];
 			Integer j = droneFlight[1];
 			Integer c = droneFlight[2];
-			log.debug( "Check drone flight ({ " + i + ", " + j + " }, " + c + " ) for wait time." );
+			if( isDebugEnabled ){
+				log.debug( "Check drone flight ({ " + i + ", " + j + " }, " + c + " ) for wait time." );
+			}
 
 			for( ArrayList<Integer> subtour : subtours ){
 				if( subtour.contains( i ) && subtour.contains( j ) ){
@@ -801,22 +720,20 @@ public class Fstsp extends TspModel{
 						indexJ = tmp;
 					}
 					List<Integer> truckTourItoJ = subtour.subList( indexI, indexJ + 1 );
-					log.debug( "truckTourItoJ: " + truckTourItoJ );
+					if( isDebugEnabled ){
+						log.debug( "truckTourItoJ: " + truckTourItoJ );
+					}
 
-					StringBuilder waitTimeConstraintString = new StringBuilder();
-					GRBLinExpr grbExpr = new GRBLinExpr();
+					LinExpr linExpr = new LinExpr();
 
-					grbExpr.addConstant( truckTourItoJ.size() * valueBiggerThanObjective );
-					waitTimeConstraintString.append( valueBiggerThanObjective ).append( " * ( " ).append( truckTourItoJ.size() ).append( " - " );
-					grbExpr.addTerm( -valueBiggerThanObjective, grbDroneFlightsVars[i][j][c] );
-					waitTimeConstraintString.append( "y" ).append( i ).append( "_" ).append( j ).append( "_" ).append( c ).append( " - " );
-					double rhs = droneTimes[i][c] + droneTimes[c][j];
+					linExpr.addConstant( truckTourItoJ.size() * valueBiggerThanObjective );
+					linExpr.addTerm( -valueBiggerThanObjective, getGrbDroneFlightVar( i, j, c ) );
+					double rhs = droneTimes.get( i, c ) + droneTimes.get( c, j );
 					for( int k = 0; k < truckTourItoJ.size() - 1; k++ ){
 						int node1 = truckTourItoJ.get( k );
 						int node2 = truckTourItoJ.get( k + 1 );
-						grbExpr.addTerm( -valueBiggerThanObjective, grbTruckEdgeVars[node1][node2] );
-						waitTimeConstraintString.append( "x" ).append( node1 ).append( "_" ).append( node2 ).append( " - " );
-						rhs -= truckTimes[node1][node2];
+						linExpr.addTerm( -valueBiggerThanObjective, grbTruckEdgeVars[node1][node2] );
+						rhs -= truckTimes.get( node1, node2 );
 					}
 
 					if( rhs == 0 ){
@@ -825,43 +742,66 @@ public class Fstsp extends TspModel{
 					} else if( rhs < 0 ){
 						log.debug( "Drone has to wait for the truck. Check if wait time plus flight time exceeds maximum drone flight time." );
 						double droneWaitTime = -rhs;
-						if( droneTimes[i][c] + droneTimes[c][j] + droneWaitTime > droneFlightTime ){
-							grbExpr = new GRBLinExpr();
-							StringBuilder droneFlightTimeExceedsConstraintString = new StringBuilder( "y" ).append( i ).append( "_" ).append( j ).append( "_" )
-											.append( c ).append( " + " );
-							grbExpr.addTerm( 1.0, grbDroneFlightsVars[i][j][c] );
+						if( droneTimes.get( i, c ) + droneTimes.get( c, j ) + droneWaitTime > droneFlightTime ){
+							linExpr = new LinExpr();
+							linExpr.addTerm( 1.0, getGrbDroneFlightVar( i, j, c ) );
 							for( int k = 0; k < truckTourItoJ.size() - 1; k++ ){
-								int node1 = truckTourItoJ.get( k );
-								int node2 = truckTourItoJ.get( k + 1 );
-								grbExpr.addTerm( 1.0, grbTruckEdgeVars[node1][node2] );
-								droneFlightTimeExceedsConstraintString.append( "x" ).append( node1 ).append( "_" ).append( node2 ).append( " + " );
+								linExpr.addTerm( 1.0, grbTruckEdgeVars[truckTourItoJ.get( k )][truckTourItoJ.get( k + 1 )] );
 							}
-							log.debug( "Found violated drone flight time exceeds constraint: " + droneFlightTimeExceedsConstraintString
-											.substring( 0, droneFlightTimeExceedsConstraintString.length() - 2 ) + "<= " + (truckTourItoJ.size() - 1) );
-							violatedConstraints.add( new GurobiConstraint( grbExpr, GRB.LESS_EQUAL, truckTourItoJ.size() - 1, null ) );
+							if( isDebugEnabled ){
+								log.debug( "Found violated drone flight time exceeds constraint: y" + i + "_" + j + "_" + c + " + "
+												+ createTruckTourLogString( truckTourItoJ, " + " ) + " <= " + (truckTourItoJ.size() - 1) );
+							}
+							violatedConstraints.add( new Constraint( linExpr, Sense.LESS_EQUAL, truckTourItoJ.size() - 1, null ) );
 						} else {
 							break;
 						}
 					} else {
-						grbExpr.addTerm( 1.0, grbTruckEdgeWaitVars[i][j] );
-						int w_ij = (int)(truckEdgeWaitVars[i][j] + 0.5d);
+						linExpr.addTerm( 1.0, grbTruckEdgeWaitVars[i][j] );
+						int w_ij = (int)(truckEdgeWaitVars[TruckEdgeSolution.getEdgeIndex( dimension, i, j )] + 0.5d);
 						if( w_ij >= rhs ){
-							log.debug( "Do not add wait time constraint, cause w" + i + "_" + j + " = " + w_ij + " is already greater-equal " + rhs );
+							if( isDebugEnabled ){
+								log.debug( "Do not add wait time constraint, cause w" + i + "_" + j + " = " + w_ij + " is already greater-equal " + rhs );
+							}
 							break;
 						}
-						log.debug( "w" + i + "_" + j + ": " + w_ij );
-						log.debug( "Found violated wait time constraint: " + waitTimeConstraintString.substring( 0, waitTimeConstraintString.length() - 2 ) + ") + w" + i
-										+ "_" + j + " >= " + rhs );
-						violatedConstraints.add( new GurobiConstraint( grbExpr, GRB.GREATER_EQUAL, rhs, null ) );
+						if( isDebugEnabled ){
+							log.debug( "w" + i + "_" + j + ": " + w_ij );
+							log.debug( "Found violated wait time constraint: " + valueBiggerThanObjective + " * ( " + truckTourItoJ.size() + " - y" + i + "_" + j + "_" + c
+											+ " - " + createTruckTourLogString( truckTourItoJ, " - " ) + " ) + w" + i + "_" + j + " >= " + rhs );
+						}
+						violatedConstraints.add( new Constraint( linExpr, Sense.GREATER_EQUAL, rhs, null ) );
 					}
 				}
 			}
 		}
 
+		//the drone flight constraints are given by their truck edges, drone flights and wait times
+		if( keys != null ){
+			for( int k = keys.size(); k < violatedConstraints.size(); k++ ){
+				keys.add( LazyConstraintPool.createKey( violatedConstraints.get( k ) ) );
+			}
+		}
 		return violatedConstraints;
 
 	}
 
+	//only for debug logs, the truck edge vars of the tour joined by the given separator
+	private String createTruckTourLogString( List<Integer> truckTour, String separator ){
+		StringBuilder logString = new StringBuilder();
+		for( int k = 0; k < truckTour.size() - 1; k++ ){
+			if( k > 0 ){
+				logString.append( separator );
+			}
+			logString.append( "x" ).append( truckTour.get( k ) ).append( "_" ).append( truckTour.get( k + 1 ) );
+		}
+		return logString.toString();
+	}
+
+	private int getGrbDroneFlightVar( int i, int j, int customer ){
+		return grbDroneFlightsVarsList[possibleDroneFlights.indexOf( i, j, customer )];
+	}
+
 	public double getDroneFlightTime(){
 		return droneFlightTime;
 	}
@@ -870,11 +810,11 @@ public class Fstsp extends TspModel{
 		this.droneFlightTime = droneFlightTime;
 	}
 
-	public int[][] getDroneTimes(){
+	public DistanceMatrix getDroneTimes(){
 		return droneTimes;
 	}
 
-	public void setDroneTimes( int[][] droneTimes ){
+	public void setDroneTimes( DistanceMatrix droneTimes ){
 		this.droneTimes = droneTimes;
 	}
 
@@ -894,11 +834,11 @@ public class Fstsp extends TspModel{
 		this.truckSpeed = truckSpeed;
 	}
 
-	public int[][] getTruckTimes(){
+	public DistanceMatrix getTruckTimes(){
 		return truckTimes;
 	}
 
-	public void setTruckTimes( int[][] truckTimes ){
+	public void setTruckTimes( DistanceMatrix truckTimes ){
 		this.truckTimes = truckTimes;
 	}
 
@@ -918,11 +858,11 @@ public class Fstsp extends TspModel{
 		this.droneFlightTime = droneFlightTime;
 	}
 
-	public boolean[][][] getPossibleDroneFlights(){
+	public PossibleDroneFlights getPossibleDroneFlights(){
 		return possibleDroneFlights;
 	}
 
-	public void setPossibleDroneFlights( boolean[][][] possibleDroneFlights ){
+	public void setPossibleDroneFlights( PossibleDroneFlights possibleDroneFlights ){
 		this.possibleDroneFlights = possibleDroneFlights;
 	}
 
@@ -933,8 +873,8 @@ public class Fstsp extends TspModel{
 	public double getMaximumCustomerDistance(){
 		double maxDistance = -1;
 		for( int i = 1; i < dimension; i++ ){
-			if( distances[0][i] > maxDistance ){
-				maxDistance = distances[0][i];
+			if( distances.get( 0, i ) > maxDistance ){
+				maxDistance = distances.get( 0, i );
 			}
 		}
 		return maxDistance;
@@ -945,11 +885,11 @@ public class Fstsp extends TspModel{
 		return Math.round( droneFlightRangePercentage ) / 2.0;
 	}
 
-	public double[][][] getGrbDroneFlightsVarsStartValues(){
+	public double[] getGrbDroneFlightsVarsStartValues(){
 		return grbDroneFlightsVarsStartValues;
 	}
 
-	public void setGrbDronesCustomersVarsStartValues( double[][][] grbDroneFlightsVarsStartValues ){
+	public void setGrbDronesCustomersVarsStartValues( double[] grbDroneFlightsVarsStartValues ){
 		this.grbDroneFlightsVarsStartValues = grbDroneFlightsVarsStartValues;
 	}
 
@@ -0,0 +1,72 @@
+package de.hbrs.inf.tsp;
+
+import de.hbrs.inf.tsp.graph.TruckEdgeSolution;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.DoubleConsumer;
+
+public class Incumbent{
+
+	public static final double DEFAULT_OBJECTIVE = 999999999;
+
+	//objective and solution are replaced together by one compare-and-set, so they are always consistent
+	private final AtomicReference<Snapshot> best = new AtomicReference<>( new Snapshot( DEFAULT_OBJECTIVE, null ) );
+
+	public static class Snapshot{
+
+		private final double objective;
+		private final TruckEdgeSolution truckEdgeSolution;
+
+		private Snapshot( double objective, TruckEdgeSolution truckEdgeSolution ){
+			this.objective = objective;
+			this.truckEdgeSolution = truckEdgeSolution;
+		}
+
+		public double getObjective(){
+			return objective;
+		}
+
+		public TruckEdgeSolution getTruckEdgeSolution(){
+			return truckEdgeSolution;
+		}
+	}
+
+	//returns true, if the given solution is the new best one
+	public boolean offer( double objective, TruckEdgeSolution truckEdgeSolution ){
+		return offer( objective, truckEdgeSolution, null );
+	}
+
+	//the listener gets the objective of a new best solution only while it is still the best one,
+	//so a solution, which is replaced by a better one of another thread meanwhile, can not overwrite its objective
+	public boolean offer( double objective, TruckEdgeSolution truckEdgeSolution, DoubleConsumer listener ){
+		Snapshot candidate = new Snapshot( objective, truckEdgeSolution );
+		while( true ){
+			Snapshot current = best.get();
+			if( objective >= current.getObjective() ){
+				return false;
+			}
+			if( best.compareAndSet( current, candidate ) ){
+				if( listener != null ){
+					synchronized( this ){
+						if( best.get() == candidate ){
+							listener.accept( objective );
+						}
+					}
+				}
+				return true;
+			}
+		}
+	}
+
+	public double getObjective(){
+		return best.get().getObjective();
+	}
+
+	public Snapshot getSnapshot(){
+		return best.get();
+	}
+
+	public void reset(){
+		best.set( new Snapshot( DEFAULT_OBJECTIVE, null ) );
+	}
+}
@@ -0,0 +1,120 @@
+package de.hbrs.inf.tsp;
+
+import de.hbrs.inf.tsp.backend.Constraint;
+import de.hbrs.inf.tsp.backend.LinExpr;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+//pool of the lazy constraints of all callback threads, so the same subtour or drone flight constraint is only added once
+public class LazyConstraintPool{
+
+	private static final int VERTEX_SET = -1;
+
+	private final Set<Key> keys = ConcurrentHashMap.newKeySet();
+	private final AtomicLong lookupCounter = new AtomicLong();
+	private final AtomicLong addedCounter = new AtomicLong();
+	private final AtomicLong duplicateCounter = new AtomicLong();
+
+	//canonical form of a constraint: the bits of its vertices or variables, the hash is calculated once
+	public static final class Key{
+
+		private final int kind;
+		private final double rhs;
+		private final long[] words;
+		private final int hash;
+
+		private Key( int kind, double rhs, BitSet bitSet ){
+			this.kind = kind;
+			this.rhs = rhs;
+			this.words = bitSet.toLongArray();
+			this.hash = 31 * ( 31 * kind + Double.hashCode( rhs ) ) + Arrays.hashCode( words );
+		}
+
+		@Override
+		public boolean equals( Object o ){
+			if( this == o ){
+				return true;
+			}
+			if( !( o instanceof Key ) ){
+				return false;
+			}
+			Key key = (Key)o;
+			return hash == key.hash && kind == key.kind && rhs == key.rhs && Arrays.equals( words, key.words );
+		}
+
+		@Override
+		public int hashCode(){
+			return hash;
+		}
+	}
+
+	//a subtour elimination constraint is given by the vertices of the subtour
+	public static Key createVertexSetKey( Collection<Integer> vertices ){
+		BitSet bitSet = new BitSet();
+		for( int vertex : vertices ){
+			bitSet.set( vertex );
+		}
+		return new Key( VERTEX_SET, 0.0, bitSet );
+	}
+
+	//other constraints are given by their variables (e.g. the truck edges of a path and the drone flights) with sense and rhs,
+	//the lazy constraints of the models with the same variables, sense and rhs have the same coefficients
+	public static Key createKey( Constraint constraint ){
+		LinExpr linExpr = constraint.getLinExpr();
+		BitSet bitSet = new BitSet();
+		for( int k = 0; k < linExpr.size(); k++ ){
+			bitSet.set( linExpr.getVar( k ) );
+		}
+		return new Key( constraint.getSense().ordinal(), constraint.getRhs() - linExpr.getConstant(), bitSet );
+	}
+
+	//returns true, if the constraint is new, otherwise it is counted as duplicate
+	public boolean add( Key key ){
+		lookupCounter.incrementAndGet();
+		if( keys.add( key ) ){
+			addedCounter.incrementAndGet();
+			return true;
+		}
+		duplicateCounter.incrementAndGet();
+		return false;
+	}
+
+	public int size(){
+		return keys.size();
+	}
+
+	public long getLookupCounter(){
+		return lookupCounter.get();
+	}
+
+	//number of new constraints of all optimizations since the last clear
+	public long getAddedCounter(){
+		return addedCounter.get();
+	}
+
+	public long getDuplicateCounter(){
+		return duplicateCounter.get();
+	}
+
+	public double getDuplicateRate(){
+		long lookups = lookupCounter.get();
+		return lookups == 0 ? 0.0 : (double)duplicateCounter.get() / lookups;
+	}
+
+	//a new optimization of the solver does not know the lazy constraints of the previous one, so they are removed, but the counters are kept
+	public void clearConstraints(){
+		keys.clear();
+	}
+
+	public void clear(){
+		keys.clear();
+		lookupCounter.set( 0 );
+		addedCounter.set( 0 );
+		duplicateCounter.set( 0 );
+	}
+}
@@ -1,6 +1,17 @@
 package de.hbrs.inf.tsp;
 
-import gurobi.*;
+import de.hbrs.inf.tsp.backend.CallbackContext;
+import de.hbrs.inf.tsp.backend.Constraint;
+import de.hbrs.inf.tsp.backend.LinExpr;
+import de.hbrs.inf.tsp.backend.Sense;
+import de.hbrs.inf.tsp.backend.SolverBackend;
+import de.hbrs.inf.tsp.backend.SolverException;
+import de.hbrs.inf.tsp.backend.VarType;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import de.hbrs.inf.tsp.graph.TruckEdgeSolution;
+import de.hbrs.inf.tsp.heuristic.PdstspAlns;
+import de.hbrs.inf.tsp.heuristic.PdstspHeuristic;
+import de.hbrs.inf.tsp.heuristic.SubtourRepair;
 import org.apache.log4j.Logger;
 
 import java.util.ArrayList;
@@ -9,16 +20,16 @@ import java.util.Arrays;
 public class Pdstsp extends TspModel{
 
 	private double truckSpeed;
-	private int[][] truckTimes;
+	private DistanceMatrix truckTimes;
 	private double droneSpeed;
 	private double droneFlightTime;
 	private int droneFleetSize;
-	private int[][] droneTimes;
+	private DistanceMatrix droneTimes;
 	private int[] droneDeliveryPossible;
 	private ArrayList<Integer> droneDeliveryPossibleAndInFlightRange;
-	private transient GRBVar[][] grbDronesCustomersVars;
+	private transient int[][] grbDronesCustomersVars;
 	private transient double[][] grbDronesCustomersVarsStartValues = null;
-	private transient GRBVar grbObjectiveVar;
+	private transient int grbObjectiveVar;
 	private PdstspResult result;
 
 	private static Logger log = Logger.getLogger( Pdstsp.class.getName() );
@@ -26,8 +37,8 @@ public class Pdstsp extends TspModel{
 	public Pdstsp(){
 	}
 
-	public Pdstsp( String name, String comment, String type, int dimension, double[][] nodes, int[][] distances, double truckSpeed,
-					int[][] truckTimes, double droneSpeed, double droneFlightTime, int droneFleetSize, int[][] droneTimes,
+	public Pdstsp( String name, String comment, String type, int dimension, double[][] nodes, DistanceMatrix distances, double truckSpeed,
+					DistanceMatrix truckTimes, double droneSpeed, double droneFlightTime, int droneFleetSize, DistanceMatrix droneTimes,
 					int[] droneDeliveryPossible ){
 		super( name, comment, type, dimension, nodes, distances );
 		this.truckSpeed = truckSpeed;
@@ -39,7 +50,7 @@ public class Pdstsp extends TspModel{
 		this.droneFleetSize = droneFleetSize;
 		this.droneDeliveryPossibleAndInFlightRange = new ArrayList<>();
 		for( int i : droneDeliveryPossible ){
-			if( droneTimes[0][i] <= this.droneFlightTime / 2 ){
+			if( droneTimes.get( 0, i ) <= this.droneFlightTime / 2 ){
 				droneDeliveryPossibleAndInFlightRange.add( i );
 			}
 		}
@@ -67,7 +78,7 @@ public class Pdstsp extends TspModel{
 		toString += "Drone Times: \n";
 		for( int i = 0; i < droneTimes.length; i++ ){
 			for( int j = 0; j < droneTimes[0].length; j++ ){
-				toString += droneTimes[i][j] + ", ";
+				toString += droneTimes.get( i, j ) + ", ";
 			}
 			toString = toString.substring( 0, toString.length() - 2 ) + "\n";
 		}
@@ -82,106 +93,130 @@ public class Pdstsp extends TspModel{
 	}
 
 	@Override
-	protected GRBModel calcGrbModel() throws GRBException{
+	protected void calcGrbModel() throws SolverException{
 		log.info( "Start calculation of gurobi model for the PDSTSP without subtour elimination constraints" );
 
-		GRBModel grbModel = new GRBModel( grbEnv );
-
 		//init arrays for decision variables
-		grbDronesCustomersVars = new GRBVar[droneFleetSize][dimension];
-		grbTruckEdgeVars = new GRBVar[dimension][dimension];
+		grbDronesCustomersVars = new int[droneFleetSize][dimension];
+		grbTruckEdgeVars = new int[dimension][dimension];
+
+		//the log strings are only created if debug is enabled
+		boolean isDebugEnabled = log.isDebugEnabled();
 
 		//add traveltime as helping decision variable and the only var in objective function
-		grbObjectiveVar = grbModel.addVar( 0.0, GRB.INFINITY, 1.0, GRB.INTEGER, "traveltime" );
-		GRBLinExpr grbLinExpr = new GRBLinExpr();
-		grbLinExpr.addTerm( 1.0, grbObjectiveVar );
-		grbModel.setObjective( grbLinExpr, GRB.MINIMIZE );
+		grbObjectiveVar = solverBackend.addVar( 0.0, SolverBackend.INFINITY, 1.0, VarType.INTEGER, "traveltime" );
 		log.debug( "Add var 'traveltime' as objective function" );
 
 		//Add Truck time constraint as lower bounds for traveltime
-		grbLinExpr = new GRBLinExpr();
-		StringBuilder logString = new StringBuilder();
+		LinExpr linExpr = new LinExpr();
+		StringBuilder logString = isDebugEnabled ? new StringBuilder() : null;
 		for( int i = 0; i < dimension; i++ ){
 			for( int j = i; j < dimension; j++ ){
 				if( i != j ){
-					logString.append( "trucktimes_" ).append( i ).append( "_" ).append( j ).append( " * x" ).append( i ).append( "_" )
-							 .append( j ).append( " + " );
-					grbTruckEdgeVars[i][j] = grbModel.addVar( 0.0, 1.0, 0.0, GRB.BINARY, "x" + i + "_" + j );
+					grbTruckEdgeVars[i][j] = solverBackend.addVar( 0.0, 1.0, 0.0, VarType.BINARY, name( "x", i, j ) );
 					grbTruckEdgeVars[j][i] = grbTruckEdgeVars[i][j];
-					log.debug( "Add decision var x" + i + "_" + j + " with factor " + truckTimes[i][j] );
-					grbLinExpr.addTerm( truckTimes[i][j], grbTruckEdgeVars[i][j] );
+					if( isDebugEnabled ){
+						logString.append( "trucktimes_" ).append( i ).append( "_" ).append( j ).append( " * x" ).append( i ).append( "_" )
+								 .append( j ).append( " + " );
+						log.debug( "Add decision var x" + i + "_" + j + " with factor " + truckTimes.get( i, j ) );
+					}
+					linExpr.addTerm( truckTimes.get( i, j ), grbTruckEdgeVars[i][j] );
 				} else {
-					grbTruckEdgeVars[i][i] = grbModel.addVar( 0.0, 0.0, 0.0, GRB.BINARY, "x" + i + "_" + i );
+					grbTruckEdgeVars[i][i] = solverBackend.addVar( 0.0, 0.0, 0.0, VarType.BINARY, name( "x", i, i ) );
 				}
 
 			}
 		}
-		logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) );
-		log.debug( "Add constraint trucktime: " + logString + " <= traveltime" );
-		grbModel.addConstr( grbLinExpr, GRB.LESS_EQUAL, grbObjectiveVar, "trucktime" );
+		if( isDebugEnabled ){
+			log.debug( "Add constraint trucktime: " + logString.substring( 0, logString.length() - 3 ) + " <= traveltime" );
+		}
+		linExpr.addTerm( -1.0, grbObjectiveVar );
+		solverBackend.addConstr( linExpr, Sense.LESS_EQUAL, 0.0, "trucktime" );
 		calculatedConstraintsCounter++;
 
 		//Add Drone times constraints also as lower bounds for traveltime
 		for( int v = 0; v < droneFleetSize; v++ ){
-			logString = new StringBuilder();
-			grbLinExpr = new GRBLinExpr();
+			logString = isDebugEnabled ? new StringBuilder() : null;
+			linExpr = new LinExpr();
 			for( int i = 0; i < dimension; i++ ){
-				logString.append( "(dronetimes_0_" ).append( i ).append( " + dronetimes_" ).append( i ).append( "_0) * y" ).append( v ).append( "_" ).append( i )
-								.append( " + " );
+				if( isDebugEnabled ){
+					logString.append( "(dronetimes_0_" ).append( i ).append( " + dronetimes_" ).append( i ).append( "_0) * y" ).append( v ).append( "_" )
+									.append( i ).append( " + " );
+				}
 				if( droneDeliveryPossibleAndInFlightRange.contains( i ) ){
-					grbDronesCustomersVars[v][i] = grbModel.addVar( 0.0, 1.0, 0.0, GRB.BINARY, "y" + v + "_" + i );
-					log.debug( "Add decision var y" + v + "_" + i );
-					grbLinExpr.addTerm( droneTimes[0][i] + droneTimes[i][0], grbDronesCustomersVars[v][i] );
+					grbDronesCustomersVars[v][i] = solverBackend.addVar( 0.0, 1.0, 0.0, VarType.BINARY, name( "y", v, i ) );
+					if( isDebugEnabled ){
+						log.debug( "Add decision var y" + v + "_" + i );
+					}
+					linExpr.addTerm( droneTimes.get( 0, i ) + droneTimes.get( i, 0 ), grbDronesCustomersVars[v][i] );
 				} else {
-					grbDronesCustomersVars[v][i] = grbModel.addVar( 0.0, 0.0, 0.0, GRB.BINARY, "y" + v + "_" + i );
-					log.debug( "Add decision var y" + v + "_" + i + " = 0 (" + i + " is not in Flight range)" );
+					grbDronesCustomersVars[v][i] = solverBackend.addVar( 0.0, 0.0, 0.0, VarType.BINARY, name( "y", v, i ) );
+					if( isDebugEnabled ){
+						log.debug( "Add decision var y" + v + "_" + i + " = 0 (" + i + " is not in Flight range)" );
+					}
 				}
 			}
-			logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) );
-			log.debug( "Add constraint dronetime_" + v + ": " + logString + " <= traveltime" );
-			grbModel.addConstr( grbLinExpr, GRB.LESS_EQUAL, grbObjectiveVar, "dronetime_" + v );
+			if( isDebugEnabled ){
+				log.debug( "Add constraint dronetime_" + v + ": " + logString.substring( 0, logString.length() - 3 ) + " <= traveltime" );
+			}
+			linExpr.addTerm( -1.0, grbObjectiveVar );
+			solverBackend.addConstr( linExpr, Sense.LESS_EQUAL, 0.0, name( "dronetime_", v ) );
 			calculatedConstraintsCounter++;
 		}
 
 		//create constraints that each customer is served by truck or drone exactly once
 		//the constraint implicit contains degree-2 constraints for customers
 		for( int j = 1; j < dimension; j++ ){
-			logString = new StringBuilder( "0.5 * (" );
-			grbLinExpr = new GRBLinExpr();
+			linExpr = new LinExpr();
 			for( int i = 0; i < dimension; i++ ){
 				if( i != j ){
-					logString.append( "x" ).append( i ).append( "_" ).append( j ).append( " + " );
-					grbLinExpr.addTerm( 0.5, grbTruckEdgeVars[i][j] );
+					linExpr.addTerm( 0.5, grbTruckEdgeVars[i][j] );
 				}
 			}
-			logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) ).append( ") + " );
 			if( droneDeliveryPossibleAndInFlightRange.contains( j ) ){
 				for( int v = 0; v < droneFleetSize; v++ ){
-					logString.append( "y" ).append( v ).append( "_" ).append( j ).append( " + " );
-					grbLinExpr.addTerm( 1.0, grbDronesCustomersVars[v][j] );
+					linExpr.addTerm( 1.0, grbDronesCustomersVars[v][j] );
 				}
 			}
-			logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) );
-			log.debug( "Add constraint customer_served_once_" + j + ": " + logString + " = 1" );
-			grbModel.addConstr( grbLinExpr, GRB.EQUAL, 1.0, "customer_served_once_" + j );
+			if( isDebugEnabled ){
+				log.debug( "Add constraint customer_served_once_" + j + ": " + createCustomerServedOnceLogString( j ) + " = 1" );
+			}
+			solverBackend.addConstr( linExpr, Sense.EQUAL, 1.0, name( "customer_served_once_", j ) );
 			calculatedConstraintsCounter++;
 		}
 
 		//Add degree-2 constraint for depot
-		grbLinExpr = new GRBLinExpr();
-		logString = new StringBuilder();
+		linExpr = new LinExpr();
+		logString = isDebugEnabled ? new StringBuilder() : null;
 		for( int i = 1; i < dimension; i++ ){
-			logString.append( "x0_" ).append( i ).append( " + " );
-			grbLinExpr.addTerm( 1.0, grbTruckEdgeVars[0][i] );
+			if( isDebugEnabled ){
+				logString.append( "x0_" ).append( i ).append( " + " );
+			}
+			linExpr.addTerm( 1.0, grbTruckEdgeVars[0][i] );
+		}
+		if( isDebugEnabled ){
+			log.debug( "Add degree-2 constraint for depot: " + logString.substring( 0, logString.length() - 3 ) + " = 2" );
 		}
-		logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) );
-		log.debug( "Add degree-2 constraint for depot: " + logString + " = 2" );
-		grbModel.addConstr( grbLinExpr, GRB.EQUAL, 2.0, "deg2_depot" );
+		solverBackend.addConstr( linExpr, Sense.EQUAL, 2.0, "deg2_depot" );
 		calculatedConstraintsCounter++;
 
 		log.info( "End calculation of gurobi model for the PDSTSP without subtour elimination constraints" );
+	}
 
-		return grbModel;
+	private String createCustomerServedOnceLogString( int j ){
+		StringBuilder logString = new StringBuilder( "0.5 * (" );
+		for( int i = 0; i < dimension; i++ ){
+			if( i != j ){
+				logString.append( "x" ).append( i ).append( "_" ).append( j ).append( " + " );
+			}
+		}
+		logString = new StringBuilder( logString.substring( 0, logString.length() - 3 ) ).append( ") + " );
+		if( droneDeliveryPossibleAndInFlightRange.contains( j ) ){
+			for( int v = 0; v < droneFleetSize; v++ ){
+				logString.append( "y" ).append( v ).append( "_" ).append( j ).append( " + " );
+			}
+		}
+		return logString.substring( 0, logString.length() - 3 );
 	}
 
 	@Override public boolean presolveHeuristic( Defines.PresolveHeuristicType presolveHeuristicType ){
@@ -189,35 +224,45 @@ public class Pdstsp extends TspModel{
 		switch( presolveHeuristicType ){
 			case TSP:
 				//tsp as heuristic solution
-				Tsp tsp = new Tsp( this.name, this.comment, Defines.TSP, this.dimension, this.nodes, this.distances );
-				if( tsp.grbOptimize() != null ){
-					if( tsp.getResult().isOptimal() ){
-						grbTruckEdgeVarsStartValues = tsp.truckEdgeVars.clone();
-						//calculate heuristic value with tsp solution and calculated trucktimes of pdstsp
-						double calculatedHeuristicValue = 0.0;
-						for( int i = 0; i < dimension; i++ ){
-							for( int j = i; j < dimension; j++ ){
-								if( (int)(grbTruckEdgeVarsStartValues[i][j] + 0.5d) == 1 ){
-									calculatedHeuristicValue += truckTimes[i][j];
-								}
-							}
-						}
-						log.info( "Calculated heuristicValue with TSP solution and trucktimes: " + calculatedHeuristicValue );
-						setHeuristicValue( calculatedHeuristicValue );
-						// set the grbDronesCustomerStartValues to 0 (doubles are 0 by default)
-						grbDronesCustomersVarsStartValues = new double[droneFleetSize][dimension];
-						return true;
-					}
+				TspPresolveCache.CachedTspSolution tspSolution = TspPresolveCache.getTspSolution( this.name, this.comment, this.dimension, this.nodes, this.distances, this.backendType, this.threadCount );
+				if( tspSolution != null ){
+					setTruckTourStartValues( tspSolution.getTour() );
+					return true;
 				}
 				return false;
 
+			case LOCAL_SEARCH:
+				//heuristic tsp tour as heuristic solution
+				setTruckTourStartValues( createLocalSearchTour().getTour() );
+				return true;
+
+			case LIN_KERNIGHAN:
+				//iterated lin-kernighan tour as heuristic solution
+				setTruckTourStartValues( createLinKernighanTour().getTour() );
+				return true;
+
+			case PDSTSP:
+				//heuristic tsp tour, from which customers are moved to the drones until the makespan is balanced
+				PdstspHeuristic.Solution pdstspSolution = new PdstspHeuristic( truckTimes, droneTimes, droneFleetSize, droneDeliveryPossibleAndInFlightRange )
+								.solve( createLocalSearchTour().getTour() );
+				grbTruckEdgeVarsStartValues = createAdjacencyMatrix( pdstspSolution.getTruckTour() );
+				grbDronesCustomersVarsStartValues = new double[droneFleetSize][dimension];
+				for( int v = 0; v < droneFleetSize; v++ ){
+					for( int i : pdstspSolution.getDroneCustomers().get( v ) ){
+						grbDronesCustomersVarsStartValues[v][i] = 1.0;
+					}
+				}
+				log.info( "Calculated heuristicValue with pdstsp heuristic: " + pdstspSolution.getMakespan() );
+				setHeuristicValue( pdstspSolution.getMakespan() );
+				return true;
+
 			default:
 				log.info( "PresolveHeuristicType + '" + presolveHeuristicType.toString() + "' not supported for TSP!" );
 				return false;
 		}
 	}
 
-	@Override protected void setStartValues() throws GRBException{
+	@Override protected void setStartValues() throws SolverException{
 		super.setStartValues();
 		if( grbDronesCustomersVarsStartValues != null ) {
 			log.info( "Set start values for grbDronesCustomersVars!" );
@@ -225,9 +270,9 @@ public class Pdstsp extends TspModel{
 				for( int i : droneDeliveryPossibleAndInFlightRange ){
 					if( grbDronesCustomersVarsStartValues[v][i] >= 0 ){
 						log.debug( "Set start value for y" + v + "_" + i + ": " + (int)(grbDronesCustomersVarsStartValues[v][i] + 0.5d) );
-						grbDronesCustomersVars[v][i].set( GRB.DoubleAttr.Start, (int)(grbDronesCustomersVarsStartValues[v][i] + 0.5d) );
+						solverBackend.setStart( grbDronesCustomersVars[v][i], (int)(grbDronesCustomersVarsStartValues[v][i] + 0.5d) );
 					} else {
-						grbDronesCustomersVars[v][i].set( GRB.DoubleAttr.Start, GRB.UNDEFINED );
+						solverBackend.setStart( grbDronesCustomersVars[v][i], SolverBackend.UNDEFINED );
 					}
 				}
 			}
@@ -236,43 +281,82 @@ public class Pdstsp extends TspModel{
 		}
 	}
 
+	//all customers are served by the truck
+	private void setTruckTourStartValues( ArrayList<Integer> tour ){
+		grbTruckEdgeVarsStartValues = createAdjacencyMatrix( tour );
+		//calculate heuristic value with the truck tour and calculated trucktimes of pdstsp
+		double calculatedHeuristicValue = calculateTourValue( tour, truckTimes );
+		log.info( "Calculated heuristicValue with truck tour and trucktimes: " + calculatedHeuristicValue );
+		setHeuristicValue( calculatedHeuristicValue );
+		// set the grbDronesCustomerStartValues to 0 (doubles are 0 by default)
+		grbDronesCustomersVarsStartValues = new double[droneFleetSize][dimension];
+	}
+
+	//the solution of the pdstsp heuristic is the start solution of the alns
+	@Override
+	protected TspModelIterationResult calculateAlnsIterationResult( int alnsThreadCount ){
+		long runtimePresolveHeuristic = System.nanoTime();
+		PdstspHeuristic.Solution startSolution = new PdstspHeuristic( truckTimes, droneTimes, droneFleetSize, droneDeliveryPossibleAndInFlightRange )
+						.solve( createLocalSearchTour().getTour() );
+		setHeuristicValue( startSolution.getMakespan() );
+		getResult().setRuntimePresolveHeuristic( ( System.nanoTime() - runtimePresolveHeuristic ) / 1e9 );
+
+		PdstspHeuristic.Solution solution = new PdstspAlns( truckTimes, droneTimes, droneFleetSize, droneDeliveryPossibleAndInFlightRange )
+						.solve( startSolution, alnsThreadCount, getAlnsSeed(), calculateAlnsSeconds() );
+		PdstspIterationResult pdstspIterationResult = new PdstspIterationResult();
+		ArrayList<ArrayList<Integer>> truckTours = new ArrayList<>();
+		truckTours.add( solution.getTruckTour() );
+		pdstspIterationResult.setTruckTours( truckTours );
+		pdstspIterationResult.setDronesCustomers( solution.getDroneCustomers() );
+		pdstspIterationResult.setObjective( solution.getMakespan() );
+		result.getPdstspIterationResults().add( pdstspIterationResult );
+		return pdstspIterationResult;
+	}
+
 	@Override
-	protected TspModelIterationResult calculateAndAddIterationResult() throws GRBException{
+	protected TspModelIterationResult calculateAndAddIterationResult() throws SolverException{
 		PdstspIterationResult pdstspIterationResult = new PdstspIterationResult();
-		double[][] truckEdgeVars = grbModel.get( GRB.DoubleAttr.X, grbTruckEdgeVars );
-		pdstspIterationResult.setTruckTours( findSubtours( truckEdgeVars ) );
-		double[][] dronesCustomersVars = grbModel.get( GRB.DoubleAttr.X, grbDronesCustomersVars );
+		truckEdgeSolution = createTruckEdgeSolution( solverBackend.getValues( grbTruckEdgeVarsList ) );
+		pdstspIterationResult.setTruckTours( truckEdgeSolution.getSubtours() );
+		double[][] dronesCustomersVars = new double[droneFleetSize][];
+		for( int v = 0; v < droneFleetSize; v++ ){
+			dronesCustomersVars[v] = solverBackend.getValues( grbDronesCustomersVars[v] );
+		}
 		pdstspIterationResult.setDronesCustomers( findDronesCustomers( dronesCustomersVars ) );
 		result.getPdstspIterationResults().add( pdstspIterationResult );
 
 		return pdstspIterationResult;
 	}
 
-	private ArrayList<Integer>[] findDronesCustomers( double[][] dronesCustomerVars ) throws GRBException{
-		ArrayList<Integer>[] dronesCustomers = new ArrayList[droneFleetSize];
+	private ArrayList<ArrayList<Integer>> findDronesCustomers( double[][] dronesCustomerVars ) throws SolverException{
+		ArrayList<ArrayList<Integer>> dronesCustomers = new ArrayList<>( droneFleetSize );
 		for( int v = 0; v < droneFleetSize; v++ ){
-			dronesCustomers[v] = new ArrayList<>();
+			ArrayList<Integer> droneCustomers = new ArrayList<>();
 			for( int i = 0; i < dimension; i++ ){
 				if( (int)(dronesCustomerVars[v][i] + 0.5d) != 0 ){
-					dronesCustomers[v].add( i );
+					droneCustomers.add( i );
 				}
 			}
+			dronesCustomers.add( droneCustomers );
 		}
 		return dronesCustomers;
 	}
 
-	protected String logSolution() throws GRBException{
-		StringBuilder solutionString = new StringBuilder( super.logSolution() ).append( "\n" );
-		double[][] dronesCustomersVars = getSolution( grbDronesCustomersVars );
-		ArrayList<Integer>[] dronesCustomers = findDronesCustomers( dronesCustomersVars );
+	protected String logSolution( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException{
+		StringBuilder solutionString = new StringBuilder( super.logSolution( context, truckEdgeSolution ) ).append( "\n" );
+		double[][] dronesCustomersVars = new double[droneFleetSize][];
+		for( int v = 0; v < droneFleetSize; v++ ){
+			dronesCustomersVars[v] = context.getSolution( grbDronesCustomersVars[v] );
+		}
+		ArrayList<ArrayList<Integer>> dronesCustomers = findDronesCustomers( dronesCustomersVars );
 
-		if( dronesCustomers.length > 0 ){
-			for( int v = 0; v < dronesCustomers.length; v++ ){
-				solutionString.append( "Drone_" ).append( v ).append( "_Customers_Size: " ).append( dronesCustomers[v].size() ).append( "\n" );
-				if( dronesCustomers[v].size() > 0 ){
+		if( dronesCustomers.size() > 0 ){
+			for( int v = 0; v < dronesCustomers.size(); v++ ){
+				solutionString.append( "Drone_" ).append( v ).append( "_Customers_Size: " ).append( dronesCustomers.get( v ).size() ).append( "\n" );
+				if( dronesCustomers.get( v ).size() > 0 ){
 					solutionString.append( "Drone_" ).append( v ).append( "_Customers: " );
-					for( int i = 0; i < dronesCustomers[v].size(); i++ ){
-						solutionString.append( dronesCustomers[v].get( i ) ).append( ", " );
+					for( int i = 0; i < dronesCustomers.get( v ).size(); i++ ){
+						solutionString.append( dronesCustomers.get( v ).get( i ) ).append( ", " );
 					}
 					solutionString = new StringBuilder( solutionString.substring( 0, solutionString.length() - 1 ) ).append( "\n" );
 				}
@@ -289,29 +373,28 @@ public class Pdstsp extends TspModel{
 	}
 
 	@Override
-	protected void logIterationDebug() throws GRBException{
+	protected void logIterationDebug() throws SolverException{
 		super.logIterationDebug();
 		log.debug( "Drone customer vars of solution:" );
 		for( int v = 0; v < droneFleetSize; v++ ){
 			StringBuilder rowString = new StringBuilder( "Drone_" ).append( v ).append( " : " );
+			double[] dronesCustomersValues = solverBackend.getValues( grbDronesCustomersVars[v] );
 			for( int i = 1; i < dimension; i++ ){
-				if( grbDronesCustomersVars[v][i] == null ){
-					rowString.append( "-, " );
-				} else {
-					rowString.append( (int)grbDronesCustomersVars[v][i].get( GRB.DoubleAttr.X ) ).append( ", " );
-				}
+				rowString.append( (int)dronesCustomersValues[i] ).append( ", " );
 			}
 			log.debug( rowString.substring( 0, rowString.length() - 2 ) );
 		}
 	}
 
 	@Override
-	protected boolean addViolatedConstraints() throws GRBException{
+	protected boolean addViolatedConstraints() throws SolverException{
 
 		ArrayList<ArrayList<Integer>> subtours = result.getLast().getTruckTours();
 		if( subtours.size() > 1 ){
 			log.info( "Found subtours: " + subtours.size() );
-			log.debug( "Subtours: " + subtours );
+			if( log.isDebugEnabled() ){
+				log.debug( "Subtours: " + subtours );
+			}
 
 			log.info( "Add violated subtour elimination constraints" );
 			for( ArrayList<Integer> subtour : subtours ){
@@ -322,17 +405,14 @@ public class Pdstsp extends TspModel{
 					double subtourVertexCounter = subtour.size();
 
 					ArrayList<int[]> edges = createEdgesForSubtourEliminationConstraint( subtour );
-					StringBuilder subtourEliminationConstraintString = new StringBuilder();
-					String subtourEliminationConstraintName = "sec_";
-					GRBLinExpr grbExpr = new GRBLinExpr();
+					LinExpr linExpr = new LinExpr();
 					for( int[] edge : edges ){
-						subtourEliminationConstraintString.append( "x" ).append( edge[0] ).append( "_" ).append( edge[1] ).append( " + " );
-						grbExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
+						linExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
+					}
+					if( log.isDebugEnabled() ){
+						log.debug( "Add subtour elimination constraint: " + createSubtourEliminationConstraintLogString( edges ) + " <= " + ( subtour.size() - 1 ) );
 					}
-					subtourEliminationConstraintName += additionalConstraintsCounter;
-					log.debug( "Add subtour elimination constraint: " + subtourEliminationConstraintString
-									.substring( 0, subtourEliminationConstraintString.length() - 2 ) + "<= " + ( subtour.size() - 1 ) );
-					grbModel.addConstr( grbExpr, GRB.LESS_EQUAL, subtourVertexCounter - 1, subtourEliminationConstraintName );
+					solverBackend.addConstr( linExpr, Sense.LESS_EQUAL, subtourVertexCounter - 1, name( "sec_", additionalConstraintsCounter ) );
 					additionalConstraintsCounter++;
 				}
 			}
@@ -342,21 +422,21 @@ public class Pdstsp extends TspModel{
 		}
 	}
 
-	@Override protected boolean addViolatedLazyConstraints() throws GRBException{
+	@Override protected boolean addViolatedLazyConstraints( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException{
 
 		log.info( "Look for subtours and add lazy constraints." );
 
-		ArrayList<ArrayList<Integer>> subtours = null;
-		double[][] truckEdgeVars;
-
-		truckEdgeVars = getSolution( grbTruckEdgeVars );
-		subtours = findSubtours( truckEdgeVars );
+		ArrayList<ArrayList<Integer>> subtours = truckEdgeSolution.getSubtours();
 
 		if( subtours.size() > 1 ){
 			log.info( "Found subtours: " + subtours.size() );
-			log.debug( "Subtours: " + subtours );
+			if( log.isDebugEnabled() ){
+				log.debug( "Subtours: " + subtours );
+			}
 
 			log.info( "Add violated subtour elimination constraints as lazy constraints" );
+			ArrayList<Constraint> violatedConstraints = new ArrayList<>();
+			ArrayList<LazyConstraintPool.Key> keys = new ArrayList<>();
 			for( ArrayList<Integer> subtour : subtours ){
 
 				if( subtour.contains( 0 ) ){
@@ -365,24 +445,61 @@ public class Pdstsp extends TspModel{
 					double subtourVertexCounter = subtour.size();
 
 					ArrayList<int[]> edges = createEdgesForSubtourEliminationConstraint( subtour );
-					StringBuilder subtourEliminationConstraintString = new StringBuilder();
-					GRBLinExpr grbExpr = new GRBLinExpr();
+					LinExpr linExpr = new LinExpr();
 					for( int[] edge : edges ){
-						subtourEliminationConstraintString.append( "x" ).append( edge[0] ).append( "_" ).append( edge[1] ).append( " + " );
-						grbExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
+						linExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
 					}
-					log.debug( "Add (lazy) subtour elimination constraint: " + subtourEliminationConstraintString
-									.substring( 0, subtourEliminationConstraintString.length() - 2 ) + "<= " + ( subtour.size() - 1 ) );
-					addLazy( grbExpr, GRB.LESS_EQUAL, subtourVertexCounter - 1 );
-					additionalConstraintsCounter++;
+					if( log.isDebugEnabled() ){
+						log.debug( "Add (lazy) subtour elimination constraint: " + createSubtourEliminationConstraintLogString( edges ) + " <= " + ( subtour.size() - 1 ) );
+					}
+					violatedConstraints.add( new Constraint( linExpr, Sense.LESS_EQUAL, subtourVertexCounter - 1, null ) );
+					keys.add( LazyConstraintPool.createVertexSetKey( subtour ) );
 				}
 			}
+			addLazyConstraints( context, violatedConstraints, keys );
 			return true;
 		} else {
 			return false;
 		}
 	}
 
+	//the subtours of the truck are merged, the drones keep their customers of the integer solution
+	@Override
+	protected CallbackSolution repairSolution( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException{
+		SubtourRepair subtourRepair = new SubtourRepair( truckTimes );
+		ArrayList<Integer> tour = subtourRepair.repair( truckEdgeSolution.getSubtours() );
+		double[] truckEdgeValues = createTruckEdgeValues( tour );
+		if( truckEdgeValues == null ){
+			log.debug( "Repaired truck tour uses truck edges which are no candidates. Skip it!" );
+			return null;
+		}
+
+		int droneVarsCount = droneFleetSize * dimension;
+		int[] vars = Arrays.copyOf( grbTruckEdgeVarsList, grbTruckEdgeVarsList.length + droneVarsCount + 1 );
+		for( int v = 0; v < droneFleetSize; v++ ){
+			System.arraycopy( grbDronesCustomersVars[v], 0, vars, grbTruckEdgeVarsList.length + v * dimension, dimension );
+		}
+		vars[vars.length - 1] = grbObjectiveVar;
+		double[] values = Arrays.copyOf( truckEdgeValues, vars.length );
+		double[] droneValues = context.getSolution( Arrays.copyOfRange( vars, grbTruckEdgeVarsList.length, vars.length - 1 ) );
+
+		long makespan = subtourRepair.calculateLength( tour );
+		for( int v = 0; v < droneFleetSize; v++ ){
+			long droneTime = 0;
+			for( int i = 0; i < dimension; i++ ){
+				int y = (int)( droneValues[v * dimension + i] + 0.5d );
+				if( y == 1 ){
+					droneTime += droneTimes.get( 0, i ) + droneTimes.get( i, 0 );
+				}
+				values[grbTruckEdgeVarsList.length + v * dimension + i] = y;
+			}
+			makespan = Math.max( makespan, droneTime );
+		}
+		values[vars.length - 1] = makespan;
+		log.info( "Repaired " + truckEdgeSolution.getSubtours().size() + " truck subtours to solution with makespan " + makespan + "." );
+		return new CallbackSolution( makespan, vars, values );
+	}
+
 	public double getDroneFlightTime(){
 		return droneFlightTime;
 	}
@@ -399,11 +516,11 @@ public class Pdstsp extends TspModel{
 		this.droneFleetSize = droneFleetSize;
 	}
 
-	public int[][] getDroneTimes(){
+	public DistanceMatrix getDroneTimes(){
 		return droneTimes;
 	}
 
-	public void setDroneTimes( int[][] droneTimes ){
+	public void setDroneTimes( DistanceMatrix droneTimes ){
 		this.droneTimes = droneTimes;
 	}
 
@@ -423,11 +540,11 @@ public class Pdstsp extends TspModel{
 		this.truckSpeed = truckSpeed;
 	}
 
-	public int[][] getTruckTimes(){
+	public DistanceMatrix getTruckTimes(){
 		return truckTimes;
 	}
 
-	public void setTruckTimes( int[][] truckTimes ){
+	public void setTruckTimes( DistanceMatrix truckTimes ){
 		this.truckTimes = truckTimes;
 	}
 
@@ -466,8 +583,8 @@ public class Pdstsp extends TspModel{
 	public double getMaximumCustomerDistance(){
 		double maxDistance = -1;
 		for( int i = 1; i < dimension; i++ ){
-			if( distances[0][i] > maxDistance ){
-				maxDistance = distances[0][i];
+			if( distances.get( 0, i ) > maxDistance ){
+				maxDistance = distances.get( 0, i );
 			}
 		}
 		return maxDistance;
@@ -1,6 +1,15 @@
 package de.hbrs.inf.tsp;
 
-import gurobi.*;
+import de.hbrs.inf.tsp.backend.CallbackContext;
+import de.hbrs.inf.tsp.backend.Constraint;
+import de.hbrs.inf.tsp.backend.LinExpr;
+import de.hbrs.inf.tsp.backend.Sense;
+import de.hbrs.inf.tsp.backend.SolverException;
+import de.hbrs.inf.tsp.backend.VarType;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import de.hbrs.inf.tsp.graph.TruckEdgeSolution;
+import de.hbrs.inf.tsp.heuristic.HeuristicTour;
+import de.hbrs.inf.tsp.heuristic.SubtourRepair;
 
 import java.util.*;
 
@@ -11,7 +20,7 @@ public class Tsp extends TspModel{
 	public Tsp(){
 	}
 
-	public Tsp( String name, String comment, String type, int dimension, double[][] nodes, int[][] distances ){
+	public Tsp( String name, String comment, String type, int dimension, double[][] nodes, DistanceMatrix distances ){
 		super( name, comment, type, dimension, nodes, distances );
 		this.result = new TspResult( name );
 	}
@@ -21,20 +30,22 @@ public class Tsp extends TspModel{
 	}
 
 	@Override
-	protected GRBModel calcGrbModel() throws GRBException{
+	protected void calcGrbModel() throws SolverException{
 		log.info( "Start calculation of gurobi model for the TSP without subtour elimination constraints" );
 
-		GRBModel grbModel = new GRBModel( grbEnv );
+		boolean isDebugEnabled = log.isDebugEnabled();
 
 		// create decision variables
-		grbTruckEdgeVars = new GRBVar[dimension][dimension];
+		grbTruckEdgeVars = new int[dimension][dimension];
 		for( int i = 0; i < dimension; i++ ){
 			for( int j = i; j < dimension; j++ ){
 				if( i == j ){
-					grbTruckEdgeVars[i][i] = grbModel.addVar( 0.0, 0.0, 0.0, GRB.BINARY, "x" + i + "_" + i );
+					grbTruckEdgeVars[i][i] = solverBackend.addVar( 0.0, 0.0, 0.0, VarType.BINARY, name( "x", i, i ) );
 				} else {
-					log.debug( "Add decision var x" + i + "_" + j + " with factor " + distances[i][j] );
-					grbTruckEdgeVars[i][j] = grbModel.addVar( 0.0, 1.0, distances[i][j], GRB.BINARY, "x" + i + "_" + j );
+					if( isDebugEnabled ){
+						log.debug( "Add decision var x" + i + "_" + j + " with factor " + distances.get( i, j ) );
+					}
+					grbTruckEdgeVars[i][j] = solverBackend.addVar( 0.0, 1.0, distances.get( i, j ), VarType.BINARY, name( "x", i, j ) );
 					grbTruckEdgeVars[j][i] = grbTruckEdgeVars[i][j];
 				}
 			}
@@ -42,23 +53,24 @@ public class Tsp extends TspModel{
 
 		// create degree-2 constraints
 		for( int i = 0; i < dimension; i++ ){
-			GRBLinExpr grbLinExpr = new GRBLinExpr();
-			StringBuilder logString = new StringBuilder();
+			LinExpr linExpr = new LinExpr();
+			StringBuilder logString = isDebugEnabled ? new StringBuilder() : null;
 			for( int j = 0; j < dimension; j++ ){
 				if( i != j ){
-					logString.append( "x" ).append( i ).append( "_" ).append( j ).append( " + " );
-					grbLinExpr.addTerm( 1.0, grbTruckEdgeVars[i][j] );
+					if( isDebugEnabled ){
+						logString.append( "x" ).append( i ).append( "_" ).append( j ).append( " + " );
+					}
+					linExpr.addTerm( 1.0, grbTruckEdgeVars[i][j] );
 				}
 			}
-			logString = new StringBuilder( logString.substring( 0, logString.length() - 2 ) );
-			log.debug( "Add degree-2 constraint deg2_" + i + ": " + logString + " = 2" );
-			grbModel.addConstr( grbLinExpr, GRB.EQUAL, 2.0, "deg2_" + String.valueOf( i ) );
+			if( isDebugEnabled ){
+				log.debug( "Add degree-2 constraint deg2_" + i + ": " + logString.substring( 0, logString.length() - 2 ) + " = 2" );
+			}
+			solverBackend.addConstr( linExpr, Sense.EQUAL, 2.0, name( "deg2_", i ) );
 			calculatedConstraintsCounter++;
 		}
 
 		log.info( "End calculation of gurobi model for the TSP without subtour elimination constraints" );
-
-		return grbModel;
 	}
 
 	@Override public boolean presolveHeuristic( Defines.PresolveHeuristicType presolveHeuristicType ){
@@ -66,17 +78,24 @@ public class Tsp extends TspModel{
 		switch( presolveHeuristicType ){
 			case TSP:
 				//heuristic for testing is also optimal solution of the tsp
-				Tsp tsp = new Tsp( this.name, this.comment, "TSP", this.dimension, this.nodes, this.distances );
-				if( tsp.grbOptimize() != null ){
-					if( tsp.getResult().isOptimal() ){
-						grbTruckEdgeVarsStartValues = tsp.truckEdgeVars.clone();
-						log.info( "Set heuristicValue: " + tsp.getResult().getObjective() );
-						setHeuristicValue( tsp.getResult().getObjective() );
-						return true;
-					}
+				TspPresolveCache.CachedTspSolution tspSolution = TspPresolveCache.getTspSolution( this.name, this.comment, this.dimension, this.nodes, this.distances, this.backendType, this.threadCount );
+				if( tspSolution != null ){
+					grbTruckEdgeVarsStartValues = createAdjacencyMatrix( tspSolution.getTour() );
+					log.info( "Set heuristicValue: " + tspSolution.getObjective() );
+					setHeuristicValue( tspSolution.getObjective() );
+					return true;
 				}
 				return false;
 
+			case LOCAL_SEARCH:
+			case LIN_KERNIGHAN:
+				HeuristicTour heuristicTour = presolveHeuristicType == Defines.PresolveHeuristicType.LOCAL_SEARCH ? createLocalSearchTour()
+								: createLinKernighanTour();
+				grbTruckEdgeVarsStartValues = createAdjacencyMatrix( heuristicTour.getTour() );
+				log.info( "Set heuristicValue: " + heuristicTour.getLength() );
+				setHeuristicValue( heuristicTour.getLength() );
+				return true;
+
 			default:
 				log.info( "PresolveHeuristicType + '" + presolveHeuristicType.toString() + "' not supported for TSP!" );
 				return false;
@@ -84,21 +103,63 @@ public class Tsp extends TspModel{
 	}
 
 	@Override
-	protected TspModelIterationResult calculateAndAddIterationResult() throws GRBException{
+	protected void polishIncumbent( double objValue, TruckEdgeSolution truckEdgeSolution ){
+		HeuristicTour heuristicTour = polishTruckTour( truckEdgeSolution.getSubtours().get( 0 ) );
+		if( heuristicTour.getLength() < objValue && ( polishedTruckTour == null || heuristicTour.getLength() < polishedTruckTour.getLength() ) ){
+			polishedTruckTour = heuristicTour;
+			log.info( "Polished incumbent " + objValue + " to truck tour with length " + heuristicTour.getLength() + "." );
+			double[] values = createTruckEdgeValues( heuristicTour.getTour() );
+			if( values != null ){
+				offerCallbackSolution( new CallbackSolution( heuristicTour.getLength(), grbTruckEdgeVarsList, values ) );
+			}
+		}
+	}
+
+	@Override
+	protected CallbackSolution repairSolution( CallbackContext context, TruckEdgeSolution truckEdgeSolution ){
+		SubtourRepair subtourRepair = new SubtourRepair( distances );
+		ArrayList<Integer> tour = subtourRepair.repair( truckEdgeSolution.getSubtours() );
+		double[] values = createTruckEdgeValues( tour );
+		if( values == null ){
+			log.debug( "Repaired tour uses truck edges which are no candidates. Skip it!" );
+			return null;
+		}
+		long length = subtourRepair.calculateLength( tour );
+		log.info( "Repaired " + truckEdgeSolution.getSubtours().size() + " subtours to tour with length " + length + "." );
+		return new CallbackSolution( length, grbTruckEdgeVarsList, values );
+	}
+
+	//the alns is meant for the drone models, the tsp is solved by the iterated lin-kernighan within the same time limit
+	@Override
+	protected TspModelIterationResult calculateAlnsIterationResult( int alnsThreadCount ){
+		HeuristicTour heuristicTour = getLinKernighanTsp().solve( alnsThreadCount, getAlnsSeed(), calculateAlnsSeconds() );
 		TspIterationResult tspIterationResult = new TspIterationResult();
-		truckEdgeVars = grbModel.get( GRB.DoubleAttr.X, grbTruckEdgeVars );
-		tspIterationResult.setTruckTours( findSubtours( truckEdgeVars ) );
+		ArrayList<ArrayList<Integer>> truckTours = new ArrayList<>();
+		truckTours.add( heuristicTour.getTour() );
+		tspIterationResult.setTruckTours( truckTours );
+		tspIterationResult.setObjective( heuristicTour.getLength() );
 		result.getTspIterationResults().add( tspIterationResult );
 		return tspIterationResult;
 	}
 
 	@Override
-	protected boolean addViolatedConstraints() throws GRBException{
+	protected TspModelIterationResult calculateAndAddIterationResult() throws SolverException{
+		TspIterationResult tspIterationResult = new TspIterationResult();
+		truckEdgeSolution = createTruckEdgeSolution( solverBackend.getValues( grbTruckEdgeVarsList ) );
+		tspIterationResult.setTruckTours( truckEdgeSolution.getSubtours() );
+		result.getTspIterationResults().add( tspIterationResult );
+		return tspIterationResult;
+	}
+
+	@Override
+	protected boolean addViolatedConstraints() throws SolverException{
 
 		ArrayList<ArrayList<Integer>> subtours = result.getLast().getTruckTours();
 		if( subtours.size() > 1 ){
 			log.info( "Found subtours: " + subtours.size() );
-			log.debug( "Subtours: " + subtours );
+			if( log.isDebugEnabled() ){
+				log.debug( "Subtours: " + subtours );
+			}
 
 			log.info( "Add violated subtour elimination constraints" );
 			for( ArrayList<Integer> subtour : subtours ){
@@ -106,21 +167,20 @@ public class Tsp extends TspModel{
 
 				//skip subtours with bigger size than half of the dimension, cause it is not needed
 				if( subtourVertexCounter > dimension / 2 ){
-					log.debug( "Skip subtour cause it's bigger than half the dimension: " + subtour );
+					if( log.isDebugEnabled() ){
+						log.debug( "Skip subtour cause it's bigger than half the dimension: " + subtour );
+					}
 					continue;
 				}
 				ArrayList<int[]> edges = createEdgesForSubtourEliminationConstraint( subtour );
-				StringBuilder subtourEliminationConstraintString = new StringBuilder();
-				String subtourEliminationConstraintName = "sec_";
-				GRBLinExpr grbExpr = new GRBLinExpr();
+				LinExpr linExpr = new LinExpr();
 				for( int[] edge : edges ){
-					subtourEliminationConstraintString.append( "x" ).append( edge[0] ).append( "_" ).append( edge[1] ).append( " + " );
-					grbExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
+					linExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
+				}
+				if( log.isDebugEnabled() ){
+					log.debug( "Add subtour elimination constraint: " + createSubtourEliminationConstraintLogString( edges ) + " <= " + ( subtour.size() - 1 ) );
 				}
-				subtourEliminationConstraintName += additionalConstraintsCounter;
-				log.debug( "Add subtour elimination constraint: " + subtourEliminationConstraintString
-								.substring( 0, subtourEliminationConstraintString.length() - 2 ) + "<= " + ( subtour.size() - 1 ) );
-				grbModel.addConstr( grbExpr, GRB.LESS_EQUAL, subtourVertexCounter - 1, subtourEliminationConstraintName );
+				solverBackend.addConstr( linExpr, Sense.LESS_EQUAL, subtourVertexCounter - 1, name( "sec_", additionalConstraintsCounter ) );
 				additionalConstraintsCounter++;
 			}
 			return true;
@@ -129,40 +189,42 @@ public class Tsp extends TspModel{
 		}
 	}
 
-	@Override protected boolean addViolatedLazyConstraints() throws GRBException{
+	@Override protected boolean addViolatedLazyConstraints( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException{
 		log.info( "Look for subtours and add lazy constraints." );
 
-		ArrayList<ArrayList<Integer>> subtours = null;
-		double[][] truckEdgeVars;
-
-		truckEdgeVars = getSolution( grbTruckEdgeVars );
-		subtours = findSubtours( truckEdgeVars );
+		ArrayList<ArrayList<Integer>> subtours = truckEdgeSolution.getSubtours();
 
 		if( subtours.size() > 1 ){
 			log.info( "Found subtours: " + subtours.size() );
-			log.debug( "Subtours: " + subtours );
+			if( log.isDebugEnabled() ){
+				log.debug( "Subtours: " + subtours );
+			}
 
 			log.info( "Add violated subtour elimination constraints as lazy constraints" );
+			ArrayList<Constraint> violatedConstraints = new ArrayList<>();
+			ArrayList<LazyConstraintPool.Key> keys = new ArrayList<>();
 			for( ArrayList<Integer> subtour : subtours ){
 				double subtourVertexCounter = subtour.size();
 
 				//skip subtours with bigger size than half of the dimension, cause it is not needed
 				if( subtourVertexCounter > dimension / 2 ){
-					log.debug( "Skip subtour cause it's bigger than half the dimension: " + subtour );
+					if( log.isDebugEnabled() ){
+						log.debug( "Skip subtour cause it's bigger than half the dimension: " + subtour );
+					}
 					continue;
 				}
 				ArrayList<int[]> edges = createEdgesForSubtourEliminationConstraint( subtour );
-				StringBuilder subtourEliminationConstraintString = new StringBuilder();
-				GRBLinExpr grbExpr = new GRBLinExpr();
+				LinExpr linExpr = new LinExpr();
 				for( int[] edge : edges ){
-					subtourEliminationConstraintString.append( "x" ).append( edge[0] ).append( "_" ).append( edge[1] ).append( " + " );
-					grbExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
+					linExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
 				}
-				log.debug( "Add (lazy) subtour elimination constraint: " + subtourEliminationConstraintString
-								.substring( 0, subtourEliminationConstraintString.length() - 2 ) + "<= " + ( subtour.size() - 1 ) );
-				addLazy( grbExpr, GRB.LESS_EQUAL, subtourVertexCounter - 1 );
-				additionalConstraintsCounter++;
+				if( log.isDebugEnabled() ){
+					log.debug( "Add (lazy) subtour elimination constraint: " + createSubtourEliminationConstraintLogString( edges ) + " <= " + ( subtour.size() - 1 ) );
+				}
+				violatedConstraints.add( new Constraint( linExpr, Sense.LESS_EQUAL, subtourVertexCounter - 1, null ) );
+				keys.add( LazyConstraintPool.createVertexSetKey( subtour ) );
 			}
+			addLazyConstraints( context, violatedConstraints, keys );
 			return true;
 		}
 		return false;
@@ -176,11 +238,11 @@ public class Tsp extends TspModel{
 		this.nodes = nodes;
 	}
 
-	public int[][] getDistances(){
+	public DistanceMatrix getDistances(){
 		return distances;
 	}
 
-	public void setDistances( int[][] distances ){
+	public void setDistances( DistanceMatrix distances ){
 		this.distances = distances;
 	}
 
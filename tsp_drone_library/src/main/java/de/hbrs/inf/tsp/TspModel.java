@@ -1,14 +1,33 @@
 package de.hbrs.inf.tsp;
 
+import de.hbrs.inf.tsp.backend.BranchAndBoundBackend;
+import de.hbrs.inf.tsp.backend.CallbackContext;
+import de.hbrs.inf.tsp.backend.Constraint;
+import de.hbrs.inf.tsp.backend.LinExpr;
+import de.hbrs.inf.tsp.backend.OptimizationStatus;
+import de.hbrs.inf.tsp.backend.Sense;
+import de.hbrs.inf.tsp.backend.SolverBackend;
+import de.hbrs.inf.tsp.backend.SolverCallback;
+import de.hbrs.inf.tsp.backend.SolverException;
+import de.hbrs.inf.tsp.graph.CandidateTruckEdges;
+import de.hbrs.inf.tsp.graph.DistanceCalculator;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import de.hbrs.inf.tsp.graph.MinCutSeparator;
+import de.hbrs.inf.tsp.graph.TruckEdgeSolution;
+import de.hbrs.inf.tsp.gurobi.GurobiBackend;
+import de.hbrs.inf.tsp.heuristic.HeuristicTour;
+import de.hbrs.inf.tsp.heuristic.LinKernighanTsp;
+import de.hbrs.inf.tsp.heuristic.LocalSearchTsp;
 import de.hbrs.inf.tsp.json.TspLibJson;
-import gurobi.*;
 import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 
+import java.io.File;
 import java.util.ArrayList;
-import java.util.Stack;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicReference;
 
-public abstract class TspModel extends GRBCallback{
+public abstract class TspModel implements SolverCallback{
 
 	protected String name;
 	protected String comment;
@@ -16,42 +35,70 @@ public abstract class TspModel extends GRBCallback{
 	protected String type;
 	protected int dimension;
 	protected double[][] nodes;
-	protected int[][] distances;
-	protected transient GRBModel grbModel;
-	protected transient GRBEnv grbEnv;
-	protected transient GRBVar[][] grbTruckEdgeVars;
-	protected transient double[][] truckEdgeVars;
+	protected DistanceMatrix distances;
+	protected String edgeWeightType;
+	protected transient SolverBackend solverBackend;
+	protected transient int[][] grbTruckEdgeVars;
+	protected transient int[] grbTruckEdgeVarsList;
+	protected transient int[][] truckEdges;
+	protected transient TruckEdgeSolution truckEdgeSolution;
 	protected transient double[][] grbTruckEdgeVarsStartValues = null;
 	protected int additionalConstraintsCounter = 0;
 	protected int calculatedConstraintsCounter = 0;
+	protected int userCutsCounter = 0;
 	protected int maxOptimizationSeconds = -1;
 	protected transient long startOptimizationTime = -1;
 	protected boolean isLazyActive = true;
+	protected boolean isUserCutsActive = false;
+	protected transient MinCutSeparator minCutSeparator;
+	//each separation round calculates n - 1 max flows, so the rounds of an optimization are limited
+	protected transient int userCutRoundsCounter = 0;
 	protected boolean isGurobiHeuristicsActive = true;
+	protected boolean isNamesActive = true;
+	protected Defines.BackendType backendType = Defines.BackendType.GUROBI;
 	protected Defines.PresolveHeuristicType presolveHeuristicType = Defines.PresolveHeuristicType.NONE;
+	protected Defines.TruckEdgeSparsificationType truckEdgeSparsificationType = Defines.TruckEdgeSparsificationType.NONE;
+	protected int candidateEdgesCount = 10;
+	//truck edges which are not candidates have an upper bound of 0, null if the truck graph is not sparsified
+	protected transient BitSet candidateTruckEdges;
 	protected String hostname;
 	protected int threadCount = 0;
 	protected double heuristicValue = -1.0;
+	//time limit of the lin-kernighan restarts, the default depends on the dimension
+	protected double heuristicSeconds = -1.0;
+	protected boolean isIncumbentPolishingActive = false;
+	protected transient LinKernighanTsp linKernighanTsp;
+	//best truck tour of the incumbent polishing, which is shorter than the incumbent
+	protected transient volatile HeuristicTour polishedTruckTour;
+	protected boolean isSolutionRepairActive = false;
+	//best repaired or polished solution of the callbacks, which is submitted to the solver at the next MIPNODE callback
+	protected transient AtomicReference<CallbackSolution> callbackSolution = new AtomicReference<>();
 	protected int errorCode = 0;
-
-	private final transient static Object lock = new Object();
-	private transient final static double currentBestObjectiveSynced_DEFAULT_VALUE = 999999999;
-	protected transient static double currentBestObjectiveSynced = currentBestObjectiveSynced_DEFAULT_VALUE;
-
-	private static final double EARTH_RADIUS = 6378.388;
+	//directory of the files of the solver (log, lp, mps, sol and iis), the files are not written if it is null
+	protected String solverFilesDirectory = null;
+
+	protected transient Incumbent incumbent = new Incumbent();
+	protected transient LazyConstraintPool lazyConstraintPool = new LazyConstraintPool();
+
+	private static final double USER_CUT_VIOLATION_EPSILON = 1e-3;
+	private static final int USER_CUT_MAX_ROUNDS = 100;
+	private static final double PRICING_EPSILON = 1e-6;
+	private static final int LOCAL_SEARCH_START_COUNT = 16;
+	private static final long LOCAL_SEARCH_SEED = 42;
+	private static final double INCUMBENT_POLISHING_SECONDS = 0.1;
+	private static final int DEFAULT_ALNS_SECONDS = 60;
 	protected static Logger log = Logger.getLogger( TspModel.class.getName() );
 
 	public TspModel(){
 	}
 
-	public TspModel( String name, String comment, String type, int dimension, double[][] nodes, int[][] distances ){
+	public TspModel( String name, String comment, String type, int dimension, double[][] nodes, DistanceMatrix distances ){
 		this.name = name;
 		this.comment = comment;
 		this.type = type;
 		this.dimension = dimension;
 		this.nodes = nodes;
 		this.distances = distances;
-		setDefaultValueForCurrentBestObjectiveSynced();
 	}
 
 	public static double[][] calculateNodes( TspLibJson tspLibJson ){
@@ -67,93 +114,38 @@ public abstract class TspModel extends GRBCallback{
 		return null;
 	}
 
-	public static int[][] calculateTravelDistances( double[][] node_coordinates, int[][] edge_weights, int dimension,
+	public static DistanceMatrix calculateTravelDistances( double[][] node_coordinates, int[][] edge_weights, int dimension,
 					String edge_weight_type, String edge_weight_format ){
 
 		//calculate travel distances dependent on the distance type
 		switch( edge_weight_type ){
-			case "GEO":{
-				double[] latitude = new double[dimension];
-				double[] longitude = new double[dimension];
-				int[][] distances = new int[dimension][dimension];
-
-				for( int i = 0; i < dimension; i++ ){
-					int degX = (int)node_coordinates[i][0];
-					int degY = (int)node_coordinates[i][1];
-					double minX = node_coordinates[i][0] - degX;
-					double minY = node_coordinates[i][1] - degY;
-					latitude[i] = Math.PI * ( degX + 5.0 * minX / 3.0 ) / 180.0;
-					longitude[i] = Math.PI * ( degY + 5.0 * minY / 3.0 ) / 180.0;
-				}
-
-				for( int i = 0; i < dimension; i++ ){
-					for( int j = 0; j < dimension; j++ ){
-						if( i == j ){
-							distances[i][j] = 0;
-						} else {
-							double q1 = Math.cos( longitude[i] - longitude[j] );
-							double q2 = Math.cos( latitude[i] - latitude[j] );
-							double q3 = Math.cos( latitude[i] + latitude[j] );
-							distances[i][j] = (int)( EARTH_RADIUS * Math.acos( 0.5 * ( ( 1.0 + q1 ) * q2 - ( 1.0 - q1 ) * q3 ) ) + 1.0 );
-						}
-					}
-				}
-				return distances;
-
-			}
-			case "EUC_2D":{
-				int[][] distances = new int[dimension][dimension];
-
-				for( int i = 0; i < dimension; i++ ){
-					for( int j = 0; j < dimension; j++ ){
-						if( i == j ){
-							distances[i][j] = 0;
-						} else {
-							double deltaX = node_coordinates[i][0] - node_coordinates[j][0];
-							double deltaY = node_coordinates[i][1] - node_coordinates[j][1];
-							distances[i][j] = (int)( Math.sqrt( deltaX * deltaX + deltaY * deltaY ) + 0.5 );
-						}
-					}
-				}
-				return distances;
-
-			}
+			case "GEO":
+				return DistanceCalculator.calculateGeoDistances( node_coordinates, dimension );
+			case "EUC_2D":
+				return DistanceCalculator.calculateEuclideanDistances( node_coordinates, dimension );
 			case "EXPLICIT":
 				switch( edge_weight_format ){
 					case "LOWER_DIAG_ROW":{
-						int[][] distances = new int[dimension][dimension];
+						DistanceMatrix distances = new DistanceMatrix( dimension, true );
 						for( int i = 0; i < dimension; i++ ){
-							for( int j = i; j < dimension; j++ ){
-								if( i == j ){
-									distances[i][j] = 0;
-								} else {
-									distances[j][i] = edge_weights[j][i];
-									distances[i][j] = edge_weights[j][i];
-								}
+							for( int j = i + 1; j < dimension; j++ ){
+								distances.set( i, j, edge_weights[j][i] );
 							}
 						}
 						return distances;
 					}
 					case "UPPER_ROW":{
-						int[][] distances = new int[dimension][dimension];
+						DistanceMatrix distances = new DistanceMatrix( dimension, true );
 						for( int i = 0; i < dimension; i++ ){
-							distances[i][i] = 0;
 							for( int j = 0; j < dimension - i - 1; j++ ){
-								distances[i][j + i + 1] = edge_weights[i][j];
-								distances[j + i + 1][i] = edge_weights[i][j];
-							}
-						}
-						return distances;
-					}
-					case "FULL_MATRIX":{
-						int[][] distances = new int[dimension][dimension];
-						for( int i = 0; i < dimension; i++ ){
-							for( int j = 0; j < dimension; j++ ){
-								distances[i][j] = edge_weights[i][j];
+								distances.set( i, j + i + 1, edge_weights[i][j] );
 							}
 						}
 						return distances;
 					}
+					case "FULL_MATRIX":
+						//full matrices are only stored completely if they are not symmetric
+						return DistanceMatrix.fromArray( edge_weights );
 					default:
 						log.error( "edge_weight_format '" + edge_weight_format + "' not supported." );
 						return null;
@@ -164,19 +156,9 @@ public abstract class TspModel extends GRBCallback{
 		}
 	}
 
-	public static int[][] calculateTravelTimes( double speed, int[][] distances ){
-
-		int dimension = distances.length;
-
-		//calculate times with distances and speed
-		int[][] travelTimes = new int[dimension][dimension];
-		for( int i = 0; i < dimension; i++ ){
-			for( int j = 0; j < dimension; j++ ){
-				travelTimes[i][j] = (int)( ( distances[i][j] / speed ) + 0.5d );
-			}
-		}
-
-		return travelTimes;
+	//returns a view on the distances, the times are not stored separately
+	public static DistanceMatrix calculateTravelTimes( double speed, DistanceMatrix distances ){
+		return distances.toTravelTimes( speed );
 	}
 
 	public String toString(){
@@ -185,9 +167,9 @@ public abstract class TspModel extends GRBCallback{
 			toString.append( "[ " ).append( node[0] ).append( ", " ).append( node[1] ).append( " ], \n" );
 		}
 		toString.append( "Distances: \n" );
-		for( int[] distance : distances ){
-			for( int j = 0; j < distances[0].length; j++ ){
-				toString.append( distance[j] ).append( ", " );
+		for( int i = 0; i < distances.getDimension(); i++ ){
+			for( int j = 0; j < distances.getDimension(); j++ ){
+				toString.append( distances.get( i, j ) ).append( ", " );
 			}
 			toString = new StringBuilder( toString.substring( 0, toString.length() - 2 ) ).append( "\n" );
 		}
@@ -195,20 +177,21 @@ public abstract class TspModel extends GRBCallback{
 		return toString.toString();
 	}
 
-	protected abstract GRBModel calcGrbModel() throws GRBException;
+	//adds the variables and constraints of the model (without the violated ones) to the solverBackend
+	protected abstract void calcGrbModel() throws SolverException;
 
-	protected abstract boolean addViolatedConstraints() throws GRBException;
+	protected abstract boolean addViolatedConstraints() throws SolverException;
 
-	protected void setStartValues() throws GRBException{
+	protected void setStartValues() throws SolverException{
 		if( grbTruckEdgeVarsStartValues != null ) {
 			log.info( "Set start values for grbTruckEdgeVars!" );
 			for( int i = 0; i < dimension; i++ ){
 				for( int j = i; j < dimension; j++ ){
 					if( grbTruckEdgeVarsStartValues[i][j] >= 0 ){
 						log.debug( "Set start value for x" + i + "_" + j + ": " + (int)(grbTruckEdgeVarsStartValues[i][j] + 0.5d) );
-						grbTruckEdgeVars[i][j].set( GRB.DoubleAttr.Start, (int)(grbTruckEdgeVarsStartValues[i][j] + 0.5d) );
+						solverBackend.setStart( grbTruckEdgeVars[i][j], (int)(grbTruckEdgeVarsStartValues[i][j] + 0.5d) );
 					} else {
-						grbTruckEdgeVars[i][j].set( GRB.DoubleAttr.Start, GRB.UNDEFINED );
+						solverBackend.setStart( grbTruckEdgeVars[i][j], SolverBackend.UNDEFINED );
 					}
 				}
 			}
@@ -220,27 +203,35 @@ public abstract class TspModel extends GRBCallback{
 	protected abstract boolean presolveHeuristic( Defines.PresolveHeuristicType presolveHeuristicType );
 
 	public TspModelResult grbOptimize(){
+		if( backendType == Defines.BackendType.ALNS ){
+			return alnsOptimize();
+		}
 		try{
 			long runtimeCalcGrbModel = System.nanoTime();
-			grbEnv = new GRBEnv();
-			grbEnv.set( GRB.IntParam.LogToConsole, 1 );
-			if( log.isDebugEnabled() ){
-				grbEnv.set( GRB.StringParam.LogFile, "out.log" );
-			}
+			incumbent.reset();
+			lazyConstraintPool.clear();
+			solverBackend = createSolverBackend();
 
 			if( !isGurobiHeuristicsActive ){
-				grbEnv.set( GRB.DoubleParam.Heuristics, 0.0 );
+				solverBackend.setHeuristics( 0.0 );
 			}
 
-			grbModel = calcGrbModel();
+			truckEdges = TruckEdgeSolution.createCompleteGraphEdges( dimension );
+			calcGrbModel();
+			initGrbTruckEdgeVarsList();
 
 			if( isLazyActive ){
-				grbModel.set( GRB.IntParam.LazyConstraints, 1 );
+				solverBackend.setLazyConstraints( true );
 			}
-			grbModel.set( GRB.IntParam.Threads, threadCount );
+			if( isUserCutsActive ){
+				//user cuts are formulated on the original variables, so presolve must be able to translate them
+				solverBackend.setPreCrush( true );
+				minCutSeparator = new MinCutSeparator( dimension, 0, USER_CUT_VIOLATION_EPSILON );
+			}
+			solverBackend.setThreads( threadCount );
 
 			if( maxOptimizationSeconds > 0 ){
-				grbModel.set( GRB.DoubleParam.TimeLimit, maxOptimizationSeconds );
+				solverBackend.setTimeLimit( maxOptimizationSeconds );
 			}
 
 			runtimeCalcGrbModel = System.nanoTime() - runtimeCalcGrbModel;
@@ -260,12 +251,17 @@ public abstract class TspModel extends GRBCallback{
 			}
 			getResult().setRuntimePresolveHeuristic( runtimePresolveHeuristic / 1e9 );
 
+			candidateTruckEdges = null;
+			if( truckEdgeSparsificationType != Defines.TruckEdgeSparsificationType.NONE ){
+				restrictTruckEdgesToCandidates();
+			}
+
 			log.info( "Start optimization process" );
 			boolean isSolutionOptimal = false;
 			int iterationCounter = 1;
 			long runtimeOptimization = System.nanoTime();
 			startOptimizationTime = runtimeOptimization;
-			grbModel.setCallback( this );
+			solverBackend.setCallback( this );
 
 			long currentIterationRuntime;
 			do{
@@ -277,39 +273,45 @@ public abstract class TspModel extends GRBCallback{
 				}
 				*/
 				log.info( "IterationCounter: " + iterationCounter++ );
-				grbModel.optimize();
-				int optimizationStatus = grbModel.get( GRB.IntAttr.Status );
+				OptimizationStatus optimizationStatus = optimizeSolverBackend();
 
-				if( optimizationStatus == GRB.Status.INF_OR_UNBD ){
-					grbModel.set( GRB.IntParam.Presolve, 0 );
-					grbModel.optimize();
-					optimizationStatus = grbModel.get( GRB.IntAttr.Status );
+				if( optimizationStatus == OptimizationStatus.INF_OR_UNBD ){
+					solverBackend.setPresolve( false );
+					optimizationStatus = optimizeSolverBackend();
 				}
 
-				if( optimizationStatus == GRB.Status.OPTIMAL ){
-					double objval = (int)( grbModel.get( GRB.DoubleAttr.ObjVal ) + 0.5d );
+				if( optimizationStatus == OptimizationStatus.OPTIMAL ){
+					double objval = (int)( solverBackend.getObjVal() + 0.5d );
 					log.info( "Found objective: " + objval );
 
-					GRBVar[] vars = grbModel.getVars();
-					String[] varNames = grbModel.get( GRB.StringAttr.VarName, vars );
-					double[] x = grbModel.get( GRB.DoubleAttr.X, vars );
-					StringBuilder solutionString = new StringBuilder();
-					StringBuilder solutionWaitTimesString = new StringBuilder();
-
-					for( int i = 0; i < vars.length; i++ ){
-						if( !varNames[i].contains( "w" ) && (int)(x[i] + 0.5d) != 0 ){
-							solutionString.append( varNames[i] ).append( ", " );
+					//the solution is logged with the names of the variables, so it is skipped if the names are not active
+					if( isNamesActive ){
+						int[] vars = new int[solverBackend.getVarCount()];
+						for( int i = 0; i < vars.length; i++ ){
+							vars[i] = i;
 						}
-						if( varNames[i].contains( "w" ) && (int)(x[i] + 0.5d) != 0 ){
-							solutionWaitTimesString.append( varNames[i] ).append( " = " ).append( (int)(x[i] + 0.5d) ).append( ", " );
+						double[] x = solverBackend.getValues( vars );
+						StringBuilder solutionString = new StringBuilder();
+						StringBuilder solutionWaitTimesString = new StringBuilder();
+
+						for( int i = 0; i < vars.length; i++ ){
+							if( (int)(x[i] + 0.5d) == 0 ){
+								continue;
+							}
+							String varName = solverBackend.getVarName( i );
+							if( !varName.contains( "w" ) ){
+								solutionString.append( varName ).append( ", " );
+							} else {
+								solutionWaitTimesString.append( varName ).append( " = " ).append( (int)(x[i] + 0.5d) ).append( ", " );
+							}
 						}
-					}
-					solutionString = new StringBuilder( solutionString.substring( 0, solutionString.length() - 2 ) );
-					log.info( "Decision variables for edges in solution: " + solutionString );
+						solutionString = new StringBuilder( solutionString.substring( 0, solutionString.length() - 2 ) );
+						log.info( "Decision variables for edges in solution: " + solutionString );
 
-					if( solutionWaitTimesString.length() > 0 ){
-						solutionWaitTimesString = new StringBuilder( solutionWaitTimesString.substring( 0, solutionWaitTimesString.length() - 2 ) );
-						log.info( "Wait times in solution: " + solutionWaitTimesString );
+						if( solutionWaitTimesString.length() > 0 ){
+							solutionWaitTimesString = new StringBuilder( solutionWaitTimesString.substring( 0, solutionWaitTimesString.length() - 2 ) );
+							log.info( "Wait times in solution: " + solutionWaitTimesString );
+						}
 					}
 
 					if( log.isDebugEnabled() ){
@@ -318,7 +320,8 @@ public abstract class TspModel extends GRBCallback{
 					TspModelIterationResult currentTspIterationResult = calculateAndAddIterationResult();
 					currentTspIterationResult.setObjective( objval );
 
-					if( !addViolatedConstraints() ){
+					//the solution of a sparse truck graph is only optimal, if no other truck edge can improve it
+					if( !addViolatedConstraints() && !addPricedTruckEdges() ){
 						isSolutionOptimal = true;
 
 						currentIterationRuntime = System.nanoTime() - currentIterationRuntime;
@@ -342,10 +345,10 @@ public abstract class TspModel extends GRBCallback{
 						log.info( "Runtime of Presolve Heuristic: " + getResult().getRuntimePresolveHeuristic() + "s" );
 						log.info( "Runtime of Optimization: " + getResult().getRuntimeOptimization() + "s" );
 
-						if( log.isDebugEnabled() ){
-							grbModel.write( "out.lp" );
-							grbModel.write( "out.mps" );
-							grbModel.write( "out.sol" );
+						if( log.isDebugEnabled() && solverFilesDirectory != null ){
+							solverBackend.write( getSolverFile( "out.lp" ) );
+							solverBackend.write( getSolverFile( "out.mps" ) );
+							solverBackend.write( getSolverFile( "out.sol" ) );
 						}
 
 						//TODO show runtime from parts like finding subtours (also percentage)
@@ -364,20 +367,26 @@ public abstract class TspModel extends GRBCallback{
 						getResult().setRuntimeOptimization( currentRuntimeOptimizationSeconds );
 
 					}
-				} else if( optimizationStatus == GRB.Status.INTERRUPTED ){
+				} else if( optimizationStatus == OptimizationStatus.INTERRUPTED ){
 					log.info( "Optimization process interrupted, cause of an error!" );
 					break;
-				} else if( optimizationStatus == GRB.Status.INFEASIBLE ){
+				} else if( optimizationStatus == OptimizationStatus.INFEASIBLE ){
+					if( addAllTruckEdges() ){
+						log.info( "Model is infeasible with the candidate truck edges. Optimize again with all truck edges!" );
+						continue;
+					}
 					//TODO change filename specific for input
 					log.info( "Model is infeasible" );
 					// Compute and write out IIS
-					grbModel.computeIIS();
-					grbModel.write( "model.ilp" );
+					if( solverFilesDirectory != null ){
+						solverBackend.computeIIS();
+						solverBackend.write( getSolverFile( "model.ilp" ) );
+					}
 					break;
-				} else if( optimizationStatus == GRB.Status.UNBOUNDED ){
+				} else if( optimizationStatus == OptimizationStatus.UNBOUNDED ){
 					log.info( "Model is unbounded" );
 					break;
-				} else if( optimizationStatus == GRB.Status.TIME_LIMIT ){
+				} else if( optimizationStatus == OptimizationStatus.TIME_LIMIT ){
 					log.info( "Optimization process cancelled, cause the runtime exceeds the maximumOptimizationSeconds!" );
 					break;
 				} else {
@@ -386,46 +395,122 @@ public abstract class TspModel extends GRBCallback{
 				}
 			} while( !isSolutionOptimal );
 
+			getResult().setLazyConstraintPoolSize( (int)lazyConstraintPool.getAddedCounter() );
+			getResult().setLazyConstraintDuplicateRate( lazyConstraintPool.getDuplicateRate() );
+			log.info( "Lazy constraint pool: " + lazyConstraintPool.getAddedCounter() + " constraints, " + lazyConstraintPool.getDuplicateCounter() + " of "
+							+ lazyConstraintPool.getLookupCounter() + " violated constraints were duplicates." );
+
 			// Dispose of model and environment
-			grbModel.dispose();
-			grbEnv.dispose();
+			solverBackend.dispose();
 
-		} catch( GRBException e ){
+		} catch( SolverException e ){
 			e.printStackTrace();
 			errorCode = e.getErrorCode();
 			log.error( "Error code: " + e.getErrorCode() + ". " + e.getMessage() );
 		}
 
-		setDefaultValueForCurrentBestObjectiveSynced();
 		return getResult();
 	}
 
+	//the alns needs no solver backend, it improves the solution of the presolve heuristic until the time limit is reached,
+	//it calculates no lower bound, so the objective bound is 0 and the solution is never optimal
+	private TspModelResult alnsOptimize(){
+		log.info( "Start optimization process with alns" );
+		long runtimeOptimization = System.nanoTime();
+		int alnsThreadCount = threadCount > 0 ? threadCount : Runtime.getRuntime().availableProcessors();
+		TspModelIterationResult alnsIterationResult = calculateAlnsIterationResult( alnsThreadCount );
+		runtimeOptimization = System.nanoTime() - runtimeOptimization;
+
+		double runtimeOptimizationSeconds = runtimeOptimization / 1e9 - getResult().getRuntimePresolveHeuristic();
+		alnsIterationResult.setIterationRuntime( runtimeOptimizationSeconds );
+		getResult().setRuntimeGrbModelCalculation( 0.0 );
+		getResult().setRuntimeOptimization( runtimeOptimizationSeconds );
+		getResult().setObjective( alnsIterationResult.getObjective() );
+		getResult().setObjectiveBound( 0.0 );
+		getResult().setOptimal( false );
+
+		log.info( "Found solution for '" + name + "' with dimension '" + dimension + "' with alns!" );
+		log.info( alnsIterationResult.getSolutionString() );
+		log.info( "Objective: " + alnsIterationResult.getObjective() );
+		log.info( "Runtime of Presolve Heuristic: " + getResult().getRuntimePresolveHeuristic() + "s" );
+		log.info( "Runtime of Optimization: " + getResult().getRuntimeOptimization() + "s" );
+		return getResult();
+	}
+
+	//calculates the start solution (with its runtime as presolve runtime and its objective as heuristic value), improves it with the alns
+	//and adds the result as only iteration result
+	protected abstract TspModelIterationResult calculateAlnsIterationResult( int alnsThreadCount );
+
+	//the time limit of the optimization minus the runtime of the start solution
+	protected double calculateAlnsSeconds(){
+		if( maxOptimizationSeconds > 0 ){
+			return Math.max( 0.0, maxOptimizationSeconds - getResult().getRuntimePresolveHeuristic() );
+		}
+		return DEFAULT_ALNS_SECONDS;
+	}
+
+	protected long getAlnsSeed(){
+		return LOCAL_SEARCH_SEED;
+	}
+
+	protected SolverBackend createSolverBackend() throws SolverException{
+		switch( backendType ){
+			case BRANCH_AND_BOUND:
+				return new BranchAndBoundBackend();
+			default:
+				return new GurobiBackend( log.isDebugEnabled() && solverFilesDirectory != null ? getSolverFile( "out.log" ) : null );
+		}
+	}
+
+	//the state of the callbacks belongs to one optimization of the solver backend
+	private OptimizationStatus optimizeSolverBackend() throws SolverException{
+		userCutRoundsCounter = 0;
+		lazyConstraintPool.clearConstraints();
+		return solverBackend.optimize();
+	}
+
+	private String getSolverFile( String fileName ){
+		File directory = new File( solverFilesDirectory );
+		if( !directory.exists() && !directory.mkdirs() ){
+			log.warn( "Could not create directory '" + directory.getAbsolutePath() + "' for the solver files." );
+		}
+		return new File( directory, fileName ).getPath();
+	}
+
 	@Override
-	protected void callback(){
+	public void callback( CallbackContext context ){
 
-		//log.debug( "#Test - where: " + where );
+		//log.debug( "#Test - where: " + context.getWhere() );
 
 		try{
-			if( where == GRB.CB_MIP ){
+			if( context.getWhere() == CallbackContext.Where.MIP ){
 				double currentRuntimeSeconds = (System.nanoTime() - startOptimizationTime) / 1e9;
 				getResult().setRuntimeOptimization( currentRuntimeSeconds );
 
-			} else if( where == GRB.CB_MIPSOL ){
+			} else if( context.getWhere() == CallbackContext.Where.MIPNODE ){
+				useCallbackSolution( context );
+				//separate subtour elimination constraints on the fractional node relaxation
+				if( isUserCutsActive && userCutRoundsCounter < USER_CUT_MAX_ROUNDS && context.isNodeRelaxationOptimal() ){
+					userCutRoundsCounter++;
+					addViolatedUserCuts( context, context.getNodeRel( grbTruckEdgeVarsList ) );
+				}
+
+			} else if( context.getWhere() == CallbackContext.Where.MIPSOL ){
 				log.debug( "MIPSOL Callback called." );
 				//grbModel.getEnv().message( "GRB.CB_MIPSOL" );
 				if( isLazyActive ){
 
 					log.info( "MIP Solution found." );
 
-					double objValue = (int)( getDoubleInfo( GRB.CB_MIPSOL_OBJ ) + 0.5d );
-					double bestObjValue = (int)( getDoubleInfo( GRB.CB_MIPSOL_OBJBST ) + 0.5d );
-					double bestObjBound = getDoubleInfo( GRB.CB_MIPSOL_OBJBND );
-					double exploredNodeCount = getDoubleInfo( GRB.CB_MIPSOL_NODCNT );
-					int feasableSolutionsFoundCount = getIntInfo( GRB.CB_MIPSOL_SOLCNT );
+					double objValue = (int)( context.getSolutionObjective() + 0.5d );
+					double bestObjValue = (int)( context.getBestObjective() + 0.5d );
+					double bestObjBound = context.getBestObjectiveBound();
+					double exploredNodeCount = context.getNodeCount();
+					int feasableSolutionsFoundCount = context.getSolutionCount();
 
 					log.info( "Objective value for new solution: " + objValue );
 					log.info( "Current best objective: " + bestObjValue );
-					log.info( "Current best objective (synced): " + getCurrentBestObjectiveSynced() );
+					log.info( "Current best objective (incumbent): " + incumbent.getObjective() );
 					log.info( "Current best objective bound: " + bestObjBound );
 					log.info( "Current explored node count: " + exploredNodeCount );
 					log.info( "Current count of feasible solutions found: " + feasableSolutionsFoundCount );
@@ -435,28 +520,31 @@ public abstract class TspModel extends GRBCallback{
 					getResult().setRuntimeOptimization( currentRuntimeSeconds );
 
 					//TODO Remove debug message here?!
-					if( objValue > getCurrentBestObjectiveSynced() ){
-						log.info( "############# WARNING: objValue > currentBestObjectiveSynced ###############" );
+					if( objValue > incumbent.getObjective() ){
+						log.info( "############# WARNING: objValue > incumbent objective ###############" );
 					}
 
 					//only add lazy constraints if current objective value is lower-equals than the given heuristic (maybe optimal) value
 					//cause an other branch will find a better solution or the according solution for the given value
 					if( heuristicValue <= 0.0 || objValue <= heuristicValue ){
-						if( !addViolatedLazyConstraints() ){
-							synchronized( lock ){
-								log.info( "No violated constraints found! Current solution is feasible!" );
-								if( objValue < getCurrentBestObjectiveSynced() ){
-									setCurrentBestObjectiveSynced( objValue );
-									getResult().setObjective( objValue );
-									//TODO getSolution and add it as iterationResult?!
-									log.info( "New best feasible solution found (objective: " + objValue + ")." );
-									log.info( logSolution() );
-								} else {
-									log.info( "Current solution is feasible, but no new best one!" );
+						TruckEdgeSolution truckEdgeSolution = createTruckEdgeSolution( context.getSolution( grbTruckEdgeVarsList ) );
+						if( !addViolatedLazyConstraints( context, truckEdgeSolution ) ){
+							log.info( "No violated constraints found! Current solution is feasible!" );
+							if( incumbent.offer( objValue, truckEdgeSolution, objective -> getResult().setObjective( objective ) ) ){
+								//TODO getSolution and add it as iterationResult?!
+								log.info( "New best feasible solution found (objective: " + objValue + ")." );
+								log.info( logSolution( context, truckEdgeSolution ) );
+								if( isIncumbentPolishingActive ){
+									polishIncumbent( objValue, truckEdgeSolution );
 								}
+							} else {
+								log.info( "Current solution is feasible, but no new best one!" );
 							}
 						} else {
 							log.info( "Added violated lazy constraints!" );
+							if( isSolutionRepairActive ){
+								offerCallbackSolution( repairSolution( context, truckEdgeSolution ) );
+							}
 						}
 					} else {
 						log.info( "Do not look for violated constraints here, cause current solution " + objValue + " is higher than heuristic value " + heuristicValue );
@@ -464,17 +552,17 @@ public abstract class TspModel extends GRBCallback{
 				}
 			}
 
-		} catch( GRBException e ){
+		} catch( SolverException e ){
 			e.printStackTrace();
 			errorCode = e.getErrorCode();
-			log.error( "GRBException while looking for violated constraints and adding lazy constraints in MIPSOL callback! Error Code: " + errorCode + ", Message: " + e
+			log.error( "SolverException while looking for violated constraints and adding lazy constraints in MIPSOL callback! Error Code: " + errorCode + ", Message: " + e
 							.getMessage() );
-			grbModel.terminate();
+			solverBackend.terminate();
 		}
 	}
 
-	protected String logSolution() throws GRBException{
-		ArrayList<ArrayList<Integer>> truckTours = findSubtours( getSolution( grbTruckEdgeVars ) );
+	protected String logSolution( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException{
+		ArrayList<ArrayList<Integer>> truckTours = truckEdgeSolution.getSubtours();
 		StringBuilder solutionString = new StringBuilder( "\nTruck_Tours_Size: " ).append( truckTours.size() );
 		if( truckTours.size() > 0 ){
 			for( int i = 0; i < truckTours.size(); i++ ){
@@ -489,63 +577,136 @@ public abstract class TspModel extends GRBCallback{
 		return solutionString.toString();
 	}
 
-	protected abstract boolean addViolatedLazyConstraints() throws GRBException;
-
-	protected ArrayList<ArrayList<Integer>> findSubtours( double[][] edgeVars ){
-		log.debug( "Starting find subtours" );
+	protected abstract boolean addViolatedLazyConstraints( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException;
 
-		ArrayList<ArrayList<Integer>> subtours = new ArrayList<>();
-		Stack<Integer> unvisitedVertices = new Stack<>();
+	protected boolean addViolatedUserCuts( CallbackContext context, double[] truckEdgeValues ) throws SolverException{
+		//the sets never contain the depot, so the cuts are valid for the tsp and the variants with drones
+		ArrayList<ArrayList<Integer>> violatedSets = minCutSeparator.findViolatedSubtourSets( truckEdges[0], truckEdges[1], truckEdgeValues );
+		for( ArrayList<Integer> violatedSet : violatedSets ){
+			LinExpr linExpr = new LinExpr();
+			for( int[] edge : createEdgesForSubtourEliminationConstraint( violatedSet ) ){
+				linExpr.addTerm( 1.0, grbTruckEdgeVars[edge[0]][edge[1]] );
+			}
+			if( log.isDebugEnabled() ){
+				log.debug( "Add subtour elimination constraint as user cut for set: " + violatedSet + " <= " + ( violatedSet.size() - 1 ) );
+			}
+			context.addCut( linExpr, Sense.LESS_EQUAL, violatedSet.size() - 1 );
+			userCutsCounter++;
+		}
+		if( violatedSets.size() > 0 ){
+			log.info( "Added " + violatedSets.size() + " violated subtour elimination constraints as user cuts." );
+			return true;
+		}
+		return false;
+	}
 
-		//this prevents to search subtours for vertices which are not currently in the solution
-		//needed for e.g. pdstsp
-		for( int i = dimension - 1; i >= 0; i-- ){
-			for( int j = dimension - 1; j >= 0; j-- ){
-				if( i != j ){
-					if( ( (int)( edgeVars[i][j] + 0.5d ) ) != 0 ){
-						unvisitedVertices.add( i );
-						break;
-					}
+	protected void restrictTruckEdgesToCandidates() throws SolverException{
+		if( truckEdgeSparsificationType == Defines.TruckEdgeSparsificationType.QUADRANT ){
+			candidateTruckEdges = CandidateTruckEdges.createQuadrantNeighbourEdges( nodes, distances, candidateEdgesCount );
+		} else {
+			candidateTruckEdges = CandidateTruckEdges.createKNearestEdges( distances, candidateEdgesCount );
+		}
+		//the edges of the start solution are always candidates, so the start solution stays feasible
+		if( grbTruckEdgeVarsStartValues != null ){
+			for( int e = 0; e < grbTruckEdgeVarsList.length; e++ ){
+				if( grbTruckEdgeVarsStartValues[truckEdges[0][e]][truckEdges[1][e]] >= 0.5 ){
+					candidateTruckEdges.set( e );
 				}
 			}
 		}
+		for( int e = candidateTruckEdges.nextClearBit( 0 ); e < grbTruckEdgeVarsList.length; e = candidateTruckEdges.nextClearBit( e + 1 ) ){
+			solverBackend.setUpperBound( grbTruckEdgeVarsList[e], 0.0 );
+		}
+		log.info( "Sparsified truck graph (" + truckEdgeSparsificationType.getType() + ", " + candidateEdgesCount + " neighbours): "
+						+ candidateTruckEdges.cardinality() + " of " + grbTruckEdgeVarsList.length + " truck edges are candidates." );
+	}
+
+	//adds the truck edges, which could improve the current objective according to their reduced costs in the lp relaxation,
+	//a solution with one of the other edges costs at least the lp objective plus the reduced cost of the edge
+	protected boolean addPricedTruckEdges() throws SolverException{
+		if( candidateTruckEdges == null || candidateTruckEdges.cardinality() == grbTruckEdgeVarsList.length ){
+			return false;
+		}
+		int[] pricedEdges = new int[grbTruckEdgeVarsList.length - candidateTruckEdges.cardinality()];
+		int[] pricedVars = new int[pricedEdges.length];
+		int p = 0;
+		for( int e = candidateTruckEdges.nextClearBit( 0 ); e < grbTruckEdgeVarsList.length; e = candidateTruckEdges.nextClearBit( e + 1 ) ){
+			pricedEdges[p] = e;
+			pricedVars[p] = grbTruckEdgeVarsList[e];
+			p++;
+		}
+		double[] reducedCosts = new double[pricedVars.length];
+		double relaxationObjective = solverBackend.computeReducedCosts( pricedVars, reducedCosts );
+		if( Double.isNaN( relaxationObjective ) ){
+			log.info( "No reduced costs for the pricing of the truck edges available. Add all truck edges!" );
+			return addAllTruckEdges();
+		}
 
-		while( !unvisitedVertices.isEmpty() ){
-			int currentVertex = unvisitedVertices.pop();
-			log.debug( "currentVertex: " + currentVertex );
-			log.debug( "unvisitedVertices: " + unvisitedVertices );
-			ArrayList<Integer> subtour = new ArrayList<>();
-			subtours.add( subtour );
-			Stack<Integer> unvisitedVerticesForSubtour = new Stack<>();
-			unvisitedVerticesForSubtour.add( currentVertex );
-			log.debug( "unvisitedVerticesForSubtour: " + unvisitedVerticesForSubtour );
-
-			while( !unvisitedVerticesForSubtour.isEmpty() ){
-				Integer currentSubtourVertex = unvisitedVerticesForSubtour.pop();
-				log.debug( "currentSubtourVertex: " + currentSubtourVertex );
-				log.debug( "unvisitedVerticesForSubtour: " + unvisitedVerticesForSubtour );
-				subtour.add( currentSubtourVertex );
-				log.debug( "subtour: " + subtour );
-				unvisitedVertices.remove( currentSubtourVertex );
-				for( int i = 0; i < dimension; i++ ){
-					if( i != currentSubtourVertex ){
-						//log.debug( "Check x" + currentSubtourVertex + "_" + i + " = " + (int) grbTruckEdgeVars[currentSubtourVertex][i].get( GRB.DoubleAttr.X ) );
-						if( ( (int)( edgeVars[currentSubtourVertex][i] + 0.5d ) ) != 0 && !subtour.contains( i )
-										&& !unvisitedVerticesForSubtour.contains( i ) ){
-							unvisitedVerticesForSubtour.add( i );
-							log.debug( "unvisitedVerticesForSubtour: " + unvisitedVerticesForSubtour );
-						}
-					}
-				}
+		double objective = solverBackend.getObjVal();
+		double epsilon = PRICING_EPSILON * Math.max( 1.0, Math.abs( objective ) );
+		int addedEdgesCounter = 0;
+		for( int k = 0; k < pricedVars.length; k++ ){
+			if( relaxationObjective + reducedCosts[k] < objective - epsilon ){
+				candidateTruckEdges.set( pricedEdges[k] );
+				solverBackend.setUpperBound( pricedVars[k], 1.0 );
+				addedEdgesCounter++;
 			}
-			log.debug( "subtour: " + subtour );
 		}
-		log.debug( "Ending find subtours" );
-		return subtours;
+		log.info( "Pricing of " + pricedVars.length + " truck edges with lp objective " + relaxationObjective + " and objective " + objective + ": added "
+						+ addedEdgesCounter + " truck edges." );
+		return addedEdgesCounter > 0;
+	}
+
+	//returns false if the truck graph is not sparsified or all truck edges are candidates already
+	protected boolean addAllTruckEdges() throws SolverException{
+		if( candidateTruckEdges == null || candidateTruckEdges.cardinality() == grbTruckEdgeVarsList.length ){
+			return false;
+		}
+		for( int e = candidateTruckEdges.nextClearBit( 0 ); e < grbTruckEdgeVarsList.length; e = candidateTruckEdges.nextClearBit( e + 1 ) ){
+			solverBackend.setUpperBound( grbTruckEdgeVarsList[e], 1.0 );
+		}
+		candidateTruckEdges.set( 0, grbTruckEdgeVarsList.length );
+		return true;
+	}
+
+	protected void initGrbTruckEdgeVarsList(){
+		grbTruckEdgeVarsList = new int[truckEdges[0].length];
+		for( int e = 0; e < grbTruckEdgeVarsList.length; e++ ){
+			grbTruckEdgeVarsList[e] = grbTruckEdgeVars[truckEdges[0][e]][truckEdges[1][e]];
+		}
+	}
+
+	protected TruckEdgeSolution createTruckEdgeSolution( double[] truckEdgeValues ){
+		return new TruckEdgeSolution( dimension, truckEdges[0], truckEdges[1], truckEdgeValues );
+	}
 
+	//names of variables and constraints are only created if they are active, otherwise the backend uses default names
+	protected String name( String prefix, int i ){
+		return isNamesActive ? prefix + i : null;
 	}
 
-	protected void logIterationDebug() throws GRBException{
+	protected String name( String prefix, int i, int j ){
+		return isNamesActive ? prefix + i + "_" + j : null;
+	}
+
+	protected String name( String prefix, int i, int j, int k ){
+		return isNamesActive ? prefix + i + "_" + j + "_" + k : null;
+	}
+
+	//only for debug logs, so the string is not created if debug is disabled
+	protected String createSubtourEliminationConstraintLogString( ArrayList<int[]> edges ){
+		StringBuilder logString = new StringBuilder();
+		for( int[] edge : edges ){
+			if( logString.length() > 0 ){
+				logString.append( " + " );
+			}
+			logString.append( "x" ).append( edge[0] ).append( "_" ).append( edge[1] );
+		}
+		return logString.toString();
+	}
+
+	protected void logIterationDebug() throws SolverException{
+		double[] truckEdgeValues = solverBackend.getValues( grbTruckEdgeVarsList );
 		log.debug( "Adjacency matrix of solution:" );
 		for( int i = 0; i < dimension; i++ ){
 			StringBuilder rowString = new StringBuilder();
@@ -553,13 +714,148 @@ public abstract class TspModel extends GRBCallback{
 				if( i == j ){
 					rowString.append( "-, " );
 				} else {
-					rowString.append( (int)grbTruckEdgeVars[i][j].get( GRB.DoubleAttr.X ) ).append( ", " );
+					rowString.append( (int)truckEdgeValues[TruckEdgeSolution.getEdgeIndex( dimension, i, j )] ).append( ", " );
 				}
 			}
 			log.debug( rowString.substring( 0, rowString.length() - 2 ) );
 		}
 	}
 
+	//heuristic tsp tour on the distances, which is used instead of the optimal tsp solution for big instances
+	protected HeuristicTour createLocalSearchTour(){
+		return new LocalSearchTsp( distances ).solve( LOCAL_SEARCH_START_COUNT, LOCAL_SEARCH_SEED );
+	}
+
+	//iterated lin-kernighan tour on the distances, which is the best heuristic tsp tour for big instances
+	protected HeuristicTour createLinKernighanTour(){
+		int startCount = threadCount > 0 ? threadCount : Runtime.getRuntime().availableProcessors();
+		return getLinKernighanTsp().solve( startCount, LOCAL_SEARCH_SEED, calculateHeuristicSeconds() );
+	}
+
+	//by default one second per 100 nodes, but at most a tenth of the optimization time
+	protected double calculateHeuristicSeconds(){
+		if( heuristicSeconds > 0.0 ){
+			return heuristicSeconds;
+		}
+		double seconds = Math.max( 1.0, dimension / 100.0 );
+		if( maxOptimizationSeconds > 0 ){
+			seconds = Math.min( seconds, maxOptimizationSeconds / 10.0 );
+		}
+		return seconds;
+	}
+
+	//the candidate lists are calculated once for the presolve heuristic and all polished incumbents
+	protected LinKernighanTsp getLinKernighanTsp(){
+		if( linKernighanTsp == null ){
+			linKernighanTsp = new LinKernighanTsp( distances );
+		}
+		return linKernighanTsp;
+	}
+
+	//improves the truck tour of a new incumbent with a short lin-kernighan run,
+	//only models with the truck tour length as objective can use the polished tour directly, so the default does nothing
+	protected void polishIncumbent( double objValue, TruckEdgeSolution truckEdgeSolution ){
+	}
+
+	//adds the violated constraints, which are not in the pool yet, as lazy constraints,
+	//if all of them are duplicates, the solution was found before the solver knew them (e.g. in another thread), so they are added again to cut it off
+	protected void addLazyConstraints( CallbackContext context, ArrayList<Constraint> constraints, ArrayList<LazyConstraintPool.Key> keys ) throws SolverException{
+		ArrayList<Constraint> duplicateConstraints = new ArrayList<>();
+		for( int k = 0; k < constraints.size(); k++ ){
+			Constraint constraint = constraints.get( k );
+			if( lazyConstraintPool.add( keys.get( k ) ) ){
+				context.addLazy( constraint.getLinExpr(), constraint.getSense(), constraint.getRhs() );
+				additionalConstraintsCounter++;
+			} else {
+				duplicateConstraints.add( constraint );
+			}
+		}
+		if( !constraints.isEmpty() && duplicateConstraints.size() == constraints.size() ){
+			for( Constraint constraint : duplicateConstraints ){
+				context.addLazy( constraint.getLinExpr(), constraint.getSense(), constraint.getRhs() );
+				additionalConstraintsCounter++;
+			}
+			log.info( "All " + duplicateConstraints.size() + " violated constraints are already in the pool. Add them again!" );
+		} else if( duplicateConstraints.size() > 0 ){
+			log.info( "Skipped " + duplicateConstraints.size() + " violated constraints, which are already in the pool." );
+		}
+	}
+
+	//repairs an infeasible integer solution of the MIPSOL callback to a feasible one, null if the model can not repair it
+	protected CallbackSolution repairSolution( CallbackContext context, TruckEdgeSolution truckEdgeSolution ) throws SolverException{
+		return null;
+	}
+
+	//the solution replaces the waiting one, if it is better, only solutions better than the incumbent are submitted later
+	protected void offerCallbackSolution( CallbackSolution solution ){
+		if( solution == null ){
+			return;
+		}
+		while( true ){
+			CallbackSolution current = callbackSolution.get();
+			if( current != null && current.getObjective() <= solution.getObjective() ){
+				return;
+			}
+			if( callbackSolution.compareAndSet( current, solution ) ){
+				return;
+			}
+		}
+	}
+
+	//the solver accepts heuristic solutions only in MIPNODE callbacks, so the solutions of the MIPSOL callbacks wait until then
+	private void useCallbackSolution( CallbackContext context ) throws SolverException{
+		CallbackSolution solution = callbackSolution.getAndSet( null );
+		if( solution == null || solution.getObjective() >= incumbent.getObjective() ){
+			return;
+		}
+		double objective = context.useSolution( solution.getVars(), solution.getValues() );
+		if( objective < SolverBackend.INFINITY ){
+			log.info( "Submitted callback solution with objective " + solution.getObjective() + " was accepted with objective " + objective + "." );
+		} else {
+			log.info( "Submitted callback solution with objective " + solution.getObjective() + " was not accepted." );
+		}
+	}
+
+	//values of the truck edge vars for the tour, null if the tour uses a truck edge which is not a candidate
+	protected double[] createTruckEdgeValues( ArrayList<Integer> tour ){
+		double[] values = new double[grbTruckEdgeVarsList.length];
+		for( int k = 0; k < tour.size(); k++ ){
+			int e = TruckEdgeSolution.getEdgeIndex( dimension, tour.get( k ), tour.get( ( k + 1 ) % tour.size() ) );
+			if( candidateTruckEdges != null && !candidateTruckEdges.get( e ) ){
+				return null;
+			}
+			values[e] = 1.0;
+		}
+		return values;
+	}
+
+	protected HeuristicTour polishTruckTour( ArrayList<Integer> tour ){
+		int[] tourArray = new int[tour.size()];
+		for( int k = 0; k < tourArray.length; k++ ){
+			tourArray[k] = tour.get( k );
+		}
+		return getLinKernighanTsp().improveTour( tourArray, LOCAL_SEARCH_SEED, INCUMBENT_POLISHING_SECONDS );
+	}
+
+	protected double[][] createAdjacencyMatrix( ArrayList<Integer> tour ){
+		double[][] adjacencyMatrix = new double[dimension][dimension];
+		for( int k = 0; k < tour.size(); k++ ){
+			int i = tour.get( k );
+			int j = tour.get( ( k + 1 ) % tour.size() );
+			adjacencyMatrix[i][j] = 1.0;
+			adjacencyMatrix[j][i] = 1.0;
+		}
+		return adjacencyMatrix;
+	}
+
+	protected double calculateTourValue( ArrayList<Integer> tour, DistanceMatrix times ){
+		double tourValue = 0.0;
+		for( int k = 0; k < tour.size(); k++ ){
+			tourValue += times.get( tour.get( k ), tour.get( ( k + 1 ) % tour.size() ) );
+		}
+		return tourValue;
+	}
+
 	protected ArrayList<int[]> createEdgesForSubtourEliminationConstraint( ArrayList<Integer> subtour ){
 		ArrayList<int[]> edges = new ArrayList<>();
 		for( int i = 0; i < subtour.size() - 1; i++ ){
@@ -600,7 +896,7 @@ public abstract class TspModel extends GRBCallback{
 		}
 	}
 
-	protected abstract TspModelIterationResult calculateAndAddIterationResult() throws GRBException;
+	protected abstract TspModelIterationResult calculateAndAddIterationResult() throws SolverException;
 
 	public double[][] getNodes(){
 		return nodes;
@@ -610,14 +906,34 @@ public abstract class TspModel extends GRBCallback{
 		this.nodes = nodes;
 	}
 
-	public int[][] getDistances(){
+	public DistanceMatrix getDistances(){
 		return distances;
 	}
 
-	public void setDistances( int[][] distances ){
+	public void setDistances( DistanceMatrix distances ){
 		this.distances = distances;
 	}
 
+	public String getEdgeWeightType(){
+		return edgeWeightType;
+	}
+
+	public void setEdgeWeightType( String edgeWeightType ){
+		this.edgeWeightType = edgeWeightType;
+	}
+
+	//the distances of coordinate based instances can be calculated from the nodes, the nodes of explicit instances are only display data
+	public boolean isDistancesDerivable(){
+		return nodes != null && ( "GEO".equals( edgeWeightType ) || "EUC_2D".equals( edgeWeightType ) );
+	}
+
+	//the json results do not contain derivable distances, so they are calculated again after reading
+	public void calculateDistancesIfMissing(){
+		if( distances == null && isDistancesDerivable() ){
+			distances = calculateTravelDistances( nodes, null, dimension, edgeWeightType, null ).scale( Defines.DISTANCE_SCALE_FACTOR );
+		}
+	}
+
 	public String getName(){
 		return name;
 	}
@@ -630,8 +946,8 @@ public abstract class TspModel extends GRBCallback{
 		return dimension;
 	}
 
-	public GRBModel getGrbModel(){
-		return grbModel;
+	public SolverBackend getSolverBackend(){
+		return solverBackend;
 	}
 
 	public int getAdditionalConstraintsCounter(){
@@ -641,7 +957,12 @@ public abstract class TspModel extends GRBCallback{
 	public abstract TspModelResult getResult();
 
 	public int getDecisionVariablesCounter(){
-		return grbModel.getVars().length;
+		//the alns has no solver backend
+		return solverBackend != null ? solverBackend.getVarCount() : 0;
+	}
+
+	public int getUserCutsCounter(){
+		return userCutsCounter;
 	}
 
 	public int getTotalConstraintsCounter(){
@@ -664,6 +985,50 @@ public abstract class TspModel extends GRBCallback{
 		isLazyActive = lazyActive;
 	}
 
+	public double getHeuristicSeconds(){
+		return heuristicSeconds;
+	}
+
+	public void setHeuristicSeconds( double heuristicSeconds ){
+		this.heuristicSeconds = heuristicSeconds;
+	}
+
+	public boolean isIncumbentPolishingActive(){
+		return isIncumbentPolishingActive;
+	}
+
+	public void setIncumbentPolishingActive( boolean incumbentPolishingActive ){
+		isIncumbentPolishingActive = incumbentPolishingActive;
+	}
+
+	public HeuristicTour getPolishedTruckTour(){
+		return polishedTruckTour;
+	}
+
+	public String getSolverFilesDirectory(){
+		return solverFilesDirectory;
+	}
+
+	public void setSolverFilesDirectory( String solverFilesDirectory ){
+		this.solverFilesDirectory = solverFilesDirectory;
+	}
+
+	public boolean isSolutionRepairActive(){
+		return isSolutionRepairActive;
+	}
+
+	public void setSolutionRepairActive( boolean solutionRepairActive ){
+		isSolutionRepairActive = solutionRepairActive;
+	}
+
+	public boolean isUserCutsActive(){
+		return isUserCutsActive;
+	}
+
+	public void setUserCutsActive( boolean userCutsActive ){
+		isUserCutsActive = userCutsActive;
+	}
+
 	public String getHostname(){
 		return hostname;
 	}
@@ -721,24 +1086,8 @@ public abstract class TspModel extends GRBCallback{
 		this.grbTruckEdgeVarsStartValues = grbTruckEdgeVarsStartValues;
 	}
 
-	public static void setCurrentBestObjectiveSynced( double value ){
-		synchronized( lock ){
-			if( value < currentBestObjectiveSynced ){
-				currentBestObjectiveSynced = value;
-			}
-		}
-	}
-
-	public static double getCurrentBestObjectiveSynced(){
-		synchronized( lock ){
-			return currentBestObjectiveSynced;
-		}
-	}
-
-	public static void setDefaultValueForCurrentBestObjectiveSynced(){
-		synchronized( lock ){
-			currentBestObjectiveSynced = currentBestObjectiveSynced_DEFAULT_VALUE;
-		}
+	public Incumbent getIncumbent(){
+		return incumbent;
 	}
 
 	public boolean isGurobiHeuristicsActive(){
@@ -748,6 +1097,38 @@ public abstract class TspModel extends GRBCallback{
 	public void setGurobiHeuristicsActive( boolean gurobiHeuristicsActive ){
 		isGurobiHeuristicsActive = gurobiHeuristicsActive;
 	}
+
+	public boolean isNamesActive(){
+		return isNamesActive;
+	}
+
+	public void setNamesActive( boolean namesActive ){
+		isNamesActive = namesActive;
+	}
+
+	public Defines.TruckEdgeSparsificationType getTruckEdgeSparsificationType(){
+		return truckEdgeSparsificationType;
+	}
+
+	public void setTruckEdgeSparsificationType( Defines.TruckEdgeSparsificationType truckEdgeSparsificationType ){
+		this.truckEdgeSparsificationType = truckEdgeSparsificationType;
+	}
+
+	public int getCandidateEdgesCount(){
+		return candidateEdgesCount;
+	}
+
+	public void setCandidateEdgesCount( int candidateEdgesCount ){
+		this.candidateEdgesCount = candidateEdgesCount;
+	}
+
+	public Defines.BackendType getBackendType(){
+		return backendType;
+	}
+
+	public void setBackendType( Defines.BackendType backendType ){
+		this.backendType = backendType;
+	}
 }
 
 
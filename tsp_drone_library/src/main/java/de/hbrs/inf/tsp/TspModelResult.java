@@ -12,6 +12,8 @@ public abstract class TspModelResult {
 	private double objective;
 	private double objectiveBound;
 	private double usedHeuristicValue = -1.0;
+	private int lazyConstraintPoolSize;
+	private double lazyConstraintDuplicateRate;
 
 	public TspModelResult( String name ) {
 		this. name = name;
@@ -98,4 +100,20 @@ public abstract class TspModelResult {
 	public double getObjectiveBound(){
 		return this.objectiveBound;
 	}
+
+	public int getLazyConstraintPoolSize(){
+		return lazyConstraintPoolSize;
+	}
+
+	public void setLazyConstraintPoolSize( int lazyConstraintPoolSize ){
+		this.lazyConstraintPoolSize = lazyConstraintPoolSize;
+	}
+
+	public double getLazyConstraintDuplicateRate(){
+		return lazyConstraintDuplicateRate;
+	}
+
+	public void setLazyConstraintDuplicateRate( double lazyConstraintDuplicateRate ){
+		this.lazyConstraintDuplicateRate = lazyConstraintDuplicateRate;
+	}
 }
@@ -0,0 +1,183 @@
+package de.hbrs.inf.tsp;
+
+import com.google.gson.Gson;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import org.apache.log4j.Logger;
+
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TspPresolveCache{
+
+	private static final Logger log = Logger.getLogger( TspPresolveCache.class.getName() );
+
+	private static final ConcurrentHashMap<String, CachedTspSolution> cachedSolutions = new ConcurrentHashMap<>();
+	private static final ConcurrentHashMap<String, Object> keyLocks = new ConcurrentHashMap<>();
+	private static String persistenceDirectory = null;
+
+	public static class CachedTspSolution{
+
+		private String name;
+		private int dimension;
+		private long distancesHash;
+		private double objective;
+		private ArrayList<Integer> tour;
+
+		public CachedTspSolution( String name, int dimension, long distancesHash, double objective, ArrayList<Integer> tour ){
+			this.name = name;
+			this.dimension = dimension;
+			this.distancesHash = distancesHash;
+			this.objective = objective;
+			this.tour = tour;
+		}
+
+		public String getName(){
+			return name;
+		}
+
+		public int getDimension(){
+			return dimension;
+		}
+
+		public long getDistancesHash(){
+			return distancesHash;
+		}
+
+		public double getObjective(){
+			return objective;
+		}
+
+		public ArrayList<Integer> getTour(){
+			return tour;
+		}
+	}
+
+	//returns the optimal tsp solution for the given distances, the tsp is only solved if no solution is cached (in memory or on disk)
+	//the tsp is solved with the thread count of the calling model, so it stays in the core budget of its job
+	public static CachedTspSolution getTspSolution( String name, String comment, int dimension, double[][] nodes, DistanceMatrix distances,
+					Defines.BackendType backendType, int threadCount ){
+		long distancesHash = calculateDistancesHash( distances );
+		String key = name + "_" + Long.toHexString( distancesHash );
+
+		CachedTspSolution cachedTspSolution = cachedSolutions.get( key );
+		if( cachedTspSolution != null ){
+			log.info( "Use cached TSP solution for '" + name + "' (objective: " + cachedTspSolution.getObjective() + ")." );
+			return cachedTspSolution;
+		}
+
+		//only one thread solves the tsp for a key, the other ones wait for the result,
+		//the lock is removed afterwards, because the waiting threads and all later ones find the cached solution
+		Object keyLock = keyLocks.computeIfAbsent( key, k -> new Object() );
+		synchronized( keyLock ){
+			try{
+				return getOrSolveTspSolution( key, name, comment, dimension, nodes, distances, distancesHash, backendType, threadCount );
+			} finally{
+				keyLocks.remove( key, keyLock );
+			}
+		}
+	}
+
+	private static CachedTspSolution getOrSolveTspSolution( String key, String name, String comment, int dimension, double[][] nodes,
+					DistanceMatrix distances, long distancesHash, Defines.BackendType backendType, int threadCount ){
+		//the solution was cached by the thread, which held the lock before
+		CachedTspSolution cachedTspSolution = cachedSolutions.get( key );
+		if( cachedTspSolution != null ){
+			log.info( "Use cached TSP solution for '" + name + "' (objective: " + cachedTspSolution.getObjective() + ")." );
+			return cachedTspSolution;
+		}
+		cachedTspSolution = readPersistedSolution( key, dimension, distancesHash );
+		if( cachedTspSolution == null ){
+			log.info( "No cached TSP solution for '" + name + "' found. Solve TSP now." );
+			Tsp tsp = new Tsp( name, comment, Defines.TSP, dimension, nodes, distances );
+			tsp.setBackendType( backendType );
+			tsp.setThreadCount( threadCount );
+			if( tsp.grbOptimize() == null || !tsp.getResult().isOptimal() ){
+				log.info( "Could not calculate optimal TSP solution for '" + name + "'." );
+				return null;
+			}
+			cachedTspSolution = new CachedTspSolution( name, dimension, distancesHash, tsp.getResult().getObjective(),
+							tsp.truckEdgeSolution.getSubtours().get( 0 ) );
+			writePersistedSolution( key, cachedTspSolution );
+		} else {
+			log.info( "Use persisted TSP solution for '" + name + "' (objective: " + cachedTspSolution.getObjective() + ")." );
+		}
+		cachedSolutions.put( key, cachedTspSolution );
+		return cachedTspSolution;
+	}
+
+	public static long calculateDistancesHash( DistanceMatrix distances ){
+		//64 bit FNV-1a over all entries of the distance matrix
+		long hash = 0xcbf29ce484222325L;
+		for( int i = 0; i < distances.getDimension(); i++ ){
+			for( int j = 0; j < distances.getDimension(); j++ ){
+				hash ^= distances.get( i, j );
+				hash *= 0x100000001b3L;
+			}
+		}
+		return hash;
+	}
+
+	private static CachedTspSolution readPersistedSolution( String key, int dimension, long distancesHash ){
+		if( persistenceDirectory == null ){
+			return null;
+		}
+		File file = new File( persistenceDirectory, key + ".json" );
+		if( !file.isFile() ){
+			return null;
+		}
+		try( Reader reader = new FileReader( file ) ){
+			CachedTspSolution cachedTspSolution = new Gson().fromJson( reader, CachedTspSolution.class );
+			if( cachedTspSolution == null || cachedTspSolution.getDimension() != dimension || cachedTspSolution.getDistancesHash() != distancesHash
+							|| cachedTspSolution.getTour() == null || cachedTspSolution.getTour().size() != dimension ){
+				log.warn( "Persisted TSP solution '" + file.getPath() + "' does not match the current instance. Ignore it!" );
+				return null;
+			}
+			return cachedTspSolution;
+		} catch( Exception e ){
+			log.warn( "Could not read persisted TSP solution '" + file.getPath() + "'. Error message: " + e.getMessage() );
+			return null;
+		}
+	}
+
+	private static void writePersistedSolution( String key, CachedTspSolution cachedTspSolution ){
+		if( persistenceDirectory == null ){
+			return;
+		}
+		File directory = new File( persistenceDirectory );
+		if( !directory.exists() && !directory.mkdirs() ){
+			log.warn( "Could not create directory '" + directory.getAbsolutePath() + "' for persisted TSP solutions." );
+			return;
+		}
+		File file = new File( directory, key + ".json" );
+		try( Writer writer = new FileWriter( file ) ){
+			new Gson().toJson( cachedTspSolution, writer );
+			log.info( "Persisted TSP solution to '" + file.getPath() + "'." );
+		} catch( IOException e ){
+			log.warn( "Could not write persisted TSP solution '" + file.getPath() + "'. Error message: " + e.getMessage() );
+		}
+	}
+
+	public static void clear(){
+		cachedSolutions.clear();
+		keyLocks.clear();
+	}
+
+	//number of keys, for which a thread solves the tsp at the moment
+	static int getKeyLockCount(){
+		return keyLocks.size();
+	}
+
+	public static String getPersistenceDirectory(){
+		return persistenceDirectory;
+	}
+
+	public static void setPersistenceDirectory( String persistenceDirectory ){
+		TspPresolveCache.persistenceDirectory = persistenceDirectory;
+	}
+}
@@ -0,0 +1,366 @@
+package de.hbrs.inf.tsp.backend;
+
+import java.util.List;
+
+//dense two phase primal simplex for min c * x with lb <= x <= ub, nonbasic variables are at their lower or upper bound
+class BoundedSimplex{
+
+	enum Status{
+		OPTIMAL, INFEASIBLE, UNBOUNDED, ITERATION_LIMIT
+	}
+
+	private static final double PIVOT_EPSILON = 1e-9;
+	private static final double FEASIBILITY_EPSILON = 1e-7;
+	private static final int MAX_DEGENERATE_PIVOTS = 50;
+
+	//maximum number of pivots of each phase, 0 for the default limit, which depends on the size of the lp
+	private final int maxIterations;
+	private Status status;
+	private double[] values;
+	private double objective;
+
+	//tableau of the current basis, columns: free structural variables, slacks, artificials
+	private double[][] tableau;
+	private double[] basicValues;
+	private double[] reducedCosts;
+	private double[] ranges;
+	private boolean[] atUpper;
+	private int[] basis;
+	private boolean[] isBasic;
+	private int rows;
+	private int columns;
+	//the slack or artificial column of each row and its coefficient, which give the duals of the rows
+	private int[] unitColumns;
+	private double[] unitCoeffs;
+	private boolean[] isRowNegated;
+
+	BoundedSimplex(){
+		this( 0 );
+	}
+
+	BoundedSimplex( int maxIterations ){
+		this.maxIterations = maxIterations;
+	}
+
+	Status solve( double[] obj, double[] lb, double[] ub, List<Constraint> constraints ){
+		int n = obj.length;
+		rows = constraints.size();
+
+		//fixed variables are no columns, they only change the right hand sides
+		int[] columnOfVar = new int[n];
+		int freeVars = 0;
+		for( int j = 0; j < n; j++ ){
+			columnOfVar[j] = ub[j] - lb[j] > PIVOT_EPSILON ? freeVars++ : -1;
+		}
+		//right hand sides after the shift of the variables to their lower bounds, rows are negated if needed to get rhs >= 0
+		double[] rhs = new double[rows];
+		boolean[] isNegated = new boolean[rows];
+		boolean[] needsArtificial = new boolean[rows];
+		int slackCount = 0;
+		int artificialCount = 0;
+		for( int i = 0; i < rows; i++ ){
+			Constraint constraint = constraints.get( i );
+			LinExpr linExpr = constraint.getLinExpr();
+			rhs[i] = constraint.getRhs() - linExpr.getConstant();
+			for( int k = 0; k < linExpr.size(); k++ ){
+				rhs[i] -= linExpr.getCoeff( k ) * lb[linExpr.getVar( k )];
+			}
+			isNegated[i] = rhs[i] < 0 || ( rhs[i] == 0 && constraint.getSense() == Sense.GREATER_EQUAL );
+			//the slack is a feasible start basis for its row, if its coefficient is positive
+			needsArtificial[i] = constraint.getSense() == Sense.EQUAL || ( constraint.getSense() == Sense.LESS_EQUAL ) == isNegated[i];
+			if( constraint.getSense() != Sense.EQUAL ){
+				slackCount++;
+			}
+			if( needsArtificial[i] ){
+				artificialCount++;
+			}
+		}
+		int firstArtificial = freeVars + slackCount;
+		columns = firstArtificial + artificialCount;
+
+		tableau = new double[rows][columns];
+		basicValues = new double[rows];
+		ranges = new double[columns];
+		atUpper = new boolean[columns];
+		basis = new int[rows];
+		isBasic = new boolean[columns];
+		unitColumns = new int[rows];
+		unitCoeffs = new double[rows];
+		isRowNegated = isNegated;
+		double[] costs = new double[columns];
+
+		int[] varOfColumn = new int[freeVars];
+		for( int j = 0; j < n; j++ ){
+			if( columnOfVar[j] >= 0 ){
+				varOfColumn[columnOfVar[j]] = j;
+				ranges[columnOfVar[j]] = ub[j] >= SolverBackend.INFINITY ? Double.POSITIVE_INFINITY : ub[j] - lb[j];
+				costs[columnOfVar[j]] = obj[j];
+			}
+		}
+
+		int slack = freeVars;
+		int artificial = firstArtificial;
+		for( int i = 0; i < rows; i++ ){
+			Constraint constraint = constraints.get( i );
+			LinExpr linExpr = constraint.getLinExpr();
+			double sign = isNegated[i] ? -1.0 : 1.0;
+			for( int k = 0; k < linExpr.size(); k++ ){
+				int column = columnOfVar[linExpr.getVar( k )];
+				if( column >= 0 ){
+					tableau[i][column] += sign * linExpr.getCoeff( k );
+				}
+			}
+			basicValues[i] = sign * rhs[i];
+			if( constraint.getSense() != Sense.EQUAL ){
+				tableau[i][slack] = sign * ( constraint.getSense() == Sense.LESS_EQUAL ? 1.0 : -1.0 );
+				ranges[slack] = Double.POSITIVE_INFINITY;
+				unitColumns[i] = slack;
+				unitCoeffs[i] = tableau[i][slack];
+				basis[i] = slack++;
+			}
+			if( needsArtificial[i] ){
+				tableau[i][artificial] = 1.0;
+				ranges[artificial] = Double.POSITIVE_INFINITY;
+				if( constraint.getSense() == Sense.EQUAL ){
+					unitColumns[i] = artificial;
+					unitCoeffs[i] = 1.0;
+				}
+				basis[i] = artificial++;
+			}
+			isBasic[basis[i]] = true;
+		}
+
+		int iterationLimit = maxIterations > 0 ? maxIterations : 50 * ( rows + columns ) + 1000;
+
+		//phase 1: minimize the sum of the artificial variables
+		double[] phase1Costs = new double[columns];
+		boolean hasArtificials = false;
+		for( int i = 0; i < rows; i++ ){
+			if( basis[i] >= firstArtificial ){
+				phase1Costs[basis[i]] = 1.0;
+				hasArtificials = true;
+			}
+		}
+		if( hasArtificials ){
+			initReducedCosts( phase1Costs );
+			status = iterate( iterationLimit, 1.0 );
+			if( status == Status.ITERATION_LIMIT ){
+				return status;
+			}
+			double infeasibility = 0.0;
+			for( int i = 0; i < rows; i++ ){
+				if( basis[i] >= firstArtificial ){
+					infeasibility += basicValues[i];
+				}
+			}
+			if( infeasibility > FEASIBILITY_EPSILON * Math.max( 1.0, rows ) ){
+				status = Status.INFEASIBLE;
+				return status;
+			}
+			driveOutArtificials( firstArtificial );
+		}
+		//artificial variables must stay at zero in phase 2
+		for( int c = firstArtificial; c < columns; c++ ){
+			ranges[c] = 0.0;
+		}
+
+		//phase 2: minimize the original objective
+		double costScale = 1.0;
+		for( double cost : costs ){
+			costScale = Math.max( costScale, Math.abs( cost ) );
+		}
+		initReducedCosts( costs );
+		status = iterate( iterationLimit, costScale );
+		if( status != Status.OPTIMAL ){
+			return status;
+		}
+
+		values = lb.clone();
+		for( int c = 0; c < freeVars; c++ ){
+			if( !isBasic[c] && atUpper[c] ){
+				values[varOfColumn[c]] += ranges[c];
+			}
+		}
+		for( int i = 0; i < rows; i++ ){
+			if( basis[i] < freeVars ){
+				values[varOfColumn[basis[i]]] += basicValues[i];
+			}
+		}
+		objective = 0.0;
+		for( int j = 0; j < n; j++ ){
+			objective += obj[j] * values[j];
+		}
+		return status;
+	}
+
+	private void initReducedCosts( double[] costs ){
+		reducedCosts = costs.clone();
+		for( int i = 0; i < rows; i++ ){
+			double basicCost = costs[basis[i]];
+			if( basicCost != 0.0 ){
+				double[] row = tableau[i];
+				for( int c = 0; c < columns; c++ ){
+					reducedCosts[c] -= basicCost * row[c];
+				}
+			}
+		}
+	}
+
+	private Status iterate( int iterationLimit, double costScale ){
+		double optimalityEpsilon = 1e-9 * costScale;
+		int degeneratePivots = 0;
+		for( int iteration = 0; iteration < iterationLimit; iteration++ ){
+			//dantzig rule, bland's rule after many degenerate pivots to avoid cycling
+			boolean useBland = degeneratePivots > MAX_DEGENERATE_PIVOTS;
+			int entering = -1;
+			double bestScore = optimalityEpsilon;
+			for( int c = 0; c < columns; c++ ){
+				if( isBasic[c] || ranges[c] <= 0.0 ){
+					continue;
+				}
+				double score = atUpper[c] ? reducedCosts[c] : -reducedCosts[c];
+				if( score > bestScore ){
+					entering = c;
+					bestScore = score;
+					if( useBland ){
+						break;
+					}
+				}
+			}
+			if( entering < 0 ){
+				return Status.OPTIMAL;
+			}
+
+			//the entering variable moves by step in direction (increase at lower bound, decrease at upper bound)
+			double direction = atUpper[entering] ? -1.0 : 1.0;
+			double step = ranges[entering];
+			int leavingRow = -1;
+			boolean leavingToUpper = false;
+			double leavingPivot = 0.0;
+			for( int i = 0; i < rows; i++ ){
+				double alpha = tableau[i][entering] * direction;
+				double ratio;
+				boolean toUpper;
+				if( alpha > PIVOT_EPSILON ){
+					ratio = Math.max( 0.0, basicValues[i] ) / alpha;
+					toUpper = false;
+				} else if( alpha < -PIVOT_EPSILON && ranges[basis[i]] < Double.POSITIVE_INFINITY ){
+					ratio = Math.max( 0.0, ranges[basis[i]] - basicValues[i] ) / -alpha;
+					toUpper = true;
+				} else {
+					continue;
+				}
+				if( ratio < step - PIVOT_EPSILON || ( ratio <= step + PIVOT_EPSILON && leavingRow >= 0 && ( useBland ? basis[i] < basis[leavingRow]
+								: Math.abs( alpha ) > Math.abs( leavingPivot ) ) ) ){
+					step = ratio;
+					leavingRow = i;
+					leavingToUpper = toUpper;
+					leavingPivot = alpha;
+				}
+			}
+			if( step == Double.POSITIVE_INFINITY ){
+				return Status.UNBOUNDED;
+			}
+			degeneratePivots = step < PIVOT_EPSILON ? degeneratePivots + 1 : 0;
+
+			for( int i = 0; i < rows; i++ ){
+				basicValues[i] -= tableau[i][entering] * direction * step;
+			}
+			if( leavingRow < 0 ){
+				//the entering variable reaches its other bound before a basic variable
+				atUpper[entering] = !atUpper[entering];
+				continue;
+			}
+
+			double enteringValue = atUpper[entering] ? ranges[entering] - step : step;
+			int leaving = basis[leavingRow];
+			isBasic[leaving] = false;
+			atUpper[leaving] = leavingToUpper;
+			pivot( leavingRow, entering );
+			basis[leavingRow] = entering;
+			isBasic[entering] = true;
+			atUpper[entering] = false;
+			basicValues[leavingRow] = enteringValue;
+		}
+		return Status.ITERATION_LIMIT;
+	}
+
+	private void pivot( int pivotRow, int pivotColumn ){
+		double[] row = tableau[pivotRow];
+		double pivotValue = row[pivotColumn];
+		for( int c = 0; c < columns; c++ ){
+			row[c] /= pivotValue;
+		}
+		row[pivotColumn] = 1.0;
+		for( int i = 0; i < rows; i++ ){
+			if( i == pivotRow ){
+				continue;
+			}
+			double factor = tableau[i][pivotColumn];
+			if( factor != 0.0 ){
+				double[] otherRow = tableau[i];
+				for( int c = 0; c < columns; c++ ){
+					otherRow[c] -= factor * row[c];
+				}
+				otherRow[pivotColumn] = 0.0;
+			}
+		}
+		double factor = reducedCosts[pivotColumn];
+		if( factor != 0.0 ){
+			for( int c = 0; c < columns; c++ ){
+				reducedCosts[c] -= factor * row[c];
+			}
+			reducedCosts[pivotColumn] = 0.0;
+		}
+	}
+
+	private void driveOutArtificials( int firstArtificial ){
+		for( int i = 0; i < rows; i++ ){
+			if( basis[i] < firstArtificial ){
+				continue;
+			}
+			int entering = -1;
+			double biggestPivot = PIVOT_EPSILON * 1e3;
+			for( int c = 0; c < firstArtificial; c++ ){
+				if( !isBasic[c] && Math.abs( tableau[i][c] ) > biggestPivot ){
+					entering = c;
+					biggestPivot = Math.abs( tableau[i][c] );
+				}
+			}
+			//without a pivot the row is redundant and the artificial variable stays basic at zero
+			if( entering >= 0 ){
+				double enteringValue = atUpper[entering] ? ranges[entering] : 0.0;
+				isBasic[basis[i]] = false;
+				atUpper[basis[i]] = false;
+				pivot( i, entering );
+				basis[i] = entering;
+				isBasic[entering] = true;
+				atUpper[entering] = false;
+				basicValues[i] = enteringValue;
+			}
+		}
+	}
+
+	Status getStatus(){
+		return status;
+	}
+
+	double[] getValues(){
+		return values;
+	}
+
+	double getObjective(){
+		return objective;
+	}
+
+	//duals of the constraints after an optimal solve, the reduced cost of a variable is obj - sum of dual * coefficient over the constraints
+	double[] getDuals(){
+		double[] duals = new double[rows];
+		for( int i = 0; i < rows; i++ ){
+			//the unit column has no cost, so its reduced cost is -dual * coefficient of the (negated) row
+			double dual = -reducedCosts[unitColumns[i]] / unitCoeffs[i];
+			duals[i] = isRowNegated[i] ? -dual : dual;
+		}
+		return duals;
+	}
+}
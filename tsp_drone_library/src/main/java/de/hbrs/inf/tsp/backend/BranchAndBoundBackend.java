@@ -0,0 +1,592 @@
+package de.hbrs.inf.tsp.backend;
+
+import org.apache.log4j.Logger;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.PriorityQueue;
+
+//pure java lp based branch and bound for small instances, which can be used without a gurobi licence
+public class BranchAndBoundBackend implements SolverBackend{
+
+	private static final double INTEGRALITY_EPSILON = 1e-6;
+	private static final double CUT_VIOLATION_EPSILON = 1e-6;
+	private static final int MAX_CUT_ROUNDS_PER_NODE = 50;
+
+	private int varCount = 0;
+	private double[] lbs = new double[16];
+	private double[] ubs = new double[16];
+	private double[] objs = new double[16];
+	private VarType[] types = new VarType[16];
+	private String[] names = new String[16];
+	private double[] starts = new double[16];
+	private ArrayList<Constraint> constraints = new ArrayList<>();
+
+	private SolverCallback callback;
+	private boolean lazyConstraints = false;
+	private double timeLimit = Double.POSITIVE_INFINITY;
+	private volatile boolean terminated = false;
+	//pivot limit of the node lps, 0 for the default limit of the simplex
+	private int lpIterationLimit = 0;
+
+	//state of the current optimization, rows contains the model constraints and the added lazy constraints and cuts
+	private ArrayList<Constraint> rows;
+	private PriorityQueue<Node> openNodes;
+	private double[] incumbent;
+	private double incumbentObjective;
+	private int solutionCount;
+	private long nodeCount;
+	private double objectiveBound;
+	private boolean isObjectiveIntegral;
+	//smallest bound of the nodes, which are abandoned cause of the iteration limit of their lp, INFINITY if all nodes are explored
+	private double abandonedNodesBound;
+	private boolean isIterationLimitReached;
+
+	private static Logger log = Logger.getLogger( BranchAndBoundBackend.class.getName() );
+
+	//branching decisions are stored as chain to the parent node, so an open node only needs a few bytes
+	private static class Node{
+
+		private final Node parent;
+		private final int var;
+		private final double lb;
+		private final double ub;
+		private final double bound;
+		private final int depth;
+
+		private Node( Node parent, int var, double lb, double ub, double bound ){
+			this.parent = parent;
+			this.var = var;
+			this.lb = lb;
+			this.ub = ub;
+			this.bound = bound;
+			this.depth = parent == null ? 0 : parent.depth + 1;
+		}
+	}
+
+	@Override
+	public int addVar( double lb, double ub, double obj, VarType type, String name ) throws SolverException{
+		if( lb <= -INFINITY ){
+			throw new SolverException( "Variables without finite lower bound are not supported by the branch and bound backend!", 10003 );
+		}
+		if( varCount == lbs.length ){
+			int newLength = 2 * varCount;
+			lbs = Arrays.copyOf( lbs, newLength );
+			ubs = Arrays.copyOf( ubs, newLength );
+			objs = Arrays.copyOf( objs, newLength );
+			types = Arrays.copyOf( types, newLength );
+			names = Arrays.copyOf( names, newLength );
+			starts = Arrays.copyOf( starts, newLength );
+		}
+		if( type == VarType.BINARY ){
+			lb = Math.max( lb, 0.0 );
+			ub = Math.min( ub, 1.0 );
+		}
+		lbs[varCount] = lb;
+		ubs[varCount] = ub;
+		objs[varCount] = obj;
+		types[varCount] = type;
+		names[varCount] = name;
+		starts[varCount] = UNDEFINED;
+		return varCount++;
+	}
+
+	@Override
+	public void addConstr( LinExpr linExpr, Sense sense, double rhs, String name ){
+		constraints.add( new Constraint( linExpr, sense, rhs, name ) );
+	}
+
+	@Override
+	public void setStart( int var, double value ){
+		starts[var] = value;
+	}
+
+	@Override
+	public void setUpperBound( int var, double ub ){
+		ubs[var] = types[var] == VarType.BINARY ? Math.min( ub, 1.0 ) : ub;
+	}
+
+	@Override
+	public void setCallback( SolverCallback callback ){
+		this.callback = callback;
+	}
+
+	@Override
+	public void setLazyConstraints( boolean lazyConstraints ){
+		this.lazyConstraints = lazyConstraints;
+	}
+
+	@Override
+	public void setPreCrush( boolean preCrush ){
+		//cuts are always formulated on the original variables, there is no presolve
+	}
+
+	@Override
+	public void setThreads( int threads ){
+		if( threads > 1 ){
+			log.info( "The branch and bound backend is single threaded. Ignore thread count " + threads + "." );
+		}
+	}
+
+	@Override
+	public void setTimeLimit( double seconds ){
+		this.timeLimit = seconds;
+	}
+
+	@Override
+	public void setHeuristics( double heuristics ){
+		//there are no primal heuristics besides the start solution and the diving
+	}
+
+	@Override
+	public void setPresolve( boolean presolve ){
+		//there is no presolve
+	}
+
+	@Override
+	public OptimizationStatus optimize() throws SolverException{
+		long startTime = System.nanoTime();
+		terminated = false;
+		rows = new ArrayList<>( constraints );
+		incumbent = null;
+		incumbentObjective = INFINITY;
+		solutionCount = 0;
+		nodeCount = 0;
+		objectiveBound = -INFINITY;
+		abandonedNodesBound = INFINITY;
+
+		isObjectiveIntegral = true;
+		for( int j = 0; j < varCount; j++ ){
+			if( objs[j] != 0.0 && ( !types[j].isIntegral() || objs[j] != Math.rint( objs[j] ) ) ){
+				isObjectiveIntegral = false;
+			}
+		}
+
+		double[] nodeLbs = new double[varCount];
+		double[] nodeUbs = new double[varCount];
+
+		//start values are fixed and the remaining variables are completed by the lp
+		if( hasStartValues() ){
+			System.arraycopy( lbs, 0, nodeLbs, 0, varCount );
+			System.arraycopy( ubs, 0, nodeUbs, 0, varCount );
+			for( int j = 0; j < varCount; j++ ){
+				if( !Double.isNaN( starts[j] ) ){
+					nodeLbs[j] = Math.max( lbs[j], Math.min( ubs[j], starts[j] ) );
+					nodeUbs[j] = nodeLbs[j];
+				}
+			}
+			solveNode( nodeLbs, nodeUbs, false );
+			if( incumbent != null ){
+				log.info( "Start solution accepted with objective " + incumbentObjective + "." );
+			} else {
+				log.info( "Start solution could not be completed to a feasible solution. Ignore it!" );
+			}
+		}
+
+		openNodes = new PriorityQueue<>( ( a, b ) -> a.bound != b.bound ? Double.compare( a.bound, b.bound ) : Integer.compare( b.depth, a.depth ) );
+		Node nextNode = new Node( null, -1, 0.0, 0.0, -INFINITY );
+		OptimizationStatus status = OptimizationStatus.OPTIMAL;
+		while( nextNode != null || !openNodes.isEmpty() ){
+			if( terminated ){
+				status = OptimizationStatus.INTERRUPTED;
+				break;
+			}
+			if( ( System.nanoTime() - startTime ) / 1e9 > timeLimit ){
+				status = OptimizationStatus.TIME_LIMIT;
+				break;
+			}
+
+			//dive into one child of the last node, otherwise continue with the best bound
+			Node node = nextNode != null ? nextNode : openNodes.poll();
+			nextNode = null;
+			if( isPruned( node.bound ) ){
+				continue;
+			}
+
+			System.arraycopy( lbs, 0, nodeLbs, 0, varCount );
+			System.arraycopy( ubs, 0, nodeUbs, 0, varCount );
+			for( Node n = node; n.parent != null; n = n.parent ){
+				//the deepest decision for a variable is the strongest one
+				nodeLbs[n.var] = Math.max( nodeLbs[n.var], n.lb );
+				nodeUbs[n.var] = Math.min( nodeUbs[n.var], n.ub );
+			}
+			nodeCount++;
+
+			BoundedSimplex simplex = solveNode( nodeLbs, nodeUbs, true );
+			if( isIterationLimitReached ){
+				//the subtree of the node is not explored, so its bound stays a bound of the optimization
+				abandonedNodesBound = Math.min( abandonedNodesBound, node.bound );
+			}
+			if( simplex != null ){
+				double[] values = simplex.getValues();
+				int branchingVar = findBranchingVar( values );
+				if( branchingVar >= 0 ){
+					double value = values[branchingVar];
+					double bound = simplex.getObjective();
+					Node down = new Node( node, branchingVar, nodeLbs[branchingVar], Math.floor( value ), bound );
+					Node up = new Node( node, branchingVar, Math.ceil( value ), nodeUbs[branchingVar], bound );
+					if( value - Math.floor( value ) > 0.5 ){
+						nextNode = up;
+						openNodes.add( down );
+					} else {
+						nextNode = down;
+						openNodes.add( up );
+					}
+				}
+			}
+
+			if( callback != null ){
+				callback.callback( new Context( CallbackContext.Where.MIP, null, 0.0 ) );
+			}
+		}
+
+		if( status == OptimizationStatus.OPTIMAL && abandonedNodesBound < INFINITY ){
+			status = OptimizationStatus.ITERATION_LIMIT;
+		}
+		if( status == OptimizationStatus.OPTIMAL ){
+			objectiveBound = incumbentObjective;
+		} else {
+			objectiveBound = nextNode != null ? nextNode.bound : INFINITY;
+			for( Node node : openNodes ){
+				objectiveBound = Math.min( objectiveBound, node.bound );
+			}
+			objectiveBound = Math.min( objectiveBound, Math.min( abandonedNodesBound, incumbentObjective ) );
+		}
+		log.info( "Branch and bound finished with status " + status + " after " + nodeCount + " nodes and " + ( System.nanoTime() - startTime ) / 1e9 + "s." );
+
+		if( status == OptimizationStatus.OPTIMAL && incumbent == null ){
+			return OptimizationStatus.INFEASIBLE;
+		}
+		return status;
+	}
+
+	//solves the lp of the node with separation of cuts and lazy constraints, returns null if the node is pruned
+	private BoundedSimplex solveNode( double[] nodeLbs, double[] nodeUbs, boolean separateCuts ) throws SolverException{
+		BoundedSimplex simplex = new BoundedSimplex( lpIterationLimit );
+		isIterationLimitReached = false;
+		int cutRounds = 0;
+		//the loop ends, cause each added lazy constraint cuts off the current integer solution
+		while( true ){
+			BoundedSimplex.Status lpStatus = simplex.solve( Arrays.copyOf( objs, varCount ), nodeLbs, nodeUbs, rows );
+			if( lpStatus == BoundedSimplex.Status.UNBOUNDED ){
+				throw new SolverException( "The lp relaxation is unbounded!", 10005 );
+			}
+			if( lpStatus != BoundedSimplex.Status.OPTIMAL ){
+				if( lpStatus == BoundedSimplex.Status.ITERATION_LIMIT ){
+					log.warn( "Iteration limit reached in the lp of node " + nodeCount + ". Abandon the node!" );
+					isIterationLimitReached = true;
+				}
+				return null;
+			}
+			double[] values = simplex.getValues();
+			if( isPruned( simplex.getObjective() ) ){
+				return null;
+			}
+
+			if( findBranchingVar( values ) >= 0 ){
+				if( !separateCuts || callback == null || cutRounds++ >= MAX_CUT_ROUNDS_PER_NODE ){
+					return simplex;
+				}
+				Context context = new Context( CallbackContext.Where.MIPNODE, values, simplex.getObjective() );
+				callback.callback( context );
+				if( !context.addViolatedConstraints( values ) ){
+					return simplex;
+				}
+			} else {
+				//round the integer variables, so the callback gets a clean integer solution
+				double[] solution = values.clone();
+				double objective = 0.0;
+				for( int j = 0; j < varCount; j++ ){
+					if( types[j].isIntegral() ){
+						solution[j] = Math.rint( solution[j] );
+					}
+					objective += objs[j] * solution[j];
+				}
+				if( callback != null ){
+					Context context = new Context( CallbackContext.Where.MIPSOL, solution, objective );
+					callback.callback( context );
+					if( context.addViolatedConstraints( solution ) ){
+						continue;
+					}
+				}
+				if( objective < incumbentObjective ){
+					incumbent = solution;
+					incumbentObjective = objective;
+					solutionCount++;
+					log.debug( "New incumbent with objective " + objective + " found in node " + nodeCount + "." );
+				}
+				return simplex;
+			}
+		}
+	}
+
+	private boolean isPruned( double bound ){
+		if( incumbent == null ){
+			return false;
+		}
+		if( isObjectiveIntegral ){
+			bound = Math.ceil( bound - INTEGRALITY_EPSILON );
+		}
+		return bound >= incumbentObjective - INTEGRALITY_EPSILON;
+	}
+
+	//returns the most fractional integer variable or -1 if the values are integral
+	private int findBranchingVar( double[] values ){
+		int branchingVar = -1;
+		double biggestFractionality = INTEGRALITY_EPSILON;
+		for( int j = 0; j < varCount; j++ ){
+			if( types[j].isIntegral() ){
+				double fractionality = Math.abs( values[j] - Math.rint( values[j] ) );
+				if( fractionality > biggestFractionality ){
+					branchingVar = j;
+					biggestFractionality = fractionality;
+				}
+			}
+		}
+		return branchingVar;
+	}
+
+	private boolean hasStartValues(){
+		for( int j = 0; j < varCount; j++ ){
+			if( !Double.isNaN( starts[j] ) ){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public double getObjVal() throws SolverException{
+		if( incumbent == null ){
+			throw new SolverException( "No solution available!", 10005 );
+		}
+		return incumbentObjective;
+	}
+
+	@Override
+	public double getObjBound(){
+		return objectiveBound;
+	}
+
+	@Override
+	public double[] getValues( int[] vars ) throws SolverException{
+		if( incumbent == null ){
+			throw new SolverException( "No solution available!", 10005 );
+		}
+		double[] values = new double[vars.length];
+		for( int k = 0; k < vars.length; k++ ){
+			values[k] = incumbent[vars[k]];
+		}
+		return values;
+	}
+
+	@Override
+	public int getVarCount(){
+		return varCount;
+	}
+
+	void setLpIterationLimit( int lpIterationLimit ){
+		this.lpIterationLimit = lpIterationLimit;
+	}
+
+	@Override
+	public double computeReducedCosts( int[] vars, double[] reducedCosts ){
+		//the lazy constraints and cuts of the last optimization are valid for the model, so they are part of the relaxation
+		ArrayList<Constraint> relaxationRows = rows != null ? rows : constraints;
+		BoundedSimplex simplex = new BoundedSimplex();
+		BoundedSimplex.Status lpStatus = simplex.solve( Arrays.copyOf( objs, varCount ), Arrays.copyOf( lbs, varCount ), Arrays.copyOf( ubs, varCount ),
+						relaxationRows );
+		if( lpStatus != BoundedSimplex.Status.OPTIMAL ){
+			log.info( "The lp relaxation could not be solved for the reduced costs, status: " + lpStatus );
+			return Double.NaN;
+		}
+
+		int[] positionOfVar = new int[varCount];
+		Arrays.fill( positionOfVar, -1 );
+		for( int k = 0; k < vars.length; k++ ){
+			positionOfVar[vars[k]] = k;
+			reducedCosts[k] = objs[vars[k]];
+		}
+		double[] duals = simplex.getDuals();
+		for( int i = 0; i < relaxationRows.size(); i++ ){
+			if( duals[i] == 0.0 ){
+				continue;
+			}
+			LinExpr linExpr = relaxationRows.get( i ).getLinExpr();
+			for( int k = 0; k < linExpr.size(); k++ ){
+				int position = positionOfVar[linExpr.getVar( k )];
+				if( position >= 0 ){
+					reducedCosts[position] -= duals[i] * linExpr.getCoeff( k );
+				}
+			}
+		}
+		return simplex.getObjective();
+	}
+
+	@Override
+	public String getVarName( int var ){
+		//default name like gurobi if the variable is added without name
+		return names[var] != null ? names[var] : "C" + var;
+	}
+
+	@Override
+	public void computeIIS(){
+		log.info( "The branch and bound backend can not compute an IIS." );
+	}
+
+	@Override
+	public void write( String fileName ) throws SolverException{
+		if( !fileName.endsWith( ".sol" ) ){
+			log.info( "The branch and bound backend can only write solution files. Skip '" + fileName + "'." );
+			return;
+		}
+		if( incumbent == null ){
+			return;
+		}
+		try( Writer writer = new FileWriter( fileName ) ){
+			writer.write( "# Objective value = " + incumbentObjective + "\n" );
+			for( int j = 0; j < varCount; j++ ){
+				writer.write( getVarName( j ) + " " + incumbent[j] + "\n" );
+			}
+		} catch( IOException e ){
+			throw new SolverException( "Could not write '" + fileName + "'. " + e.getMessage(), 10013, e );
+		}
+	}
+
+	@Override
+	public void terminate(){
+		terminated = true;
+	}
+
+	@Override
+	public void dispose(){
+		rows = null;
+		openNodes = null;
+		constraints = new ArrayList<>();
+	}
+
+	private class Context implements CallbackContext{
+
+		private final Where where;
+		private final double[] values;
+		private final double objective;
+		private final ArrayList<Constraint> addedConstraints = new ArrayList<>();
+
+		private Context( Where where, double[] values, double objective ){
+			this.where = where;
+			this.values = values;
+			this.objective = objective;
+		}
+
+		//adds the constraints of the callback to the lp, returns true if one of them cuts off the given values
+		private boolean addViolatedConstraints( double[] values ){
+			boolean isViolated = false;
+			for( Constraint constraint : addedConstraints ){
+				rows.add( constraint );
+				if( constraint.isViolated( values, CUT_VIOLATION_EPSILON ) ){
+					isViolated = true;
+				}
+			}
+			return isViolated;
+		}
+
+		@Override
+		public Where getWhere(){
+			return where;
+		}
+
+		@Override
+		public double[] getSolution( int[] vars ) throws SolverException{
+			if( where != Where.MIPSOL ){
+				throw new SolverException( "getSolution is only available in MIPSOL callbacks!", 10011 );
+			}
+			return getValuesOf( vars );
+		}
+
+		@Override
+		public double getSolutionObjective(){
+			return objective;
+		}
+
+		@Override
+		public double getBestObjective(){
+			return incumbentObjective;
+		}
+
+		@Override
+		public double getBestObjectiveBound(){
+			//the open nodes are sorted by their bound, the current node is not in the queue
+			return openNodes == null || openNodes.isEmpty() ? objective : Math.min( objective, openNodes.peek().bound );
+		}
+
+		@Override
+		public double getNodeCount(){
+			return nodeCount;
+		}
+
+		@Override
+		public int getSolutionCount(){
+			return solutionCount;
+		}
+
+		@Override
+		public boolean isNodeRelaxationOptimal(){
+			return where == Where.MIPNODE;
+		}
+
+		@Override
+		public double[] getNodeRel( int[] vars ) throws SolverException{
+			if( where != Where.MIPNODE ){
+				throw new SolverException( "getNodeRel is only available in MIPNODE callbacks!", 10011 );
+			}
+			return getValuesOf( vars );
+		}
+
+		//the defined values are fixed and the remaining variables are completed by the lp like the start values,
+		//the lazy constraints are checked by the MIPSOL callback of the completed solution
+		@Override
+		public double useSolution( int[] vars, double[] values ) throws SolverException{
+			if( where != Where.MIPNODE ){
+				throw new SolverException( "useSolution is only available in MIPNODE callbacks!", 10011 );
+			}
+			double[] nodeLbs = Arrays.copyOf( lbs, varCount );
+			double[] nodeUbs = Arrays.copyOf( ubs, varCount );
+			for( int k = 0; k < vars.length; k++ ){
+				if( !Double.isNaN( values[k] ) ){
+					nodeLbs[vars[k]] = Math.max( lbs[vars[k]], Math.min( ubs[vars[k]], values[k] ) );
+					nodeUbs[vars[k]] = nodeLbs[vars[k]];
+				}
+			}
+			double lastIncumbentObjective = incumbentObjective;
+			//an iteration limit of the completion does not abandon the current node
+			boolean isNodeIterationLimitReached = isIterationLimitReached;
+			solveNode( nodeLbs, nodeUbs, false );
+			isIterationLimitReached = isNodeIterationLimitReached;
+			return incumbentObjective < lastIncumbentObjective ? incumbentObjective : INFINITY;
+		}
+
+		@Override
+		public void addLazy( LinExpr linExpr, Sense sense, double rhs ) throws SolverException{
+			if( !lazyConstraints ){
+				throw new SolverException( "Lazy constraints are not activated!", 10011 );
+			}
+			addedConstraints.add( new Constraint( linExpr, sense, rhs, null ) );
+		}
+
+		@Override
+		public void addCut( LinExpr linExpr, Sense sense, double rhs ){
+			addedConstraints.add( new Constraint( linExpr, sense, rhs, null ) );
+		}
+
+		private double[] getValuesOf( int[] vars ){
+			double[] valuesOfVars = new double[vars.length];
+			for( int k = 0; k < vars.length; k++ ){
+				valuesOfVars[k] = values[vars[k]];
+			}
+			return valuesOfVars;
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package de.hbrs.inf.tsp.backend;
+
+public interface CallbackContext{
+
+	enum Where{
+		MIP, MIPSOL, MIPNODE, OTHER
+	}
+
+	Where getWhere();
+
+	//values of the new integer solution (only in MIPSOL)
+	double[] getSolution( int[] vars ) throws SolverException;
+
+	double getSolutionObjective() throws SolverException;
+
+	double getBestObjective() throws SolverException;
+
+	double getBestObjectiveBound() throws SolverException;
+
+	double getNodeCount() throws SolverException;
+
+	int getSolutionCount() throws SolverException;
+
+	//values of the relaxation of the current node (only in MIPNODE)
+	boolean isNodeRelaxationOptimal() throws SolverException;
+
+	double[] getNodeRel( int[] vars ) throws SolverException;
+
+	//submits a heuristic solution (only in MIPNODE), undefined values are completed by the solver,
+	//returns the objective of the solution or SolverBackend.INFINITY, if it is not feasible or no new incumbent
+	double useSolution( int[] vars, double[] values ) throws SolverException;
+
+	//lazy constraints cut off the current integer solution, user cuts only tighten the relaxation
+	void addLazy( LinExpr linExpr, Sense sense, double rhs ) throws SolverException;
+
+	void addCut( LinExpr linExpr, Sense sense, double rhs ) throws SolverException;
+}
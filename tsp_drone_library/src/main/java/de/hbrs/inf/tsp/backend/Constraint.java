@@ -0,0 +1,60 @@
+package de.hbrs.inf.tsp.backend;
+
+public class Constraint{
+
+	private LinExpr linExpr;
+	private Sense sense;
+	private double rhs;
+	private String name;
+
+	public Constraint( LinExpr linExpr, Sense sense, double rhs, String name ){
+		this.linExpr = linExpr;
+		this.sense = sense;
+		this.rhs = rhs;
+		this.name = name;
+	}
+
+	public boolean isViolated( double[] values, double epsilon ){
+		double lhs = linExpr.getValue( values );
+		switch( sense ){
+			case LESS_EQUAL:
+				return lhs > rhs + epsilon;
+			case GREATER_EQUAL:
+				return lhs < rhs - epsilon;
+			default:
+				return Math.abs( lhs - rhs ) > epsilon;
+		}
+	}
+
+	public LinExpr getLinExpr(){
+		return linExpr;
+	}
+
+	public void setLinExpr( LinExpr linExpr ){
+		this.linExpr = linExpr;
+	}
+
+	public Sense getSense(){
+		return sense;
+	}
+
+	public void setSense( Sense sense ){
+		this.sense = sense;
+	}
+
+	public double getRhs(){
+		return rhs;
+	}
+
+	public void setRhs( double rhs ){
+		this.rhs = rhs;
+	}
+
+	public String getName(){
+		return name;
+	}
+
+	public void setName( String name ){
+		this.name = name;
+	}
+}
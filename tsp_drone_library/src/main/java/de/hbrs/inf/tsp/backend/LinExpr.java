@@ -0,0 +1,50 @@
+package de.hbrs.inf.tsp.backend;
+
+import java.util.Arrays;
+
+public class LinExpr{
+
+	//the variables are the indices returned by SolverBackend.addVar
+	private int[] vars = new int[8];
+	private double[] coeffs = new double[8];
+	private int size = 0;
+	private double constant = 0.0;
+
+	public void addTerm( double coeff, int var ){
+		if( size == vars.length ){
+			vars = Arrays.copyOf( vars, size * 2 );
+			coeffs = Arrays.copyOf( coeffs, size * 2 );
+		}
+		vars[size] = var;
+		coeffs[size] = coeff;
+		size++;
+	}
+
+	public void addConstant( double constant ){
+		this.constant += constant;
+	}
+
+	public int size(){
+		return size;
+	}
+
+	public int getVar( int position ){
+		return vars[position];
+	}
+
+	public double getCoeff( int position ){
+		return coeffs[position];
+	}
+
+	public double getConstant(){
+		return constant;
+	}
+
+	public double getValue( double[] values ){
+		double value = constant;
+		for( int k = 0; k < size; k++ ){
+			value += coeffs[k] * values[vars[k]];
+		}
+		return value;
+	}
+}
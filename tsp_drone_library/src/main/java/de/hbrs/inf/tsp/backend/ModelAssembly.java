@@ -0,0 +1,147 @@
+package de.hbrs.inf.tsp.backend;
+
+import java.util.Arrays;
+
+//collects columns and rows in primitive arrays, so a backend can add them to the solver in bulk
+//the rows are stored in compressed sparse row format: the terms of row r are at the positions rowBegin[r] to rowBegin[r + 1] - 1
+public class ModelAssembly{
+
+	private int columnCount = 0;
+	private double[] lbs = new double[16];
+	private double[] ubs = new double[16];
+	private double[] objs = new double[16];
+	private VarType[] types = new VarType[16];
+	private String[] columnNames = new String[16];
+	private boolean hasColumnNames = false;
+
+	private int rowCount = 0;
+	private int[] rowBegin = new int[17];
+	private Sense[] senses = new Sense[16];
+	private double[] rhs = new double[16];
+	private String[] rowNames = new String[16];
+	private boolean hasRowNames = false;
+
+	private int termCount = 0;
+	private int[] vars = new int[64];
+	private double[] coeffs = new double[64];
+
+	//returns the index of the column in the assembly
+	public int addColumn( double lb, double ub, double obj, VarType type, String name ){
+		if( columnCount == lbs.length ){
+			int newLength = 2 * columnCount;
+			lbs = Arrays.copyOf( lbs, newLength );
+			ubs = Arrays.copyOf( ubs, newLength );
+			objs = Arrays.copyOf( objs, newLength );
+			types = Arrays.copyOf( types, newLength );
+			columnNames = Arrays.copyOf( columnNames, newLength );
+		}
+		lbs[columnCount] = lb;
+		ubs[columnCount] = ub;
+		objs[columnCount] = obj;
+		types[columnCount] = type;
+		columnNames[columnCount] = name;
+		hasColumnNames |= name != null;
+		return columnCount++;
+	}
+
+	//the variables of the linear expression are the indices of the backend, the constant is moved to the right hand side
+	public void addRow( LinExpr linExpr, Sense sense, double rhs, String name ){
+		if( rowCount == senses.length ){
+			int newLength = 2 * rowCount;
+			rowBegin = Arrays.copyOf( rowBegin, newLength + 1 );
+			senses = Arrays.copyOf( senses, newLength );
+			this.rhs = Arrays.copyOf( this.rhs, newLength );
+			rowNames = Arrays.copyOf( rowNames, newLength );
+		}
+		if( termCount + linExpr.size() > vars.length ){
+			int newLength = Math.max( 2 * vars.length, termCount + linExpr.size() );
+			vars = Arrays.copyOf( vars, newLength );
+			coeffs = Arrays.copyOf( coeffs, newLength );
+		}
+		for( int k = 0; k < linExpr.size(); k++ ){
+			vars[termCount] = linExpr.getVar( k );
+			coeffs[termCount] = linExpr.getCoeff( k );
+			termCount++;
+		}
+		senses[rowCount] = sense;
+		this.rhs[rowCount] = rhs - linExpr.getConstant();
+		rowNames[rowCount] = name;
+		hasRowNames |= name != null;
+		rowCount++;
+		rowBegin[rowCount] = termCount;
+	}
+
+	public void clear(){
+		Arrays.fill( columnNames, 0, columnCount, null );
+		Arrays.fill( rowNames, 0, rowCount, null );
+		columnCount = 0;
+		rowCount = 0;
+		termCount = 0;
+		hasColumnNames = false;
+		hasRowNames = false;
+	}
+
+	public boolean isEmpty(){
+		return columnCount == 0 && rowCount == 0;
+	}
+
+	public int getColumnCount(){
+		return columnCount;
+	}
+
+	public int getRowCount(){
+		return rowCount;
+	}
+
+	public int getTermCount(){
+		return termCount;
+	}
+
+	//the arrays are returned without copy and may be longer than the count of columns, rows or terms
+
+	public double[] getLbs(){
+		return lbs;
+	}
+
+	public double[] getUbs(){
+		return ubs;
+	}
+
+	public double[] getObjs(){
+		return objs;
+	}
+
+	public VarType[] getTypes(){
+		return types;
+	}
+
+	//null if no column has a name
+	public String[] getColumnNames(){
+		return hasColumnNames ? columnNames : null;
+	}
+
+	public int[] getRowBegin(){
+		return rowBegin;
+	}
+
+	public Sense[] getSenses(){
+		return senses;
+	}
+
+	public double[] getRhs(){
+		return rhs;
+	}
+
+	//null if no row has a name
+	public String[] getRowNames(){
+		return hasRowNames ? rowNames : null;
+	}
+
+	public int[] getVars(){
+		return vars;
+	}
+
+	public double[] getCoeffs(){
+		return coeffs;
+	}
+}
@@ -0,0 +1,6 @@
+package de.hbrs.inf.tsp.backend;
+
+public enum OptimizationStatus{
+
+	OPTIMAL, INFEASIBLE, INF_OR_UNBD, UNBOUNDED, TIME_LIMIT, ITERATION_LIMIT, INTERRUPTED, OTHER
+}
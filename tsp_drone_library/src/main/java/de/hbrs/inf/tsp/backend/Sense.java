@@ -0,0 +1,16 @@
+package de.hbrs.inf.tsp.backend;
+
+public enum Sense{
+
+	LESS_EQUAL( "<=" ), GREATER_EQUAL( ">=" ), EQUAL( "=" );
+
+	private String symbol;
+
+	Sense( String symbol ){
+		this.symbol = symbol;
+	}
+
+	public String getSymbol(){
+		return symbol;
+	}
+}
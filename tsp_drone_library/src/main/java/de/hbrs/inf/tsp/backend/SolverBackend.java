@@ -0,0 +1,56 @@
+package de.hbrs.inf.tsp.backend;
+
+public interface SolverBackend{
+
+	double INFINITY = 1e100;
+	//start value for variables without a value in the start solution
+	double UNDEFINED = Double.NaN;
+
+	//returns the index of the new variable, which is used in the linear expressions
+	int addVar( double lb, double ub, double obj, VarType type, String name ) throws SolverException;
+
+	//the constant of the linear expression is moved to the right hand side
+	void addConstr( LinExpr linExpr, Sense sense, double rhs, String name ) throws SolverException;
+
+	void setStart( int var, double value ) throws SolverException;
+
+	void setUpperBound( int var, double ub ) throws SolverException;
+
+	void setCallback( SolverCallback callback ) throws SolverException;
+
+	void setLazyConstraints( boolean lazyConstraints ) throws SolverException;
+
+	void setPreCrush( boolean preCrush ) throws SolverException;
+
+	void setThreads( int threads ) throws SolverException;
+
+	void setTimeLimit( double seconds ) throws SolverException;
+
+	void setHeuristics( double heuristics ) throws SolverException;
+
+	void setPresolve( boolean presolve ) throws SolverException;
+
+	OptimizationStatus optimize() throws SolverException;
+
+	double getObjVal() throws SolverException;
+
+	double getObjBound() throws SolverException;
+
+	double[] getValues( int[] vars ) throws SolverException;
+
+	int getVarCount();
+
+	//solves the lp relaxation of the model and returns its objective or NaN if it is not optimal,
+	//the reduced costs of the given variables are written to reducedCosts
+	double computeReducedCosts( int[] vars, double[] reducedCosts ) throws SolverException;
+
+	String getVarName( int var ) throws SolverException;
+
+	void computeIIS() throws SolverException;
+
+	void write( String fileName ) throws SolverException;
+
+	void terminate();
+
+	void dispose();
+}
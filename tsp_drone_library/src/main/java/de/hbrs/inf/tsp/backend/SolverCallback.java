@@ -0,0 +1,6 @@
+package de.hbrs.inf.tsp.backend;
+
+public interface SolverCallback{
+
+	void callback( CallbackContext context ) throws SolverException;
+}
@@ -0,0 +1,22 @@
+package de.hbrs.inf.tsp.backend;
+
+public class SolverException extends Exception{
+
+	private static final long serialVersionUID = 1L;
+
+	private int errorCode;
+
+	public SolverException( String message, int errorCode ){
+		super( message );
+		this.errorCode = errorCode;
+	}
+
+	public SolverException( String message, int errorCode, Throwable cause ){
+		super( message, cause );
+		this.errorCode = errorCode;
+	}
+
+	public int getErrorCode(){
+		return errorCode;
+	}
+}
@@ -0,0 +1,10 @@
+package de.hbrs.inf.tsp.backend;
+
+public enum VarType{
+
+	CONTINUOUS, BINARY, INTEGER;
+
+	public boolean isIntegral(){
+		return this != CONTINUOUS;
+	}
+}
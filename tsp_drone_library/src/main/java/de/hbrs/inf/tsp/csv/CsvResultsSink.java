@@ -0,0 +1,132 @@
+package de.hbrs.inf.tsp.csv;
+
+import de.hbrs.inf.tsp.TspModel;
+import org.apache.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+//writes the csv results of all solved models with one open file per tsp type, the rows are buffered and written in batches
+public class CsvResultsSink implements Closeable{
+
+	private static final Logger log = Logger.getLogger( CsvResultsSink.class.getName() );
+
+	private final String directory;
+	private final int maxBufferedRows;
+	private final Map<String, CsvResultsFile> csvResultsFiles = new HashMap<>();
+	private final ScheduledExecutorService flushScheduler;
+	private boolean isClosed = false;
+
+	private static class CsvResultsFile{
+		private final Path path;
+		private final FileChannel channel;
+		private final StringBuilder bufferedRows = new StringBuilder();
+		private int bufferedRowsCounter = 0;
+
+		private CsvResultsFile( Path path, FileChannel channel ){
+			this.path = path;
+			this.channel = channel;
+		}
+	}
+
+	//the buffered rows are written if maxBufferedRows is reached, every flushIntervalSeconds and when the sink is closed
+	public CsvResultsSink( String directory, int maxBufferedRows, long flushIntervalSeconds ){
+		this.directory = directory;
+		this.maxBufferedRows = Math.max( 1, maxBufferedRows );
+		if( flushIntervalSeconds > 0 ){
+			flushScheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+				Thread thread = new Thread( runnable, "csv-results-flush" );
+				thread.setDaemon( true );
+				return thread;
+			} );
+			flushScheduler.scheduleWithFixedDelay( this::flushAll, flushIntervalSeconds, flushIntervalSeconds, TimeUnit.SECONDS );
+		} else {
+			flushScheduler = null;
+		}
+	}
+
+	public synchronized void append( TspModel tspModel ) throws IOException{
+		if( isClosed ){
+			throw new IllegalStateException( "CsvResultsSink is already closed." );
+		}
+		CsvResultsFile csvResultsFile = csvResultsFiles.get( tspModel.getType() );
+		if( csvResultsFile == null ){
+			csvResultsFile = open( tspModel.getType() );
+			csvResultsFiles.put( tspModel.getType(), csvResultsFile );
+		}
+		TspModelCsvResultsConverter.appendCsvResultString( csvResultsFile.bufferedRows, tspModel );
+		csvResultsFile.bufferedRows.append( System.lineSeparator() );
+		csvResultsFile.bufferedRowsCounter++;
+		if( csvResultsFile.bufferedRowsCounter >= maxBufferedRows ){
+			flush( csvResultsFile );
+		}
+	}
+
+	//writes the buffered rows of all files, errors are logged so the scheduled flush keeps running
+	public synchronized void flushAll(){
+		for( CsvResultsFile csvResultsFile : csvResultsFiles.values() ){
+			try{
+				flush( csvResultsFile );
+			} catch( IOException e ){
+				log.error( "Can not write csv results to file '" + csvResultsFile.path.toAbsolutePath() + "'! Error message: " + e.getMessage() );
+			}
+		}
+	}
+
+	//flushes all buffered rows and closes the files, further calls have no effect
+	@Override
+	public synchronized void close(){
+		if( isClosed ){
+			return;
+		}
+		isClosed = true;
+		if( flushScheduler != null ){
+			flushScheduler.shutdownNow();
+		}
+		flushAll();
+		for( CsvResultsFile csvResultsFile : csvResultsFiles.values() ){
+			try{
+				csvResultsFile.channel.close();
+			} catch( IOException e ){
+				log.error( "Can not close csv result file '" + csvResultsFile.path.toAbsolutePath() + "'! Error message: " + e.getMessage() );
+			}
+		}
+		csvResultsFiles.clear();
+	}
+
+	private CsvResultsFile open( String type ) throws IOException{
+		Path path = Paths.get( directory, type + ".csv" );
+		FileChannel channel = FileChannel.open( path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND );
+		CsvResultsFile csvResultsFile = new CsvResultsFile( path, channel );
+		//the header is only written to new files, so results of several runs can be collected in one file
+		if( channel.size() == 0 ){
+			csvResultsFile.bufferedRows.append( TspModelCsvResultsConverter.getCsvHeaderString( type ) ).append( System.lineSeparator() );
+			log.info( "Creation of csv result file '" + path.toAbsolutePath() + "' was successful!" );
+		}
+		return csvResultsFile;
+	}
+
+	private void flush( CsvResultsFile csvResultsFile ) throws IOException{
+		if( csvResultsFile.bufferedRows.length() == 0 ){
+			return;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap( csvResultsFile.bufferedRows.toString().getBytes( StandardCharsets.UTF_8 ) );
+		while( buffer.hasRemaining() ){
+			csvResultsFile.channel.write( buffer );
+		}
+		log.info( csvResultsFile.bufferedRowsCounter + " result/s written to csv result file '" + csvResultsFile.path.toAbsolutePath() + "'!" );
+		csvResultsFile.bufferedRows.setLength( 0 );
+		csvResultsFile.bufferedRowsCounter = 0;
+	}
+}
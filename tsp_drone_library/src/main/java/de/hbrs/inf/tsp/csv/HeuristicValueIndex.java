@@ -0,0 +1,207 @@
+package de.hbrs.inf.tsp.csv;
+
+import de.hbrs.inf.tsp.Defines;
+import de.hbrs.inf.tsp.Fstsp;
+import de.hbrs.inf.tsp.Pdstsp;
+import de.hbrs.inf.tsp.TspModel;
+import org.apache.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.Map;
+
+//heuristic values of a csv file indexed by type, name and the drone parameters, the file is read only once
+public class HeuristicValueIndex{
+
+	private static final Logger log = Logger.getLogger( HeuristicValueIndex.class.getName() );
+	private static final char DELIMITER = ';';
+
+	private final Map<Key, Double> heuristicValues = new HashMap<>();
+
+	private static class Key{
+		private final String type;
+		private final String name;
+		private final double truckSpeed;
+		private final double droneSpeed;
+		private final double droneFleetSize;
+		private final double droneFlightRange;
+
+		//type and name are compared case insensitive like in the csv files
+		private Key( String type, String name, double truckSpeed, double droneSpeed, double droneFleetSize, double droneFlightRange ){
+			this.type = type.toUpperCase();
+			this.name = name.toLowerCase();
+			this.truckSpeed = truckSpeed;
+			this.droneSpeed = droneSpeed;
+			this.droneFleetSize = droneFleetSize;
+			this.droneFlightRange = droneFlightRange;
+		}
+
+		@Override
+		public boolean equals( Object object ){
+			if( this == object ){
+				return true;
+			}
+			if( !( object instanceof Key ) ){
+				return false;
+			}
+			Key key = (Key)object;
+			return type.equals( key.type ) && name.equals( key.name ) && Double.compare( truckSpeed, key.truckSpeed ) == 0
+							&& Double.compare( droneSpeed, key.droneSpeed ) == 0 && Double.compare( droneFleetSize, key.droneFleetSize ) == 0
+							&& Double.compare( droneFlightRange, key.droneFlightRange ) == 0;
+		}
+
+		@Override
+		public int hashCode(){
+			int hashCode = type.hashCode();
+			hashCode = 31 * hashCode + name.hashCode();
+			hashCode = 31 * hashCode + Double.hashCode( truckSpeed );
+			hashCode = 31 * hashCode + Double.hashCode( droneSpeed );
+			hashCode = 31 * hashCode + Double.hashCode( droneFleetSize );
+			hashCode = 31 * hashCode + Double.hashCode( droneFlightRange );
+			return hashCode;
+		}
+
+		@Override
+		public String toString(){
+			return "ts=" + truckSpeed + " , ds=" + droneSpeed + " , dfs=" + droneFleetSize + " , dfr=" + droneFlightRange;
+		}
+	}
+
+	private HeuristicValueIndex(){
+	}
+
+	//returns null if the file can not be read or necessary columns are missing
+	public static HeuristicValueIndex load( String pathToFile ){
+		log.info( "Try to read heuristic values file: " + pathToFile );
+		HeuristicValueIndex heuristicValueIndex = new HeuristicValueIndex();
+		try( BufferedReader reader = Files.newBufferedReader( Paths.get( pathToFile ), StandardCharsets.UTF_8 ) ){
+			String headline = reader.readLine();
+			if( headline == null ){
+				log.error( "The heuristic values file '" + pathToFile + "' is empty!" );
+				return null;
+			}
+			String[] columns = split( headline );
+			int typeColumn = indexOf( columns, Defines.Strings.TYPE );
+			int nameColumn = indexOf( columns, Defines.Strings.NAME );
+			int objectiveColumn = indexOf( columns, Defines.Strings.OBJECTIVE );
+			int truckSpeedColumn = indexOf( columns, Defines.Strings.TRUCK_SPEED );
+			int droneSpeedColumn = indexOf( columns, Defines.Strings.DRONE_SPEED );
+			int droneFleetSizeColumn = indexOf( columns, Defines.Strings.DRONE_FLEET_SIZE );
+			int droneFlightRangeColumn = indexOf( columns, Defines.Strings.DRONE_FLIGHT_RANGE_PERCENTAGE );
+			if( typeColumn < 0 || nameColumn < 0 || objectiveColumn < 0 ){
+				log.error( "Missing necessary column in CSV file!" );
+				return null;
+			}
+
+			int lineCounter = 1;
+			int skippedRowsCounter = 0;
+			String line;
+			while( ( line = reader.readLine() ) != null ){
+				lineCounter++;
+				if( line.isEmpty() ){
+					continue;
+				}
+				String[] values = split( line );
+				if( values.length != columns.length ){
+					log.warn( "Skip row " + lineCounter + " with " + values.length + " elements, the headline has " + columns.length + " elements!" );
+					skippedRowsCounter++;
+					continue;
+				}
+				String type = values[typeColumn].toUpperCase();
+				try{
+					Key key;
+					switch( type ){
+						case Defines.TSP:
+							key = new Key( type, values[nameColumn], 0, 0, 0, 0 );
+							break;
+						case Defines.PDSTSP:
+							key = new Key( type, values[nameColumn], parse( values, truckSpeedColumn ), parse( values, droneSpeedColumn ),
+											parse( values, droneFleetSizeColumn ), parse( values, droneFlightRangeColumn ) );
+							break;
+						case Defines.FSTSP:
+							//the fstsp has always one drone
+							key = new Key( type, values[nameColumn], parse( values, truckSpeedColumn ), parse( values, droneSpeedColumn ), 0,
+											parse( values, droneFlightRangeColumn ) );
+							break;
+						default:
+							log.debug( "Skip row " + lineCounter + " with unsupported TSP Type '" + type + "'." );
+							continue;
+					}
+					//if a model is contained more than once, the first row is used
+					heuristicValueIndex.heuristicValues.putIfAbsent( key, parse( values, objectiveColumn ) );
+				} catch( NumberFormatException e ){
+					log.warn( "Skip row " + lineCounter + " of type '" + type + "' with missing column or invalid number! Error message: " + e.getMessage() );
+					skippedRowsCounter++;
+				}
+			}
+			log.info( "Heuristic values file successfully read! " + heuristicValueIndex.heuristicValues.size() + " heuristic value/s indexed, "
+							+ skippedRowsCounter + " row/s skipped." );
+		} catch( IOException e ){
+			log.error( "Could not read heuristic values file '" + pathToFile + "'! Error message: " + e.getMessage() );
+			return null;
+		}
+		return heuristicValueIndex;
+	}
+
+	//returns -1.0 if no value for the model is found
+	public double getHeuristicValue( TspModel tspModel ){
+		String type = tspModel.getType();
+		String name = tspModel.getName();
+		Key key;
+		switch( type ){
+			case Defines.TSP:
+				key = new Key( type, name, 0, 0, 0, 0 );
+				break;
+			case Defines.PDSTSP:
+				Pdstsp pdstsp = (Pdstsp)tspModel;
+				key = new Key( type, name, pdstsp.getTruckSpeed(), pdstsp.getDroneSpeed(), pdstsp.getDroneFleetSize(),
+								pdstsp.getDroneFlightRangePercentage() / 100.0 );
+				break;
+			case Defines.FSTSP:
+				Fstsp fstsp = (Fstsp)tspModel;
+				key = new Key( type, name, fstsp.getTruckSpeed(), fstsp.getDroneSpeed(), 0, fstsp.getDroneFlightRangePercentage() / 100.0 );
+				break;
+			default:
+				log.info( "TSP Type '" + type + "' not supported yet." );
+				return -1.0;
+		}
+
+		Double heuristicValue = heuristicValues.get( key );
+		if( heuristicValue == null ){
+			log.error( "Could not find a value for the " + type + " model of '" + name + "' and values " + key );
+			return -1.0;
+		}
+		log.info( "Found heuristic value for " + type + " model of '" + name + "' and values " + key + ": '" + heuristicValue + "'" );
+		return heuristicValue;
+	}
+
+	public int size(){
+		return heuristicValues.size();
+	}
+
+	private static String[] split( String line ){
+		//keep empty trailing values, so the number of values can be compared with the headline
+		return line.split( Character.toString( DELIMITER ), -1 );
+	}
+
+	private static int indexOf( String[] columns, String column ){
+		for( int i = 0; i < columns.length; i++ ){
+			if( columns[i].equals( column ) ){
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	//values with decimal comma are accepted
+	private static double parse( String[] values, int column ){
+		if( column < 0 ){
+			throw new NumberFormatException( "column missing" );
+		}
+		return Double.parseDouble( values[column].replace( ',', '.' ) );
+	}
+}
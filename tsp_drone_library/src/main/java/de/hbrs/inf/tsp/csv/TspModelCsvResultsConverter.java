@@ -9,57 +9,74 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class TspModelCsvResultsConverter{
+	private static final char SEPARATOR = ';';
+
 	public static String getCsvResultString( TspModel tspModel ) {
-		ArrayList<String> resultList = new ArrayList<>();
+		StringBuilder csvString = new StringBuilder();
+		appendCsvResultString( csvString, tspModel );
+		return csvString.toString();
+	}
+
+	//appends the result row without line separator, the values are appended directly without intermediate list
+	public static void appendCsvResultString( StringBuilder csvString, TspModel tspModel ) {
+		int rowStart = csvString.length();
 
 		//add all common results
-		resultList.add( tspModel.getName() );
-		resultList.add( tspModel.getType() );
-		resultList.add( tspModel.getTestDescription() );
-		resultList.add( Boolean.toString( tspModel.isLazyActive() ) );
-		resultList.add( tspModel.getPresolveHeuristicType().getType() );
-		resultList.add( tspModel.getHostname() );
-		resultList.add( Integer.toString( tspModel.getThreadCount() ) );
-		resultList.add( Integer.toString( tspModel.getDimension() ) );
-		resultList.add( Boolean.toString( tspModel.getResult().isOptimal() ) );
-		resultList.add( Double.toString( tspModel.getResult().getRuntimeTotal() ) );
-		resultList.add( Double.toString( tspModel.getResult().getRuntimeGrbModelCalculation() ) );
-		resultList.add( Double.toString( tspModel.getResult().getRuntimePresolveHeuristic() ) );
-		resultList.add( Double.toString( tspModel.getResult().getRuntimeOptimization() ) );
-		resultList.add( Integer.toString( tspModel.getMaxOptimizationSeconds() ) );
-		resultList.add( Integer.toString( tspModel.getErrorCode() ) );
-		resultList.add( Double.toString( tspModel.getResult().getObjective() ) );
-		resultList.add( Double.toString( tspModel.getResult().getObjectiveBound() ) );
-		resultList.add( Double.toString( (tspModel.getResult().getObjective() / tspModel.getResult().getObjectiveBound()) - 1.0 ) );
-		resultList.add( Double.toString( tspModel.getResult().getUsedHeuristicValue() ) );
-		resultList.add( Integer.toString( tspModel.getDecisionVariablesCounter() ) );
-		resultList.add( Integer.toString( tspModel.getTotalConstraintsCounter() ) );
-		resultList.add( Integer.toString( tspModel.getAdditionalConstraintsCounter() ) );
-		resultList.add( Integer.toString( tspModel.getResult().getIterationCounter() ) );
+		csvString.append( tspModel.getName() ).append( SEPARATOR );
+		csvString.append( tspModel.getType() ).append( SEPARATOR );
+		csvString.append( tspModel.getTestDescription() ).append( SEPARATOR );
+		csvString.append( tspModel.isLazyActive() ).append( SEPARATOR );
+		csvString.append( tspModel.isUserCutsActive() ).append( SEPARATOR );
+		csvString.append( tspModel.getPresolveHeuristicType().getType() ).append( SEPARATOR );
+		csvString.append( tspModel.getBackendType().getType() ).append( SEPARATOR );
+		csvString.append( tspModel.getHostname() ).append( SEPARATOR );
+		csvString.append( tspModel.getThreadCount() ).append( SEPARATOR );
+		csvString.append( tspModel.getDimension() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().isOptimal() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getRuntimeTotal() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getRuntimeGrbModelCalculation() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getRuntimePresolveHeuristic() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getRuntimeOptimization() ).append( SEPARATOR );
+		csvString.append( tspModel.getMaxOptimizationSeconds() ).append( SEPARATOR );
+		csvString.append( tspModel.getErrorCode() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getObjective() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getObjectiveBound() ).append( SEPARATOR );
+		csvString.append( (tspModel.getResult().getObjective() / tspModel.getResult().getObjectiveBound()) - 1.0 ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getUsedHeuristicValue() ).append( SEPARATOR );
+		csvString.append( tspModel.getDecisionVariablesCounter() ).append( SEPARATOR );
+		csvString.append( tspModel.getTotalConstraintsCounter() ).append( SEPARATOR );
+		csvString.append( tspModel.getAdditionalConstraintsCounter() ).append( SEPARATOR );
+		csvString.append( tspModel.getUserCutsCounter() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getLazyConstraintPoolSize() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getLazyConstraintDuplicateRate() ).append( SEPARATOR );
+		csvString.append( tspModel.getResult().getIterationCounter() ).append( SEPARATOR );
 
 		String type = tspModel.getType();
 		//add additional results
 		switch( type ) {
 			case Defines.PDSTSP:
 				Pdstsp pdstsp = (Pdstsp) tspModel;
-				resultList.add( Double.toString( pdstsp.getTruckSpeed() ) );
-				resultList.add( Double.toString( pdstsp.getDroneSpeed() ) );
-				resultList.add( Double.toString( pdstsp.getTruckSpeed() / pdstsp.getDroneSpeed() ) );
-				resultList.add( Integer.toString( pdstsp.getDroneFleetSize() ) );
-				resultList.add( Integer.toString( pdstsp.getDroneDeliveryPossibleAndInFlightRangeCounter() ) );
-				resultList.add( Double.toString( pdstsp.getDroneFlightRangePercentage() / 100.0 ) );
+				csvString.append( pdstsp.getTruckSpeed() ).append( SEPARATOR );
+				csvString.append( pdstsp.getDroneSpeed() ).append( SEPARATOR );
+				csvString.append( pdstsp.getTruckSpeed() / pdstsp.getDroneSpeed() ).append( SEPARATOR );
+				csvString.append( pdstsp.getDroneFleetSize() ).append( SEPARATOR );
+				csvString.append( pdstsp.getDroneDeliveryPossibleAndInFlightRangeCounter() ).append( SEPARATOR );
+				csvString.append( pdstsp.getDroneFlightRangePercentage() / 100.0 ).append( SEPARATOR );
 				break;
 			case Defines.FSTSP:
 				Fstsp fdstsp = (Fstsp)tspModel;
-				resultList.add( Double.toString( fdstsp.getTruckSpeed() ) );
-				resultList.add( Double.toString( fdstsp.getDroneSpeed() ) );
-				resultList.add( Double.toString( fdstsp.getTruckSpeed() / fdstsp.getDroneSpeed() ) );
-				resultList.add( Integer.toString( fdstsp.getPossibleDroneFlightsSize() ) );
-				resultList.add( Double.toString( fdstsp.getDroneFlightRangePercentage() / 100.0 ) );
+				csvString.append( fdstsp.getTruckSpeed() ).append( SEPARATOR );
+				csvString.append( fdstsp.getDroneSpeed() ).append( SEPARATOR );
+				csvString.append( fdstsp.getTruckSpeed() / fdstsp.getDroneSpeed() ).append( SEPARATOR );
+				csvString.append( fdstsp.getPossibleDroneFlightsSize() ).append( SEPARATOR );
+				csvString.append( fdstsp.getDroneFlightRangePercentage() / 100.0 ).append( SEPARATOR );
 				break;
 		}
 
-		return convertListToCsvString( resultList );
+		//remove the separator after the last value
+		if( csvString.length() > rowStart ) {
+			csvString.setLength( csvString.length() - 1 );
+		}
 	}
 
 	public static String getCsvHeaderString( String type ) {
@@ -70,7 +87,9 @@ public class TspModelCsvResultsConverter{
 		parameterList.add( Defines.Strings.TYPE );
 		parameterList.add( Defines.Strings.TEST_DESCRIPTION );
 		parameterList.add( Defines.Strings.IS_LAZY_ACTIVE );
+		parameterList.add( Defines.Strings.IS_USER_CUTS_ACTIVE );
 		parameterList.add( Defines.Strings.PRESOLVE_HEURISTIC_TYPE );
+		parameterList.add( Defines.Strings.BACKEND_TYPE );
 		parameterList.add( Defines.Strings.HOSTNAME );
 		parameterList.add( Defines.Strings.THREAD_COUNT );
 		parameterList.add( Defines.Strings.DIMENSION );
@@ -88,6 +107,9 @@ public class TspModelCsvResultsConverter{
 		parameterList.add( Defines.Strings.DECISION_VARIABLES );
 		parameterList.add( Defines.Strings.TOTAL_CONSTRAINTS );
 		parameterList.add( Defines.Strings.ADDITIONAL_CONSTRAINTS );
+		parameterList.add( Defines.Strings.USER_CUTS );
+		parameterList.add( Defines.Strings.LAZY_CONSTRAINT_POOL_SIZE );
+		parameterList.add( Defines.Strings.LAZY_CONSTRAINT_DUPLICATE_RATE );
 		parameterList.add( Defines.Strings.ITERATIONS );
 
 		//add additional parameters
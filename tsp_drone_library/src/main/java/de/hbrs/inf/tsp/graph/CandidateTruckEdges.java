@@ -0,0 +1,189 @@
+package de.hbrs.inf.tsp.graph;
+
+import org.apache.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+//candidate edges for a sparse truck graph, the edges are set in the order of TruckEdgeSolution.getEdgeIndex
+public class CandidateTruckEdges{
+
+	private static final Logger log = Logger.getLogger( CandidateTruckEdges.class.getName() );
+
+	//edges to the k nearest neighbours of each node
+	public static BitSet createKNearestEdges( DistanceMatrix distances, int k ){
+		int dimension = distances.getDimension();
+		BitSet candidateEdges = new BitSet( dimension * ( dimension - 1 ) / 2 );
+		int[][] neighbourLists = createNeighbourLists( distances, k );
+		for( int i = 0; i < dimension; i++ ){
+			for( int j : neighbourLists[i] ){
+				candidateEdges.set( TruckEdgeSolution.getEdgeIndex( dimension, i, j ) );
+			}
+		}
+		return candidateEdges;
+	}
+
+	//the k nearest neighbours of each node, sorted by distance
+	public static int[][] createNeighbourLists( DistanceMatrix distances, int k ){
+		int dimension = distances.getDimension();
+		int[][] neighbourLists = new int[dimension][];
+		for( int i = 0; i < dimension; i++ ){
+			long[] sortedNeighbours = sortNeighbours( distances, i );
+			neighbourLists[i] = new int[Math.min( k, sortedNeighbours.length )];
+			for( int n = 0; n < neighbourLists[i].length; n++ ){
+				neighbourLists[i][n] = (int)sortedNeighbours[n];
+			}
+		}
+		return neighbourLists;
+	}
+
+	//the k alpha nearest neighbours of each node, sorted by alpha and distance
+	//alpha( i, j ) is the increase of the minimum spanning tree, if it has to contain the edge ( i, j ), so it is 0 for tree edges
+	//it is the distance minus the longest edge on the tree path from i to j (beta), which is calculated for all j in O( n ) per node
+	public static int[][] createAlphaNearnessLists( DistanceMatrix distances, int k ){
+		int dimension = distances.getDimension();
+		int[][] neighbourLists = new int[dimension][];
+		if( dimension < 2 ){
+			for( int i = 0; i < dimension; i++ ){
+				neighbourLists[i] = new int[0];
+			}
+			return neighbourLists;
+		}
+
+		//prim, the nodes are stored in the order of their insertion, so the parent of a node is always before it
+		int[] parents = new int[dimension];
+		int[] order = new int[dimension];
+		long[] minCosts = new long[dimension];
+		boolean[] isInTree = new boolean[dimension];
+		Arrays.fill( minCosts, Long.MAX_VALUE );
+		minCosts[0] = 0;
+		parents[0] = -1;
+		for( int n = 0; n < dimension; n++ ){
+			int next = -1;
+			for( int j = 0; j < dimension; j++ ){
+				if( !isInTree[j] && ( next < 0 || minCosts[j] < minCosts[next] ) ){
+					next = j;
+				}
+			}
+			isInTree[next] = true;
+			order[n] = next;
+			for( int j = 0; j < dimension; j++ ){
+				long cost = cost( distances, next, j );
+				if( !isInTree[j] && cost < minCosts[j] ){
+					minCosts[j] = cost;
+					parents[j] = next;
+				}
+			}
+		}
+
+		long[] betas = new long[dimension];
+		int[] marks = new int[dimension];
+		Arrays.fill( marks, -1 );
+		int count = Math.min( k, dimension - 1 );
+		long[] alphas = new long[count];
+		long[] costs = new long[count];
+		for( int i = 0; i < dimension; i++ ){
+			//the nodes on the path from i to the root are marked first, all other nodes have their parent on the path to i
+			betas[i] = Long.MIN_VALUE;
+			marks[i] = i;
+			for( int node = i; parents[node] >= 0; node = parents[node] ){
+				betas[parents[node]] = Math.max( betas[node], cost( distances, node, parents[node] ) );
+				marks[parents[node]] = i;
+			}
+			for( int node : order ){
+				if( marks[node] != i ){
+					betas[node] = Math.max( betas[parents[node]], cost( distances, node, parents[node] ) );
+				}
+			}
+
+			//only the k best neighbours are needed, so they are selected by insertion instead of sorting all nodes
+			neighbourLists[i] = new int[count];
+			int n = 0;
+			for( int j = 0; j < dimension; j++ ){
+				if( j == i ){
+					continue;
+				}
+				long cost = cost( distances, i, j );
+				long alpha = cost - betas[j];
+				int position = n;
+				while( position > 0 && ( alpha < alphas[position - 1] || ( alpha == alphas[position - 1] && cost < costs[position - 1] ) ) ){
+					position--;
+				}
+				if( position < count ){
+					for( int m = Math.min( n, count - 1 ); m > position; m-- ){
+						alphas[m] = alphas[m - 1];
+						costs[m] = costs[m - 1];
+						neighbourLists[i][m] = neighbourLists[i][m - 1];
+					}
+					alphas[position] = alpha;
+					costs[position] = cost;
+					neighbourLists[i][position] = j;
+					n = Math.min( n + 1, count );
+				}
+			}
+		}
+		return neighbourLists;
+	}
+
+	//edges to the k / 4 nearest neighbours in each quadrant around a node, missing ones are filled up with the nearest other neighbours,
+	//so nodes at the border of a cluster are still connected to the nodes around it
+	public static BitSet createQuadrantNeighbourEdges( double[][] nodes, DistanceMatrix distances, int k ){
+		int dimension = distances.getDimension();
+		if( nodes == null || nodes.length < dimension ){
+			log.warn( "Quadrant neighbours need the coordinates of all nodes. Use the " + k + " nearest neighbours instead!" );
+			return createKNearestEdges( distances, k );
+		}
+
+		int quadrantQuota = Math.max( 1, k / 4 );
+		BitSet candidateEdges = new BitSet( dimension * ( dimension - 1 ) / 2 );
+		boolean[] isSelected = new boolean[dimension];
+		for( int i = 0; i < dimension; i++ ){
+			long[] sortedNeighbours = sortNeighbours( distances, i );
+			int[] quadrantCounts = new int[4];
+			int selectedCount = 0;
+			for( long sortedNeighbour : sortedNeighbours ){
+				int j = (int)sortedNeighbour;
+				int quadrant = ( nodes[j][0] >= nodes[i][0] ? 0 : 1 ) + ( nodes[j][1] >= nodes[i][1] ? 0 : 2 );
+				if( quadrantCounts[quadrant] < quadrantQuota ){
+					quadrantCounts[quadrant]++;
+					isSelected[j] = true;
+					selectedCount++;
+				}
+			}
+			for( int n = 0; n < sortedNeighbours.length && selectedCount < k; n++ ){
+				int j = (int)sortedNeighbours[n];
+				if( !isSelected[j] ){
+					isSelected[j] = true;
+					selectedCount++;
+				}
+			}
+			for( long sortedNeighbour : sortedNeighbours ){
+				int j = (int)sortedNeighbour;
+				if( isSelected[j] ){
+					candidateEdges.set( TruckEdgeSolution.getEdgeIndex( dimension, i, j ) );
+					isSelected[j] = false;
+				}
+			}
+		}
+		return candidateEdges;
+	}
+
+	//the truck edges are undirected, so the shorter direction of asymmetric distances is used
+	private static long cost( DistanceMatrix distances, int i, int j ){
+		return Math.min( distances.get( i, j ), distances.get( j, i ) );
+	}
+
+	//the neighbours of node i sorted by distance, the distance is in the upper and the neighbour in the lower 32 bits
+	private static long[] sortNeighbours( DistanceMatrix distances, int i ){
+		int dimension = distances.getDimension();
+		long[] sortedNeighbours = new long[dimension - 1];
+		int n = 0;
+		for( int j = 0; j < dimension; j++ ){
+			if( j != i ){
+				sortedNeighbours[n++] = ( cost( distances, i, j ) << 32 ) | j;
+			}
+		}
+		Arrays.sort( sortedNeighbours );
+		return sortedNeighbours;
+	}
+}
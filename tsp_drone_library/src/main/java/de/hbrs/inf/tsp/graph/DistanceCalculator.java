@@ -0,0 +1,83 @@
+package de.hbrs.inf.tsp.graph;
+
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+public class DistanceCalculator{
+
+	private static final double EARTH_RADIUS = 6378.388;
+	//smaller matrices are calculated by the calling thread, the fork join overhead would dominate
+	private static final int PARALLEL_THRESHOLD = 256;
+
+	//distances with the TSPLIB rounding for GEO coordinates (ddd.mm degrees)
+	public static DistanceMatrix calculateGeoDistances( double[][] nodeCoordinates, int dimension ){
+		//per node terms as structure of arrays, so the inner loop only reads contiguous memory
+		double[] latitude = new double[dimension];
+		double[] longitude = new double[dimension];
+		for( int i = 0; i < dimension; i++ ){
+			int degX = (int)nodeCoordinates[i][0];
+			int degY = (int)nodeCoordinates[i][1];
+			double minX = nodeCoordinates[i][0] - degX;
+			double minY = nodeCoordinates[i][1] - degY;
+			latitude[i] = Math.PI * ( degX + 5.0 * minX / 3.0 ) / 180.0;
+			longitude[i] = Math.PI * ( degY + 5.0 * minY / 3.0 ) / 180.0;
+		}
+
+		DistanceMatrix distances = new DistanceMatrix( dimension, true );
+		int[] values = distances.getValues();
+		forEachUpperRow( dimension, i -> {
+			int rowOffset = distances.getRowOffset( i );
+			double latitudeI = latitude[i];
+			double longitudeI = longitude[i];
+			for( int j = i + 1; j < dimension; j++ ){
+				double q1 = Math.cos( longitudeI - longitude[j] );
+				double q2 = Math.cos( latitudeI - latitude[j] );
+				double q3 = Math.cos( latitudeI + latitude[j] );
+				values[rowOffset + j] = (int)( EARTH_RADIUS * Math.acos( 0.5 * ( ( 1.0 + q1 ) * q2 - ( 1.0 - q1 ) * q3 ) ) + 1.0 );
+			}
+		} );
+		return distances;
+	}
+
+	//distances with the TSPLIB rounding (nint) for EUC_2D coordinates
+	public static DistanceMatrix calculateEuclideanDistances( double[][] nodeCoordinates, int dimension ){
+		double[] x = new double[dimension];
+		double[] y = new double[dimension];
+		for( int i = 0; i < dimension; i++ ){
+			x[i] = nodeCoordinates[i][0];
+			y[i] = nodeCoordinates[i][1];
+		}
+
+		DistanceMatrix distances = new DistanceMatrix( dimension, true );
+		int[] values = distances.getValues();
+		forEachUpperRow( dimension, i -> {
+			int rowOffset = distances.getRowOffset( i );
+			double xI = x[i];
+			double yI = y[i];
+			for( int j = i + 1; j < dimension; j++ ){
+				double deltaX = xI - x[j];
+				double deltaY = yI - y[j];
+				values[rowOffset + j] = (int)( Math.sqrt( deltaX * deltaX + deltaY * deltaY ) + 0.5 );
+			}
+		} );
+		return distances;
+	}
+
+	//calls rowCalculator for all rows of the upper triangle, every entry is written by exactly one task,
+	//so the result does not depend on the number of threads
+	private static void forEachUpperRow( int dimension, IntConsumer rowCalculator ){
+		if( dimension < PARALLEL_THRESHOLD ){
+			for( int i = 0; i < dimension; i++ ){
+				rowCalculator.accept( i );
+			}
+			return;
+		}
+		//row k and row dimension - 1 - k together have dimension - 1 entries, so all tasks have the same size
+		IntStream.range( 0, ( dimension + 1 ) / 2 ).parallel().forEach( k -> {
+			rowCalculator.accept( k );
+			if( dimension - 1 - k != k ){
+				rowCalculator.accept( dimension - 1 - k );
+			}
+		} );
+	}
+}
@@ -0,0 +1,222 @@
+package de.hbrs.inf.tsp.graph;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+@JsonAdapter( DistanceMatrix.GsonAdapter.class )
+public class DistanceMatrix{
+
+	//the entries are stored in one flat array, symmetric matrices only store the upper triangle (with diagonal) row by row,
+	//other ones store all entries row by row
+	private int dimension;
+	private boolean isSymmetric;
+	private int[] values;
+	//values of a memory mapped binary instance file, only set if values is null
+	private IntBuffer mappedValues;
+
+	//views share the values, the entry ( i, j ) is (int)( values[index( i, j )] * scale / speed + 0.5 )
+	private int scale = 1;
+	private double speed = 1.0;
+
+	public DistanceMatrix( int dimension, boolean isSymmetric ){
+		this( dimension, isSymmetric, null );
+		this.values = new int[getValueCount()];
+	}
+
+	private DistanceMatrix( int dimension, boolean isSymmetric, int[] values ){
+		this.dimension = dimension;
+		this.isSymmetric = isSymmetric;
+		this.values = values;
+	}
+
+	private DistanceMatrix( DistanceMatrix distanceMatrix, int scale, double speed ){
+		this.dimension = distanceMatrix.dimension;
+		this.isSymmetric = distanceMatrix.isSymmetric;
+		this.values = distanceMatrix.values;
+		this.mappedValues = distanceMatrix.mappedValues;
+		this.scale = scale;
+		this.speed = speed;
+	}
+
+	//the matrix uses the buffer without copying it, the buffer holds the unscaled values in the layout described above
+	public static DistanceMatrix fromBuffer( int dimension, boolean isSymmetric, IntBuffer values, int scale ){
+		DistanceMatrix distanceMatrix = new DistanceMatrix( dimension, isSymmetric, null );
+		if( values.remaining() != distanceMatrix.getValueCount() ){
+			throw new IllegalArgumentException( "Buffer with " + values.remaining() + " values does not match a matrix with dimension " + dimension + "." );
+		}
+		distanceMatrix.mappedValues = values;
+		distanceMatrix.scale = scale;
+		return distanceMatrix;
+	}
+
+	public static DistanceMatrix fromArray( int[][] distances ){
+		int dimension = distances.length;
+		boolean isSymmetric = true;
+		for( int i = 0; i < dimension && isSymmetric; i++ ){
+			for( int j = i + 1; j < dimension; j++ ){
+				if( distances[i][j] != distances[j][i] ){
+					isSymmetric = false;
+					break;
+				}
+			}
+		}
+
+		DistanceMatrix distanceMatrix = new DistanceMatrix( dimension, isSymmetric );
+		for( int i = 0; i < dimension; i++ ){
+			for( int j = isSymmetric ? i : 0; j < dimension; j++ ){
+				distanceMatrix.set( i, j, distances[i][j] );
+			}
+		}
+		return distanceMatrix;
+	}
+
+	private int index( int i, int j ){
+		if( !isSymmetric ){
+			return i * dimension + j;
+		}
+		if( i > j ){
+			int tmp = i;
+			i = j;
+			j = tmp;
+		}
+		return getRowOffset( i ) + j;
+	}
+
+	//the entry ( i, j ) with i <= j of a symmetric matrix is stored at getRowOffset( i ) + j
+	int getRowOffset( int i ){
+		//row i of the upper triangle starts at i * dimension - i * ( i - 1 ) / 2 with the entry ( i, i )
+		return ( i * ( 2 * dimension - i - 1 ) ) >>> 1;
+	}
+
+	int[] getValues(){
+		return values;
+	}
+
+	public int getValueCount(){
+		return isSymmetric ? dimension * ( dimension + 1 ) / 2 : dimension * dimension;
+	}
+
+	//returns the unscaled value at the given position of the flat layout
+	public int getStoredValue( int index ){
+		return values != null ? values[index] : mappedValues.get( index );
+	}
+
+	public int get( int i, int j ){
+		int index = index( i, j );
+		int distance = ( values != null ? values[index] : mappedValues.get( index ) ) * scale;
+		if( speed == 1.0 ){
+			return distance;
+		}
+		return (int)( ( distance / speed ) + 0.5d );
+	}
+
+	//the truck edges are undirected, so the models use the distance of the upper triangle, also of asymmetric matrices
+	public int getUndirected( int i, int j ){
+		return i < j ? get( i, j ) : get( j, i );
+	}
+
+	//sets the unscaled distance, for symmetric matrices ( j, i ) is set as well
+	public void set( int i, int j, int distance ){
+		values[index( i, j )] = distance;
+	}
+
+	//returns a view on the same values with all distances multiplied by the given factor
+	public DistanceMatrix scale( int factor ){
+		return new DistanceMatrix( this, scale * factor, speed );
+	}
+
+	//returns a view on the same values with the travel times for the given speed
+	public DistanceMatrix toTravelTimes( double speed ){
+		return new DistanceMatrix( this, scale, this.speed * speed );
+	}
+
+	public int[][] toArray(){
+		int[][] distances = new int[dimension][dimension];
+		for( int i = 0; i < dimension; i++ ){
+			for( int j = 0; j < dimension; j++ ){
+				distances[i][j] = get( i, j );
+			}
+		}
+		return distances;
+	}
+
+	public int getDimension(){
+		return dimension;
+	}
+
+	public boolean isSymmetric(){
+		return isSymmetric;
+	}
+
+	public int getScale(){
+		return scale;
+	}
+
+	public double getSpeed(){
+		return speed;
+	}
+
+	//gson writes the values of mapped matrices like the ones of array based matrices
+	public static class GsonAdapter extends TypeAdapter<DistanceMatrix>{
+
+		@Override
+		public void write( JsonWriter writer, DistanceMatrix distanceMatrix ) throws IOException{
+			writer.beginObject();
+			writer.name( "dimension" ).value( distanceMatrix.dimension );
+			writer.name( "isSymmetric" ).value( distanceMatrix.isSymmetric );
+			writer.name( "values" ).beginArray();
+			for( int k = 0; k < distanceMatrix.getValueCount(); k++ ){
+				writer.value( distanceMatrix.getStoredValue( k ) );
+			}
+			writer.endArray();
+			writer.name( "scale" ).value( distanceMatrix.scale );
+			writer.name( "speed" ).value( distanceMatrix.speed );
+			writer.endObject();
+		}
+
+		@Override
+		public DistanceMatrix read( JsonReader reader ) throws IOException{
+			DistanceMatrix distanceMatrix = new DistanceMatrix( 0, false, new int[0] );
+			reader.beginObject();
+			while( reader.hasNext() ){
+				switch( reader.nextName() ){
+					case "dimension":
+						distanceMatrix.dimension = reader.nextInt();
+						break;
+					case "isSymmetric":
+						distanceMatrix.isSymmetric = reader.nextBoolean();
+						break;
+					case "values":
+						int[] values = new int[16];
+						int size = 0;
+						reader.beginArray();
+						while( reader.hasNext() ){
+							if( size == values.length ){
+								values = Arrays.copyOf( values, size * 2 );
+							}
+							values[size++] = reader.nextInt();
+						}
+						reader.endArray();
+						distanceMatrix.values = Arrays.copyOf( values, size );
+						break;
+					case "scale":
+						distanceMatrix.scale = reader.nextInt();
+						break;
+					case "speed":
+						distanceMatrix.speed = reader.nextDouble();
+						break;
+					default:
+						reader.skipValue();
+				}
+			}
+			reader.endObject();
+			return distanceMatrix;
+		}
+	}
+}
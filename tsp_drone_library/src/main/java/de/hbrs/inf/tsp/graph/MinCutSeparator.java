@@ -0,0 +1,271 @@
+package de.hbrs.inf.tsp.graph;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashSet;
+
+public class MinCutSeparator{
+
+	private static final Logger log = Logger.getLogger( MinCutSeparator.class.getName() );
+
+	private static final double SUPPORT_EPSILON = 1e-6;
+
+	private int dimension;
+	private int depot;
+	private double violationEpsilon;
+	private double[] degrees;
+	private boolean[] isActive;
+
+	//flow network of the support graph, each undirected edge is stored as two arcs (k and k ^ 1)
+	private int[] firstArc;
+	private int[] nextArc;
+	private int[] arcHeads;
+	private double[] arcCapacities;
+	private double[] residualCapacities;
+	private int arcCount = 0;
+
+	private int[] levels;
+	private int[] currentArc;
+	private int[] queue;
+	//arcs of the current augmenting path
+	private int[] pathArcs;
+
+	public MinCutSeparator( int dimension, int depot, double violationEpsilon ){
+		this.dimension = dimension;
+		this.depot = depot;
+		this.violationEpsilon = violationEpsilon;
+	}
+
+	//returns vertex sets S without the depot, for which the subtour elimination constraint x(E(S)) <= |S| - 1 is violated
+	public ArrayList<ArrayList<Integer>> findViolatedSubtourSets( int[] edgeTails, int[] edgeHeads, double[] edgeValues ){
+		buildSupportGraph( edgeTails, edgeHeads, edgeValues );
+
+		ArrayList<ArrayList<Integer>> violatedSets = new ArrayList<>();
+		HashSet<BitSet> foundSets = new HashSet<>();
+
+		//cheap check first: every connected component of the support graph without the depot is a candidate
+		int[] components = findComponents();
+		BitSet[] componentSets = new BitSet[dimension];
+		for( int i = 0; i < dimension; i++ ){
+			if( isActive[i] ){
+				if( componentSets[components[i]] == null ){
+					componentSets[components[i]] = new BitSet( dimension );
+				}
+				componentSets[components[i]].set( i );
+			}
+		}
+		for( BitSet set : componentSets ){
+			if( set != null && set.cardinality() > 1 && !set.get( depot ) ){
+				checkAndAddSet( set, 0.0, violatedSets, foundSets );
+			}
+		}
+		if( violatedSets.size() > 0 ){
+			log.debug( "Found " + violatedSets.size() + " violated subtour sets in the components of the support graph." );
+			return violatedSets;
+		}
+
+		//exact separation with the flow equivalent tree of Gusfield (n - 1 max flow calculations)
+		int[] parents = new int[dimension];
+		Arrays.fill( parents, depot );
+		BitSet sourceSide = new BitSet( dimension );
+		for( int source = 0; source < dimension; source++ ){
+			if( source == depot || !isActive[source] ){
+				continue;
+			}
+			int sink = parents[source];
+			double cutValue = calculateMaxFlow( source, sink, sourceSide );
+
+			for( int i = 0; i < dimension; i++ ){
+				if( i != source && isActive[i] && parents[i] == sink && sourceSide.get( i ) ){
+					parents[i] = source;
+				}
+			}
+
+			BitSet set = (BitSet)sourceSide.clone();
+			if( set.get( depot ) ){
+				BitSet complement = new BitSet( dimension );
+				for( int i = 0; i < dimension; i++ ){
+					if( isActive[i] && !set.get( i ) ){
+						complement.set( i );
+					}
+				}
+				set = complement;
+			}
+			if( set.cardinality() > 1 ){
+				checkAndAddSet( set, cutValue, violatedSets, foundSets );
+			}
+		}
+		log.debug( "Found " + violatedSets.size() + " violated subtour sets with min cuts." );
+		return violatedSets;
+	}
+
+	private void checkAndAddSet( BitSet set, double cutValue, ArrayList<ArrayList<Integer>> violatedSets, HashSet<BitSet> foundSets ){
+		//x(E(S)) = ( sum of degrees in S - x(delta(S)) ) / 2
+		double degreeSum = 0.0;
+		for( int i = set.nextSetBit( 0 ); i >= 0; i = set.nextSetBit( i + 1 ) ){
+			degreeSum += degrees[i];
+		}
+		double edgeSum = ( degreeSum - cutValue ) / 2.0;
+		if( edgeSum > set.cardinality() - 1 + violationEpsilon && foundSets.add( set ) ){
+			ArrayList<Integer> vertices = new ArrayList<>();
+			for( int i = set.nextSetBit( 0 ); i >= 0; i = set.nextSetBit( i + 1 ) ){
+				vertices.add( i );
+			}
+			violatedSets.add( vertices );
+		}
+	}
+
+	private void buildSupportGraph( int[] edgeTails, int[] edgeHeads, double[] edgeValues ){
+		degrees = new double[dimension];
+		isActive = new boolean[dimension];
+		firstArc = new int[dimension];
+		Arrays.fill( firstArc, -1 );
+
+		int supportEdgeCount = 0;
+		for( double edgeValue : edgeValues ){
+			if( edgeValue > SUPPORT_EPSILON ){
+				supportEdgeCount++;
+			}
+		}
+		nextArc = new int[2 * supportEdgeCount];
+		arcHeads = new int[2 * supportEdgeCount];
+		arcCapacities = new double[2 * supportEdgeCount];
+		residualCapacities = new double[2 * supportEdgeCount];
+		arcCount = 0;
+
+		for( int e = 0; e < edgeValues.length; e++ ){
+			if( edgeValues[e] > SUPPORT_EPSILON ){
+				int i = edgeTails[e];
+				int j = edgeHeads[e];
+				degrees[i] += edgeValues[e];
+				degrees[j] += edgeValues[e];
+				isActive[i] = true;
+				isActive[j] = true;
+				addArc( i, j, edgeValues[e] );
+				addArc( j, i, edgeValues[e] );
+			}
+		}
+		isActive[depot] = true;
+
+		levels = new int[dimension];
+		currentArc = new int[dimension];
+		queue = new int[dimension];
+		pathArcs = new int[dimension];
+	}
+
+	private void addArc( int tail, int head, double capacity ){
+		arcHeads[arcCount] = head;
+		arcCapacities[arcCount] = capacity;
+		nextArc[arcCount] = firstArc[tail];
+		firstArc[tail] = arcCount;
+		arcCount++;
+	}
+
+	private int[] findComponents(){
+		//union find with path halving
+		int[] components = new int[dimension];
+		for( int i = 0; i < dimension; i++ ){
+			components[i] = i;
+		}
+		for( int arc = 0; arc < arcCount; arc += 2 ){
+			int rootI = findRoot( components, arcHeads[arc + 1] );
+			int rootJ = findRoot( components, arcHeads[arc] );
+			if( rootI != rootJ ){
+				components[rootI] = rootJ;
+			}
+		}
+		for( int i = 0; i < dimension; i++ ){
+			components[i] = findRoot( components, i );
+		}
+		return components;
+	}
+
+	private static int findRoot( int[] components, int i ){
+		while( components[i] != i ){
+			components[i] = components[components[i]];
+			i = components[i];
+		}
+		return i;
+	}
+
+	private double calculateMaxFlow( int source, int sink, BitSet sourceSide ){
+		//dinic algorithm on the residual network
+		System.arraycopy( arcCapacities, 0, residualCapacities, 0, arcCount );
+		double flow = 0.0;
+		while( buildLevelGraph( source, sink ) ){
+			for( int i = 0; i < dimension; i++ ){
+				currentArc[i] = firstArc[i];
+			}
+			double augmentedFlow;
+			while( ( augmentedFlow = augment( source, sink ) ) > SUPPORT_EPSILON ){
+				flow += augmentedFlow;
+			}
+		}
+
+		//vertices reachable from the source in the residual network are on the source side of the min cut
+		sourceSide.clear();
+		for( int i = 0; i < dimension; i++ ){
+			if( levels[i] >= 0 ){
+				sourceSide.set( i );
+			}
+		}
+		return flow;
+	}
+
+	private boolean buildLevelGraph( int source, int sink ){
+		Arrays.fill( levels, -1 );
+		int queueHead = 0;
+		int queueTail = 0;
+		levels[source] = 0;
+		queue[queueTail++] = source;
+		while( queueHead < queueTail ){
+			int vertex = queue[queueHead++];
+			for( int arc = firstArc[vertex]; arc >= 0; arc = nextArc[arc] ){
+				int head = arcHeads[arc];
+				if( levels[head] < 0 && residualCapacities[arc] > SUPPORT_EPSILON ){
+					levels[head] = levels[vertex] + 1;
+					queue[queueTail++] = head;
+				}
+			}
+		}
+		return levels[sink] >= 0;
+	}
+
+	//iterative search of an augmenting path in the level graph, the path is stored as stack of arcs, so its length is not limited by the call stack
+	private double augment( int source, int sink ){
+		int pathLength = 0;
+		int vertex = source;
+		while( vertex != sink ){
+			int arc = currentArc[vertex];
+			while( arc >= 0 && !( levels[arcHeads[arc]] == levels[vertex] + 1 && residualCapacities[arc] > SUPPORT_EPSILON ) ){
+				arc = nextArc[arc];
+			}
+			currentArc[vertex] = arc;
+			if( arc >= 0 ){
+				//advance
+				pathArcs[pathLength++] = arc;
+				vertex = arcHeads[arc];
+			} else {
+				//retreat from the dead end and skip the arc to it
+				if( pathLength == 0 ){
+					return 0.0;
+				}
+				vertex = arcHeads[pathArcs[--pathLength] ^ 1];
+				currentArc[vertex] = nextArc[currentArc[vertex]];
+			}
+		}
+
+		double pushedFlow = Double.MAX_VALUE;
+		for( int k = 0; k < pathLength; k++ ){
+			pushedFlow = Math.min( pushedFlow, residualCapacities[pathArcs[k]] );
+		}
+		for( int k = 0; k < pathLength; k++ ){
+			residualCapacities[pathArcs[k]] -= pushedFlow;
+			residualCapacities[pathArcs[k] ^ 1] += pushedFlow;
+		}
+		return pushedFlow;
+	}
+}
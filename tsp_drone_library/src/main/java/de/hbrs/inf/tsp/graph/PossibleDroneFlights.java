@@ -0,0 +1,160 @@
+package de.hbrs.inf.tsp.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+public class PossibleDroneFlights{
+
+	//feasible drone flights ({ start, end }, customer) with start < end, sorted by customer, start and end
+	private int dimension;
+	private int size = 0;
+	private int[] starts;
+	private int[] ends;
+	private int[] customers;
+
+	//flights of customer c are at the positions customerOffsets[c] until customerOffsets[c + 1] - 1
+	private int[] customerOffsets;
+
+	//flights which start or end at node i are listed in nodeFlights[nodeOffsets[i]] until nodeFlights[nodeOffsets[i + 1] - 1]
+	private int[] nodeOffsets;
+	private int[] nodeFlights;
+
+	//truck edges (in the order of TruckEdgeSolution.getEdgeIndex) which have at least one possible drone flight
+	private transient BitSet truckEdgesWithDroneFlights;
+
+	public PossibleDroneFlights( int dimension, int[] droneDeliveryPossible, DistanceMatrix droneTimes, double droneFlightTime ){
+		this.dimension = dimension;
+
+		int[] sortedCustomers = droneDeliveryPossible.clone();
+		Arrays.sort( sortedCustomers );
+
+		starts = new int[dimension];
+		ends = new int[dimension];
+		customers = new int[dimension];
+		customerOffsets = new int[dimension + 1];
+		for( int k = 0; k < sortedCustomers.length; k++ ){
+			int customer = sortedCustomers[k];
+			if( k > 0 && sortedCustomers[k - 1] == customer ){
+				continue;
+			}
+			for( int i = 0; i < dimension; i++ ){
+				if( i == customer ){
+					continue;
+				}
+				for( int j = i + 1; j < dimension; j++ ){
+					if( j != customer && ( droneTimes.get( i, customer ) + droneTimes.get( customer, j ) <= droneFlightTime
+									|| droneTimes.get( j, customer ) + droneTimes.get( customer, i ) <= droneFlightTime ) ){
+						if( size == starts.length ){
+							starts = Arrays.copyOf( starts, size * 2 + 1 );
+							ends = Arrays.copyOf( ends, size * 2 + 1 );
+							customers = Arrays.copyOf( customers, size * 2 + 1 );
+						}
+						starts[size] = i;
+						ends[size] = j;
+						customers[size] = customer;
+						size++;
+						customerOffsets[customer + 1]++;
+					}
+				}
+			}
+		}
+		starts = Arrays.copyOf( starts, size );
+		ends = Arrays.copyOf( ends, size );
+		customers = Arrays.copyOf( customers, size );
+		for( int c = 0; c < dimension; c++ ){
+			customerOffsets[c + 1] += customerOffsets[c];
+		}
+
+		nodeOffsets = new int[dimension + 1];
+		for( int f = 0; f < size; f++ ){
+			nodeOffsets[starts[f] + 1]++;
+			nodeOffsets[ends[f] + 1]++;
+		}
+		for( int i = 0; i < dimension; i++ ){
+			nodeOffsets[i + 1] += nodeOffsets[i];
+		}
+		nodeFlights = new int[2 * size];
+		int[] fillPosition = Arrays.copyOf( nodeOffsets, dimension );
+		for( int f = 0; f < size; f++ ){
+			nodeFlights[fillPosition[starts[f]]++] = f;
+			nodeFlights[fillPosition[ends[f]]++] = f;
+		}
+	}
+
+	public int indexOf( int start, int end, int customer ){
+		if( start > end ){
+			int tmp = start;
+			start = end;
+			end = tmp;
+		}
+		if( customer < 0 || customer >= dimension ){
+			return -1;
+		}
+
+		//binary search in the flights of the customer
+		int low = customerOffsets[customer];
+		int high = customerOffsets[customer + 1] - 1;
+		while( low <= high ){
+			int middle = ( low + high ) >>> 1;
+			int compare = starts[middle] != start ? Integer.compare( starts[middle], start ) : Integer.compare( ends[middle], end );
+			if( compare < 0 ){
+				low = middle + 1;
+			} else if( compare > 0 ){
+				high = middle - 1;
+			} else {
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	public boolean contains( int start, int end, int customer ){
+		return indexOf( start, end, customer ) >= 0;
+	}
+
+	public boolean hasDroneFlights( int start, int end ){
+		if( truckEdgesWithDroneFlights == null ){
+			truckEdgesWithDroneFlights = new BitSet( dimension * ( dimension - 1 ) / 2 );
+			for( int f = 0; f < size; f++ ){
+				truckEdgesWithDroneFlights.set( TruckEdgeSolution.getEdgeIndex( dimension, starts[f], ends[f] ) );
+			}
+		}
+		return start != end && truckEdgesWithDroneFlights.get( TruckEdgeSolution.getEdgeIndex( dimension, start, end ) );
+	}
+
+	public int size(){
+		return size;
+	}
+
+	public int getStart( int flight ){
+		return starts[flight];
+	}
+
+	public int getEnd( int flight ){
+		return ends[flight];
+	}
+
+	public int getCustomer( int flight ){
+		return customers[flight];
+	}
+
+	public int getCustomerFlightsBegin( int customer ){
+		return customerOffsets[customer];
+	}
+
+	public int getCustomerFlightsEnd( int customer ){
+		return customerOffsets[customer + 1];
+	}
+
+	public int getNodeFlightsBegin( int node ){
+		return nodeOffsets[node];
+	}
+
+	public int getNodeFlightsEnd( int node ){
+		return nodeOffsets[node + 1];
+	}
+
+	public int getNodeFlight( int position ){
+		return nodeFlights[position];
+	}
+}
@@ -0,0 +1,94 @@
+package de.hbrs.inf.tsp.graph;
+
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class SubtourFinder{
+
+	private static final Logger log = Logger.getLogger( SubtourFinder.class.getName() );
+
+	public static ArrayList<ArrayList<Integer>> findSubtours( double[][] edgeVars ){
+		int dimension = edgeVars.length;
+
+		//collect the edges of the solution (i < j) in row-major order
+		int[] edgeTails = new int[dimension];
+		int[] edgeHeads = new int[dimension];
+		int edgeCount = 0;
+		for( int i = 0; i < dimension; i++ ){
+			for( int j = i + 1; j < dimension; j++ ){
+				if( ( (int)( edgeVars[i][j] + 0.5d ) ) != 0 ){
+					if( edgeCount == edgeTails.length ){
+						edgeTails = Arrays.copyOf( edgeTails, edgeCount * 2 );
+						edgeHeads = Arrays.copyOf( edgeHeads, edgeCount * 2 );
+					}
+					edgeTails[edgeCount] = i;
+					edgeHeads[edgeCount] = j;
+					edgeCount++;
+				}
+			}
+		}
+
+		return findSubtours( dimension, edgeTails, edgeHeads, edgeCount );
+	}
+
+	public static ArrayList<ArrayList<Integer>> findSubtours( int dimension, int[] edgeTails, int[] edgeHeads, int edgeCount ){
+		log.debug( "Starting find subtours" );
+
+		//build adjacency lists in compressed form, neighbours of each vertex are in ascending order as long as the edges are sorted
+		int[] adjacencyOffsets = new int[dimension + 1];
+		for( int e = 0; e < edgeCount; e++ ){
+			adjacencyOffsets[edgeTails[e] + 1]++;
+			adjacencyOffsets[edgeHeads[e] + 1]++;
+		}
+		for( int i = 0; i < dimension; i++ ){
+			adjacencyOffsets[i + 1] += adjacencyOffsets[i];
+		}
+		int[] adjacency = new int[2 * edgeCount];
+		int[] fillPosition = new int[dimension];
+		System.arraycopy( adjacencyOffsets, 0, fillPosition, 0, dimension );
+		for( int e = 0; e < edgeCount; e++ ){
+			adjacency[fillPosition[edgeTails[e]]++] = edgeHeads[e];
+			adjacency[fillPosition[edgeHeads[e]]++] = edgeTails[e];
+		}
+
+		ArrayList<ArrayList<Integer>> subtours = new ArrayList<>();
+		boolean[] visited = new boolean[dimension];
+		boolean[] onStack = new boolean[dimension];
+		int[] stack = new int[dimension];
+
+		//vertices without edges are not in the current solution (needed for e.g. pdstsp)
+		for( int start = 0; start < dimension; start++ ){
+			if( visited[start] || adjacencyOffsets[start] == adjacencyOffsets[start + 1] ){
+				continue;
+			}
+
+			ArrayList<Integer> subtour = new ArrayList<>();
+			subtours.add( subtour );
+			int stackSize = 0;
+			stack[stackSize++] = start;
+			onStack[start] = true;
+
+			//depth first walk, for degree-2 solutions this returns the vertices in visiting order
+			while( stackSize > 0 ){
+				int currentVertex = stack[--stackSize];
+				onStack[currentVertex] = false;
+				visited[currentVertex] = true;
+				subtour.add( currentVertex );
+				for( int k = adjacencyOffsets[currentVertex]; k < adjacencyOffsets[currentVertex + 1]; k++ ){
+					int neighbour = adjacency[k];
+					if( !visited[neighbour] && !onStack[neighbour] ){
+						stack[stackSize++] = neighbour;
+						onStack[neighbour] = true;
+					}
+				}
+			}
+			if( log.isDebugEnabled() ){
+				log.debug( "subtour: " + subtour );
+			}
+		}
+		log.debug( "Ending find subtours" );
+		return subtours;
+	}
+}
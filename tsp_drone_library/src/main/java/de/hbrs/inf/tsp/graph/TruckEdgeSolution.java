@@ -0,0 +1,102 @@
+package de.hbrs.inf.tsp.graph;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class TruckEdgeSolution{
+
+	private int dimension;
+	private int[] edgeTails;
+	private int[] edgeHeads;
+	private int edgeCount = 0;
+	private int[] successors;
+	private ArrayList<ArrayList<Integer>> subtours;
+
+	public TruckEdgeSolution( int dimension, int[] candidateEdgeTails, int[] candidateEdgeHeads, double[] candidateEdgeValues ){
+		this.dimension = dimension;
+
+		//a feasible solution has at most dimension edges, so the arrays are only grown for degenerated solutions
+		edgeTails = new int[dimension];
+		edgeHeads = new int[dimension];
+		for( int e = 0; e < candidateEdgeValues.length; e++ ){
+			if( ( (int)( candidateEdgeValues[e] + 0.5d ) ) != 0 ){
+				if( edgeCount == edgeTails.length ){
+					edgeTails = Arrays.copyOf( edgeTails, edgeCount * 2 + 1 );
+					edgeHeads = Arrays.copyOf( edgeHeads, edgeCount * 2 + 1 );
+				}
+				edgeTails[edgeCount] = candidateEdgeTails[e];
+				edgeHeads[edgeCount] = candidateEdgeHeads[e];
+				edgeCount++;
+			}
+		}
+	}
+
+	public static int[][] createCompleteGraphEdges( int dimension ){
+		//edges (i, j) with i < j in row-major order, the position of an edge is given by getEdgeIndex
+		int edgeCount = dimension * ( dimension - 1 ) / 2;
+		int[][] edges = new int[2][edgeCount];
+		int e = 0;
+		for( int i = 0; i < dimension; i++ ){
+			for( int j = i + 1; j < dimension; j++ ){
+				edges[0][e] = i;
+				edges[1][e] = j;
+				e++;
+			}
+		}
+		return edges;
+	}
+
+	public static int getEdgeIndex( int dimension, int i, int j ){
+		if( i > j ){
+			int tmp = i;
+			i = j;
+			j = tmp;
+		}
+		return i * ( 2 * dimension - i - 1 ) / 2 + ( j - i - 1 );
+	}
+
+	public ArrayList<ArrayList<Integer>> getSubtours(){
+		if( subtours == null ){
+			subtours = SubtourFinder.findSubtours( dimension, edgeTails, edgeHeads, edgeCount );
+		}
+		return subtours;
+	}
+
+	public int[] getSuccessors(){
+		if( successors == null ){
+			successors = new int[dimension];
+			Arrays.fill( successors, -1 );
+			for( ArrayList<Integer> subtour : getSubtours() ){
+				for( int k = 0; k < subtour.size(); k++ ){
+					successors[subtour.get( k )] = subtour.get( ( k + 1 ) % subtour.size() );
+				}
+			}
+		}
+		return successors;
+	}
+
+	public double[][] toAdjacencyMatrix(){
+		double[][] adjacencyMatrix = new double[dimension][dimension];
+		for( int e = 0; e < edgeCount; e++ ){
+			adjacencyMatrix[edgeTails[e]][edgeHeads[e]] = 1.0;
+			adjacencyMatrix[edgeHeads[e]][edgeTails[e]] = 1.0;
+		}
+		return adjacencyMatrix;
+	}
+
+	public int getDimension(){
+		return dimension;
+	}
+
+	public int getEdgeCount(){
+		return edgeCount;
+	}
+
+	public int getEdgeTail( int e ){
+		return edgeTails[e];
+	}
+
+	public int getEdgeHead( int e ){
+		return edgeHeads[e];
+	}
+}
@@ -0,0 +1,467 @@
+package de.hbrs.inf.tsp.gurobi;
+
+import de.hbrs.inf.tsp.backend.CallbackContext;
+import de.hbrs.inf.tsp.backend.LinExpr;
+import de.hbrs.inf.tsp.backend.ModelAssembly;
+import de.hbrs.inf.tsp.backend.OptimizationStatus;
+import de.hbrs.inf.tsp.backend.Sense;
+import de.hbrs.inf.tsp.backend.SolverBackend;
+import de.hbrs.inf.tsp.backend.SolverCallback;
+import de.hbrs.inf.tsp.backend.SolverException;
+import de.hbrs.inf.tsp.backend.VarType;
+import gurobi.*;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class GurobiBackend implements SolverBackend{
+
+	private GRBEnv grbEnv;
+	private GRBModel grbModel;
+	private ArrayList<GRBVar> grbVars = new ArrayList<>();
+	//vars and constraints are collected and added to the gurobi model in bulk before they are needed
+	private ModelAssembly pendingAssembly = new ModelAssembly();
+
+	private static Logger log = Logger.getLogger( GurobiBackend.class.getName() );
+
+	public GurobiBackend( String logFile ) throws SolverException{
+		try{
+			grbEnv = new GRBEnv();
+			grbEnv.set( GRB.IntParam.LogToConsole, 1 );
+			if( logFile != null ){
+				grbEnv.set( GRB.StringParam.LogFile, logFile );
+			}
+			grbModel = new GRBModel( grbEnv );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public int addVar( double lb, double ub, double obj, VarType type, String name ) throws SolverException{
+		return grbVars.size() + pendingAssembly.addColumn( lb, ub, obj, type, name );
+	}
+
+	@Override
+	public void addConstr( LinExpr linExpr, Sense sense, double rhs, String name ) throws SolverException{
+		pendingAssembly.addRow( linExpr, sense, rhs, name );
+	}
+
+	@Override
+	public void setStart( int var, double value ) throws SolverException{
+		flush();
+		try{
+			grbVars.get( var ).set( GRB.DoubleAttr.Start, Double.isNaN( value ) ? GRB.UNDEFINED : value );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public void setUpperBound( int var, double ub ) throws SolverException{
+		flush();
+		try{
+			grbVars.get( var ).set( GRB.DoubleAttr.UB, ub );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public void setCallback( SolverCallback callback ){
+		grbModel.setCallback( callback == null ? null : new GurobiCallback( callback ) );
+	}
+
+	@Override
+	public void setLazyConstraints( boolean lazyConstraints ) throws SolverException{
+		setIntParam( GRB.IntParam.LazyConstraints, lazyConstraints ? 1 : 0 );
+	}
+
+	@Override
+	public void setPreCrush( boolean preCrush ) throws SolverException{
+		setIntParam( GRB.IntParam.PreCrush, preCrush ? 1 : 0 );
+	}
+
+	@Override
+	public void setThreads( int threads ) throws SolverException{
+		setIntParam( GRB.IntParam.Threads, threads );
+	}
+
+	@Override
+	public void setTimeLimit( double seconds ) throws SolverException{
+		try{
+			grbModel.set( GRB.DoubleParam.TimeLimit, seconds );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public void setHeuristics( double heuristics ) throws SolverException{
+		try{
+			grbModel.set( GRB.DoubleParam.Heuristics, heuristics );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public void setPresolve( boolean presolve ) throws SolverException{
+		setIntParam( GRB.IntParam.Presolve, presolve ? -1 : 0 );
+	}
+
+	@Override
+	public OptimizationStatus optimize() throws SolverException{
+		flush();
+		try{
+			grbModel.optimize();
+			switch( grbModel.get( GRB.IntAttr.Status ) ){
+				case GRB.Status.OPTIMAL:
+					return OptimizationStatus.OPTIMAL;
+				case GRB.Status.INFEASIBLE:
+					return OptimizationStatus.INFEASIBLE;
+				case GRB.Status.INF_OR_UNBD:
+					return OptimizationStatus.INF_OR_UNBD;
+				case GRB.Status.UNBOUNDED:
+					return OptimizationStatus.UNBOUNDED;
+				case GRB.Status.TIME_LIMIT:
+					return OptimizationStatus.TIME_LIMIT;
+				case GRB.Status.ITERATION_LIMIT:
+					return OptimizationStatus.ITERATION_LIMIT;
+				case GRB.Status.INTERRUPTED:
+					return OptimizationStatus.INTERRUPTED;
+				default:
+					log.info( "Gurobi stopped with status = " + grbModel.get( GRB.IntAttr.Status ) );
+					return OptimizationStatus.OTHER;
+			}
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public double getObjVal() throws SolverException{
+		try{
+			return grbModel.get( GRB.DoubleAttr.ObjVal );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public double getObjBound() throws SolverException{
+		try{
+			return grbModel.get( GRB.DoubleAttr.ObjBound );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public double[] getValues( int[] vars ) throws SolverException{
+		flush();
+		try{
+			return grbModel.get( GRB.DoubleAttr.X, toGrbVars( vars ) );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public int getVarCount(){
+		return grbVars.size() + pendingAssembly.getColumnCount();
+	}
+
+	@Override
+	public double computeReducedCosts( int[] vars, double[] reducedCosts ) throws SolverException{
+		flush();
+		GRBModel relaxedModel = null;
+		try{
+			grbModel.update();
+			//the relaxed copy has the same order of the variables
+			relaxedModel = grbModel.relax();
+			relaxedModel.optimize();
+			if( relaxedModel.get( GRB.IntAttr.Status ) != GRB.Status.OPTIMAL ){
+				log.info( "The lp relaxation could not be solved for the reduced costs, status: " + relaxedModel.get( GRB.IntAttr.Status ) );
+				return Double.NaN;
+			}
+			GRBVar[] relaxedVars = relaxedModel.getVars();
+			GRBVar[] relaxedVarsOfIndices = new GRBVar[vars.length];
+			for( int k = 0; k < vars.length; k++ ){
+				relaxedVarsOfIndices[k] = relaxedVars[vars[k]];
+			}
+			System.arraycopy( relaxedModel.get( GRB.DoubleAttr.RC, relaxedVarsOfIndices ), 0, reducedCosts, 0, vars.length );
+			return relaxedModel.get( GRB.DoubleAttr.ObjVal );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		} finally{
+			if( relaxedModel != null ){
+				relaxedModel.dispose();
+			}
+		}
+	}
+
+	@Override
+	public String getVarName( int var ) throws SolverException{
+		flush();
+		try{
+			return grbVars.get( var ).get( GRB.StringAttr.VarName );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public void computeIIS() throws SolverException{
+		flush();
+		try{
+			grbModel.computeIIS();
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public void write( String fileName ) throws SolverException{
+		flush();
+		try{
+			grbModel.write( fileName );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	@Override
+	public void terminate(){
+		grbModel.terminate();
+	}
+
+	@Override
+	public void dispose(){
+		try{
+			grbModel.dispose();
+			grbEnv.dispose();
+		} catch( GRBException e ){
+			log.error( "Could not dispose gurobi model! Error code: " + e.getErrorCode() + ". " + e.getMessage() );
+		}
+	}
+
+	//adds the pending vars with one call and the pending constraints with one call to the gurobi model
+	private void flush() throws SolverException{
+		if( pendingAssembly.isEmpty() ){
+			return;
+		}
+		try{
+			int columnCount = pendingAssembly.getColumnCount();
+			if( columnCount > 0 ){
+				VarType[] types = pendingAssembly.getTypes();
+				char[] grbTypes = new char[columnCount];
+				for( int i = 0; i < columnCount; i++ ){
+					grbTypes[i] = toGrbType( types[i] );
+				}
+				GRBVar[] addedGrbVars = grbModel.addVars( pendingAssembly.getLbs(), pendingAssembly.getUbs(), pendingAssembly.getObjs(), grbTypes,
+								pendingAssembly.getColumnNames(), 0, columnCount );
+				grbVars.addAll( Arrays.asList( addedGrbVars ) );
+			}
+
+			int rowCount = pendingAssembly.getRowCount();
+			if( rowCount > 0 ){
+				int[] rowBegin = pendingAssembly.getRowBegin();
+				GRBVar[] termGrbVars = toGrbVars( Arrays.copyOf( pendingAssembly.getVars(), pendingAssembly.getTermCount() ) );
+				double[] coeffs = pendingAssembly.getCoeffs();
+				Sense[] senses = pendingAssembly.getSenses();
+				GRBLinExpr[] grbLinExprs = new GRBLinExpr[rowCount];
+				char[] grbSenses = new char[rowCount];
+				for( int r = 0; r < rowCount; r++ ){
+					grbLinExprs[r] = new GRBLinExpr();
+					grbLinExprs[r].addTerms( coeffs, termGrbVars, rowBegin[r], rowBegin[r + 1] - rowBegin[r] );
+					grbSenses[r] = toGrbSense( senses[r] );
+				}
+				grbModel.addConstrs( grbLinExprs, grbSenses, pendingAssembly.getRhs(), pendingAssembly.getRowNames(), 0, rowCount );
+			}
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		} finally{
+			pendingAssembly.clear();
+		}
+	}
+
+	private void setIntParam( GRB.IntParam param, int value ) throws SolverException{
+		try{
+			grbModel.set( param, value );
+		} catch( GRBException e ){
+			throw toSolverException( e );
+		}
+	}
+
+	private GRBVar[] toGrbVars( int[] vars ){
+		GRBVar[] grbVarsOfIndices = new GRBVar[vars.length];
+		for( int k = 0; k < vars.length; k++ ){
+			grbVarsOfIndices[k] = grbVars.get( vars[k] );
+		}
+		return grbVarsOfIndices;
+	}
+
+	private GRBLinExpr toGrbLinExpr( LinExpr linExpr ){
+		GRBLinExpr grbLinExpr = new GRBLinExpr();
+		for( int k = 0; k < linExpr.size(); k++ ){
+			grbLinExpr.addTerm( linExpr.getCoeff( k ), grbVars.get( linExpr.getVar( k ) ) );
+		}
+		return grbLinExpr;
+	}
+
+	private static char toGrbType( VarType type ){
+		switch( type ){
+			case BINARY:
+				return GRB.BINARY;
+			case INTEGER:
+				return GRB.INTEGER;
+			default:
+				return GRB.CONTINUOUS;
+		}
+	}
+
+	private static char toGrbSense( Sense sense ){
+		switch( sense ){
+			case LESS_EQUAL:
+				return GRB.LESS_EQUAL;
+			case GREATER_EQUAL:
+				return GRB.GREATER_EQUAL;
+			default:
+				return GRB.EQUAL;
+		}
+	}
+
+	private static SolverException toSolverException( GRBException e ){
+		return new SolverException( e.getMessage(), e.getErrorCode(), e );
+	}
+
+	private class GurobiCallback extends GRBCallback implements CallbackContext{
+
+		private SolverCallback callback;
+
+		private GurobiCallback( SolverCallback callback ){
+			this.callback = callback;
+		}
+
+		@Override
+		protected void callback(){
+			try{
+				callback.callback( this );
+			} catch( SolverException e ){
+				log.error( "Exception in gurobi callback! Error code: " + e.getErrorCode() + ", Message: " + e.getMessage() );
+				abort();
+			}
+		}
+
+		@Override
+		public Where getWhere(){
+			if( where == GRB.CB_MIP ){
+				return Where.MIP;
+			} else if( where == GRB.CB_MIPSOL ){
+				return Where.MIPSOL;
+			} else if( where == GRB.CB_MIPNODE ){
+				return Where.MIPNODE;
+			}
+			return Where.OTHER;
+		}
+
+		@Override
+		public double[] getSolution( int[] vars ) throws SolverException{
+			try{
+				return getSolution( toGrbVars( vars ) );
+			} catch( GRBException e ){
+				throw toSolverException( e );
+			}
+		}
+
+		@Override
+		public double getSolutionObjective() throws SolverException{
+			return getDoubleInfoChecked( GRB.CB_MIPSOL_OBJ );
+		}
+
+		@Override
+		public double getBestObjective() throws SolverException{
+			return getDoubleInfoChecked( GRB.CB_MIPSOL_OBJBST );
+		}
+
+		@Override
+		public double getBestObjectiveBound() throws SolverException{
+			return getDoubleInfoChecked( GRB.CB_MIPSOL_OBJBND );
+		}
+
+		@Override
+		public double getNodeCount() throws SolverException{
+			return getDoubleInfoChecked( GRB.CB_MIPSOL_NODCNT );
+		}
+
+		@Override
+		public int getSolutionCount() throws SolverException{
+			try{
+				return getIntInfo( GRB.CB_MIPSOL_SOLCNT );
+			} catch( GRBException e ){
+				throw toSolverException( e );
+			}
+		}
+
+		@Override
+		public boolean isNodeRelaxationOptimal() throws SolverException{
+			try{
+				return getIntInfo( GRB.CB_MIPNODE_STATUS ) == GRB.OPTIMAL;
+			} catch( GRBException e ){
+				throw toSolverException( e );
+			}
+		}
+
+		@Override
+		public double[] getNodeRel( int[] vars ) throws SolverException{
+			try{
+				return getNodeRel( toGrbVars( vars ) );
+			} catch( GRBException e ){
+				throw toSolverException( e );
+			}
+		}
+
+		@Override
+		public double useSolution( int[] vars, double[] values ) throws SolverException{
+			double[] grbValues = new double[values.length];
+			for( int k = 0; k < values.length; k++ ){
+				grbValues[k] = Double.isNaN( values[k] ) ? GRB.UNDEFINED : values[k];
+			}
+			try{
+				setSolution( toGrbVars( vars ), grbValues );
+				double objective = useSolution();
+				return objective >= GRB.INFINITY ? SolverBackend.INFINITY : objective;
+			} catch( GRBException e ){
+				throw toSolverException( e );
+			}
+		}
+
+		@Override
+		public void addLazy( LinExpr linExpr, Sense sense, double rhs ) throws SolverException{
+			try{
+				addLazy( toGrbLinExpr( linExpr ), toGrbSense( sense ), rhs - linExpr.getConstant() );
+			} catch( GRBException e ){
+				throw toSolverException( e );
+			}
+		}
+
+		@Override
+		public void addCut( LinExpr linExpr, Sense sense, double rhs ) throws SolverException{
+			try{
+				addCut( toGrbLinExpr( linExpr ), toGrbSense( sense ), rhs - linExpr.getConstant() );
+			} catch( GRBException e ){
+				throw toSolverException( e );
+			}
+		}
+
+		private double getDoubleInfoChecked( int what ) throws SolverException{
+			try{
+				return getDoubleInfo( what );
+			} catch( GRBException e ){
+				throw toSolverException( e );
+			}
+		}
+	}
+}
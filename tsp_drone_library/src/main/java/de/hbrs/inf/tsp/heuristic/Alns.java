@@ -0,0 +1,328 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+//adaptive large neighbourhood search: in each iteration some customers are removed by a destroy operator and inserted again by a repair operator,
+//the operators are chosen by roulette wheels, whose weights adapt to the success of the operators, and new solutions are accepted by
+//simulated annealing, the workers run in parallel and exchange their best solutions periodically by a pool of elite solutions
+public abstract class Alns{
+
+	private static final Logger log = Logger.getLogger( Alns.class.getName() );
+	//scores of the operators for a new best solution, a better solution and an accepted worse solution
+	private static final double[] SCORES = { 33, 9, 13 };
+	private static final double REACTION_FACTOR = 0.1;
+	//iterations between the updates of the operator weights and between the exchanges with the elite pool
+	private static final int SEGMENT_LENGTH = 100;
+	private static final int EXCHANGE_INTERVAL = 1000;
+	private static final int ELITE_SIZE = 4;
+	//a solution, which is 5 percent worse than the start solution, is accepted with probability 0.5 at the beginning
+	private static final double START_WORSENING = 0.05;
+	private static final int MIN_REMOVED_CUSTOMERS = 2;
+	private static final int MAX_REMOVED_CUSTOMERS = 30;
+	private static final double MAX_REMOVED_RATIO = 0.2;
+	//the randomization of worst and related removal, the higher the more deterministic
+	private static final double REMOVAL_DETERMINISM = 4;
+
+	private static final int RANDOM_REMOVAL = 0;
+	private static final int WORST_REMOVAL = 1;
+	private static final int RELATED_REMOVAL = 2;
+	private static final int GREEDY_INSERTION = 0;
+	private static final int REGRET_INSERTION = 1;
+
+	protected final int dimension;
+	protected final DistanceMatrix truckTimes;
+
+	private final Solution[] elites = new Solution[ELITE_SIZE];
+	private int eliteCount;
+	private final AtomicLong iterationCounter = new AtomicLong();
+
+	//solution of the problem, which is not changed after it is accepted, so the workers and the elite pool share them without copying
+	protected abstract static class Solution{
+
+		public abstract long getObjective();
+
+		//compared if the objectives are equal, e.g. the total time of all vehicles
+		protected abstract long getSecondaryObjective();
+
+		protected abstract Solution copy();
+
+		protected abstract boolean isServed( int customer );
+
+		//removes the customer and adds it to the removed customers together with the customers, which can not be served without it
+		protected abstract void remove( int customer, List<Integer> removedCustomers );
+
+		//decrease of the cost for each served customer, if only this customer is removed
+		protected abstract void calculateRemovalSavings( double[] savings );
+
+		//increase of the cost by the best and the second best insertion of the customer
+		protected abstract void evaluateInsertion( int customer, double[] insertionCosts );
+
+		//best insertion of the customer
+		protected abstract void insert( int customer );
+
+		private boolean isBetter( Solution solution ){
+			return getObjective() < solution.getObjective() || ( getObjective() == solution.getObjective()
+							&& getSecondaryObjective() < solution.getSecondaryObjective() );
+		}
+	}
+
+	protected Alns( DistanceMatrix truckTimes ){
+		this.dimension = truckTimes.getDimension();
+		this.truckTimes = truckTimes;
+	}
+
+	//each worker has its own random generator, but the result depends on the exchanges between the workers, so it is not deterministic
+	protected Solution run( Solution start, int threadCount, long seed, double timeLimitSeconds ){
+		long startTime = System.nanoTime();
+		long deadline = startTime + (long)( timeLimitSeconds * 1e9 );
+		eliteCount = 0;
+		iterationCounter.set( 0 );
+		offerElite( start );
+
+		int workerCount = Math.max( 1, threadCount );
+		AtomicInteger threadCounter = new AtomicInteger();
+		ExecutorService workers = Executors.newFixedThreadPool( workerCount,
+						runnable -> new Thread( runnable, getClass().getSimpleName() + "-" + threadCounter.getAndIncrement() ) );
+		List<Future<Solution>> bestSolutions = new ArrayList<>( workerCount );
+		for( int w = 0; w < workerCount; w++ ){
+			long workerSeed = seed + w;
+			bestSolutions.add( workers.submit( () -> search( start, new Random( workerSeed ), startTime, deadline ) ) );
+		}
+		workers.shutdown();
+
+		//a failed worker is logged and the best solution of the other workers is returned
+		Solution bestSolution = start;
+		for( int w = 0; w < workerCount; w++ ){
+			try{
+				Solution workerSolution = bestSolutions.get( w ).get();
+				if( workerSolution.isBetter( bestSolution ) ){
+					bestSolution = workerSolution;
+				}
+			} catch( ExecutionException e ){
+				log.error( "ALNS worker " + w + " failed! Error message: " + e.getCause().getMessage(), e.getCause() );
+			} catch( InterruptedException e ){
+				log.error( "Interrupted while waiting for the ALNS workers!" );
+				workers.shutdownNow();
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+
+		log.info( getClass().getSimpleName() + " with " + workerCount + " thread/s found solution with objective " + bestSolution.getObjective()
+						+ " (start objective: " + start.getObjective() + ") after " + iterationCounter.get() + " iterations in "
+						+ ( System.nanoTime() - startTime ) / 1e9 + "s." );
+		return bestSolution;
+	}
+
+	private Solution search( Solution start, Random random, long startTime, long deadline ){
+		Solution current = start;
+		Solution best = start;
+		double[] destroyWeights = { 1.0, 1.0, 1.0 };
+		double[] repairWeights = { 1.0, 1.0 };
+		double[] destroyScores = new double[destroyWeights.length];
+		double[] repairScores = new double[repairWeights.length];
+		int[] destroyUses = new int[destroyWeights.length];
+		int[] repairUses = new int[repairWeights.length];
+		double startTemperature = START_WORSENING * start.getObjective() / Math.log( 2 );
+		int customerCount = dimension - 1;
+		int maxRemoved = Math.min( customerCount, Math.max( MIN_REMOVED_CUSTOMERS, Math.min( MAX_REMOVED_CUSTOMERS, (int)( MAX_REMOVED_RATIO * customerCount ) ) ) );
+		if( maxRemoved < 1 ){
+			return best;
+		}
+
+		long iteration = 0;
+		while( System.nanoTime() - deadline < 0 ){
+			iteration++;
+			int destroyOperator = selectOperator( destroyWeights, random );
+			int repairOperator = selectOperator( repairWeights, random );
+			int removedCount = Math.min( maxRemoved, MIN_REMOVED_CUSTOMERS ) + random.nextInt( maxRemoved - Math.min( maxRemoved, MIN_REMOVED_CUSTOMERS ) + 1 );
+
+			Solution candidate = current.copy();
+			List<Integer> removedCustomers = new ArrayList<>();
+			destroy( candidate, destroyOperator, removedCount, removedCustomers, random );
+			repair( candidate, repairOperator, removedCustomers, random );
+
+			//linear cooling until the deadline
+			double temperature = startTemperature * ( deadline - System.nanoTime() ) / ( deadline - startTime );
+			int score = -1;
+			if( candidate.isBetter( best ) ){
+				best = candidate;
+				current = candidate;
+				score = 0;
+				offerElite( candidate );
+			} else if( candidate.isBetter( current ) ){
+				current = candidate;
+				score = 1;
+			} else if( candidate.getObjective() == current.getObjective() && candidate.getSecondaryObjective() == current.getSecondaryObjective() ){
+				current = candidate;
+			} else if( temperature > 0 && random.nextDouble() < Math.exp( -( candidate.getObjective() - current.getObjective() ) / temperature ) ){
+				current = candidate;
+				score = 2;
+			}
+
+			destroyUses[destroyOperator]++;
+			repairUses[repairOperator]++;
+			if( score >= 0 ){
+				destroyScores[destroyOperator] += SCORES[score];
+				repairScores[repairOperator] += SCORES[score];
+			}
+			if( iteration % SEGMENT_LENGTH == 0 ){
+				updateWeights( destroyWeights, destroyScores, destroyUses );
+				updateWeights( repairWeights, repairScores, repairUses );
+			}
+			if( iteration % EXCHANGE_INTERVAL == 0 ){
+				Solution elite = pickElite( random );
+				if( elite.isBetter( current ) ){
+					current = elite;
+				}
+				if( elite.isBetter( best ) ){
+					best = elite;
+				}
+			}
+		}
+		iterationCounter.addAndGet( iteration );
+		log.debug( Thread.currentThread().getName() + " finished after " + iteration + " iterations with objective " + best.getObjective()
+						+ ", destroy weights " + Arrays.toString( destroyWeights ) + ", repair weights " + Arrays.toString( repairWeights ) );
+		return best;
+	}
+
+	private static int selectOperator( double[] weights, Random random ){
+		double sum = 0;
+		for( double weight : weights ){
+			sum += weight;
+		}
+		double value = random.nextDouble() * sum;
+		for( int o = 0; o < weights.length - 1; o++ ){
+			value -= weights[o];
+			if( value < 0 ){
+				return o;
+			}
+		}
+		return weights.length - 1;
+	}
+
+	private static void updateWeights( double[] weights, double[] scores, int[] uses ){
+		for( int o = 0; o < weights.length; o++ ){
+			if( uses[o] > 0 ){
+				weights[o] = ( 1 - REACTION_FACTOR ) * weights[o] + REACTION_FACTOR * scores[o] / uses[o];
+			}
+			//each operator keeps a small chance to be selected
+			weights[o] = Math.max( weights[o], 0.1 );
+			scores[o] = 0;
+			uses[o] = 0;
+		}
+	}
+
+	private void destroy( Solution solution, int operator, int removedCount, List<Integer> removedCustomers, Random random ){
+		List<Integer> customers = new ArrayList<>( dimension - 1 );
+		for( int c = 1; c < dimension; c++ ){
+			customers.add( c );
+		}
+		switch( operator ){
+			case WORST_REMOVAL:{
+				double[] savings = new double[dimension];
+				solution.calculateRemovalSavings( savings );
+				customers.sort( ( a, b ) -> Double.compare( savings[b], savings[a] ) );
+				removeRandomized( solution, customers, removedCount, removedCustomers, random );
+				break;
+			}
+			case RELATED_REMOVAL:{
+				int seedCustomer = 1 + random.nextInt( dimension - 1 );
+				customers.sort( ( a, b ) -> Integer.compare( truckTimes.getUndirected( seedCustomer, a ), truckTimes.getUndirected( seedCustomer, b ) ) );
+				removeRandomized( solution, customers, removedCount, removedCustomers, random );
+				break;
+			}
+			default:
+				for( int k = 0; k < removedCount && k < customers.size(); k++ ){
+					int r = k + random.nextInt( customers.size() - k );
+					int customer = customers.get( r );
+					customers.set( r, customers.get( k ) );
+					customers.set( k, customer );
+					if( solution.isServed( customer ) ){
+						solution.remove( customer, removedCustomers );
+					}
+				}
+		}
+	}
+
+	//the customers are sorted by their priority, the position of the next removed customer is skewed to the beginning of the list
+	private static void removeRandomized( Solution solution, List<Integer> customers, int removedCount, List<Integer> removedCustomers, Random random ){
+		while( removedCustomers.size() < removedCount && !customers.isEmpty() ){
+			int customer = customers.remove( (int)( Math.pow( random.nextDouble(), REMOVAL_DETERMINISM ) * customers.size() ) );
+			if( solution.isServed( customer ) ){
+				solution.remove( customer, removedCustomers );
+			}
+		}
+	}
+
+	private static void repair( Solution solution, int operator, List<Integer> removedCustomers, Random random ){
+		double[] insertionCosts = new double[2];
+		if( operator == REGRET_INSERTION ){
+			//the customer with the highest regret (difference between the best and the second best insertion) is inserted first
+			List<Integer> customers = new ArrayList<>( removedCustomers );
+			while( !customers.isEmpty() ){
+				int bestIndex = 0;
+				double bestRegret = -1;
+				for( int k = 0; k < customers.size(); k++ ){
+					solution.evaluateInsertion( customers.get( k ), insertionCosts );
+					double regret = insertionCosts[1] == Double.MAX_VALUE ? Double.MAX_VALUE : insertionCosts[1] - insertionCosts[0];
+					if( regret > bestRegret ){
+						bestRegret = regret;
+						bestIndex = k;
+					}
+				}
+				solution.insert( customers.remove( bestIndex ) );
+			}
+		} else {
+			//greedy insertion in random order
+			List<Integer> customers = new ArrayList<>( removedCustomers );
+			for( int k = 0; k < customers.size(); k++ ){
+				int r = k + random.nextInt( customers.size() - k );
+				int customer = customers.get( r );
+				customers.set( r, customers.get( k ) );
+				solution.insert( customer );
+			}
+		}
+	}
+
+	private synchronized void offerElite( Solution solution ){
+		for( int e = 0; e < eliteCount; e++ ){
+			if( elites[e].getObjective() == solution.getObjective() && elites[e].getSecondaryObjective() == solution.getSecondaryObjective() ){
+				return;
+			}
+		}
+		//the worst solution is replaced, if the pool is full
+		int e;
+		if( eliteCount < ELITE_SIZE ){
+			e = eliteCount++;
+		} else if( solution.isBetter( elites[ELITE_SIZE - 1] ) ){
+			e = ELITE_SIZE - 1;
+		} else {
+			return;
+		}
+		elites[e] = solution;
+		//insertion sort, the best solution is the first one
+		while( e > 0 && elites[e].isBetter( elites[e - 1] ) ){
+			Solution tmp = elites[e];
+			elites[e] = elites[e - 1];
+			elites[e - 1] = tmp;
+			e--;
+		}
+	}
+
+	private synchronized Solution pickElite( Random random ){
+		return elites[random.nextInt( eliteCount )];
+	}
+}
@@ -0,0 +1,326 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.Defines;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import de.hbrs.inf.tsp.graph.PossibleDroneFlights;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//alns for the fstsp: the customers are removed from the truck tour and the drone flights and inserted again into a truck edge or as a new
+//drone flight over truck edges without drone flight, a truck insertion into an edge of a drone flight changes the wait time of this flight,
+//the removal of a launch or rendezvous node removes the customer of its drone flight as well
+public class FstspAlns extends Alns{
+
+	private static final int TRUCK = 0;
+	private static final int DRONE = 1;
+	private static final int UNSERVED = 2;
+
+	private final DistanceMatrix droneTimes;
+	private final double droneFlightTime;
+	private final PossibleDroneFlights possibleDroneFlights;
+	private final boolean[] isDroneCustomerPossible;
+
+	//the truck tour starts at the depot, the drone flight launched at position k of the truck tour serves flightCustomers[k] (-1 if there is none)
+	//and meets the truck at position flightEnds[k], the drone flights do not overlap, prefixTimes[k] is the truck time until position k
+	private class FstspSolution extends Solution{
+
+		private int[] truckTour;
+		private int size;
+		private int[] flightCustomers;
+		private int[] flightEnds;
+		private long[] prefixTimes;
+		private int[] states;
+		private long truckTime;
+		private long objective;
+		//the best insertion of the last evaluated customer, a truck edge or a drone flight from launch to rendezvous position
+		private boolean isDroneInsertion;
+		private int insertionStart;
+		private int insertionEnd;
+
+		@Override public long getObjective(){
+			return objective;
+		}
+
+		@Override protected long getSecondaryObjective(){
+			return truckTime;
+		}
+
+		@Override protected Solution copy(){
+			FstspSolution solution = new FstspSolution();
+			solution.truckTour = truckTour.clone();
+			solution.size = size;
+			solution.flightCustomers = flightCustomers.clone();
+			solution.flightEnds = flightEnds.clone();
+			solution.prefixTimes = prefixTimes.clone();
+			solution.states = states.clone();
+			solution.truckTime = truckTime;
+			solution.objective = objective;
+			return solution;
+		}
+
+		@Override protected boolean isServed( int customer ){
+			return states[customer] != UNSERVED;
+		}
+
+		@Override protected void remove( int customer, List<Integer> removedCustomers ){
+			if( states[customer] == DRONE ){
+				int k = 0;
+				while( flightCustomers[k] != customer ){
+					k++;
+				}
+				removeDroneFlight( k, removedCustomers );
+				update();
+				return;
+			}
+
+			int p = 1;
+			while( truckTour[p] != customer ){
+				p++;
+			}
+			for( int k = 0; k < size; k++ ){
+				if( flightCustomers[k] >= 0 && ( k == p || flightEnds[k] == p ) ){
+					removeDroneFlight( k, removedCustomers );
+				}
+			}
+			for( int k = p; k < size - 1; k++ ){
+				truckTour[k] = truckTour[k + 1];
+				flightCustomers[k] = flightCustomers[k + 1];
+				flightEnds[k] = flightEnds[k + 1];
+			}
+			size--;
+			for( int k = 0; k < size; k++ ){
+				if( flightCustomers[k] >= 0 && flightEnds[k] > p ){
+					flightEnds[k]--;
+				}
+			}
+			states[customer] = UNSERVED;
+			removedCustomers.add( customer );
+			calculatePrefixTimes();
+
+			//the truck time of a drone flight over the removed customer decreases, but without triangle inequality it may exceed the flight time
+			for( int k = 0; k < size; k++ ){
+				if( flightCustomers[k] >= 0 && calculateWaitTime( k, flightEnds[k], flightCustomers[k] ) == Long.MAX_VALUE ){
+					removeDroneFlight( k, removedCustomers );
+				}
+			}
+			update();
+		}
+
+		@Override protected void calculateRemovalSavings( double[] savings ){
+			for( int p = 1; p < size; p++ ){
+				savings[truckTour[p]] = calculateDetour( truckTour[p - 1], truckTour[p], truckTour[( p + 1 ) % size] );
+				if( flightCustomers[p] >= 0 ){
+					savings[flightCustomers[p]] = calculateWaitTime( p, flightEnds[p], flightCustomers[p] );
+				}
+			}
+			if( flightCustomers[0] >= 0 ){
+				savings[flightCustomers[0]] = calculateWaitTime( 0, flightEnds[0], flightCustomers[0] );
+			}
+		}
+
+		@Override protected void evaluateInsertion( int customer, double[] insertionCosts ){
+			insertionCosts[0] = Double.MAX_VALUE;
+			insertionCosts[1] = Double.MAX_VALUE;
+			//coveringLaunches[k] is the launch position of the drone flight over the truck edge from position k to k + 1, -1 if there is none
+			int[] coveringLaunches = new int[size];
+			int launch = -1;
+			for( int k = 0; k < size; k++ ){
+				if( launch >= 0 && flightEnds[launch] == k ){
+					launch = -1;
+				}
+				if( flightCustomers[k] >= 0 ){
+					launch = k;
+				}
+				coveringLaunches[k] = launch;
+			}
+
+			//truck insertion after position p, the edge back to the depot is never covered, so there is always a feasible insertion
+			for( int p = 0; p < size; p++ ){
+				long insertionCost = calculateDetour( truckTour[p], customer, truckTour[( p + 1 ) % size] );
+				int a = coveringLaunches[p];
+				if( a >= 0 ){
+					int b = flightEnds[a];
+					long truckTime = prefixTimes[b] - prefixTimes[a] + insertionCost;
+					if( truckTime > droneFlightTime ){
+						continue;
+					}
+					long flightTime = calculateFlightTime( truckTour[a], truckTour[b], flightCustomers[a] );
+					insertionCost += Math.max( 0, flightTime - truckTime ) - Math.max( 0, flightTime - ( prefixTimes[b] - prefixTimes[a] ) );
+				}
+				if( addInsertionCost( insertionCosts, insertionCost ) ){
+					isDroneInsertion = false;
+					insertionStart = p;
+				}
+			}
+
+			if( !isDroneCustomerPossible[customer] || size - 1 < Defines.MIN_TRUCK_CUSTOMERS ){
+				return;
+			}
+			//drone flight from position a to b, no drone flight lands at the final depot
+			for( int a = 0; a < size - 1; a++ ){
+				if( coveringLaunches[a] >= 0 ){
+					continue;
+				}
+				for( int b = a + 1; b < size && b - a <= FstspHeuristic.MAX_FLIGHT_LENGTH && coveringLaunches[b - 1] < 0; b++ ){
+					//the truck time only increases with a later rendezvous node
+					long truckTime = prefixTimes[b] - prefixTimes[a];
+					if( truckTime > droneFlightTime ){
+						break;
+					}
+					//the possible drone flights are only searched for flights, which are better than the second best insertion
+					int i = Math.min( truckTour[a], truckTour[b] );
+					int j = Math.max( truckTour[a], truckTour[b] );
+					long flightTime = droneTimes.get( i, customer ) + droneTimes.get( customer, j );
+					long waitTime = Math.max( 0, flightTime - truckTime );
+					if( flightTime <= droneFlightTime && waitTime < insertionCosts[1] && possibleDroneFlights.contains( i, j, customer )
+									&& addInsertionCost( insertionCosts, waitTime ) ){
+						isDroneInsertion = true;
+						insertionStart = a;
+						insertionEnd = b;
+					}
+				}
+			}
+		}
+
+		@Override protected void insert( int customer ){
+			evaluateInsertion( customer, new double[2] );
+			if( isDroneInsertion ){
+				flightCustomers[insertionStart] = customer;
+				flightEnds[insertionStart] = insertionEnd;
+				states[customer] = DRONE;
+				update();
+				return;
+			}
+
+			int p = insertionStart;
+			for( int k = size; k > p + 1; k-- ){
+				truckTour[k] = truckTour[k - 1];
+				flightCustomers[k] = flightCustomers[k - 1];
+				flightEnds[k] = flightEnds[k - 1];
+			}
+			truckTour[p + 1] = customer;
+			flightCustomers[p + 1] = -1;
+			size++;
+			for( int k = 0; k < size; k++ ){
+				if( flightCustomers[k] >= 0 && flightEnds[k] > p ){
+					flightEnds[k]++;
+				}
+			}
+			states[customer] = TRUCK;
+			calculatePrefixTimes();
+			update();
+		}
+
+		private void removeDroneFlight( int k, List<Integer> removedCustomers ){
+			states[flightCustomers[k]] = UNSERVED;
+			removedCustomers.add( flightCustomers[k] );
+			flightCustomers[k] = -1;
+		}
+
+		private void calculatePrefixTimes(){
+			for( int k = 1; k < size; k++ ){
+				prefixTimes[k] = prefixTimes[k - 1] + truckTimes.getUndirected( truckTour[k - 1], truckTour[k] );
+			}
+		}
+
+		//the truck time plus the wait times, the prefix times have to be up to date
+		private void update(){
+			truckTime = prefixTimes[size - 1] + truckTimes.getUndirected( truckTour[size - 1], truckTour[0] );
+			objective = truckTime;
+			for( int k = 0; k < size; k++ ){
+				if( flightCustomers[k] >= 0 ){
+					objective += calculateWaitTime( k, flightEnds[k], flightCustomers[k] );
+				}
+			}
+		}
+
+		//the wait time of the truck for the drone flight between the truck tour positions a and b, Long.MAX_VALUE if the flight is not feasible
+		private long calculateWaitTime( int a, int b, int customer ){
+			long truckTime = prefixTimes[b] - prefixTimes[a];
+			if( truckTime > droneFlightTime ){
+				return Long.MAX_VALUE;
+			}
+			long flightTime = calculateFlightTime( truckTour[a], truckTour[b], customer );
+			return flightTime < 0 ? Long.MAX_VALUE : Math.max( 0, flightTime - truckTime );
+		}
+	}
+
+	public FstspAlns( DistanceMatrix truckTimes, DistanceMatrix droneTimes, double droneFlightTime, PossibleDroneFlights possibleDroneFlights ){
+		super( truckTimes );
+		this.droneTimes = droneTimes;
+		this.droneFlightTime = droneFlightTime;
+		this.possibleDroneFlights = possibleDroneFlights;
+		this.isDroneCustomerPossible = new boolean[dimension];
+		for( int c = 1; c < dimension; c++ ){
+			isDroneCustomerPossible[c] = possibleDroneFlights.getCustomerFlightsEnd( c ) > possibleDroneFlights.getCustomerFlightsBegin( c );
+		}
+	}
+
+	//improves the start solution (e.g. of the fstsp heuristic) until the time limit is reached
+	public FstspHeuristic.Solution solve( FstspHeuristic.Solution start, int threadCount, long seed, double timeLimitSeconds ){
+		FstspSolution startSolution = new FstspSolution();
+		startSolution.truckTour = new int[dimension];
+		startSolution.flightCustomers = new int[dimension];
+		startSolution.flightEnds = new int[dimension];
+		startSolution.prefixTimes = new long[dimension];
+		startSolution.states = new int[dimension];
+		startSolution.size = start.getTruckTour().size();
+		int[] positions = new int[dimension];
+		for( int p = 0; p < startSolution.size; p++ ){
+			startSolution.truckTour[p] = start.getTruckTour().get( p );
+			startSolution.flightCustomers[p] = -1;
+			positions[startSolution.truckTour[p]] = p;
+		}
+		for( Integer[] droneFlight : start.getDroneFlights() ){
+			startSolution.flightCustomers[positions[droneFlight[0]]] = droneFlight[2];
+			startSolution.flightEnds[positions[droneFlight[0]]] = positions[droneFlight[1]];
+			startSolution.states[droneFlight[2]] = DRONE;
+		}
+		startSolution.calculatePrefixTimes();
+		startSolution.update();
+
+		FstspSolution solution = (FstspSolution)run( startSolution, threadCount, seed, timeLimitSeconds );
+		ArrayList<Integer> truckTour = new ArrayList<>( solution.size );
+		ArrayList<Integer[]> droneFlights = new ArrayList<>();
+		ArrayList<Integer> waitTimes = new ArrayList<>();
+		for( int k = 0; k < solution.size; k++ ){
+			truckTour.add( solution.truckTour[k] );
+			if( solution.flightCustomers[k] >= 0 ){
+				droneFlights.add( new Integer[]{ solution.truckTour[k], solution.truckTour[solution.flightEnds[k]], solution.flightCustomers[k] } );
+				waitTimes.add( (int)solution.calculateWaitTime( k, solution.flightEnds[k], solution.flightCustomers[k] ) );
+			}
+		}
+		int[] waitTimesArray = new int[waitTimes.size()];
+		for( int f = 0; f < waitTimesArray.length; f++ ){
+			waitTimesArray[f] = waitTimes.get( f );
+		}
+		return new FstspHeuristic.Solution( truckTour, droneFlights, waitTimesArray, solution.getObjective() );
+	}
+
+	private long calculateDetour( int prev, int customer, int next ){
+		return truckTimes.getUndirected( prev, customer ) + truckTimes.getUndirected( customer, next ) - truckTimes.getUndirected( prev, next );
+	}
+
+	//the model calculates the flight time from the smaller to the greater node, -1 if the flight is not possible
+	private long calculateFlightTime( int start, int end, int customer ){
+		int i = Math.min( start, end );
+		int j = Math.max( start, end );
+		if( !possibleDroneFlights.contains( i, j, customer ) ){
+			return -1;
+		}
+		long flightTime = droneTimes.get( i, customer ) + droneTimes.get( customer, j );
+		return flightTime <= droneFlightTime ? flightTime : -1;
+	}
+
+	//sets the insertion cost as best or second best cost, true if it is the new best one
+	private static boolean addInsertionCost( double[] insertionCosts, double insertionCost ){
+		if( insertionCost < insertionCosts[0] ){
+			insertionCosts[1] = insertionCosts[0];
+			insertionCosts[0] = insertionCost;
+			return true;
+		}
+		insertionCosts[1] = Math.min( insertionCosts[1], insertionCost );
+		return false;
+	}
+}
@@ -0,0 +1,405 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.Defines;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import de.hbrs.inf.tsp.graph.PossibleDroneFlights;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+//fstsp heuristic (route first, cluster second): the tour of all customers is split into truck edges and drone flights with a shortest path
+//over the tour positions, after that truck customers are relocated to new drone flights and the launch and rendezvous nodes of the drone flights
+//are moved as long as the objective decreases, the improved solution is split again until it does not change anymore
+public class FstspHeuristic{
+
+	private static final Logger log = Logger.getLogger( FstspHeuristic.class.getName() );
+	//maximum count of truck edges between the launch and the rendezvous node of a drone flight
+	static final int MAX_FLIGHT_LENGTH = 10;
+	private static final int MAX_ROUNDS = 20;
+	private final DistanceMatrix truckTimes;
+	private final DistanceMatrix droneTimes;
+	private final double droneFlightTime;
+	private final PossibleDroneFlights possibleDroneFlights;
+	private final boolean[] isDroneCustomerPossible;
+
+	//the truck tour starts at the depot, the drone flight launched at position k of the truck tour serves flightCustomers[k] (-1 if there is none)
+	//and meets the truck at position flightEnds[k], the drone flights do not overlap, prefixTimes[k] is the truck time until position k
+	private int size;
+	private int[] truckTour;
+	private int[] flightCustomers;
+	private int[] flightEnds;
+	private long[] prefixTimes;
+
+	public static class Solution{
+
+		private final ArrayList<Integer> truckTour;
+		private final ArrayList<Integer[]> droneFlights;
+		private final int[] waitTimes;
+		private final long objective;
+
+		Solution( ArrayList<Integer> truckTour, ArrayList<Integer[]> droneFlights, int[] waitTimes, long objective ){
+			this.truckTour = truckTour;
+			this.droneFlights = droneFlights;
+			this.waitTimes = waitTimes;
+			this.objective = objective;
+		}
+
+		public ArrayList<Integer> getTruckTour(){
+			return truckTour;
+		}
+
+		//the drone flights as { start, end, customer } like in the FSTSP model, the start is the launch node
+		public ArrayList<Integer[]> getDroneFlights(){
+			return droneFlights;
+		}
+
+		//the wait time of the truck at the end of each drone flight
+		public int[] getWaitTimes(){
+			return waitTimes;
+		}
+
+		//the truck time plus the wait times
+		public long getObjective(){
+			return objective;
+		}
+	}
+
+	public FstspHeuristic( DistanceMatrix truckTimes, DistanceMatrix droneTimes, double droneFlightTime, PossibleDroneFlights possibleDroneFlights ){
+		this.truckTimes = truckTimes;
+		this.droneTimes = droneTimes;
+		this.droneFlightTime = droneFlightTime;
+		this.possibleDroneFlights = possibleDroneFlights;
+		this.isDroneCustomerPossible = new boolean[truckTimes.getDimension()];
+		for( int c = 1; c < isDroneCustomerPossible.length; c++ ){
+			isDroneCustomerPossible[c] = possibleDroneFlights.getCustomerFlightsEnd( c ) > possibleDroneFlights.getCustomerFlightsBegin( c );
+		}
+	}
+
+	//the tour has to contain all nodes and start at the depot
+	public Solution solve( ArrayList<Integer> tour ){
+		long startTime = System.nanoTime();
+		int[] giantTour = new int[tour.size()];
+		for( int k = 0; k < giantTour.length; k++ ){
+			giantTour[k] = tour.get( k );
+		}
+
+		long objective = Long.MAX_VALUE;
+		for( int round = 0; round < MAX_ROUNDS; round++ ){
+			split( giantTour );
+			long splitObjective = calculateObjective();
+			boolean isImproved = true;
+			while( isImproved ){
+				isImproved = relocateTruckCustomers();
+				isImproved = moveLaunchAndRendezvousNodes() || isImproved;
+			}
+			long newObjective = calculateObjective();
+			log.debug( "Round " + round + " of fstsp heuristic: objective after split " + splitObjective + ", after local search " + newObjective );
+			if( newObjective >= objective ){
+				break;
+			}
+			objective = newObjective;
+			giantTour = createGiantTour();
+		}
+		//the last split is not worse than the solution of the giant tour, which it was calculated from
+		objective = calculateObjective();
+
+		ArrayList<Integer> solutionTruckTour = new ArrayList<>( size );
+		ArrayList<Integer[]> droneFlights = new ArrayList<>();
+		ArrayList<Integer> waitTimes = new ArrayList<>();
+		for( int k = 0; k < size; k++ ){
+			solutionTruckTour.add( truckTour[k] );
+			if( flightCustomers[k] >= 0 ){
+				droneFlights.add( new Integer[]{ truckTour[k], truckTour[flightEnds[k]], flightCustomers[k] } );
+				waitTimes.add( (int)calculateWaitTime( k, flightEnds[k], flightCustomers[k] ) );
+			}
+		}
+		int[] waitTimesArray = new int[waitTimes.size()];
+		for( int f = 0; f < waitTimesArray.length; f++ ){
+			waitTimesArray[f] = waitTimes.get( f );
+		}
+
+		log.info( "Fstsp heuristic found solution with objective " + objective + " (truck customers: " + ( size - 1 ) + ", drone flights: "
+						+ droneFlights.size() + ") in " + ( System.nanoTime() - startTime ) / 1e9 + "s." );
+		return new Solution( solutionTruckTour, droneFlights, waitTimesArray, objective );
+	}
+
+	//shortest path over the positions of the giant tour, an arc from a to b is either a truck edge (b = a + 1) or a drone flight from a to b,
+	//which serves one customer between them, while the truck serves the other ones, the truck time of a drone flight is calculated in O( 1 )
+	//with the prefix sums, so the split needs O( n * MAX_FLIGHT_LENGTH^2 ) time
+	private void split( int[] giantTour ){
+		int n = giantTour.length;
+		long[] giantPrefixTimes = new long[n];
+		for( int k = 1; k < n; k++ ){
+			giantPrefixTimes[k] = giantPrefixTimes[k - 1] + truckTimes.getUndirected( giantTour[k - 1], giantTour[k] );
+		}
+
+		long[] values = new long[n];
+		int[] predecessors = new int[n];
+		int[] droneCustomerPositions = new int[n];
+		Arrays.fill( droneCustomerPositions, -1 );
+		for( int b = 1; b < n; b++ ){
+			values[b] = values[b - 1] + truckTimes.getUndirected( giantTour[b - 1], giantTour[b] );
+			predecessors[b] = b - 1;
+			for( int c = b - 1; c > 0 && c > b - MAX_FLIGHT_LENGTH - 1; c-- ){
+				int customer = giantTour[c];
+				if( !isDroneCustomerPossible[customer] ){
+					continue;
+				}
+				long detour = truckTimes.getUndirected( giantTour[c - 1], customer ) + truckTimes.getUndirected( customer, giantTour[c + 1] )
+								- truckTimes.getUndirected( giantTour[c - 1], giantTour[c + 1] );
+				for( int a = c - 1; a >= 0 && a >= b - MAX_FLIGHT_LENGTH - 1; a-- ){
+					long truckTime = giantPrefixTimes[b] - giantPrefixTimes[a] - detour;
+					//the truck time only increases with an earlier launch node
+					if( truckTime > droneFlightTime ){
+						break;
+					}
+					long flightTime = calculateFlightTime( giantTour[a], giantTour[b], customer );
+					if( flightTime < 0 ){
+						continue;
+					}
+					long value = values[a] + Math.max( truckTime, flightTime );
+					if( value < values[b] ){
+						values[b] = value;
+						predecessors[b] = a;
+						droneCustomerPositions[b] = c;
+					}
+				}
+			}
+		}
+
+		//the drone customers of the shortest path are marked backwards from the end of the giant tour, all other nodes are served by the truck
+		int[] launchPositions = new int[n];
+		Arrays.fill( launchPositions, -1 );
+		boolean[] isServedByDrone = new boolean[n];
+		for( int b = n - 1; b > 0; b = predecessors[b] ){
+			if( droneCustomerPositions[b] >= 0 ){
+				launchPositions[b] = predecessors[b];
+				isServedByDrone[droneCustomerPositions[b]] = true;
+			}
+		}
+
+		size = 0;
+		truckTour = new int[n];
+		flightCustomers = new int[n];
+		flightEnds = new int[n];
+		Arrays.fill( flightCustomers, -1 );
+		int[] truckTourPositions = new int[n];
+		for( int k = 0; k < n; k++ ){
+			if( !isServedByDrone[k] ){
+				truckTourPositions[k] = size;
+				truckTour[size] = giantTour[k];
+				if( launchPositions[k] >= 0 ){
+					int start = truckTourPositions[launchPositions[k]];
+					flightCustomers[start] = giantTour[droneCustomerPositions[k]];
+					flightEnds[start] = size;
+				}
+				size++;
+			}
+		}
+		calculatePrefixTimes();
+
+		//the depot has degree 2, so a split with too few truck customers is replaced by the giant tour without drone flights
+		if( size - 1 < Defines.MIN_TRUCK_CUSTOMERS && n - 1 >= Defines.MIN_TRUCK_CUSTOMERS ){
+			size = n;
+			truckTour = giantTour.clone();
+			flightCustomers = new int[size];
+			flightEnds = new int[size];
+			Arrays.fill( flightCustomers, -1 );
+			calculatePrefixTimes();
+		}
+	}
+
+	//the drone customers are inserted after their launch nodes, so the split of this tour can find the current solution again
+	private int[] createGiantTour(){
+		int[] giantTour = new int[truckTimes.getDimension()];
+		int n = 0;
+		for( int k = 0; k < size; k++ ){
+			giantTour[n++] = truckTour[k];
+			if( flightCustomers[k] >= 0 ){
+				giantTour[n++] = flightCustomers[k];
+			}
+		}
+		return Arrays.copyOf( giantTour, n );
+	}
+
+	//each truck customer, which is no launch or rendezvous node, is removed from the truck tour and served by the best new drone flight
+	//over truck edges without drone flight, the move is applied if it decreases the objective
+	private boolean relocateTruckCustomers(){
+		boolean isImproved = false;
+		long objective = calculateObjective();
+		for( int p = 1; p < size && size - 1 > Defines.MIN_TRUCK_CUSTOMERS; p++ ){
+			int customer = truckTour[p];
+			if( !isDroneCustomerPossible[customer] || isFlightNode( p ) ){
+				continue;
+			}
+			int[] oldTruckTour = truckTour;
+			int[] oldFlightCustomers = flightCustomers;
+			int[] oldFlightEnds = flightEnds;
+			removeTruckCustomer( p );
+			long newObjective = calculateObjective();
+
+			int bestStart = -1;
+			int bestEnd = -1;
+			long bestWaitTime = Long.MAX_VALUE;
+			if( newObjective < Long.MAX_VALUE ){
+				boolean[] isCovered = createCoveredEdges();
+				for( int a = 0; a < size - 1; a++ ){
+					for( int b = a + 1; b < size && b - a <= MAX_FLIGHT_LENGTH && !isCovered[b - 1]; b++ ){
+						long waitTime = calculateWaitTime( a, b, customer );
+						if( waitTime < bestWaitTime ){
+							bestWaitTime = waitTime;
+							bestStart = a;
+							bestEnd = b;
+						}
+					}
+				}
+			}
+
+			if( bestStart >= 0 && newObjective + bestWaitTime < objective ){
+				flightCustomers[bestStart] = customer;
+				flightEnds[bestStart] = bestEnd;
+				objective = newObjective + bestWaitTime;
+				isImproved = true;
+				log.debug( "Relocated truck customer " + customer + " to a drone flight, objective " + objective );
+				//the next truck customer is at the position of the relocated one now
+				p--;
+			} else {
+				truckTour = oldTruckTour;
+				flightCustomers = oldFlightCustomers;
+				flightEnds = oldFlightEnds;
+				size++;
+				calculatePrefixTimes();
+			}
+		}
+		return isImproved;
+	}
+
+	//the launch and the rendezvous node of each drone flight are moved to the best nodes between the neighbouring drone flights,
+	//the truck tour does not change, so only the wait time of the drone flight changes
+	private boolean moveLaunchAndRendezvousNodes(){
+		boolean isImproved = false;
+		int previousEnd = 0;
+		for( int k = 0; k < size; k++ ){
+			if( flightCustomers[k] < 0 ){
+				continue;
+			}
+			int customer = flightCustomers[k];
+			int nextStart = flightEnds[k];
+			while( nextStart < size - 1 && flightCustomers[nextStart] < 0 ){
+				nextStart++;
+			}
+			long waitTime = calculateWaitTime( k, flightEnds[k], customer );
+			int bestStart = k;
+			int bestEnd = flightEnds[k];
+			for( int a = previousEnd; a < nextStart; a++ ){
+				for( int b = a + 1; b <= nextStart && b - a <= MAX_FLIGHT_LENGTH; b++ ){
+					long newWaitTime = calculateWaitTime( a, b, customer );
+					if( newWaitTime < waitTime ){
+						waitTime = newWaitTime;
+						bestStart = a;
+						bestEnd = b;
+					}
+				}
+			}
+			if( bestStart != k || bestEnd != flightEnds[k] ){
+				flightCustomers[k] = -1;
+				flightCustomers[bestStart] = customer;
+				flightEnds[bestStart] = bestEnd;
+				isImproved = true;
+				log.debug( "Moved drone flight of customer " + customer + " to launch node " + truckTour[bestStart] + " and rendezvous node "
+								+ truckTour[bestEnd] + "." );
+			}
+			previousEnd = bestEnd;
+			k = bestEnd - 1;
+		}
+		return isImproved;
+	}
+
+	private boolean isFlightNode( int p ){
+		if( flightCustomers[p] >= 0 ){
+			return true;
+		}
+		for( int k = 0; k < p; k++ ){
+			if( flightCustomers[k] >= 0 && flightEnds[k] == p ){
+				return true;
+			}
+		}
+		return false;
+	}
+
+	//the positions of the drone flights behind position p are shifted, the flights around p keep their nodes
+	private void removeTruckCustomer( int p ){
+		int[] newTruckTour = new int[size - 1];
+		int[] newFlightCustomers = new int[size - 1];
+		int[] newFlightEnds = new int[size - 1];
+		for( int k = 0, n = 0; k < size; k++ ){
+			if( k != p ){
+				newTruckTour[n] = truckTour[k];
+				newFlightCustomers[n] = flightCustomers[k];
+				newFlightEnds[n] = flightEnds[k] > p ? flightEnds[k] - 1 : flightEnds[k];
+				n++;
+			}
+		}
+		truckTour = newTruckTour;
+		flightCustomers = newFlightCustomers;
+		flightEnds = newFlightEnds;
+		size--;
+		calculatePrefixTimes();
+	}
+
+	//isCovered[k] is true, if the truck edge from position k to k + 1 is between the launch and the rendezvous node of a drone flight
+	private boolean[] createCoveredEdges(){
+		boolean[] isCovered = new boolean[size];
+		for( int k = 0; k < size; k++ ){
+			if( flightCustomers[k] >= 0 ){
+				Arrays.fill( isCovered, k, flightEnds[k], true );
+			}
+		}
+		return isCovered;
+	}
+
+	private void calculatePrefixTimes(){
+		prefixTimes = new long[size];
+		for( int k = 1; k < size; k++ ){
+			prefixTimes[k] = prefixTimes[k - 1] + truckTimes.getUndirected( truckTour[k - 1], truckTour[k] );
+		}
+	}
+
+	//Long.MAX_VALUE if a drone flight is not feasible
+	private long calculateObjective(){
+		long objective = prefixTimes[size - 1] + truckTimes.getUndirected( truckTour[size - 1], truckTour[0] );
+		for( int k = 0; k < size; k++ ){
+			if( flightCustomers[k] >= 0 ){
+				long waitTime = calculateWaitTime( k, flightEnds[k], flightCustomers[k] );
+				if( waitTime == Long.MAX_VALUE ){
+					return Long.MAX_VALUE;
+				}
+				objective += waitTime;
+			}
+		}
+		return objective;
+	}
+
+	//the wait time of the truck for the drone flight between the truck tour positions a and b, Long.MAX_VALUE if the flight is not feasible,
+	//the truck must not need longer than the drone flight time, because the drone waits for it in the air
+	private long calculateWaitTime( int a, int b, int customer ){
+		long truckTime = prefixTimes[b] - prefixTimes[a];
+		if( truckTime > droneFlightTime ){
+			return Long.MAX_VALUE;
+		}
+		long flightTime = calculateFlightTime( truckTour[a], truckTour[b], customer );
+		return flightTime < 0 ? Long.MAX_VALUE : Math.max( 0, flightTime - truckTime );
+	}
+
+	//the model calculates the flight time from the smaller to the greater node, -1 if the flight is not possible
+	private long calculateFlightTime( int start, int end, int customer ){
+		int i = Math.min( start, end );
+		int j = Math.max( start, end );
+		if( !possibleDroneFlights.contains( i, j, customer ) ){
+			return -1;
+		}
+		long flightTime = droneTimes.get( i, customer ) + droneTimes.get( customer, j );
+		return flightTime <= droneFlightTime ? flightTime : -1;
+	}
+}
@@ -0,0 +1,31 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import java.util.ArrayList;
+
+//closed tour of a heuristic, which starts at the depot (node 0)
+public class HeuristicTour{
+
+	private int[] tour;
+	private long length;
+
+	public HeuristicTour( int[] tour, long length ){
+		this.tour = tour;
+		this.length = length;
+	}
+
+	public ArrayList<Integer> getTour(){
+		ArrayList<Integer> tourList = new ArrayList<>( tour.length );
+		for( int node : tour ){
+			tourList.add( node );
+		}
+		return tourList;
+	}
+
+	public int[] getTourArray(){
+		return tour;
+	}
+
+	public long getLength(){
+		return length;
+	}
+}
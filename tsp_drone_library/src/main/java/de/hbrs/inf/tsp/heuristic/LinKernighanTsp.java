@@ -0,0 +1,179 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.graph.CandidateTruckEdges;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+
+import java.util.Random;
+
+//lin-kernighan style tsp heuristic: sequential moves of up to MAX_DEPTH 2-opt flips on alpha nearness candidates and or-opt moves,
+//the local optima are kicked with double bridges and improved again until a deadline (iterated lin-kernighan)
+public class LinKernighanTsp extends LocalSearchTsp{
+
+	private static final int CANDIDATE_COUNT = 6;
+	private static final int MAX_DEPTH = 10;
+	//count of alternatives for the added edge on the first levels of a move, the deeper levels are greedy
+	private static final int[] BREADTHS = { 5, 3 };
+	private static final int MAX_KICK_SEGMENT_LENGTH = 50;
+
+	private final int[][] candidateLists;
+
+	public LinKernighanTsp( DistanceMatrix distances ){
+		super( distances );
+		this.candidateLists = CandidateTruckEdges.createAlphaNearnessLists( distances, CANDIDATE_COUNT );
+	}
+
+	//the starts run in parallel and share the time limit
+	public HeuristicTour solve( int startCount, long seed, double timeLimitSeconds ){
+		return solve( startCount, seed, System.nanoTime() + (long)( timeLimitSeconds * 1e9 ) );
+	}
+
+	//improves a given tour, e.g. a new incumbent of the solver, until the time limit
+	public HeuristicTour improveTour( int[] tour, long seed, double timeLimitSeconds ){
+		int[] improvedTour = tour.clone();
+		if( dimension >= 4 ){
+			improve( improvedTour, new Random( seed ), System.nanoTime() + (long)( timeLimitSeconds * 1e9 ) );
+		}
+		return new HeuristicTour( rotateToDepot( improvedTour ), calculateLength( improvedTour ) );
+	}
+
+	@Override
+	protected void improve( int[] tour, Random random, long deadline ){
+		new LinKernighanImprover( tour ).improve( random, deadline );
+	}
+
+	private class LinKernighanImprover extends TourImprover{
+
+		//the edges, which are added by the current move, are not removed by it again
+		private final int[] addedEdgeTails = new int[MAX_DEPTH];
+		private final int[] addedEdgeHeads = new int[MAX_DEPTH];
+		//the alternatives of each level: t3, t4 and the sort value
+		private final int[][] alternativeT3s = new int[MAX_DEPTH][BREADTHS[0]];
+		private final int[][] alternativeT4s = new int[MAX_DEPTH][BREADTHS[0]];
+		private final long[][] alternativeValues = new long[MAX_DEPTH][BREADTHS[0]];
+
+		private LinKernighanImprover( int[] tour ){
+			super( tour );
+		}
+
+		//the kicked tour is only kept, if it is not longer after the improvement, otherwise the best tour is restored
+		private void improve( Random random, long deadline ){
+			improve();
+			if( dimension < 8 ){
+				return;
+			}
+			long length = calculateLength( tour );
+			int[] bestTour = tour.clone();
+			while( System.nanoTime() - deadline < 0 ){
+				kick( random );
+				improve();
+				long newLength = calculateLength( tour );
+				if( newLength <= length ){
+					length = newLength;
+					System.arraycopy( tour, 0, bestTour, 0, dimension );
+				} else {
+					System.arraycopy( bestTour, 0, tour, 0, dimension );
+					for( int k = 0; k < dimension; k++ ){
+						pos[tour[k]] = k;
+					}
+				}
+			}
+		}
+
+		@Override
+		protected boolean improveNode( int t1 ){
+			return step( 0, t1, next( t1 ), 0 ) || step( 0, t1, prev( t1 ), 0 ) || super.improveNode( t1 );
+		}
+
+		//the tour edge ( t1, t2 ) is removed and ( t2, t3 ) is added, the tour is closed by removing ( t3, t4 ) and adding ( t4, t1 ) with a 2-opt flip
+		//gain is the decrease of the tour length by the flips of the move so far, the move is kept as soon as the gain is positive,
+		//otherwise it is continued from t4 (the new t2) and the flip is undone, if no deeper level finds a positive gain
+		private boolean step( int level, int t1, int t2, long gain ){
+			long openGain = gain + distances.getUndirected( t1, t2 );
+			boolean isSuccessor = next( t2 ) == t1;
+			int breadth = level < BREADTHS.length ? BREADTHS[level] : 1;
+			int[] t3s = alternativeT3s[level];
+			int[] t4s = alternativeT4s[level];
+			long[] values = alternativeValues[level];
+			int alternativeCount = 0;
+			for( int t3 : candidateLists[t2] ){
+				//the candidate lists are not sorted by distance, so all candidates are checked
+				long addedCost = distances.getUndirected( t2, t3 );
+				if( t3 == t1 || openGain - addedCost <= 0 ){
+					continue;
+				}
+				int t4 = isSuccessor ? next( t3 ) : prev( t3 );
+				if( t4 == t2 || isAdded( level, t3, t4 ) ){
+					continue;
+				}
+				//the alternatives are sorted by the gain of the removed edge ( t3, t4 ) minus the added edge ( t2, t3 )
+				long value = distances.getUndirected( t3, t4 ) - addedCost;
+				int k = Math.min( alternativeCount, breadth - 1 );
+				if( k == alternativeCount || value > values[k] ){
+					while( k > 0 && value > values[k - 1] ){
+						t3s[k] = t3s[k - 1];
+						t4s[k] = t4s[k - 1];
+						values[k] = values[k - 1];
+						k--;
+					}
+					t3s[k] = t3;
+					t4s[k] = t4;
+					values[k] = value;
+					alternativeCount = Math.min( alternativeCount + 1, breadth );
+				}
+			}
+
+			for( int a = 0; a < alternativeCount; a++ ){
+				int t3 = t3s[a];
+				int t4 = t4s[a];
+				flip( t2, t1, t3, t4 );
+				long newGain = openGain - distances.getUndirected( t2, t3 ) + distances.getUndirected( t3, t4 ) - distances.getUndirected( t4, t1 );
+				addedEdgeTails[level] = t2;
+				addedEdgeHeads[level] = t3;
+				if( newGain > 0 || ( level + 1 < MAX_DEPTH && step( level + 1, t1, t4, newGain ) ) ){
+					push( t1 );
+					push( t2 );
+					push( t3 );
+					push( t4 );
+					return true;
+				}
+				flip( t1, t4, t2, t3 );
+			}
+			return false;
+		}
+
+		private boolean isAdded( int level, int i, int j ){
+			for( int l = 0; l < level; l++ ){
+				if( ( addedEdgeTails[l] == i && addedEdgeHeads[l] == j ) || ( addedEdgeTails[l] == j && addedEdgeHeads[l] == i ) ){
+					return true;
+				}
+			}
+			return false;
+		}
+
+		//replaces the tour edges ( a, b ) and ( c, d ) by ( a, c ) and ( b, d ),
+		//b and d have to be the successors or the predecessors of a and c
+		private void flip( int a, int b, int c, int d ){
+			if( next( a ) == b ){
+				reversePath( b, c );
+			} else {
+				reversePath( c, b );
+			}
+		}
+
+		//double bridge: the neighbouring segments B and C of the tour A B C are exchanged to A C B without reversing them,
+		//which is hard to undo for the moves of 2-opt flips, the segments are short, so the kick stays local and its improvement is fast
+		private void kick( Random random ){
+			int maxLength = Math.min( MAX_KICK_SEGMENT_LENGTH, ( dimension - 2 ) / 2 );
+			int start = random.nextInt( dimension );
+			int lengthB = 1 + random.nextInt( maxLength );
+			int lengthC = 1 + random.nextInt( maxLength );
+			int[] borders = { start - 1, start, start + lengthB - 1, start + lengthB, start + lengthB + lengthC - 1, start + lengthB + lengthC };
+			for( int border : borders ){
+				push( tour[Math.floorMod( border, dimension )] );
+			}
+			reversePositions( start, lengthB );
+			reversePositions( start + lengthB, lengthC );
+			reversePositions( start, lengthB + lengthC );
+		}
+	}
+}
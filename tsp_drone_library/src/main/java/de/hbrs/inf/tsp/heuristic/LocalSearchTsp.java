@@ -0,0 +1,308 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.graph.CandidateTruckEdges;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import org.apache.log4j.Logger;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+//multi start tsp heuristic: nearest neighbour tours improved by 2-opt and or-opt moves on neighbour lists with don't look bits
+public class LocalSearchTsp{
+
+	private static final Logger log = Logger.getLogger( LocalSearchTsp.class.getName() );
+	private static final int NEIGHBOUR_COUNT = 10;
+	private static final int MAX_SEGMENT_LENGTH = 3;
+
+	protected final int dimension;
+	protected final DistanceMatrix distances;
+	protected final int[][] neighbourLists;
+
+	public LocalSearchTsp( DistanceMatrix distances ){
+		this.dimension = distances.getDimension();
+		this.distances = distances;
+		this.neighbourLists = CandidateTruckEdges.createNeighbourLists( distances, NEIGHBOUR_COUNT );
+	}
+
+	//the starts run in parallel on the common fork join pool, each start has its own random generator,
+	//so the result does not depend on the number of threads
+	public HeuristicTour solve( int startCount, long seed ){
+		//without time for restarts, each start stops at its first local optimum
+		return solve( startCount, seed, System.nanoTime() );
+	}
+
+	//deadline in System.nanoTime(), engines with a restart loop improve the tours until the deadline
+	protected HeuristicTour solve( int startCount, long seed, long deadline ){
+		long startTime = System.nanoTime();
+		if( dimension < 4 ){
+			int[] tour = new int[dimension];
+			for( int i = 0; i < dimension; i++ ){
+				tour[i] = i;
+			}
+			return new HeuristicTour( tour, calculateLength( tour ) );
+		}
+
+		HeuristicTour bestTour = IntStream.range( 0, startCount ).parallel().mapToObj( start -> {
+			Random random = new Random( seed + start );
+			//the first start begins at the depot, the other ones at random nodes
+			int[] tour = createNearestNeighbourTour( start == 0 ? 0 : random.nextInt( dimension ) );
+			improve( tour, random, deadline );
+			return new HeuristicTour( rotateToDepot( tour ), calculateLength( tour ) );
+		} ).reduce( ( a, b ) -> b.getLength() < a.getLength() ? b : a ).orElse( null );
+
+		log.info( getClass().getSimpleName() + " with " + startCount + " starts found tour with length " + bestTour.getLength() + " in "
+						+ ( System.nanoTime() - startTime ) / 1e9 + "s." );
+		return bestTour;
+	}
+
+	//improves the tour until it is locally optimal, subclasses may use other moves or restarts until the deadline
+	protected void improve( int[] tour, Random random, long deadline ){
+		new TourImprover( tour ).improve();
+	}
+
+	public long calculateLength( int[] tour ){
+		long length = 0;
+		for( int k = 0; k < tour.length; k++ ){
+			length += distances.getUndirected( tour[k], tour[( k + 1 ) % tour.length] );
+		}
+		return length;
+	}
+
+	protected int[] createNearestNeighbourTour( int startNode ){
+		int[] tour = new int[dimension];
+		boolean[] isVisited = new boolean[dimension];
+		int current = startNode;
+		isVisited[current] = true;
+		tour[0] = current;
+		for( int k = 1; k < dimension; k++ ){
+			int next = -1;
+			for( int neighbour : neighbourLists[current] ){
+				if( !isVisited[neighbour] ){
+					next = neighbour;
+					break;
+				}
+			}
+			//all neighbours are visited, so the nearest unvisited node is searched in all nodes
+			if( next < 0 ){
+				int nextCost = Integer.MAX_VALUE;
+				for( int j = 0; j < dimension; j++ ){
+					if( !isVisited[j] && distances.getUndirected( current, j ) < nextCost ){
+						next = j;
+						nextCost = distances.getUndirected( current, j );
+					}
+				}
+			}
+			isVisited[next] = true;
+			tour[k] = next;
+			current = next;
+		}
+		return tour;
+	}
+
+	protected static int[] rotateToDepot( int[] tour ){
+		int[] rotatedTour = new int[tour.length];
+		int depotPosition = 0;
+		while( tour[depotPosition] != 0 ){
+			depotPosition++;
+		}
+		for( int k = 0; k < tour.length; k++ ){
+			rotatedTour[k] = tour[( depotPosition + k ) % tour.length];
+		}
+		return rotatedTour;
+	}
+
+	//tour in array representation, pos is the inverse of the tour, the nodes with changed edges are in a queue (don't look bits)
+	protected class TourImprover{
+
+		protected final int[] tour;
+		protected final int[] pos;
+		private final int[] queue;
+		private final boolean[] isQueued;
+		private int queueHead = 0;
+		private int queueSize = 0;
+
+		protected TourImprover( int[] tour ){
+			this.tour = tour;
+			this.pos = new int[dimension];
+			this.queue = new int[dimension];
+			this.isQueued = new boolean[dimension];
+			for( int k = 0; k < dimension; k++ ){
+				pos[tour[k]] = k;
+				push( tour[k] );
+			}
+		}
+
+		protected void improve(){
+			while( queueSize > 0 ){
+				int node = queue[queueHead];
+				queueHead = ( queueHead + 1 ) % dimension;
+				queueSize--;
+				isQueued[node] = false;
+				if( improveNode( node ) ){
+					push( node );
+				}
+			}
+		}
+
+		protected boolean improveNode( int node ){
+			return twoOptMove( node, true ) || twoOptMove( node, false ) || orOptMove( node );
+		}
+
+		protected void push( int node ){
+			if( !isQueued[node] ){
+				isQueued[node] = true;
+				queue[( queueHead + queueSize ) % dimension] = node;
+				queueSize++;
+			}
+		}
+
+		protected int next( int node ){
+			return tour[pos[node] + 1 == dimension ? 0 : pos[node] + 1];
+		}
+
+		protected int prev( int node ){
+			return tour[pos[node] == 0 ? dimension - 1 : pos[node] - 1];
+		}
+
+		//replaces the edges ( a, b ) and ( c, d ) by ( a, c ) and ( b, d ), b and d are the successors (or predecessors) of a and c
+		private boolean twoOptMove( int a, boolean isSuccessor ){
+			int b = isSuccessor ? next( a ) : prev( a );
+			int costAB = distances.getUndirected( a, b );
+			for( int c : neighbourLists[a] ){
+				int costAC = distances.getUndirected( a, c );
+				if( costAC >= costAB ){
+					break;
+				}
+				int d = isSuccessor ? next( c ) : prev( c );
+				if( c == b || d == a ){
+					continue;
+				}
+				if( costAC + distances.getUndirected( b, d ) < costAB + distances.getUndirected( c, d ) ){
+					if( isSuccessor ){
+						reversePath( b, c );
+					} else {
+						reversePath( a, d );
+					}
+					push( b );
+					push( c );
+					push( d );
+					return true;
+				}
+			}
+			return false;
+		}
+
+		//moves the segment of up to three nodes, which starts at first, between two other neighbouring nodes
+		private boolean orOptMove( int first ){
+			for( int length = 1; length <= MAX_SEGMENT_LENGTH && length < dimension - 2; length++ ){
+				int last = tour[( pos[first] + length - 1 ) % dimension];
+				int p = prev( first );
+				int n = next( last );
+				int removeGain = distances.getUndirected( p, first ) + distances.getUndirected( last, n ) - distances.getUndirected( p, n );
+				if( removeGain <= 0 ){
+					continue;
+				}
+				for( int end = 0; end < 2; end++ ){
+					//the node at the end of the segment, which becomes adjacent to c
+					int segmentEnd = end == 0 ? first : last;
+					for( int c : neighbourLists[segmentEnd] ){
+						int costC = distances.getUndirected( c, segmentEnd );
+						if( costC >= removeGain ){
+							break;
+						}
+						if( isInSegment( c, first, length ) ){
+							continue;
+						}
+						//insertion between c and its successor or between its predecessor and c
+						for( int side = 0; side < 2; side++ ){
+							int e = side == 0 ? next( c ) : prev( c );
+							if( isInSegment( e, first, length ) ){
+								continue;
+							}
+							int otherEnd = segmentEnd == first ? last : first;
+							if( costC + distances.getUndirected( otherEnd, e ) - distances.getUndirected( c, e ) < removeGain ){
+								int after = side == 0 ? c : e;
+								//the segment is inserted after the node after, it is reversed if its last node must be next to after
+								boolean isReversed = ( side == 0 ) != ( segmentEnd == first );
+								moveSegment( first, length, after, isReversed );
+								push( p );
+								push( n );
+								push( first );
+								push( last );
+								push( c );
+								push( e );
+								return true;
+							}
+						}
+					}
+				}
+			}
+			return false;
+		}
+
+		private boolean isInSegment( int node, int first, int length ){
+			int offset = pos[node] - pos[first];
+			if( offset < 0 ){
+				offset += dimension;
+			}
+			return offset < length;
+		}
+
+		//reverses the path from node from to node to in tour direction, the shorter side is reversed, which gives the same cycle
+		protected void reversePath( int from, int to ){
+			int length = pos[to] - pos[from];
+			if( length < 0 ){
+				length += dimension;
+			}
+			length++;
+			if( 2 * length > dimension ){
+				reversePositions( pos[to] + 1, dimension - length );
+			} else {
+				reversePositions( pos[from], length );
+			}
+		}
+
+		//moves the segment between after and its successor, the order of the rest of the tour is kept
+		private void moveSegment( int first, int length, int after, boolean isReversed ){
+			int start = pos[first];
+			//the nodes from the successor of the segment until after
+			int forwardLength = pos[after] - ( start + length - 1 );
+			if( forwardLength < 0 ){
+				forwardLength += dimension;
+			}
+			int backwardLength = dimension - length - forwardLength;
+			if( forwardLength <= backwardLength ){
+				//segment S and path Y after it: S Y -> Y S
+				if( !isReversed ){
+					reversePositions( start, length );
+				}
+				reversePositions( start + length, forwardLength );
+				reversePositions( start, length + forwardLength );
+			} else {
+				//path Z before the segment: Z S -> S Z
+				int zStart = start - backwardLength;
+				if( !isReversed ){
+					reversePositions( start, length );
+				}
+				reversePositions( zStart, backwardLength );
+				reversePositions( zStart, backwardLength + length );
+			}
+		}
+
+		//reverses the length positions from start on, the positions are cyclic
+		protected void reversePositions( int start, int length ){
+			int i = Math.floorMod( start, dimension );
+			int j = Math.floorMod( start + length - 1, dimension );
+			for( int k = 0; k < length / 2; k++ ){
+				int nodeI = tour[i];
+				int nodeJ = tour[j];
+				tour[i] = nodeJ;
+				pos[nodeJ] = i;
+				tour[j] = nodeI;
+				pos[nodeI] = j;
+				i = i + 1 == dimension ? 0 : i + 1;
+				j = j == 0 ? dimension - 1 : j - 1;
+			}
+		}
+	}
+}
@@ -0,0 +1,199 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.Defines;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//alns for the pdstsp: the customers are removed from the truck tour and the drones and inserted again at the position or drone,
+//which increases the makespan least, the total time of all vehicles decides between insertions with the same makespan
+public class PdstspAlns extends Alns{
+
+	private static final double TOTAL_TIME_WEIGHT = 0.01;
+	private static final int TRUCK = -1;
+	private static final int UNSERVED = -2;
+
+	private final int droneFleetSize;
+	//round trip time of the drone from the depot for each node, -1 if the node can not be served by a drone
+	private final int[] roundTripTimes;
+
+	//the truck tour starts at the depot, droneOf[c] is the drone of customer c, TRUCK or UNSERVED
+	private class PdstspSolution extends Solution{
+
+		private int[] truckTour;
+		private int size;
+		private long truckTime;
+		private int[] droneOf;
+		private long[] droneLoads;
+		//the best insertion of the last evaluated customer, a drone or the truck tour position, after which it is inserted
+		private int insertionDrone;
+		private int insertionPosition;
+
+		@Override public long getObjective(){
+			long makespan = truckTime;
+			for( long droneLoad : droneLoads ){
+				makespan = Math.max( makespan, droneLoad );
+			}
+			return makespan;
+		}
+
+		@Override protected long getSecondaryObjective(){
+			long total = truckTime;
+			for( long droneLoad : droneLoads ){
+				total += droneLoad;
+			}
+			return total;
+		}
+
+		@Override protected Solution copy(){
+			PdstspSolution solution = new PdstspSolution();
+			solution.truckTour = truckTour.clone();
+			solution.size = size;
+			solution.truckTime = truckTime;
+			solution.droneOf = droneOf.clone();
+			solution.droneLoads = droneLoads.clone();
+			return solution;
+		}
+
+		@Override protected boolean isServed( int customer ){
+			return droneOf[customer] != UNSERVED;
+		}
+
+		@Override protected void remove( int customer, List<Integer> removedCustomers ){
+			if( droneOf[customer] == TRUCK ){
+				int p = 1;
+				while( truckTour[p] != customer ){
+					p++;
+				}
+				truckTime -= calculateDetour( truckTour[p - 1], customer, truckTour[( p + 1 ) % size] );
+				System.arraycopy( truckTour, p + 1, truckTour, p, size - p - 1 );
+				size--;
+			} else {
+				droneLoads[droneOf[customer]] -= roundTripTimes[customer];
+			}
+			droneOf[customer] = UNSERVED;
+			removedCustomers.add( customer );
+		}
+
+		@Override protected void calculateRemovalSavings( double[] savings ){
+			for( int p = 1; p < size; p++ ){
+				savings[truckTour[p]] = calculateDetour( truckTour[p - 1], truckTour[p], truckTour[( p + 1 ) % size] );
+			}
+			for( int c = 1; c < droneOf.length; c++ ){
+				if( droneOf[c] >= 0 ){
+					savings[c] = roundTripTimes[c];
+				}
+			}
+		}
+
+		@Override protected void evaluateInsertion( int customer, double[] insertionCosts ){
+			insertionCosts[0] = Double.MAX_VALUE;
+			insertionCosts[1] = Double.MAX_VALUE;
+			long maxDroneLoad = 0;
+			for( long droneLoad : droneLoads ){
+				maxDroneLoad = Math.max( maxDroneLoad, droneLoad );
+			}
+			long makespan = Math.max( truckTime, maxDroneLoad );
+
+			long bestDetour = Long.MAX_VALUE;
+			for( int p = 0; p < size; p++ ){
+				long detour = calculateDetour( truckTour[p], customer, truckTour[( p + 1 ) % size] );
+				if( detour < bestDetour ){
+					bestDetour = detour;
+					insertionPosition = p;
+				}
+			}
+			insertionDrone = TRUCK;
+			addInsertionCost( insertionCosts, Math.max( truckTime + bestDetour, maxDroneLoad ) - makespan + TOTAL_TIME_WEIGHT * bestDetour );
+
+			if( roundTripTimes[customer] < 0 || size - 1 < Defines.MIN_TRUCK_CUSTOMERS ){
+				return;
+			}
+			for( int v = 0; v < droneFleetSize; v++ ){
+				long droneLoad = droneLoads[v] + roundTripTimes[customer];
+				if( addInsertionCost( insertionCosts, Math.max( makespan, droneLoad ) - makespan + TOTAL_TIME_WEIGHT * roundTripTimes[customer] ) ){
+					insertionDrone = v;
+				}
+			}
+		}
+
+		@Override protected void insert( int customer ){
+			evaluateInsertion( customer, new double[2] );
+			if( insertionDrone == TRUCK ){
+				int p = insertionPosition;
+				truckTime += calculateDetour( truckTour[p], customer, truckTour[( p + 1 ) % size] );
+				System.arraycopy( truckTour, p + 1, truckTour, p + 2, size - p - 1 );
+				truckTour[p + 1] = customer;
+				size++;
+			} else {
+				droneLoads[insertionDrone] += roundTripTimes[customer];
+			}
+			droneOf[customer] = insertionDrone;
+		}
+	}
+
+	public PdstspAlns( DistanceMatrix truckTimes, DistanceMatrix droneTimes, int droneFleetSize, List<Integer> droneDeliveryPossibleAndInFlightRange ){
+		super( truckTimes );
+		this.droneFleetSize = droneFleetSize;
+		this.roundTripTimes = new int[dimension];
+		Arrays.fill( roundTripTimes, -1 );
+		for( int i : droneDeliveryPossibleAndInFlightRange ){
+			if( i != 0 ){
+				roundTripTimes[i] = droneTimes.get( 0, i ) + droneTimes.get( i, 0 );
+			}
+		}
+	}
+
+	//improves the start solution (e.g. of the pdstsp heuristic) until the time limit is reached
+	public PdstspHeuristic.Solution solve( PdstspHeuristic.Solution start, int threadCount, long seed, double timeLimitSeconds ){
+		PdstspSolution startSolution = new PdstspSolution();
+		startSolution.truckTour = new int[dimension];
+		startSolution.size = start.getTruckTour().size();
+		for( int p = 0; p < startSolution.size; p++ ){
+			startSolution.truckTour[p] = start.getTruckTour().get( p );
+			startSolution.truckTime += truckTimes.getUndirected( start.getTruckTour().get( p ), start.getTruckTour().get( ( p + 1 ) % startSolution.size ) );
+		}
+		startSolution.droneOf = new int[dimension];
+		Arrays.fill( startSolution.droneOf, TRUCK );
+		startSolution.droneLoads = new long[droneFleetSize];
+		for( int v = 0; v < droneFleetSize; v++ ){
+			for( int i : start.getDroneCustomers().get( v ) ){
+				startSolution.droneOf[i] = v;
+				startSolution.droneLoads[v] += roundTripTimes[i];
+			}
+		}
+
+		PdstspSolution solution = (PdstspSolution)run( startSolution, threadCount, seed, timeLimitSeconds );
+		ArrayList<Integer> truckTour = new ArrayList<>( solution.size );
+		for( int p = 0; p < solution.size; p++ ){
+			truckTour.add( solution.truckTour[p] );
+		}
+		ArrayList<ArrayList<Integer>> droneCustomers = new ArrayList<>( droneFleetSize );
+		for( int v = 0; v < droneFleetSize; v++ ){
+			droneCustomers.add( new ArrayList<>() );
+		}
+		for( int c = 1; c < dimension; c++ ){
+			if( solution.droneOf[c] >= 0 ){
+				droneCustomers.get( solution.droneOf[c] ).add( c );
+			}
+		}
+		return new PdstspHeuristic.Solution( truckTour, droneCustomers, solution.getObjective() );
+	}
+
+	private long calculateDetour( int prev, int customer, int next ){
+		return truckTimes.getUndirected( prev, customer ) + truckTimes.getUndirected( customer, next ) - truckTimes.getUndirected( prev, next );
+	}
+
+	//sets the insertion cost as best or second best cost, true if it is the new best one
+	private static boolean addInsertionCost( double[] insertionCosts, double insertionCost ){
+		if( insertionCost < insertionCosts[0] ){
+			insertionCosts[1] = insertionCosts[0];
+			insertionCosts[0] = insertionCost;
+			return true;
+		}
+		insertionCosts[1] = Math.min( insertionCosts[1], insertionCost );
+		return false;
+	}
+}
@@ -0,0 +1,383 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.Defines;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+//pdstsp heuristic: starting with the truck tour of all customers, customers in drone range are moved from the truck to the drones,
+//back to the truck or swapped with a truck customer as long as the makespan (or the total time for the same makespan) decreases,
+//after each round the truck tour is improved by lin-kernighan and the drone customers are scheduled again with lpt and multifit
+public class PdstspHeuristic{
+
+	private static final Logger log = Logger.getLogger( PdstspHeuristic.class.getName() );
+	private static final int MAX_ROUNDS = 20;
+	private static final int MULTIFIT_ITERATIONS = 10;
+	private static final long SEED = 42;
+
+	private final DistanceMatrix truckTimes;
+	private final int droneFleetSize;
+	//round trip time of the drone from the depot for each node, -1 if the node can not be served by a drone
+	private final int[] roundTripTimes;
+
+	private ArrayList<Integer> truckTour;
+	private long truckTime;
+	private ArrayList<ArrayList<Integer>> droneCustomers;
+	private long[] droneLoads;
+
+	public static class Solution{
+
+		private final ArrayList<Integer> truckTour;
+		private final ArrayList<ArrayList<Integer>> droneCustomers;
+		private final long makespan;
+
+		Solution( ArrayList<Integer> truckTour, ArrayList<ArrayList<Integer>> droneCustomers, long makespan ){
+			this.truckTour = truckTour;
+			this.droneCustomers = droneCustomers;
+			this.makespan = makespan;
+		}
+
+		public ArrayList<Integer> getTruckTour(){
+			return truckTour;
+		}
+
+		public ArrayList<ArrayList<Integer>> getDroneCustomers(){
+			return droneCustomers;
+		}
+
+		public long getMakespan(){
+			return makespan;
+		}
+	}
+
+	public PdstspHeuristic( DistanceMatrix truckTimes, DistanceMatrix droneTimes, int droneFleetSize, List<Integer> droneDeliveryPossibleAndInFlightRange ){
+		this.truckTimes = truckTimes;
+		this.droneFleetSize = droneFleetSize;
+		this.roundTripTimes = new int[truckTimes.getDimension()];
+		Arrays.fill( roundTripTimes, -1 );
+		for( int i : droneDeliveryPossibleAndInFlightRange ){
+			if( i != 0 ){
+				roundTripTimes[i] = droneTimes.get( 0, i ) + droneTimes.get( i, 0 );
+			}
+		}
+	}
+
+	//the tour has to contain all nodes and start at the depot
+	public Solution solve( ArrayList<Integer> tour ){
+		long startTime = System.nanoTime();
+		truckTour = new ArrayList<>( tour );
+		truckTime = calculateTruckTime( truckTour );
+		droneCustomers = createEmptyDroneCustomers();
+		droneLoads = new long[droneFleetSize];
+
+		long makespan = truckTime;
+		for( int round = 0; round < MAX_ROUNDS && droneFleetSize > 0; round++ ){
+			while( applyBestMove() ){
+			}
+			improveTruckTour();
+			scheduleDroneCustomers();
+			long newMakespan = calculateMakespan();
+			log.debug( "Round " + round + " of pdstsp heuristic: truck time " + truckTime + ", makespan " + newMakespan );
+			if( newMakespan >= makespan && round > 0 ){
+				break;
+			}
+			makespan = newMakespan;
+		}
+		makespan = calculateMakespan();
+
+		log.info( "Pdstsp heuristic found solution with makespan " + makespan + " (truck customers: " + ( truckTour.size() - 1 ) + ") in "
+						+ ( System.nanoTime() - startTime ) / 1e9 + "s." );
+		return new Solution( truckTour, droneCustomers, makespan );
+	}
+
+	//evaluates all moves of a customer between the truck and the drones and all swaps, the best one is applied, if it improves the solution
+	private boolean applyBestMove(){
+		int size = truckTour.size();
+		//the loads of the other drones are only needed by their maximum
+		int maxDrone = 0;
+		long secondMaxLoad = 0;
+		int minDrone = 0;
+		for( int v = 1; v < droneFleetSize; v++ ){
+			if( droneLoads[v] > droneLoads[maxDrone] ){
+				maxDrone = v;
+			}
+			if( droneLoads[v] < droneLoads[minDrone] ){
+				minDrone = v;
+			}
+		}
+		for( int v = 0; v < droneFleetSize; v++ ){
+			if( v != maxDrone ){
+				secondMaxLoad = Math.max( secondMaxLoad, droneLoads[v] );
+			}
+		}
+
+		long currentTotal = calculateTotalTime();
+		long bestMakespan = calculateMakespan();
+		long bestTotal = currentTotal;
+		int bestType = -1;
+		int bestTruckPosition = -1;
+		int bestDrone = -1;
+		int bestDronePosition = -1;
+		int bestInsertPosition = -1;
+
+		//truck customer to the drone with the lowest load
+		long[] removeSavings = new long[size];
+		for( int k = 1; k < size; k++ ){
+			int i = truckTour.get( k );
+			removeSavings[k] = truckTimes.getUndirected( truckTour.get( k - 1 ), i ) + truckTimes.getUndirected( i, truckTour.get( ( k + 1 ) % size ) )
+							- truckTimes.getUndirected( truckTour.get( k - 1 ), truckTour.get( ( k + 1 ) % size ) );
+			if( roundTripTimes[i] < 0 || size - 1 <= Defines.MIN_TRUCK_CUSTOMERS ){
+				continue;
+			}
+			long newLoad = droneLoads[minDrone] + roundTripTimes[i];
+			long makespan = Math.max( truckTime - removeSavings[k], Math.max( newLoad, minDrone == maxDrone ? secondMaxLoad : droneLoads[maxDrone] ) );
+			long total = currentTotal - removeSavings[k] + roundTripTimes[i];
+			if( isBetter( makespan, total, bestMakespan, bestTotal ) ){
+				bestMakespan = makespan;
+				bestTotal = total;
+				bestType = 0;
+				bestTruckPosition = k;
+				bestDrone = minDrone;
+			}
+		}
+
+		for( int v = 0; v < droneFleetSize; v++ ){
+			long otherMaxLoad = v == maxDrone ? secondMaxLoad : droneLoads[maxDrone];
+			for( int d = 0; d < droneCustomers.get( v ).size(); d++ ){
+				int j = droneCustomers.get( v ).get( d );
+				//the three best insertion positions, so the best one without the edges of a removed truck customer is known
+				long[] insertCosts = { Long.MAX_VALUE, Long.MAX_VALUE, Long.MAX_VALUE };
+				int[] insertPositions = { -1, -1, -1 };
+				for( int k = 0; k < size; k++ ){
+					long insertCost = truckTimes.getUndirected( truckTour.get( k ), j ) + truckTimes.getUndirected( j, truckTour.get( ( k + 1 ) % size ) )
+									- truckTimes.getUndirected( truckTour.get( k ), truckTour.get( ( k + 1 ) % size ) );
+					for( int b = 0; b < 3; b++ ){
+						if( insertCost < insertCosts[b] ){
+							for( int c = 2; c > b; c-- ){
+								insertCosts[c] = insertCosts[c - 1];
+								insertPositions[c] = insertPositions[c - 1];
+							}
+							insertCosts[b] = insertCost;
+							insertPositions[b] = k;
+							break;
+						}
+					}
+				}
+
+				//drone customer to the truck
+				long makespan = Math.max( truckTime + insertCosts[0], Math.max( droneLoads[v] - roundTripTimes[j], otherMaxLoad ) );
+				long total = currentTotal + insertCosts[0] - roundTripTimes[j];
+				if( isBetter( makespan, total, bestMakespan, bestTotal ) ){
+					bestMakespan = makespan;
+					bestTotal = total;
+					bestType = 1;
+					bestDrone = v;
+					bestDronePosition = d;
+					bestInsertPosition = insertPositions[0];
+				}
+
+				//swap of the drone customer with a truck customer, which is served by the same drone instead
+				for( int k = 1; k < size; k++ ){
+					int i = truckTour.get( k );
+					if( roundTripTimes[i] < 0 ){
+						continue;
+					}
+					//the edges ( k - 1, k ) and ( k, k + 1 ) are removed, ( k - 1, k + 1 ) is a new insertion position
+					int prev = truckTour.get( k - 1 );
+					int next = truckTour.get( ( k + 1 ) % size );
+					long insertCost = truckTimes.getUndirected( prev, j ) + truckTimes.getUndirected( j, next ) - truckTimes.getUndirected( prev, next );
+					int insertPosition = k - 1;
+					for( int b = 0; b < 3; b++ ){
+						if( insertPositions[b] >= 0 && insertPositions[b] != k - 1 && insertPositions[b] != k && insertCosts[b] < insertCost ){
+							insertCost = insertCosts[b];
+							insertPosition = insertPositions[b];
+							break;
+						}
+					}
+					long newTruckTime = truckTime - removeSavings[k] + insertCost;
+					makespan = Math.max( newTruckTime, Math.max( droneLoads[v] - roundTripTimes[j] + roundTripTimes[i], otherMaxLoad ) );
+					total = currentTotal - removeSavings[k] + insertCost - roundTripTimes[j] + roundTripTimes[i];
+					if( isBetter( makespan, total, bestMakespan, bestTotal ) ){
+						bestMakespan = makespan;
+						bestTotal = total;
+						bestType = 2;
+						bestTruckPosition = k;
+						bestDrone = v;
+						bestDronePosition = d;
+						bestInsertPosition = insertPosition;
+					}
+				}
+			}
+		}
+
+		switch( bestType ){
+			case 0:
+				moveToDrone( bestTruckPosition, bestDrone );
+				return true;
+			case 1:
+				moveToTruck( bestDrone, bestDronePosition, bestInsertPosition );
+				return true;
+			case 2:{
+				//the insertion position is before the removed customer or the edge of its predecessor, so it is not shifted by the removal
+				int j = droneCustomers.get( bestDrone ).get( bestDronePosition );
+				int i = truckTour.get( bestTruckPosition );
+				moveToDrone( bestTruckPosition, bestDrone );
+				moveToTruck( bestDrone, droneCustomers.get( bestDrone ).indexOf( j ), bestInsertPosition < bestTruckPosition ? bestInsertPosition
+								: bestInsertPosition - 1 );
+				log.debug( "Swapped truck customer " + i + " and drone customer " + j + "." );
+				return true;
+			}
+			default:
+				return false;
+		}
+	}
+
+	private static boolean isBetter( long makespan, long total, long bestMakespan, long bestTotal ){
+		return makespan < bestMakespan || ( makespan == bestMakespan && total < bestTotal );
+	}
+
+	private void moveToDrone( int truckPosition, int drone ){
+		int i = truckTour.get( truckPosition );
+		int size = truckTour.size();
+		truckTime -= truckTimes.getUndirected( truckTour.get( truckPosition - 1 ), i ) + truckTimes.getUndirected( i, truckTour.get( ( truckPosition + 1 ) % size ) )
+						- truckTimes.getUndirected( truckTour.get( truckPosition - 1 ), truckTour.get( ( truckPosition + 1 ) % size ) );
+		truckTour.remove( truckPosition );
+		droneCustomers.get( drone ).add( i );
+		droneLoads[drone] += roundTripTimes[i];
+	}
+
+	//the customer is inserted after the given position of the truck tour
+	private void moveToTruck( int drone, int dronePosition, int insertPosition ){
+		int j = droneCustomers.get( drone ).remove( dronePosition );
+		droneLoads[drone] -= roundTripTimes[j];
+		int size = truckTour.size();
+		int prev = truckTour.get( insertPosition );
+		int next = truckTour.get( ( insertPosition + 1 ) % size );
+		truckTime += truckTimes.getUndirected( prev, j ) + truckTimes.getUndirected( j, next ) - truckTimes.getUndirected( prev, next );
+		truckTour.add( insertPosition + 1, j );
+	}
+
+	//lin-kernighan without restarts on the distances of the truck customers
+	private void improveTruckTour(){
+		int size = truckTour.size();
+		if( size < 5 ){
+			return;
+		}
+		DistanceMatrix truckCustomerTimes = new DistanceMatrix( size, true );
+		for( int k = 0; k < size; k++ ){
+			for( int l = k + 1; l < size; l++ ){
+				truckCustomerTimes.set( k, l, truckTimes.getUndirected( truckTour.get( k ), truckTour.get( l ) ) );
+			}
+		}
+		int[] tour = new int[size];
+		for( int k = 0; k < size; k++ ){
+			tour[k] = k;
+		}
+		HeuristicTour heuristicTour = new LinKernighanTsp( truckCustomerTimes ).improveTour( tour, SEED, 0.0 );
+		ArrayList<Integer> improvedTruckTour = new ArrayList<>( size );
+		for( int k : heuristicTour.getTourArray() ){
+			improvedTruckTour.add( truckTour.get( k ) );
+		}
+		truckTour = improvedTruckTour;
+		truckTime = heuristicTour.getLength();
+	}
+
+	//the better schedule of lpt and multifit
+	private void scheduleDroneCustomers(){
+		ArrayList<Integer> customers = new ArrayList<>();
+		for( ArrayList<Integer> customersOfDrone : droneCustomers ){
+			customers.addAll( customersOfDrone );
+		}
+		//the longest round trips first
+		customers.sort( ( a, b ) -> Integer.compare( roundTripTimes[b], roundTripTimes[a] ) );
+
+		long sum = 0;
+		long max = 0;
+		for( int i : customers ){
+			sum += roundTripTimes[i];
+			max = Math.max( max, roundTripTimes[i] );
+		}
+
+		//lpt: each customer is served by the drone with the lowest load
+		droneCustomers = createEmptyDroneCustomers();
+		droneLoads = new long[droneFleetSize];
+		for( int i : customers ){
+			int minDrone = 0;
+			for( int v = 1; v < droneFleetSize; v++ ){
+				if( droneLoads[v] < droneLoads[minDrone] ){
+					minDrone = v;
+				}
+			}
+			droneCustomers.get( minDrone ).add( i );
+			droneLoads[minDrone] += roundTripTimes[i];
+		}
+
+		//multifit: binary search of the smallest capacity, for which first fit decreasing finds a schedule
+		long lowerCapacity = Math.max( ( sum + droneFleetSize - 1 ) / droneFleetSize, max );
+		long upperCapacity = calculateMaxDroneLoad() - 1;
+		for( int iteration = 0; iteration < MULTIFIT_ITERATIONS && lowerCapacity <= upperCapacity; iteration++ ){
+			long capacity = ( lowerCapacity + upperCapacity ) / 2;
+			ArrayList<ArrayList<Integer>> firstFitCustomers = createEmptyDroneCustomers();
+			long[] firstFitLoads = new long[droneFleetSize];
+			boolean isScheduled = true;
+			for( int i : customers ){
+				int v = 0;
+				while( v < droneFleetSize && firstFitLoads[v] + roundTripTimes[i] > capacity ){
+					v++;
+				}
+				if( v == droneFleetSize ){
+					isScheduled = false;
+					break;
+				}
+				firstFitCustomers.get( v ).add( i );
+				firstFitLoads[v] += roundTripTimes[i];
+			}
+			if( isScheduled ){
+				droneCustomers = firstFitCustomers;
+				droneLoads = firstFitLoads;
+				upperCapacity = capacity - 1;
+			} else {
+				lowerCapacity = capacity + 1;
+			}
+		}
+	}
+
+	private ArrayList<ArrayList<Integer>> createEmptyDroneCustomers(){
+		ArrayList<ArrayList<Integer>> emptyDroneCustomers = new ArrayList<>( droneFleetSize );
+		for( int v = 0; v < droneFleetSize; v++ ){
+			emptyDroneCustomers.add( new ArrayList<>() );
+		}
+		return emptyDroneCustomers;
+	}
+
+	private long calculateMaxDroneLoad(){
+		long maxLoad = 0;
+		for( long droneLoad : droneLoads ){
+			maxLoad = Math.max( maxLoad, droneLoad );
+		}
+		return maxLoad;
+	}
+
+	private long calculateMakespan(){
+		return Math.max( truckTime, calculateMaxDroneLoad() );
+	}
+
+	private long calculateTotalTime(){
+		long total = truckTime;
+		for( long droneLoad : droneLoads ){
+			total += droneLoad;
+		}
+		return total;
+	}
+
+	private long calculateTruckTime( ArrayList<Integer> tour ){
+		long time = 0;
+		for( int k = 0; k < tour.size(); k++ ){
+			time += truckTimes.getUndirected( tour.get( k ), tour.get( ( k + 1 ) % tour.size() ) );
+		}
+		return time;
+	}
+}
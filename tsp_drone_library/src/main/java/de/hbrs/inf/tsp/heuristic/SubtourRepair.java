@@ -0,0 +1,105 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+
+import java.util.ArrayList;
+import java.util.List;
+
+//repairs integer solutions of the callback with subtours: the nodes of the other subtours are inserted into the subtour of the depot
+//by cheapest insertion and the merged tour is improved by a few 2-opt passes, so the repair is fast enough for each MIPSOL callback
+public class SubtourRepair{
+
+	private static final int MAX_TWO_OPT_PASSES = 3;
+
+	private final DistanceMatrix distances;
+
+	public SubtourRepair( DistanceMatrix distances ){
+		this.distances = distances;
+	}
+
+	//the repaired tour starts at the depot and contains all nodes of the subtours
+	public ArrayList<Integer> repair( ArrayList<ArrayList<Integer>> subtours ){
+		ArrayList<Integer> tour = new ArrayList<>();
+		for( ArrayList<Integer> subtour : subtours ){
+			if( subtour.contains( 0 ) ){
+				int depotIndex = subtour.indexOf( 0 );
+				tour.addAll( subtour.subList( depotIndex, subtour.size() ) );
+				tour.addAll( subtour.subList( 0, depotIndex ) );
+			}
+		}
+		if( tour.isEmpty() ){
+			tour.add( 0 );
+		}
+		for( ArrayList<Integer> subtour : subtours ){
+			if( !subtour.contains( 0 ) ){
+				for( int node : subtour ){
+					insertCheapest( tour, node );
+				}
+			}
+		}
+		improveTwoOpt( tour );
+		return tour;
+	}
+
+	//inserts the node after the position with the smallest detour, the depot stays at the first position
+	public void insertCheapest( ArrayList<Integer> tour, int node ){
+		int bestPosition = 0;
+		long bestDetour = Long.MAX_VALUE;
+		for( int k = 0; k < tour.size(); k++ ){
+			int prev = tour.get( k );
+			int next = tour.get( ( k + 1 ) % tour.size() );
+			long detour = (long)distances.getUndirected( prev, node ) + distances.getUndirected( node, next ) - distances.getUndirected( prev, next );
+			if( detour < bestDetour ){
+				bestDetour = detour;
+				bestPosition = k;
+			}
+		}
+		tour.add( bestPosition + 1, node );
+	}
+
+	//first improvement 2-opt, the reversed segments never contain the first position, so the tour still starts at the depot
+	private void improveTwoOpt( ArrayList<Integer> tour ){
+		int size = tour.size();
+		if( size < 4 ){
+			return;
+		}
+		int[] nodes = new int[size];
+		for( int k = 0; k < size; k++ ){
+			nodes[k] = tour.get( k );
+		}
+		boolean isImproved = true;
+		for( int pass = 0; pass < MAX_TWO_OPT_PASSES && isImproved; pass++ ){
+			isImproved = false;
+			for( int i = 0; i < size - 2; i++ ){
+				for( int j = i + 2; j < size; j++ ){
+					int a = nodes[i];
+					int b = nodes[i + 1];
+					int c = nodes[j];
+					int d = nodes[( j + 1 ) % size];
+					if( a == d ){
+						continue;
+					}
+					if( distances.getUndirected( a, c ) + distances.getUndirected( b, d ) < distances.getUndirected( a, b ) + distances.getUndirected( c, d ) ){
+						for( int l = i + 1, r = j; l < r; l++, r-- ){
+							int tmp = nodes[l];
+							nodes[l] = nodes[r];
+							nodes[r] = tmp;
+						}
+						isImproved = true;
+					}
+				}
+			}
+		}
+		for( int k = 0; k < size; k++ ){
+			tour.set( k, nodes[k] );
+		}
+	}
+
+	public long calculateLength( List<Integer> tour ){
+		long length = 0;
+		for( int k = 0; k < tour.size(); k++ ){
+			length += distances.getUndirected( tour.get( k ), tour.get( ( k + 1 ) % tour.size() ) );
+		}
+		return length;
+	}
+}
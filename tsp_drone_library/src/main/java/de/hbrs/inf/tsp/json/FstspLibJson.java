@@ -56,17 +56,21 @@ public class FstspLibJson extends TspLibJson{
 		toString += "Edge Weight Type: " + getEdge_weight_type() + "\n";
 		toString += "Edge Weight Format: " + getEdge_weight_format() + "\n";
 		toString += "Display Data Type: " + getDisplay_data_type() + "\n";
-		toString += "Node Coordinates: \n";
-		int i = 0;
-		for( double[] nodeCoordinates : getNode_coordinates() ){
-			toString += "\t" + i++ + ": [ " + nodeCoordinates[0] + ", " + nodeCoordinates[1] + " ]\n";
+		if( getNode_coordinates() != null ){
+			toString += "Node Coordinates: \n";
+			int i = 0;
+			for( double[] nodeCoordinates : getNode_coordinates() ){
+				toString += "\t" + i++ + ": [ " + nodeCoordinates[0] + ", " + nodeCoordinates[1] + " ]\n";
+			}
 		}
-		toString += "Drone Delivery Possible: [ ";
+		if( drone_delivery_possible != null ){
+			toString += "Drone Delivery Possible: [ ";
 
-		for( int index : drone_delivery_possible ){
-			toString += index + ", ";
+			for( int index : drone_delivery_possible ){
+				toString += index + ", ";
+			}
+			toString = toString.substring( 0, toString.length() - 2 ) + " ]";
 		}
-		toString = toString.substring( 0, toString.length() - 2 ) + " ]";
 
 		return toString;
 	}
@@ -1,8 +1,7 @@
 package de.hbrs.inf.tsp.json;
 
-import com.google.gson.Gson;
-import com.google.gson.stream.JsonReader;
 import de.hbrs.inf.tsp.*;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
 import org.apache.log4j.Logger;
 
 import java.io.FileNotFoundException;
@@ -13,29 +12,20 @@ public class JsonTspMapper{
 	private static final Logger log = Logger.getLogger( JsonTspMapper.class.getName() );
 
 	public static TspLibJson getJsonObjectFromJson( String fileName ){
-		TspLibJson tspLibJson;
-		try{
-			Gson gson = new Gson();
-			JsonReader reader = new JsonReader( new FileReader( fileName ) );
-			tspLibJson = gson.fromJson( reader, TspLibJson.class );
-			log.debug( "TspLibJson successfully read: \n" + tspLibJson );
+		if( fileName.endsWith( TspLibBinary.FILE_EXTENSION ) ){
+			return TspLibBinary.read( fileName );
+		}
 
-			String tspType = tspLibJson.getType().toUpperCase();
-			log.info( "TSP Type: " + tspType );
-
-			switch(tspType){
-				case Defines.TSP:
-					return tspLibJson;
-				case Defines.PDSTSP:
-					reader = new JsonReader( new FileReader( fileName ) );
-					return gson.fromJson( reader, PdstspLibJson.class );
-				case Defines.FSTSP:
-					reader = new JsonReader( new FileReader( fileName ) );
-					return gson.fromJson( reader, FstspLibJson.class );
-				default:
-					log.info( "TSP Type '" + tspType + "' not supported yet." );
-					return null;
+		TspLibJson tspLibJson;
+		try( FileReader reader = new FileReader( fileName ) ){
+			//the file is read only once, the type decides which object is created
+			tspLibJson = TspLibJsonReader.read( reader );
+			if( tspLibJson == null ){
+				return null;
 			}
+			log.debug( "TspLibJson successfully read: \n" + tspLibJson );
+			log.info( "TSP Type: " + tspLibJson.getType().toUpperCase() );
+			return tspLibJson;
 		} catch(FileNotFoundException e){
 			log.error( "File not found '" + fileName + "'." );
 			return null;
@@ -56,22 +46,11 @@ public class JsonTspMapper{
 			log.info( "Could not calculate nodes." );
 			return null;
 		}
-		log.info( "Calculate distances with edge_weight_type '" + tspLibJson.getEdge_weight_type() + "'." );
-		int[][] distances = TspModel.calculateTravelDistances( tspLibJson.getNode_coordinates(), tspLibJson.getEdge_weights(),
-						tspLibJson.getDimension(), tspLibJson.getEdge_weight_type(), tspLibJson.getEdge_weight_format() );
+		DistanceMatrix distances = getDistances( tspLibJson );
 		if( distances == null ){
-			log.info( "Could not calculate distances." );
 			return null;
 		}
 
-		//TODO TESTING increasing distances by factor 100
-		for( int i = 0; i < tspLibJson.getDimension(); i++ ){
-			for( int j = 0; j < tspLibJson.getDimension(); j++ ){
-				distances[i][j] *= 100;
-			}
-		}
-		//TODO TESTING increasing distances by factor 100
-
 		String tspType = tspLibJson.getType().toUpperCase();
 		log.info( "TSP Type: " + tspType );
 
@@ -94,8 +73,8 @@ public class JsonTspMapper{
 				if( droneFlightRangePercentage > 0 ) {
 					double maxDistance = -1;
 					for( int i = 1; i < tspLibJson.getDimension(); i++ ) {
-						if( distances[0][i] > maxDistance ) {
-							maxDistance = distances[0][i];
+						if( distances.get( 0, i ) > maxDistance ) {
+							maxDistance = distances.get( 0, i );
 						}
 					}
 					log.info( "MaxDistance: " + maxDistance );
@@ -122,10 +101,10 @@ public class JsonTspMapper{
 				double droneFlightTime = pdstspLibJson.getDrone_flight_range() / pdstspLibJson.getDrone_speed();
 				log.debug( "Drone Flight Time: " + droneFlightTime );
 				log.info( "Calculate droneTimes with speed '" + pdstspLibJson.getDrone_speed() + "'." );
-				int[][] droneTimes = TspModel.calculateTravelTimes( pdstspLibJson.getDrone_speed(), distances );
+				DistanceMatrix droneTimes = TspModel.calculateTravelTimes( pdstspLibJson.getDrone_speed(), distances );
 
 				log.info( "Calculate truckTimes with speed '" + pdstspLibJson.getTruck_speed() + "'." );
-				int[][] truckTimes = TspModel.calculateTravelTimes( pdstspLibJson.getTruck_speed(), distances );
+				DistanceMatrix truckTimes = TspModel.calculateTravelTimes( pdstspLibJson.getTruck_speed(), distances );
 
 				//convert PdstspLibJson to Pdstsp object
 				tspModel = new Pdstsp( pdstspLibJson.getName(), pdstspLibJson.getComment(), tspType, pdstspLibJson.getDimension(), nodes,
@@ -142,8 +121,8 @@ public class JsonTspMapper{
 				if( droneFlightRangePercentage > 0 ){
 					double maxDistance = -1;
 					for( int i = 1; i < tspLibJson.getDimension(); i++ ){
-						if( distances[0][i] > maxDistance ){
-							maxDistance = distances[0][i];
+						if( distances.get( 0, i ) > maxDistance ){
+							maxDistance = distances.get( 0, i );
 						}
 					}
 					log.info( "MaxDistance: " + maxDistance );
@@ -169,10 +148,10 @@ public class JsonTspMapper{
 				double droneFlightTime2 = fstspLibJson.getDrone_flight_range() / fstspLibJson.getDrone_speed();
 				log.debug( "Drone Flight Time: " + droneFlightTime2 );
 				log.info( "Calculate droneTimes with speed '" + fstspLibJson.getDrone_speed() + "'." );
-				int[][] droneTimes2 = TspModel.calculateTravelTimes( fstspLibJson.getDrone_speed(), distances );
+				DistanceMatrix droneTimes2 = TspModel.calculateTravelTimes( fstspLibJson.getDrone_speed(), distances );
 
 				log.info( "Calculate truckTimes with speed '" + fstspLibJson.getTruck_speed() + "'." );
-				int[][] truckTimes2 = TspModel.calculateTravelTimes( fstspLibJson.getTruck_speed(), distances );
+				DistanceMatrix truckTimes2 = TspModel.calculateTravelTimes( fstspLibJson.getTruck_speed(), distances );
 
 				//convert fstspLibJson to Fdstsp object
 				tspModel = new Fstsp( fstspLibJson.getName(), fstspLibJson.getComment(), tspType, fstspLibJson.getDimension(), nodes, distances,
@@ -185,10 +164,31 @@ public class JsonTspMapper{
 				return null;
 		}
 
+		tspModel.setEdgeWeightType( tspLibJson.getEdge_weight_type() );
+
 		log.info( "Created Tsp model from JSON file." );
 		log.debug( "Tsp Model to String:" );
 		log.debug( tspModel );
 		return tspModel;
 	}
 
+	//the distances only depend on the json object, so they are calculated once for all parameter combinations
+	public static DistanceMatrix getDistances( TspLibJson tspLibJson ){
+		DistanceMatrix distances = tspLibJson.getDistances();
+		if( distances == null ){
+			log.info( "Calculate distances with edge_weight_type '" + tspLibJson.getEdge_weight_type() + "'." );
+			distances = TspModel.calculateTravelDistances( tspLibJson.getNode_coordinates(), tspLibJson.getEdge_weights(),
+							tspLibJson.getDimension(), tspLibJson.getEdge_weight_type(), tspLibJson.getEdge_weight_format() );
+			if( distances == null ){
+				log.info( "Could not calculate distances." );
+				return null;
+			}
+
+			distances = distances.scale( Defines.DISTANCE_SCALE_FACTOR );
+
+			tspLibJson.setDistances( distances );
+		}
+		return distances;
+	}
+
 }
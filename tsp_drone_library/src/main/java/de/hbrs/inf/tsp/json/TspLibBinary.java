@@ -0,0 +1,214 @@
+package de.hbrs.inf.tsp.json;
+
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+//binary instance file with the precomputed distances, all numbers are little endian
+//header: magic, version, type, name, comment, edge_weight_type, edge_weight_format, display_data_type (int length + utf-8, -1 for null),
+//        dimension, truck_speed, drone_speed, drone_flight_range, drone_fleet_size,
+//        node_coordinates count, display_data count, drone_delivery_possible count (-1 for null),
+//        distances isSymmetric, distances scale, distances value count, padding to 8 bytes
+//data:   node_coordinates (2 doubles per node), display_data (2 doubles per node), drone_delivery_possible (ints), distances (ints)
+public class TspLibBinary{
+
+	public static final String FILE_EXTENSION = ".tspb";
+	//"TSPB" in little endian
+	private static final int MAGIC = 0x42505354;
+	private static final int VERSION = 1;
+
+	private static final Logger log = Logger.getLogger( TspLibBinary.class.getName() );
+
+	public static boolean write( TspLibJson tspLibJson, DistanceMatrix distances, String fileName ){
+		double truckSpeed = 1;
+		double droneSpeed = 1;
+		int droneFlightRange = 0;
+		int droneFleetSize = 0;
+		int[] droneDeliveryPossible = null;
+		if( tspLibJson instanceof PdstspLibJson ){
+			PdstspLibJson pdstspLibJson = (PdstspLibJson)tspLibJson;
+			truckSpeed = pdstspLibJson.getTruck_speed();
+			droneSpeed = pdstspLibJson.getDrone_speed();
+			droneFlightRange = pdstspLibJson.getDrone_flight_range();
+			droneFleetSize = pdstspLibJson.getDrone_fleet_size();
+			droneDeliveryPossible = pdstspLibJson.getDrone_delivery_possible();
+		} else if( tspLibJson instanceof FstspLibJson ){
+			FstspLibJson fstspLibJson = (FstspLibJson)tspLibJson;
+			truckSpeed = fstspLibJson.getTruck_speed();
+			droneSpeed = fstspLibJson.getDrone_speed();
+			droneFlightRange = fstspLibJson.getDrone_flight_range();
+			droneDeliveryPossible = fstspLibJson.getDrone_delivery_possible();
+		}
+
+		byte[][] strings = { toBytes( tspLibJson.getType() ), toBytes( tspLibJson.getName() ), toBytes( tspLibJson.getComment() ),
+						toBytes( tspLibJson.getEdge_weight_type() ), toBytes( tspLibJson.getEdge_weight_format() ),
+						toBytes( tspLibJson.getDisplay_data_type() ) };
+		long headerSize = 8 + 4 + 16 + 8 + 12 + 12;
+		for( byte[] string : strings ){
+			headerSize += 4 + ( string == null ? 0 : string.length );
+		}
+		headerSize = ( headerSize + 7 ) / 8 * 8;
+		long size = headerSize + 16L * length( tspLibJson.getNode_coordinates() ) + 16L * length( tspLibJson.getDisplay_data() )
+						+ 4L * ( droneDeliveryPossible == null ? 0 : droneDeliveryPossible.length ) + 4L * distances.getValueCount();
+
+		try( FileChannel channel = FileChannel.open( Paths.get( fileName ), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+						StandardOpenOption.READ, StandardOpenOption.WRITE ) ){
+			MappedByteBuffer buffer = channel.map( FileChannel.MapMode.READ_WRITE, 0, size );
+			buffer.order( ByteOrder.LITTLE_ENDIAN );
+			buffer.putInt( MAGIC );
+			buffer.putInt( VERSION );
+			for( byte[] string : strings ){
+				buffer.putInt( string == null ? -1 : string.length );
+				if( string != null ){
+					buffer.put( string );
+				}
+			}
+			buffer.putInt( tspLibJson.getDimension() );
+			buffer.putDouble( truckSpeed );
+			buffer.putDouble( droneSpeed );
+			buffer.putInt( droneFlightRange );
+			buffer.putInt( droneFleetSize );
+			buffer.putInt( tspLibJson.getNode_coordinates() == null ? -1 : tspLibJson.getNode_coordinates().length );
+			buffer.putInt( tspLibJson.getDisplay_data() == null ? -1 : tspLibJson.getDisplay_data().length );
+			buffer.putInt( droneDeliveryPossible == null ? -1 : droneDeliveryPossible.length );
+			buffer.putInt( distances.isSymmetric() ? 1 : 0 );
+			buffer.putInt( distances.getScale() );
+			buffer.putInt( distances.getValueCount() );
+			buffer.position( (int)headerSize );
+
+			putCoordinates( buffer, tspLibJson.getNode_coordinates() );
+			putCoordinates( buffer, tspLibJson.getDisplay_data() );
+			if( droneDeliveryPossible != null ){
+				for( int customer : droneDeliveryPossible ){
+					buffer.putInt( customer );
+				}
+			}
+			IntBuffer values = buffer.slice().order( ByteOrder.LITTLE_ENDIAN ).asIntBuffer();
+			for( int k = 0; k < distances.getValueCount(); k++ ){
+				values.put( distances.getStoredValue( k ) );
+			}
+			buffer.force();
+			log.info( "Binary instance file '" + fileName + "' written (" + size + " bytes)." );
+			return true;
+		} catch( IOException e ){
+			log.error( "Could not write binary instance file '" + fileName + "'! Error message: " + e.getMessage() );
+			return false;
+		}
+	}
+
+	//the distances of the returned object use the mapped file directly
+	public static TspLibJson read( String fileName ){
+		try( FileChannel channel = FileChannel.open( Paths.get( fileName ), StandardOpenOption.READ ) ){
+			//the mapping stays valid after the channel is closed
+			MappedByteBuffer buffer = channel.map( FileChannel.MapMode.READ_ONLY, 0, channel.size() );
+			buffer.order( ByteOrder.LITTLE_ENDIAN );
+			if( buffer.getInt() != MAGIC ){
+				log.error( "File '" + fileName + "' is no binary instance file." );
+				return null;
+			}
+			int version = buffer.getInt();
+			if( version != VERSION ){
+				log.error( "Version " + version + " of binary instance file '" + fileName + "' not supported." );
+				return null;
+			}
+			String type = getString( buffer );
+			String name = getString( buffer );
+			String comment = getString( buffer );
+			String edgeWeightType = getString( buffer );
+			String edgeWeightFormat = getString( buffer );
+			String displayDataType = getString( buffer );
+			int dimension = buffer.getInt();
+			double truckSpeed = buffer.getDouble();
+			double droneSpeed = buffer.getDouble();
+			int droneFlightRange = buffer.getInt();
+			int droneFleetSize = buffer.getInt();
+			int nodeCoordinatesCount = buffer.getInt();
+			int displayDataCount = buffer.getInt();
+			int droneDeliveryPossibleCount = buffer.getInt();
+			boolean isSymmetric = buffer.getInt() == 1;
+			int scale = buffer.getInt();
+			int valueCount = buffer.getInt();
+			buffer.position( ( buffer.position() + 7 ) / 8 * 8 );
+
+			double[][] nodeCoordinates = getCoordinates( buffer, nodeCoordinatesCount );
+			double[][] displayData = getCoordinates( buffer, displayDataCount );
+			int[] droneDeliveryPossible = null;
+			if( droneDeliveryPossibleCount >= 0 ){
+				droneDeliveryPossible = new int[droneDeliveryPossibleCount];
+				for( int k = 0; k < droneDeliveryPossibleCount; k++ ){
+					droneDeliveryPossible[k] = buffer.getInt();
+				}
+			}
+			IntBuffer values = buffer.slice().order( ByteOrder.LITTLE_ENDIAN ).asIntBuffer();
+			values.limit( valueCount );
+
+			TspLibJson tspLibJson = TspLibJsonReader.createTspLibJson( type, truckSpeed, droneFlightRange, droneFleetSize, droneSpeed,
+							droneDeliveryPossible );
+			if( tspLibJson == null ){
+				return null;
+			}
+			tspLibJson.setName( name );
+			tspLibJson.setComment( comment );
+			tspLibJson.setDimension( dimension );
+			tspLibJson.setEdge_weight_type( edgeWeightType );
+			tspLibJson.setEdge_weight_format( edgeWeightFormat );
+			tspLibJson.setDisplay_data_type( displayDataType );
+			tspLibJson.setNode_coordinates( nodeCoordinates );
+			tspLibJson.setDisplay_data( displayData );
+			tspLibJson.setDistances( DistanceMatrix.fromBuffer( dimension, isSymmetric, values, scale ) );
+			log.info( "Binary instance file '" + fileName + "' mapped (TSP Type: " + type.toUpperCase() + ")." );
+			return tspLibJson;
+		} catch( IOException | RuntimeException e ){
+			log.error( "Could not read binary instance file '" + fileName + "'! Error message: " + e.getMessage() );
+			return null;
+		}
+	}
+
+	private static byte[] toBytes( String string ){
+		return string == null ? null : string.getBytes( StandardCharsets.UTF_8 );
+	}
+
+	private static String getString( ByteBuffer buffer ){
+		int length = buffer.getInt();
+		if( length < 0 ){
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		buffer.get( bytes );
+		return new String( bytes, StandardCharsets.UTF_8 );
+	}
+
+	private static int length( double[][] coordinates ){
+		return coordinates == null ? 0 : coordinates.length;
+	}
+
+	private static void putCoordinates( ByteBuffer buffer, double[][] coordinates ){
+		if( coordinates != null ){
+			for( double[] coordinate : coordinates ){
+				buffer.putDouble( coordinate[0] );
+				buffer.putDouble( coordinate[1] );
+			}
+		}
+	}
+
+	private static double[][] getCoordinates( ByteBuffer buffer, int count ){
+		if( count < 0 ){
+			return null;
+		}
+		double[][] coordinates = new double[count][2];
+		for( double[] coordinate : coordinates ){
+			coordinate[0] = buffer.getDouble();
+			coordinate[1] = buffer.getDouble();
+		}
+		return coordinates;
+	}
+}
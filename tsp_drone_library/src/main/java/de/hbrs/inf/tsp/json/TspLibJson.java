@@ -1,6 +1,7 @@
 package de.hbrs.inf.tsp.json;
 
 import com.google.gson.annotations.SerializedName;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
 
 public class TspLibJson{
 
@@ -24,6 +25,7 @@ public class TspLibJson{
 	private double[][] node_coordinates;
 	@SerializedName(value = "display_data", alternate = {"Display_Data", "DISPLAY_DATA"})
 	private double[][] display_data;
+	private transient DistanceMatrix distances;
 
 	public String getName(){
 		return name;
@@ -105,6 +107,14 @@ public class TspLibJson{
 		this.display_data = display_data;
 	}
 
+	public DistanceMatrix getDistances(){
+		return distances;
+	}
+
+	public void setDistances( DistanceMatrix distances ){
+		this.distances = distances;
+	}
+
 	public String toString() {
 
 		String toString;
@@ -0,0 +1,232 @@
+package de.hbrs.inf.tsp.json;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import de.hbrs.inf.tsp.Defines;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+//reads a TSPLIB json file in a single pass, the arrays are parsed directly into primitive arrays
+public class TspLibJsonReader{
+
+	private static final Logger log = Logger.getLogger( TspLibJsonReader.class.getName() );
+
+	//values of all supported tsp types, the type is only known after the "type" field has been read
+	private String name;
+	private String type;
+	private String comment;
+	private int dimension;
+	private String edgeWeightType;
+	private String edgeWeightFormat;
+	private int[][] edgeWeights;
+	private String displayDataType;
+	private double[][] nodeCoordinates;
+	private double[][] displayData;
+	private double truckSpeed = 1;
+	private int droneFlightRange;
+	private int droneFleetSize;
+	private double droneSpeed = 1;
+	private int[] droneDeliveryPossible;
+
+	private TspLibJsonReader(){
+	}
+
+	//returns null if the tsp type is not supported
+	public static TspLibJson read( Reader reader ) throws IOException{
+		TspLibJsonReader tspLibJsonReader = new TspLibJsonReader();
+		try( JsonReader jsonReader = new JsonReader( reader ) ){
+			tspLibJsonReader.readObject( jsonReader );
+		}
+		return tspLibJsonReader.createTspLibJson();
+	}
+
+	private void readObject( JsonReader reader ) throws IOException{
+		reader.beginObject();
+		while( reader.hasNext() ){
+			String fieldName = reader.nextName();
+			//the field names are accepted in lower case, capitalized and upper case like the gson SerializedName alternates
+			switch( fieldName.toLowerCase() ){
+				case "name":
+					name = readString( reader );
+					break;
+				case "type":
+					type = readString( reader );
+					break;
+				case "comment":
+					comment = readString( reader );
+					break;
+				case "dimension":
+					dimension = reader.nextInt();
+					break;
+				case "edge_weight_type":
+					edgeWeightType = readString( reader );
+					break;
+				case "edge_weight_format":
+					edgeWeightFormat = readString( reader );
+					break;
+				case "edge_weights":
+					edgeWeights = readIntMatrix( reader );
+					break;
+				case "display_data_type":
+					displayDataType = readString( reader );
+					break;
+				case "node_coordinates":
+					nodeCoordinates = readDoubleMatrix( reader );
+					break;
+				case "display_data":
+					displayData = readDoubleMatrix( reader );
+					break;
+				case "truck_speed":
+					truckSpeed = reader.nextDouble();
+					break;
+				case "drone_flight_range":
+					droneFlightRange = reader.nextInt();
+					break;
+				case "drone_fleet_size":
+					droneFleetSize = reader.nextInt();
+					break;
+				case "drone_speed":
+					droneSpeed = reader.nextDouble();
+					break;
+				case "drone_delivery_possible":
+					droneDeliveryPossible = readIntArray( reader );
+					break;
+				default:
+					log.debug( "Skip unknown field '" + fieldName + "'." );
+					reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	private TspLibJson createTspLibJson(){
+		TspLibJson tspLibJson = createTspLibJson( type, truckSpeed, droneFlightRange, droneFleetSize, droneSpeed, droneDeliveryPossible );
+		if( tspLibJson == null ){
+			return null;
+		}
+		tspLibJson.setName( name );
+		tspLibJson.setComment( comment );
+		tspLibJson.setDimension( dimension );
+		tspLibJson.setEdge_weight_type( edgeWeightType );
+		tspLibJson.setEdge_weight_format( edgeWeightFormat );
+		tspLibJson.setEdge_weights( edgeWeights );
+		tspLibJson.setDisplay_data_type( displayDataType );
+		tspLibJson.setNode_coordinates( nodeCoordinates );
+		tspLibJson.setDisplay_data( displayData );
+		return tspLibJson;
+	}
+
+	//creates the object for the given type with the drone values, returns null if the type is not supported
+	static TspLibJson createTspLibJson( String type, double truckSpeed, int droneFlightRange, int droneFleetSize, double droneSpeed,
+					int[] droneDeliveryPossible ){
+		if( type == null ){
+			log.error( "TSP Type is missing." );
+			return null;
+		}
+		TspLibJson tspLibJson;
+		switch( type.toUpperCase() ){
+			case Defines.TSP:
+				tspLibJson = new TspLibJson();
+				break;
+			case Defines.PDSTSP:
+				PdstspLibJson pdstspLibJson = new PdstspLibJson();
+				pdstspLibJson.setTruck_speed( truckSpeed );
+				pdstspLibJson.setDrone_flight_range( droneFlightRange );
+				pdstspLibJson.setDrone_fleet_size( droneFleetSize );
+				pdstspLibJson.setDrone_speed( droneSpeed );
+				pdstspLibJson.setDrone_delivery_possible( droneDeliveryPossible );
+				tspLibJson = pdstspLibJson;
+				break;
+			case Defines.FSTSP:
+				FstspLibJson fstspLibJson = new FstspLibJson();
+				fstspLibJson.setTruck_speed( truckSpeed );
+				fstspLibJson.setDrone_flight_range( droneFlightRange );
+				fstspLibJson.setDrone_speed( droneSpeed );
+				fstspLibJson.setDrone_delivery_possible( droneDeliveryPossible );
+				tspLibJson = fstspLibJson;
+				break;
+			default:
+				log.info( "TSP Type '" + type.toUpperCase() + "' not supported yet." );
+				return null;
+		}
+		tspLibJson.setType( type );
+		return tspLibJson;
+	}
+
+	private static String readString( JsonReader reader ) throws IOException{
+		if( reader.peek() == JsonToken.NULL ){
+			reader.nextNull();
+			return null;
+		}
+		return reader.nextString();
+	}
+
+	private static int[] readIntArray( JsonReader reader ) throws IOException{
+		if( reader.peek() == JsonToken.NULL ){
+			reader.nextNull();
+			return null;
+		}
+		int[] values = new int[16];
+		int size = 0;
+		reader.beginArray();
+		while( reader.hasNext() ){
+			if( size == values.length ){
+				values = Arrays.copyOf( values, size * 2 );
+			}
+			values[size++] = reader.nextInt();
+		}
+		reader.endArray();
+		return Arrays.copyOf( values, size );
+	}
+
+	private static double[] readDoubleArray( JsonReader reader ) throws IOException{
+		if( reader.peek() == JsonToken.NULL ){
+			reader.nextNull();
+			return null;
+		}
+		double[] values = new double[4];
+		int size = 0;
+		reader.beginArray();
+		while( reader.hasNext() ){
+			if( size == values.length ){
+				values = Arrays.copyOf( values, size * 2 );
+			}
+			values[size++] = reader.nextDouble();
+		}
+		reader.endArray();
+		return Arrays.copyOf( values, size );
+	}
+
+	//the rows may have different lengths (e.g. LOWER_DIAG_ROW)
+	private static int[][] readIntMatrix( JsonReader reader ) throws IOException{
+		if( reader.peek() == JsonToken.NULL ){
+			reader.nextNull();
+			return null;
+		}
+		ArrayList<int[]> rows = new ArrayList<>();
+		reader.beginArray();
+		while( reader.hasNext() ){
+			rows.add( readIntArray( reader ) );
+		}
+		reader.endArray();
+		return rows.toArray( new int[rows.size()][] );
+	}
+
+	private static double[][] readDoubleMatrix( JsonReader reader ) throws IOException{
+		if( reader.peek() == JsonToken.NULL ){
+			reader.nextNull();
+			return null;
+		}
+		ArrayList<double[]> rows = new ArrayList<>();
+		reader.beginArray();
+		while( reader.hasNext() ){
+			rows.add( readDoubleArray( reader ) );
+		}
+		reader.endArray();
+		return rows.toArray( new double[rows.size()][] );
+	}
+}
@@ -0,0 +1,63 @@
+package de.hbrs.inf.tsp.json;
+
+import com.google.gson.ExclusionStrategy;
+import com.google.gson.FieldAttributes;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.stream.JsonWriter;
+import de.hbrs.inf.tsp.TspModel;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+//streams the results of a tsp model to a json file without building the whole json string in memory
+public class TspModelJsonResultsWriter{
+
+	//matrices which can be derived from the distances and the parameters of the model are not written
+	private static final Set<String> DERIVABLE_FIELDS = new HashSet<>( Arrays.asList( "truckTimes", "droneTimes", "possibleDroneFlights" ) );
+
+	private static final Gson prettyGson = createGson( DERIVABLE_FIELDS, true );
+	private static final Gson compactGson = createGson( DERIVABLE_FIELDS, false );
+
+	//the distances of coordinate based instances can be calculated from the nodes, otherwise the results file grows quadratically
+	private static final Set<String> DERIVABLE_FIELDS_WITH_DISTANCES = new HashSet<>( Arrays.asList( "truckTimes", "droneTimes",
+					"possibleDroneFlights", "distances" ) );
+	private static final Gson prettyGsonWithoutDistances = createGson( DERIVABLE_FIELDS_WITH_DISTANCES, true );
+	private static final Gson compactGsonWithoutDistances = createGson( DERIVABLE_FIELDS_WITH_DISTANCES, false );
+
+	private static Gson createGson( Set<String> derivableFields, boolean isPrettyPrinting ){
+		GsonBuilder gsonBuilder = new GsonBuilder().setExclusionStrategies( new ExclusionStrategy(){
+			@Override
+			public boolean shouldSkipField( FieldAttributes fieldAttributes ){
+				return TspModel.class.isAssignableFrom( fieldAttributes.getDeclaringClass() ) && derivableFields.contains( fieldAttributes.getName() );
+			}
+
+			@Override
+			public boolean shouldSkipClass( Class<?> clazz ){
+				return false;
+			}
+		} );
+		if( isPrettyPrinting ){
+			gsonBuilder.setPrettyPrinting();
+		}
+		return gsonBuilder.create();
+	}
+
+	public static void write( TspModel tspModel, Path file, boolean isCompact ) throws IOException{
+		Gson gson;
+		if( tspModel.isDistancesDerivable() ){
+			gson = isCompact ? compactGsonWithoutDistances : prettyGsonWithoutDistances;
+		} else {
+			gson = isCompact ? compactGson : prettyGson;
+		}
+		try( Writer writer = Files.newBufferedWriter( file, StandardCharsets.UTF_8 ); JsonWriter jsonWriter = gson.newJsonWriter( writer ) ){
+			gson.toJson( tspModel, tspModel.getClass(), jsonWriter );
+		}
+	}
+}
@@ -11,8 +11,16 @@ public class Configuration{
 	private static String testDescription = "";
 	private static boolean allCustomersByDrones = false;
 	private static boolean lazyActive = true;
+	private static boolean userCutsActive = false;
 	private static boolean gurobiHeuristicsActive = true;
+	private static boolean namesActive = true;
 	private static Defines.PresolveHeuristicType presolveHeuristicType = Defines.PresolveHeuristicType.NONE;
+	private static Defines.TruckEdgeSparsificationType truckEdgeSparsificationType = Defines.TruckEdgeSparsificationType.NONE;
+	private static int candidateEdgesCount = 10;
+	private static double heuristicSeconds = -1.0;
+	private static boolean incumbentPolishingActive = false;
+	private static boolean solutionRepairActive = false;
+	private static Defines.BackendType backendType = Defines.BackendType.GUROBI;
 	private static double[] truckSpeeds = null;
 	private static double[] droneSpeeds = null;
 	private static int[] droneFleetSizes = null;
@@ -20,7 +28,10 @@ public class Configuration{
 	private static int maxOptimizationSeconds = -1;
 	private static String hostname = null;
 	private static int threadCount = 0;
+	private static int parallelJobs = 1;
+	private static int coreBudget = 0;
 	private static String heuristicValuesFile = null;
+	private static String presolveCacheDirectory = null;
 
 	public static void setSystemProperties() {
 		System.setProperty( "log4j.logLevel", logLevel );
@@ -115,6 +126,22 @@ public class Configuration{
 		Configuration.lazyActive = lazyActive;
 	}
 
+	public static boolean isUserCutsActive(){
+		return userCutsActive;
+	}
+
+	public static void setUserCutsActive( boolean userCutsActive ){
+		Configuration.userCutsActive = userCutsActive;
+	}
+
+	public static String getPresolveCacheDirectory(){
+		return presolveCacheDirectory;
+	}
+
+	public static void setPresolveCacheDirectory( String presolveCacheDirectory ){
+		Configuration.presolveCacheDirectory = presolveCacheDirectory;
+	}
+
 	public static String getHostname(){
 		return hostname;
 	}
@@ -131,6 +158,22 @@ public class Configuration{
 		Configuration.threadCount = threadCount;
 	}
 
+	public static int getParallelJobs(){
+		return parallelJobs;
+	}
+
+	public static void setParallelJobs( int parallelJobs ){
+		Configuration.parallelJobs = parallelJobs;
+	}
+
+	public static int getCoreBudget(){
+		return coreBudget;
+	}
+
+	public static void setCoreBudget( int coreBudget ){
+		Configuration.coreBudget = coreBudget;
+	}
+
 	public static String getHeuristicValuesFile(){
 		return heuristicValuesFile;
 	}
@@ -155,6 +198,14 @@ public class Configuration{
 		return presolveHeuristicType;
 	}
 
+	public static void setBackendType( Defines.BackendType backendType ){
+		Configuration.backendType = backendType;
+	}
+
+	public static Defines.BackendType getBackendType(){
+		return backendType;
+	}
+
 	public static void setGurobiHeuristicsActive( boolean gurobiHeuristicsActive ){
 		Configuration.gurobiHeuristicsActive = gurobiHeuristicsActive;
 	}
@@ -162,4 +213,52 @@ public class Configuration{
 	public static boolean isGurobiHeuristicsActive(){
 		return gurobiHeuristicsActive;
 	}
+
+	public static void setTruckEdgeSparsificationType( Defines.TruckEdgeSparsificationType truckEdgeSparsificationType ){
+		Configuration.truckEdgeSparsificationType = truckEdgeSparsificationType;
+	}
+
+	public static Defines.TruckEdgeSparsificationType getTruckEdgeSparsificationType(){
+		return truckEdgeSparsificationType;
+	}
+
+	public static void setCandidateEdgesCount( int candidateEdgesCount ){
+		Configuration.candidateEdgesCount = candidateEdgesCount;
+	}
+
+	public static int getCandidateEdgesCount(){
+		return candidateEdgesCount;
+	}
+
+	public static void setHeuristicSeconds( double heuristicSeconds ){
+		Configuration.heuristicSeconds = heuristicSeconds;
+	}
+
+	public static double getHeuristicSeconds(){
+		return heuristicSeconds;
+	}
+
+	public static void setIncumbentPolishingActive( boolean incumbentPolishingActive ){
+		Configuration.incumbentPolishingActive = incumbentPolishingActive;
+	}
+
+	public static boolean isIncumbentPolishingActive(){
+		return incumbentPolishingActive;
+	}
+
+	public static void setSolutionRepairActive( boolean solutionRepairActive ){
+		Configuration.solutionRepairActive = solutionRepairActive;
+	}
+
+	public static boolean isSolutionRepairActive(){
+		return solutionRepairActive;
+	}
+
+	public static void setNamesActive( boolean namesActive ){
+		Configuration.namesActive = namesActive;
+	}
+
+	public static boolean isNamesActive(){
+		return namesActive;
+	}
 }
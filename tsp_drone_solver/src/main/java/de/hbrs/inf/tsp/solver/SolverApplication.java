@@ -1,12 +1,13 @@
 package de.hbrs.inf.tsp.solver;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 import de.hbrs.inf.tsp.*;
-import de.hbrs.inf.tsp.csv.HeuristicValueReader;
-import de.hbrs.inf.tsp.csv.TspModelCsvResultsConverter;
+import de.hbrs.inf.tsp.csv.CsvResultsSink;
+import de.hbrs.inf.tsp.csv.HeuristicValueIndex;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
 import de.hbrs.inf.tsp.json.JsonTspMapper;
+import de.hbrs.inf.tsp.json.TspLibBinary;
 import de.hbrs.inf.tsp.json.TspLibJson;
+import de.hbrs.inf.tsp.json.TspModelJsonResultsWriter;
 import org.apache.commons.cli.*;
 import org.apache.log4j.Logger;
 
@@ -14,9 +15,6 @@ import java.io.File;
 import java.io.IOException;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -26,6 +24,8 @@ import java.util.List;
 public class SolverApplication{
 
 	private static Logger log;
+	private static final int CSV_RESULTS_MAX_BUFFERED_ROWS = 64;
+	private static final long CSV_RESULTS_FLUSH_INTERVAL_SECONDS = 30;
 
 	public static void main( String[] args ){
 
@@ -76,21 +76,89 @@ public class SolverApplication{
 			}
 		}
 
+		if( cmd.hasOption( "be" ) ){
+			try{
+				Configuration.setBackendType( Defines.BackendType.valueOf( cmd.getOptionValue( "be" ).toUpperCase() ) );
+			} catch( IllegalArgumentException e ){
+				log.info( "BackendType + '" + cmd.getOptionValue( "be" ) + "' not supported!" );
+				printHelp( options );
+				return;
+			}
+		}
+		log.info( "BackendType set to: " + Configuration.getBackendType().getType() );
+
+		if( cmd.hasOption( "se" ) ){
+			try{
+				Configuration.setTruckEdgeSparsificationType( Defines.TruckEdgeSparsificationType.valueOf( cmd.getOptionValue( "se" ).toUpperCase() ) );
+			} catch( IllegalArgumentException e ){
+				log.info( "TruckEdgeSparsificationType + '" + cmd.getOptionValue( "se" ) + "' not supported!" );
+				printHelp( options );
+				return;
+			}
+		}
+		log.info( "TruckEdgeSparsificationType set to: " + Configuration.getTruckEdgeSparsificationType().getType() );
+
+		if( cmd.hasOption( "sek" ) ){
+			Configuration.setCandidateEdgesCount( Integer.parseInt( cmd.getOptionValue( "sek" ) ) );
+		}
+		log.info( "CandidateEdgesCount set to: " + Configuration.getCandidateEdgesCount() );
+
+		if( cmd.hasOption( "hs" ) ){
+			Configuration.setHeuristicSeconds( Double.parseDouble( cmd.getOptionValue( "hs" ) ) );
+			log.info( "HeuristicSeconds set to: " + Configuration.getHeuristicSeconds() );
+		}
+
+		if( cmd.hasOption( "pi" ) ){
+			Configuration.setIncumbentPolishingActive( true );
+		}
+		log.info( "IncumbentPolishingActive set to: " + Configuration.isIncumbentPolishingActive() );
+
+		if( cmd.hasOption( "rps" ) ){
+			Configuration.setSolutionRepairActive( true );
+		}
+		log.info( "SolutionRepairActive set to: " + Configuration.isSolutionRepairActive() );
+
+		if( cmd.hasOption( "pcd" ) ){
+			Configuration.setPresolveCacheDirectory( cmd.getOptionValue( "pcd" ) );
+			TspPresolveCache.setPersistenceDirectory( Configuration.getPresolveCacheDirectory() );
+			log.info( "Set presolve cache directory: " + Configuration.getPresolveCacheDirectory() );
+		}
+
 		if( cmd.hasOption( "nl" ) ){
 			Configuration.setLazyActive( false );
 		}
 		log.info( "LazyActive set to: " + Configuration.isLazyActive() );
 
+		if( cmd.hasOption( "uc" ) ){
+			Configuration.setUserCutsActive( true );
+		}
+		log.info( "UserCutsActive set to: " + Configuration.isUserCutsActive() );
+
 		if( cmd.hasOption( "dgh" ) ){
 			Configuration.setGurobiHeuristicsActive( false );
 		}
 		log.info( "GurobiHeuristicsActive set to: " + Configuration.isGurobiHeuristicsActive() );
 
+		if( cmd.hasOption( "nn" ) ){
+			Configuration.setNamesActive( false );
+		}
+		log.info( "NamesActive set to: " + Configuration.isNamesActive() );
+
 		if( cmd.hasOption( "tc" ) ){
 			Configuration.setThreadCount( Integer.parseInt( cmd.getOptionValue( "tc" ) ) );
 		}
 		log.info( "ThreadCount set to: " + Configuration.getThreadCount() );
 
+		if( cmd.hasOption( "pj" ) ){
+			Configuration.setParallelJobs( Integer.parseInt( cmd.getOptionValue( "pj" ) ) );
+		}
+		log.info( "ParallelJobs set to: " + Configuration.getParallelJobs() );
+
+		if( cmd.hasOption( "cb" ) ){
+			Configuration.setCoreBudget( Integer.parseInt( cmd.getOptionValue( "cb" ) ) );
+		}
+		log.info( "CoreBudget set to: " + Configuration.getCoreBudget() );
+
 		if( cmd.hasOption( "td" ) ){
 			Configuration.setTestDescription( cmd.getOptionValue( "td" ) );
 		}
@@ -147,6 +215,11 @@ public class SolverApplication{
 			jsonFiles = fileOrDir.listFiles();
 		}
 
+		if( cmd.hasOption( "eb" ) ){
+			exportBinaryFiles( jsonFiles, cmd.getOptionValue( "eb" ) );
+			return;
+		}
+
 		StringBuilder outputPath = new StringBuilder( "tests/" );
 		if( cmd.hasOption( "o" ) ){
 			outputPath = new StringBuilder( cmd.getOptionValue( "o" ) );
@@ -176,6 +249,9 @@ public class SolverApplication{
 
 		//Add threadCount to output dir
 		outputPath.append( "_tc-" ).append( Configuration.getThreadCount() );
+		if( Configuration.getParallelJobs() > 1 ){
+			outputPath.append( "_pj-" ).append( Configuration.getParallelJobs() );
+		}
 
 		//Add if lazy constraints or iterative mode is active to output dir
 		outputPath.append( "_" );
@@ -187,8 +263,14 @@ public class SolverApplication{
 		} else {
 			outputPath.append( "iterative" );
 		}
+		if( Configuration.isUserCutsActive() ){
+			outputPath.append( "-userCuts" );
+		}
 
 		outputPath.append( "_ph-" ).append( Configuration.getPresolveHeuristicType().getType() );
+		if( Configuration.getBackendType() != Defines.BackendType.GUROBI ){
+			outputPath.append( "_be-" ).append( Configuration.getBackendType().getType() );
+		}
 
 		Configuration.setOutputDirectory( outputPath.toString() );
 		log.info( "Set output directory: " + Configuration.getOutputDirectory() );
@@ -207,8 +289,28 @@ public class SolverApplication{
 			}
 		}
 
+		//the heuristic values file is read once for all models
+		HeuristicValueIndex heuristicValueIndex = null;
+		if( Configuration.getHeuristicValuesFile() != null ){
+			heuristicValueIndex = HeuristicValueIndex.load( Configuration.getHeuristicValuesFile() );
+			if( heuristicValueIndex == null ){
+				log.error( "Could not read heuristic values file '" + Configuration.getHeuristicValuesFile() + "'!" );
+				return;
+			}
+		}
+
+		//one sink for all csv results, so the csv files are opened once and written in batches
+		CsvResultsSink csvResultsSink = cmd.hasOption( "c" ) ?
+						new CsvResultsSink( Configuration.getOutputDirectory(), CSV_RESULTS_MAX_BUFFERED_ROWS, CSV_RESULTS_FLUSH_INTERVAL_SECONDS ) : null;
+		if( csvResultsSink != null ){
+			//flush the buffered rows also if the application is terminated before all jobs are solved
+			Runtime.getRuntime().addShutdownHook( new Thread( csvResultsSink::close ) );
+		}
+
 		log.info( "Try to solve the following tsp problems: " + Arrays.toString( jsonFiles ) );
 
+		SweepScheduler sweepScheduler = new SweepScheduler( Configuration.getParallelJobs(), Configuration.getCoreBudget(), Configuration.getThreadCount() );
+
 		//iterate over all given json files
 		for( File file : jsonFiles ){
 			log.info( "##################### Start: " + file.getName() + " #####################" );
@@ -267,8 +369,8 @@ public class SolverApplication{
 								continue;
 							}
 
-							if( Configuration.getHeuristicValuesFile() != null ) {
-								double heuristicValue = HeuristicValueReader.getHeuristicValue( tspModel, Configuration.getHeuristicValuesFile() );
+							if( heuristicValueIndex != null ) {
+								double heuristicValue = heuristicValueIndex.getHeuristicValue( tspModel );
 								if( heuristicValue <= 0.0 ) {
 									log.info( "No heuristic value for current model in file + '" + Configuration.getHeuristicValuesFile() +
 													"' found! Skip model for test!" );
@@ -283,94 +385,39 @@ public class SolverApplication{
 							}
 
 							tspModel.setLazyActive( Configuration.isLazyActive() );
+							tspModel.setUserCutsActive( Configuration.isUserCutsActive() );
 							tspModel.setGurobiHeuristicsActive( Configuration.isGurobiHeuristicsActive() );
+							tspModel.setNamesActive( Configuration.isNamesActive() );
 							tspModel.setPresolveHeuristicType( Configuration.getPresolveHeuristicType() );
+							tspModel.setBackendType( Configuration.getBackendType() );
+							tspModel.setTruckEdgeSparsificationType( Configuration.getTruckEdgeSparsificationType() );
+							tspModel.setCandidateEdgesCount( Configuration.getCandidateEdgesCount() );
+							tspModel.setHeuristicSeconds( Configuration.getHeuristicSeconds() );
+							tspModel.setIncumbentPolishingActive( Configuration.isIncumbentPolishingActive() );
+							tspModel.setSolutionRepairActive( Configuration.isSolutionRepairActive() );
+							//parallel jobs write their solver files to own directories, so they do not overwrite each other
+							if( Configuration.getParallelJobs() > 1 ){
+								tspModel.setSolverFilesDirectory( Configuration.getOutputDirectory() + "/solver_files/" + getModelFileName( file, type, tspModel ) );
+							} else {
+								tspModel.setSolverFilesDirectory( "." );
+							}
 							tspModel.setHostname( Configuration.getHostname() );
-							tspModel.setThreadCount( Configuration.getThreadCount() );
 							tspModel.setTestDescription( Configuration.getTestDescription() );
 
-							log.info( "Start Optimization for: " + tspModel.getName() );
-							TspModelResult tspResults = tspModel.grbOptimize();
-
 							double speedRatio = truckSpeeds[ts]/droneSpeeds[ds];
 							log.info( "Speed ratio: " + speedRatio );
 							alreadyCalculatedParameters.add( new double[] { droneFleetSizes[dfs], droneFlightRanges[dfr], speedRatio } );
 
-							if( cmd.hasOption( "c" ) ){
-								File csvFile = new File( Configuration.getOutputDirectory() + "/" + type + ".csv" );
-								if( !csvFile.exists() ){
-									try{
-										csvFile.createNewFile();
-										log.info( "Creation of csv result file '" + csvFile.getAbsolutePath() + "' was successful!" );
-									} catch( IOException e ){
-										log.info( "Can not create csv result file '" + csvFile.getAbsolutePath() + "'!" );
-										log.info( "Error: " + e.getMessage() );
-										continue;
-									}
-
-									try{
-										StringBuilder headerString = new StringBuilder(
-														TspModelCsvResultsConverter.getCsvHeaderString( type ) )
-														.append( System.lineSeparator() );
-										Files.write( Paths.get( csvFile.toURI() ), headerString.toString().getBytes() );
-										log.info( "Header written to csv result file '" + csvFile.getAbsolutePath() + "'!" );
-									} catch( IOException e ){
-										log.info( "Can not write csv results header to file '" + csvFile.getAbsolutePath() + "'!" );
-										log.info( "Error: " + e.getMessage() );
-										continue;
-									}
-
-								}
-
-								try{
-									StringBuilder csvString = new StringBuilder(
-													TspModelCsvResultsConverter.getCsvResultString( tspModel ) )
-													.append( System.lineSeparator() );
-									Files.write( Paths.get( csvFile.toURI() ), csvString.toString().getBytes(), StandardOpenOption.APPEND );
-									log.info( "Results written to results file '" + csvFile.getAbsolutePath() + "'!" );
-								} catch( IOException e ){
-									log.info( "Can not write csv results to file '" + csvFile.getAbsolutePath() + "'!" );
-									log.info( "Error: " + e.getMessage() );
-									continue;
-								}
-
-							}
-
-							if( cmd.hasOption( "r" ) ){
-								StringBuilder jsonResultsFileName = new StringBuilder(
-												file.getName().substring( 0, file.getName().lastIndexOf( '.' ) ) );
-								jsonResultsFileName.append( "_" ).append( tspModel.getType() );
-								if( type.equals( Defines.PDSTSP ) ){
-									Pdstsp pdstsp = (Pdstsp)tspModel;
-									jsonResultsFileName.append( "_ts-" ).append( pdstsp.getTruckSpeed() ).append( "_ds-" ).append( pdstsp.getDroneSpeed() )
-													.append( "_dfs-" ).append( pdstsp.getDroneFleetSize() ).append( "_dfr-" )
-													.append( pdstsp.getDroneFlightRangePercentage() );
-								} else if( type.equals( Defines.FSTSP ) ){
-									Fstsp fstsp = (Fstsp)tspModel;
-									jsonResultsFileName.append( "_ts-" ).append( fstsp.getTruckSpeed() ).append( "_ds-" ).append( fstsp.getDroneSpeed() )
-													.append( "_dfr-" ).append( fstsp.getDroneFlightRangePercentage() );
-								}
-								jsonResultsFileName.append( "_ms-" ).append( Configuration.getMaxOptimizationSeconds() ).append( ".results.json" );
-								File jsonResultsFile = new File( Configuration.getOutputDirectory() + "/" + jsonResultsFileName );
-								if( !jsonResultsFile.exists() ){
-									try{
-										jsonResultsFile.createNewFile();
-										log.info( "Creation of json results file '" + jsonResultsFile.getAbsolutePath()
-														+ "' was successful!" );
-									} catch( IOException e ){
-										log.info( "Can not create json results file '" + jsonResultsFile.getAbsolutePath() + "'!" );
-										log.info( "Error: " + e.getMessage() );
-									}
-								}
-								Gson gson = new GsonBuilder().setPrettyPrinting().create();
-								try{
-									Files.write( Paths.get( jsonResultsFile.toURI() ), gson.toJson( tspModel ).getBytes(),
-													StandardOpenOption.CREATE );
-									log.info( "JSON results written to results file '" + jsonResultsFile.getAbsolutePath() + "'!" );
-								} catch( IOException e ){
-									log.info( "Can not write json results to file '" + jsonResultsFile.getAbsolutePath() + "'!" );
-									log.info( "Error: " + e.getMessage() );
+							try{
+								sweepScheduler.submit( tspModel, solvedTspModel -> writeResults( cmd, csvResultsSink, file, type, solvedTspModel ) );
+							} catch( InterruptedException e ){
+								log.error( "Interrupted while submitting '" + tspModel.getName() + "'!" );
+								Thread.currentThread().interrupt();
+								sweepScheduler.shutdown();
+								if( csvResultsSink != null ){
+									csvResultsSink.close();
 								}
+								return;
 							}
 						}
 					}
@@ -379,6 +426,52 @@ public class SolverApplication{
 
 			log.info( "##################### End: " + file.getName() + " #####################" );
 		}
+
+		sweepScheduler.shutdown();
+		if( csvResultsSink != null ){
+			csvResultsSink.close();
+		}
+	}
+
+	private static void writeResults( CommandLine cmd, CsvResultsSink csvResultsSink, File file, String type, TspModel tspModel ){
+		if( csvResultsSink != null ){
+			try{
+				csvResultsSink.append( tspModel );
+			} catch( IOException e ){
+				log.info( "Can not write csv results of '" + tspModel.getName() + "' to output directory '" + Configuration.getOutputDirectory() + "'!" );
+				log.info( "Error: " + e.getMessage() );
+			}
+		}
+
+		if( cmd.hasOption( "r" ) ){
+			String jsonResultsFileName = getModelFileName( file, type, tspModel ) + ".results.json";
+			File jsonResultsFile = new File( Configuration.getOutputDirectory() + "/" + jsonResultsFileName );
+			try{
+				TspModelJsonResultsWriter.write( tspModel, jsonResultsFile.toPath(), cmd.hasOption( "rc" ) );
+				log.info( "JSON results written to results file '" + jsonResultsFile.getAbsolutePath() + "'!" );
+			} catch( IOException e ){
+				log.info( "Can not write json results to file '" + jsonResultsFile.getAbsolutePath() + "'!" );
+				log.info( "Error: " + e.getMessage() );
+			}
+		}
+	}
+
+	//name of the instance file with the parameters of the model, which is unique for each job of a sweep
+	private static String getModelFileName( File file, String type, TspModel tspModel ){
+		StringBuilder modelFileName = new StringBuilder( file.getName().substring( 0, file.getName().lastIndexOf( '.' ) ) );
+		modelFileName.append( "_" ).append( tspModel.getType() );
+		if( type.equals( Defines.PDSTSP ) ){
+			Pdstsp pdstsp = (Pdstsp)tspModel;
+			modelFileName.append( "_ts-" ).append( pdstsp.getTruckSpeed() ).append( "_ds-" ).append( pdstsp.getDroneSpeed() )
+							.append( "_dfs-" ).append( pdstsp.getDroneFleetSize() ).append( "_dfr-" )
+							.append( pdstsp.getDroneFlightRangePercentage() );
+		} else if( type.equals( Defines.FSTSP ) ){
+			Fstsp fstsp = (Fstsp)tspModel;
+			modelFileName.append( "_ts-" ).append( fstsp.getTruckSpeed() ).append( "_ds-" ).append( fstsp.getDroneSpeed() )
+							.append( "_dfr-" ).append( fstsp.getDroneFlightRangePercentage() );
+		}
+		modelFileName.append( "_ms-" ).append( Configuration.getMaxOptimizationSeconds() );
+		return modelFileName.toString();
 	}
 
 	private static void printHelp( Options options ){
@@ -396,6 +489,31 @@ public class SolverApplication{
 		return false;
 	}
 
+	//writes the given instances with their precomputed distances as binary instance files, which can be used with option -j
+	private static void exportBinaryFiles( File[] jsonFiles, String directory ){
+		File exportDirectory = new File( directory );
+		if( !exportDirectory.exists() && !exportDirectory.mkdirs() ){
+			log.error( "Could not create directory '" + exportDirectory.getAbsolutePath() + "' for binary instance files!" );
+			return;
+		}
+		for( File file : jsonFiles ){
+			TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( file.getPath() );
+			if( tspLibJson == null ){
+				log.error( "Could not convert JSON Object '" + file.getName() + "' to TSP Model!" );
+				continue;
+			}
+			DistanceMatrix distances = JsonTspMapper.getDistances( tspLibJson );
+			if( distances == null ){
+				continue;
+			}
+			String fileName = file.getName();
+			if( fileName.lastIndexOf( '.' ) > 0 ){
+				fileName = fileName.substring( 0, fileName.lastIndexOf( '.' ) );
+			}
+			TspLibBinary.write( tspLibJson, distances, new File( exportDirectory, fileName + TspLibBinary.FILE_EXTENSION ).getPath() );
+		}
+	}
+
 	private static Options createOptions(){
 		Options options = new Options();
 
@@ -406,6 +524,11 @@ public class SolverApplication{
 							  .desc( "deactivate lazy constraints and" + "activate iterative solving" ).build();
 		options.addOption( noLazy );
 
+		Option userCuts = Option.builder( "uc" ).longOpt( "userCuts" ).required( false )
+								.desc( "separate violated subtour elimination constraints on fractional node relaxations with min cuts and add them as user cuts" )
+								.build();
+		options.addOption( userCuts );
+
 		Option logFile = Option.builder( "l" ).longOpt( "logFile" ).argName( "file" ).hasArg().required( false )
 							   .desc( "use given file for log" ).build();
 		options.addOption( logFile );
@@ -414,6 +537,12 @@ public class SolverApplication{
 									 .desc( "read tsp problem/s in json format from file or directory (required parameter)" ).build();
 		options.addOption( jsonFileOrDir );
 
+		Option exportBinary = Option.builder( "eb" ).longOpt( "exportBinary" ).argName( "directory" ).hasArg().required( false )
+									.desc( "write the problem/s of option -j with their precomputed distances as binary instance files ("
+													+ TspLibBinary.FILE_EXTENSION + ") to the given directory and exit. binary instance files can be "
+													+ "passed to option -j like json files" ).build();
+		options.addOption( exportBinary );
+
 		Option outputDir = Option.builder( "o" ).longOpt( "outputDir" ).argName( "directory" ).hasArg().required( false )
 								 .desc( "set directory for outputs like option -c and -r (default: tests)" ).build();
 		options.addOption( outputDir );
@@ -432,6 +561,10 @@ public class SolverApplication{
 								   .build();
 		options.addOption( jsonResults );
 
+		Option compactResults = Option.builder( "rc" ).longOpt( "compactResults" ).required( false )
+									  .desc( "write the json results of option -r without pretty printing" ).build();
+		options.addOption( compactResults );
+
 		Option droneDeliveryPossibleForAllCustomers = Option.builder( "a" ).longOpt( "allCustomersByDrones" ).required( false )
 															.desc( "for tsp variants with drones all customers are set to be possible served by drones" )
 															.build();
@@ -467,6 +600,10 @@ public class SolverApplication{
 											  .build();
 		options.addOption( maxOptimizationSeconds );
 
+		Option presolveCacheDir = Option.builder( "pcd" ).longOpt( "presolveCacheDir" ).argName( "directory" ).hasArg().required( false )
+									.desc( "persist the TSP solutions of the presolve heuristics in the given directory and reuse them in later runs" ).build();
+		options.addOption( presolveCacheDir );
+
 		Option testDescription = Option.builder( "td" ).longOpt( "testDescription" ).required( false ).argName( "comment" ).hasArg()
 						.desc( "a description/comment of the test settings, which will be written to the results." )
 						.build();
@@ -476,6 +613,15 @@ public class SolverApplication{
 								   .hasArg().desc( "the optimization process will use this number of threads for parallelism." ).build();
 		options.addOption( threadCount );
 
+		Option parallelJobs = Option.builder( "pj" ).longOpt( "parallelJobs" ).required( false ).argName( "number of jobs" ).hasArg()
+									.desc( "number of optimization processes of the parameter sweep which run concurrently (default: 1)." ).build();
+		options.addOption( parallelJobs );
+
+		Option coreBudget = Option.builder( "cb" ).longOpt( "coreBudget" ).required( false ).argName( "number of cores" ).hasArg()
+								  .desc( "number of cores which are divided between the parallel jobs (option: -pj). if not set each job uses the "
+												  + "thread count of option -tc." ).build();
+		options.addOption( coreBudget );
+
 		StringBuilder supportedPresolveHeuristicTypes = new StringBuilder();
 		for( Defines.PresolveHeuristicType presolveHeuristicType : Defines.PresolveHeuristicType.values() ){
 			supportedPresolveHeuristicTypes.append( presolveHeuristicType.getType() ).append( " " );
@@ -486,10 +632,52 @@ public class SolverApplication{
 
 		options.addOption( presolveHeuristicType );
 
+		StringBuilder supportedBackendTypes = new StringBuilder();
+		for( Defines.BackendType backendType : Defines.BackendType.values() ){
+			supportedBackendTypes.append( backendType.getType() ).append( " " );
+		}
+		Option backendType = Option.builder( "be" ).longOpt( "backend" ).required( false ).argName( "backend type" ).hasArg()
+						.desc( "solver backend for the optimization process (default: GUROBI). BRANCH_AND_BOUND is a pure java engine for small instances, "
+										+ "which needs no gurobi licence. ALNS is an adaptive large neighbourhood search for big instances, which runs until the "
+										+ "maximum optimization time is reached (default: 60s) and calculates no lower bound. supported backendTypes are: "
+										+ supportedBackendTypes ).build();
+		options.addOption( backendType );
+
+		StringBuilder supportedTruckEdgeSparsificationTypes = new StringBuilder();
+		for( Defines.TruckEdgeSparsificationType truckEdgeSparsificationType : Defines.TruckEdgeSparsificationType.values() ){
+			supportedTruckEdgeSparsificationTypes.append( truckEdgeSparsificationType.getType() ).append( " " );
+		}
+		Option sparseEdges = Option.builder( "se" ).longOpt( "sparseEdges" ).required( false ).argName( "sparsification type" ).hasArg()
+						.desc( "optimize with candidate truck edges only (default: NONE). the other truck edges are added by reduced cost pricing, "
+										+ "so the solution is still optimal. supported sparsificationTypes are: " + supportedTruckEdgeSparsificationTypes ).build();
+		options.addOption( sparseEdges );
+
+		Option sparseEdgesCount = Option.builder( "sek" ).longOpt( "sparseEdgesCount" ).required( false ).argName( "neighbours" ).hasArg()
+						.desc( "number of nearest neighbours per node for the candidate truck edges (default: 10)" ).build();
+		options.addOption( sparseEdgesCount );
+
+		Option heuristicSeconds = Option.builder( "hs" ).longOpt( "heuristicSeconds" ).required( false ).argName( "seconds" ).hasArg()
+						.desc( "time limit of the restarts of the LIN_KERNIGHAN presolve heuristic (default: one second per 100 nodes, "
+										+ "but at most a tenth of the max optimization time)" ).build();
+		options.addOption( heuristicSeconds );
+
+		Option polishIncumbents = Option.builder( "pi" ).longOpt( "polishIncumbents" ).required( false )
+						.desc( "improve the truck tour of each new incumbent with a short lin-kernighan run (TSP only)" ).build();
+		options.addOption( polishIncumbents );
+
+		Option repairSolutions = Option.builder( "rps" ).longOpt( "repairSolutions" ).required( false )
+						.desc( "repair integer solutions with subtours or infeasible drone flights in the callback and submit them as heuristic solutions" ).build();
+		options.addOption( repairSolutions );
+
 		Option disableGurobiHeuristics = Option.builder( "dgh" ).longOpt( "disableGurobiHeuristics" ).required( false )
 						.desc( "disables gurobi heuristics in optimization process ( grbEnv.set( GRB.DoubleParam.Heuristics, 0.0 ) )" ).build();
 		options.addOption( disableGurobiHeuristics );
 
+		Option noNames = Option.builder( "nn" ).longOpt( "noNames" ).required( false )
+						.desc( "create the variables and constraints of the model without names. the names are only needed for model files "
+										+ "and the solution log of the iterative approach" ).build();
+		options.addOption( noNames );
+
 		return options;
 	}
 
@@ -0,0 +1,84 @@
+package de.hbrs.inf.tsp.solver;
+
+import de.hbrs.inf.tsp.TspModel;
+import org.apache.log4j.Logger;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+public class SweepScheduler{
+
+	private static final Logger log = Logger.getLogger( SweepScheduler.class.getName() );
+
+	private final ExecutorService solverPool;
+	private final ExecutorService resultWriter;
+	private final Semaphore pendingJobs;
+	private final int threadCountPerJob;
+
+	public SweepScheduler( int parallelJobs, int coreBudget, int threadCount ){
+		parallelJobs = Math.max( 1, parallelJobs );
+		solverPool = Executors.newFixedThreadPool( parallelJobs );
+		//all results are written by one thread, so the csv and json files are never written concurrently
+		resultWriter = Executors.newSingleThreadExecutor();
+		//at most one waiting job per worker, so the models are not built long before they can be solved
+		pendingJobs = new Semaphore( 2 * parallelJobs );
+
+		//the core budget is divided between the parallel jobs, without budget each job uses the given thread count
+		if( coreBudget > 0 ){
+			threadCountPerJob = Math.max( 1, coreBudget / parallelJobs );
+		} else {
+			threadCountPerJob = threadCount;
+		}
+		log.info( "SweepScheduler with " + parallelJobs + " parallel job/s and " + threadCountPerJob + " thread/s per job created." );
+	}
+
+	public void submit( TspModel tspModel, Consumer<TspModel> resultHandler ) throws InterruptedException{
+		pendingJobs.acquire();
+		tspModel.setThreadCount( threadCountPerJob );
+		try{
+			solverPool.execute( () -> {
+				try{
+					log.info( "Start Optimization for: " + tspModel.getName() );
+					tspModel.grbOptimize();
+					resultWriter.execute( () -> {
+						try{
+							resultHandler.accept( tspModel );
+						} catch( RuntimeException e ){
+							log.error( "Could not write results of '" + tspModel.getName() + "'! Error message: " + e.getMessage() );
+						}
+					} );
+				} catch( RuntimeException e ){
+					log.error( "Optimization of '" + tspModel.getName() + "' failed! Error message: " + e.getMessage() );
+				} finally{
+					pendingJobs.release();
+				}
+			} );
+		} catch( RejectedExecutionException e ){
+			pendingJobs.release();
+			throw e;
+		}
+	}
+
+	public void shutdown(){
+		//wait until all submitted jobs are solved and their results are written
+		try{
+			solverPool.shutdown();
+			solverPool.awaitTermination( Long.MAX_VALUE, TimeUnit.NANOSECONDS );
+			resultWriter.shutdown();
+			resultWriter.awaitTermination( Long.MAX_VALUE, TimeUnit.NANOSECONDS );
+		} catch( InterruptedException e ){
+			log.error( "Interrupted while waiting for the sweep jobs!" );
+			solverPool.shutdownNow();
+			resultWriter.shutdownNow();
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	public int getThreadCountPerJob(){
+		return threadCountPerJob;
+	}
+}
@@ -37,4 +37,68 @@ public class FstspTest{
 		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 2417500.0, 0.0 );
 	}
 
+	@Test public void testBranchAndBoundOptimizeLazy(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/fstsp_test2.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 2417500.0, 0.0 );
+	}
+
+	@Test public void testBranchAndBoundOptimizeLazyConstraintPool(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/fstsp_test2.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 2417500.0, 0.0 );
+		//each added lazy constraint is in the pool, the same sub drone flight constraint is found for both drone flights
+		Assert.assertTrue( result.getLazyConstraintPoolSize() > 0 );
+		//constraints, which are already in the pool, are only added again, if no new one is violated
+		Assert.assertTrue( result.getLazyConstraintPoolSize() <= tspModel.getAdditionalConstraintsCounter() );
+		Assert.assertTrue( result.getLazyConstraintDuplicateRate() >= 0.0 && result.getLazyConstraintDuplicateRate() < 1.0 );
+	}
+
+	@Test public void testBranchAndBoundOptimizeLazySolutionRepair(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/fstsp_test2.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setSolutionRepairActive( true );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 2417500.0, 0.0 );
+	}
+
+	@Test public void testBranchAndBoundOptimizeFstspPresolveHeuristic(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/fstsp_test2.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setPresolveHeuristicType( Defines.PresolveHeuristicType.FSTSP );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 2417500.0, 0.0 );
+		Assert.assertTrue( result.getUsedHeuristicValue() >= 2417500.0 );
+	}
+
+	@Test public void testAlnsOptimize(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/fstsp_test2.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.ALNS );
+		tspModel.setMaxOptimizationSeconds( 2 );
+		tspModel.setThreadCount( 2 );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		//the alns does not prove optimality, but finds the optimal solution of the small instance
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 2417500.0, 0.0 );
+		Assert.assertFalse( result.isOptimal() );
+		Assert.assertTrue( result.getObjective() <= result.getUsedHeuristicValue() );
+		Assert.assertEquals( 0, tspModel.getDecisionVariablesCounter() );
+	}
+
 }
@@ -0,0 +1,94 @@
+package de.hbrs.inf.tsp;
+
+import de.hbrs.inf.tsp.graph.TruckEdgeSolution;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+
+public class IncumbentTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void offerTest(){
+		Incumbent incumbent = new Incumbent();
+		Assert.assertEquals( Incumbent.DEFAULT_OBJECTIVE, incumbent.getObjective(), 0.0 );
+		Assert.assertNull( incumbent.getSnapshot().getTruckEdgeSolution() );
+
+		TruckEdgeSolution truckEdgeSolution = createTruckEdgeSolution();
+		Assert.assertTrue( incumbent.offer( 10.0, truckEdgeSolution ) );
+		//an equal or worse solution does not replace the incumbent
+		Assert.assertFalse( incumbent.offer( 10.0, createTruckEdgeSolution() ) );
+		Assert.assertFalse( incumbent.offer( 11.0, createTruckEdgeSolution() ) );
+		Assert.assertEquals( 10.0, incumbent.getSnapshot().getObjective(), 0.0 );
+		Assert.assertSame( truckEdgeSolution, incumbent.getSnapshot().getTruckEdgeSolution() );
+
+		TspResult result = new TspResult( "test" );
+		Assert.assertTrue( incumbent.offer( 9.0, truckEdgeSolution, result::setObjective ) );
+		Assert.assertEquals( 9.0, result.getObjective(), 0.0 );
+		Assert.assertFalse( incumbent.offer( 9.5, truckEdgeSolution, result::setObjective ) );
+		Assert.assertEquals( 9.0, result.getObjective(), 0.0 );
+
+		incumbent.reset();
+		Assert.assertEquals( Incumbent.DEFAULT_OBJECTIVE, incumbent.getObjective(), 0.0 );
+		Assert.assertNull( incumbent.getSnapshot().getTruckEdgeSolution() );
+	}
+
+	@Test
+	public void offerConcurrentlyTest() throws Exception{
+		//each thread offers its objectives in random order, at the end the incumbent and the result have the best one of all threads
+		int threadCount = 8;
+		int offerCount = 5000;
+		Incumbent incumbent = new Incumbent();
+		TspResult result = new TspResult( "test" );
+		Map<Double, TruckEdgeSolution> truckEdgeSolutions = new ConcurrentHashMap<>();
+		CountDownLatch startLatch = new CountDownLatch( 1 );
+		Thread[] threads = new Thread[threadCount];
+		for( int t = 0; t < threadCount; t++ ){
+			int thread = t;
+			threads[t] = new Thread( () -> {
+				ArrayList<Double> objectives = new ArrayList<>();
+				for( int k = 0; k < offerCount; k++ ){
+					objectives.add( (double)( k * threadCount + thread ) );
+				}
+				Collections.shuffle( objectives, new Random( thread ) );
+				try{
+					startLatch.await();
+				} catch( InterruptedException e ){
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for( double objective : objectives ){
+					TruckEdgeSolution truckEdgeSolution = createTruckEdgeSolution();
+					truckEdgeSolutions.put( objective, truckEdgeSolution );
+					incumbent.offer( objective, truckEdgeSolution, result::setObjective );
+				}
+			} );
+			threads[t].start();
+		}
+		startLatch.countDown();
+		for( Thread thread : threads ){
+			thread.join();
+		}
+
+		Assert.assertEquals( 0.0, incumbent.getObjective(), 0.0 );
+		Assert.assertSame( truckEdgeSolutions.get( 0.0 ), incumbent.getSnapshot().getTruckEdgeSolution() );
+		Assert.assertEquals( 0.0, result.getObjective(), 0.0 );
+	}
+
+	private static TruckEdgeSolution createTruckEdgeSolution(){
+		return new TruckEdgeSolution( 0, new int[0], new int[0], new double[0] );
+	}
+}
@@ -79,4 +79,81 @@ public class PdstspTest{
 		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 199650.0, 0.0 );
 	}
 
+	@Test
+	public void testBranchAndBoundOptimizeLazy(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/pdstsp_test.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 193800.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizeLazySolutionRepair(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/pdstsp_test.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setSolutionRepairActive( true );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 193800.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizePresolveHeuristic(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/pdstsp_test.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setPresolveHeuristicType( Defines.PresolveHeuristicType.TSP );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 193800.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizeLazySparseEdges(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/pdstsp_test.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setTruckEdgeSparsificationType( Defines.TruckEdgeSparsificationType.K_NEAREST );
+		tspModel.setCandidateEdgesCount( 6 );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 193800.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizePdstspPresolveHeuristic(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/pdstsp_test.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setPresolveHeuristicType( Defines.PresolveHeuristicType.PDSTSP );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 193800.0, 0.0 );
+		//the drones shorten the makespan of the truck tour of all customers (332300)
+		Assert.assertTrue( result.getUsedHeuristicValue() < 332300.0 );
+	}
+
+	@Test
+	public void testAlnsOptimize(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/test/pdstsp_test.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.ALNS );
+		tspModel.setMaxOptimizationSeconds( 2 );
+		tspModel.setThreadCount( 2 );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		//the alns does not prove optimality, but finds the optimal solution of the small instance
+		Assert.assertEquals( tspModel.getResult().getLast().getObjective(), 193800.0, 0.0 );
+		Assert.assertFalse( result.isOptimal() );
+		Assert.assertTrue( result.getObjective() <= result.getUsedHeuristicValue() );
+	}
 }
@@ -0,0 +1,152 @@
+package de.hbrs.inf.tsp;
+
+import com.google.gson.Gson;
+import de.hbrs.inf.tsp.graph.DistanceMatrix;
+import de.hbrs.inf.tsp.json.JsonTspMapper;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+
+public class TspPresolveCacheTest{
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private TspModel tspModel;
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+		TspPresolveCache.clear();
+		tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib_small/ulysses16.json" ) );
+		Assert.assertNotNull( tspModel );
+	}
+
+	@After
+	public void tearDown() {
+		TspPresolveCache.clear();
+		TspPresolveCache.setPersistenceDirectory( null );
+	}
+
+	@Test
+	public void calculateDistancesHashTest(){
+		DistanceMatrix distances = DistanceMatrix.fromArray( new int[][]{ { 0, 1, 2 }, { 1, 0, 3 }, { 2, 3, 0 } } );
+		DistanceMatrix sameDistances = DistanceMatrix.fromArray( new int[][]{ { 0, 1, 2 }, { 1, 0, 3 }, { 2, 3, 0 } } );
+		DistanceMatrix otherDistances = DistanceMatrix.fromArray( new int[][]{ { 0, 1, 2 }, { 1, 0, 4 }, { 2, 4, 0 } } );
+		Assert.assertEquals( TspPresolveCache.calculateDistancesHash( distances ), TspPresolveCache.calculateDistancesHash( sameDistances ) );
+		Assert.assertNotEquals( TspPresolveCache.calculateDistancesHash( distances ), TspPresolveCache.calculateDistancesHash( otherDistances ) );
+	}
+
+	@Test
+	public void getTspSolutionFromMemoryTest(){
+		TspPresolveCache.CachedTspSolution tspSolution = getTspSolution();
+		Assert.assertNotNull( tspSolution );
+		Assert.assertEquals( tspModel.getDimension(), tspSolution.getTour().size() );
+		Assert.assertSame( tspSolution, getTspSolution() );
+		Assert.assertEquals( 0, TspPresolveCache.getKeyLockCount() );
+	}
+
+	@Test
+	public void getTspSolutionFromPersistedFileTest(){
+		TspPresolveCache.setPersistenceDirectory( temporaryFolder.getRoot().getPath() );
+		TspPresolveCache.CachedTspSolution tspSolution = getTspSolution();
+		Assert.assertNotNull( tspSolution );
+		Assert.assertTrue( getPersistedFile().isFile() );
+
+		//without the solution in memory, the persisted file is read
+		TspPresolveCache.clear();
+		TspPresolveCache.CachedTspSolution persistedTspSolution = getTspSolution();
+		Assert.assertNotSame( tspSolution, persistedTspSolution );
+		Assert.assertEquals( tspSolution.getObjective(), persistedTspSolution.getObjective(), 0.0 );
+		Assert.assertEquals( tspSolution.getTour(), persistedTspSolution.getTour() );
+	}
+
+	@Test
+	public void rejectPersistedFileOfOtherInstanceTest() throws Exception{
+		double objective = getTspSolution().getObjective();
+		TspPresolveCache.clear();
+		TspPresolveCache.setPersistenceDirectory( temporaryFolder.getRoot().getPath() );
+		long distancesHash = TspPresolveCache.calculateDistancesHash( tspModel.getDistances() );
+
+		//a persisted solution with a wrong objective is only used, if it matches the dimension and the distances of the instance
+		writePersistedFile( new TspPresolveCache.CachedTspSolution( tspModel.getName(), tspModel.getDimension() + 1, distancesHash, 1.0,
+						createTour( tspModel.getDimension() + 1 ) ) );
+		Assert.assertEquals( objective, getTspSolution().getObjective(), 0.0 );
+
+		TspPresolveCache.clear();
+		writePersistedFile( new TspPresolveCache.CachedTspSolution( tspModel.getName(), tspModel.getDimension(), distancesHash + 1, 1.0,
+						createTour( tspModel.getDimension() ) ) );
+		Assert.assertEquals( objective, getTspSolution().getObjective(), 0.0 );
+
+		TspPresolveCache.clear();
+		writePersistedFile( new TspPresolveCache.CachedTspSolution( tspModel.getName(), tspModel.getDimension(), distancesHash, 1.0,
+						createTour( tspModel.getDimension() ) ) );
+		Assert.assertEquals( 1.0, getTspSolution().getObjective(), 0.0 );
+	}
+
+	@Test
+	public void getTspSolutionConcurrentlyTest() throws Exception{
+		//the threads start at the same time, one of them solves the tsp and the other ones wait for its solution
+		int threadCount = 4;
+		CountDownLatch startLatch = new CountDownLatch( 1 );
+		TspPresolveCache.CachedTspSolution[] tspSolutions = new TspPresolveCache.CachedTspSolution[threadCount];
+		Thread[] threads = new Thread[threadCount];
+		for( int t = 0; t < threadCount; t++ ){
+			int thread = t;
+			threads[t] = new Thread( () -> {
+				try{
+					startLatch.await();
+					tspSolutions[thread] = getTspSolution();
+				} catch( InterruptedException e ){
+					Thread.currentThread().interrupt();
+				}
+			} );
+			threads[t].start();
+		}
+		startLatch.countDown();
+		for( Thread thread : threads ){
+			thread.join();
+		}
+
+		Assert.assertNotNull( tspSolutions[0] );
+		for( TspPresolveCache.CachedTspSolution tspSolution : tspSolutions ){
+			Assert.assertSame( tspSolutions[0], tspSolution );
+		}
+		Assert.assertEquals( 0, TspPresolveCache.getKeyLockCount() );
+	}
+
+	private TspPresolveCache.CachedTspSolution getTspSolution(){
+		return TspPresolveCache.getTspSolution( tspModel.getName(), "", tspModel.getDimension(), tspModel.getNodes(), tspModel.getDistances(),
+						Defines.BackendType.BRANCH_AND_BOUND, 1 );
+	}
+
+	private File getPersistedFile(){
+		String key = tspModel.getName() + "_" + Long.toHexString( TspPresolveCache.calculateDistancesHash( tspModel.getDistances() ) );
+		return new File( temporaryFolder.getRoot(), key + ".json" );
+	}
+
+	private void writePersistedFile( TspPresolveCache.CachedTspSolution tspSolution ) throws Exception{
+		try( Writer writer = new FileWriter( getPersistedFile() ) ){
+			new Gson().toJson( tspSolution, writer );
+		}
+	}
+
+	private static ArrayList<Integer> createTour( int dimension ){
+		ArrayList<Integer> tour = new ArrayList<>();
+		for( int i = 0; i < dimension; i++ ){
+			tour.add( i );
+		}
+		return tour;
+	}
+}
@@ -62,4 +62,123 @@ public class TspTest{
 		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
 	}
 
+	@Test
+	public void testBranchAndBoundOptimizeLazy(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizeIterativeUserCuts(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setLazyActive( false );
+		tspModel.setUserCutsActive( true );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizeIterativeNoNames(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setLazyActive( false );
+		tspModel.setNamesActive( false );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
+	}
+
+
+	@Test
+	public void testBranchAndBoundOptimizeIterativeSparseEdges(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setLazyActive( false );
+		tspModel.setTruckEdgeSparsificationType( Defines.TruckEdgeSparsificationType.K_NEAREST );
+		tspModel.setCandidateEdgesCount( 8 );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizeLazySparseEdges(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setTruckEdgeSparsificationType( Defines.TruckEdgeSparsificationType.QUADRANT );
+		tspModel.setCandidateEdgesCount( 4 );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizeLazyConstraintPool(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
+		//each added lazy constraint is in the pool
+		Assert.assertTrue( result.getLazyConstraintPoolSize() > 0 );
+		//constraints, which are already in the pool, are only added again, if no new one is violated
+		Assert.assertTrue( result.getLazyConstraintPoolSize() <= tspModel.getAdditionalConstraintsCounter() );
+		Assert.assertTrue( result.getLazyConstraintDuplicateRate() >= 0.0 && result.getLazyConstraintDuplicateRate() < 1.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizeLazySolutionRepair(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setSolutionRepairActive( true );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizeLazyLocalSearchPresolveHeuristic(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setPresolveHeuristicType( Defines.PresolveHeuristicType.LOCAL_SEARCH );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
+	}
+
+	@Test
+	public void testBranchAndBoundOptimizeLazyLinKernighanPresolveHeuristic(){
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" );
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson );
+		assert tspModel != null;
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.setPresolveHeuristicType( Defines.PresolveHeuristicType.LIN_KERNIGHAN );
+		tspModel.setHeuristicSeconds( 0.5 );
+		tspModel.setIncumbentPolishingActive( true );
+		TspModelResult result = tspModel.grbOptimize();
+		assert result != null;
+		Assert.assertEquals( result.getLast().getObjective(), 2760300.0, 0.0 );
+		Assert.assertEquals( result.getUsedHeuristicValue(), 2760300.0, 0.0 );
+	}
 }
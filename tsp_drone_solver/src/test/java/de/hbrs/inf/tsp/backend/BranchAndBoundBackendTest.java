@@ -0,0 +1,46 @@
+package de.hbrs.inf.tsp.backend;
+
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BranchAndBoundBackendTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void optimizeTest() throws SolverException{
+		BranchAndBoundBackend backend = createKnapsack();
+		Assert.assertEquals( OptimizationStatus.OPTIMAL, backend.optimize() );
+		Assert.assertEquals( -9.0, backend.getObjVal(), 1e-6 );
+		Assert.assertEquals( -9.0, backend.getObjBound(), 1e-6 );
+	}
+
+	@Test
+	public void iterationLimitTest() throws SolverException{
+		//the lps of the nodes can not be solved, so the tree is not explored and the result is no proven optimum
+		BranchAndBoundBackend backend = createKnapsack();
+		backend.setLpIterationLimit( 1 );
+		Assert.assertEquals( OptimizationStatus.ITERATION_LIMIT, backend.optimize() );
+		Assert.assertTrue( backend.getObjBound() <= -9.0 );
+	}
+
+	//min -( 5 x0 + 4 x1 + 3 x2 + 2 x3 + x4 ) with 2 x0 + 3 x1 + x2 + 4 x3 + x4 <= 5, the optimum is x0 = x2 = x4 = 1 or x0 = x1 = 1
+	private BranchAndBoundBackend createKnapsack() throws SolverException{
+		BranchAndBoundBackend backend = new BranchAndBoundBackend();
+		double[] profits = { 5, 4, 3, 2, 1 };
+		double[] weights = { 2, 3, 1, 4, 1 };
+		LinExpr linExpr = new LinExpr();
+		for( int i = 0; i < profits.length; i++ ){
+			int var = backend.addVar( 0.0, 1.0, -profits[i], VarType.BINARY, "x" + i );
+			linExpr.addTerm( weights[i], var );
+		}
+		backend.addConstr( linExpr, Sense.LESS_EQUAL, 5.0, "capacity" );
+		return backend;
+	}
+}
@@ -0,0 +1,62 @@
+package de.hbrs.inf.tsp.backend;
+
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ModelAssemblyTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void addColumnsAndRowsTest(){
+		ModelAssembly modelAssembly = new ModelAssembly();
+		Assert.assertTrue( modelAssembly.isEmpty() );
+
+		//more columns, rows and terms than the initial capacity
+		int columnCount = 100;
+		for( int i = 0; i < columnCount; i++ ){
+			Assert.assertEquals( i, modelAssembly.addColumn( 0.0, 1.0, i, VarType.BINARY, null ) );
+		}
+		Assert.assertNull( modelAssembly.getColumnNames() );
+
+		for( int r = 0; r < columnCount; r++ ){
+			LinExpr linExpr = new LinExpr();
+			for( int i = 0; i <= r; i++ ){
+				linExpr.addTerm( i + 1, i );
+			}
+			linExpr.addConstant( 2.0 );
+			modelAssembly.addRow( linExpr, Sense.LESS_EQUAL, r, r == 7 ? "row7" : null );
+		}
+
+		Assert.assertEquals( columnCount, modelAssembly.getColumnCount() );
+		Assert.assertEquals( columnCount, modelAssembly.getRowCount() );
+		Assert.assertEquals( columnCount * ( columnCount + 1 ) / 2, modelAssembly.getTermCount() );
+		Assert.assertEquals( 42.0, modelAssembly.getObjs()[42], 0 );
+		Assert.assertEquals( VarType.BINARY, modelAssembly.getTypes()[99] );
+
+		int[] rowBegin = modelAssembly.getRowBegin();
+		for( int r = 0; r < columnCount; r++ ){
+			Assert.assertEquals( r + 1, rowBegin[r + 1] - rowBegin[r] );
+			Assert.assertEquals( r, modelAssembly.getVars()[rowBegin[r + 1] - 1] );
+			Assert.assertEquals( r + 1, modelAssembly.getCoeffs()[rowBegin[r + 1] - 1], 0 );
+			Assert.assertEquals( Sense.LESS_EQUAL, modelAssembly.getSenses()[r] );
+			//the constant is moved to the right hand side
+			Assert.assertEquals( r - 2.0, modelAssembly.getRhs()[r], 0 );
+		}
+		Assert.assertEquals( "row7", modelAssembly.getRowNames()[7] );
+		Assert.assertNull( modelAssembly.getRowNames()[8] );
+
+		modelAssembly.clear();
+		Assert.assertTrue( modelAssembly.isEmpty() );
+		Assert.assertEquals( 0, modelAssembly.getTermCount() );
+		Assert.assertNull( modelAssembly.getRowNames() );
+		Assert.assertEquals( 0, modelAssembly.addColumn( 0.0, 1.0, 0.0, VarType.CONTINUOUS, "x0" ) );
+		Assert.assertEquals( "x0", modelAssembly.getColumnNames()[0] );
+	}
+}
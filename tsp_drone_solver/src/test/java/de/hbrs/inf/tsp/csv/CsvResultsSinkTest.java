@@ -0,0 +1,61 @@
+package de.hbrs.inf.tsp.csv;
+
+import de.hbrs.inf.tsp.Defines;
+import de.hbrs.inf.tsp.TspModel;
+import de.hbrs.inf.tsp.json.JsonTspMapper;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+public class CsvResultsSinkTest{
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void appendTest() throws Exception{
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib_small/ulysses16.json" ) );
+		Assert.assertNotNull( tspModel );
+		tspModel.setBackendType( Defines.BackendType.BRANCH_AND_BOUND );
+		tspModel.grbOptimize();
+		String header = TspModelCsvResultsConverter.getCsvHeaderString( tspModel.getType() );
+		String row = TspModelCsvResultsConverter.getCsvResultString( tspModel );
+		Path csvFile = temporaryFolder.getRoot().toPath().resolve( tspModel.getType() + ".csv" );
+
+		CsvResultsSink csvResultsSink = new CsvResultsSink( temporaryFolder.getRoot().getPath(), 2, 0 );
+		csvResultsSink.append( tspModel );
+		//the first row is buffered until the second one is appended
+		Assert.assertEquals( 0, Files.size( csvFile ) );
+		csvResultsSink.append( tspModel );
+		assertLines( csvFile, header, row, row );
+		csvResultsSink.append( tspModel );
+		csvResultsSink.close();
+		assertLines( csvFile, header, row, row, row );
+
+		//a new sink appends to the existing file without a second header
+		csvResultsSink = new CsvResultsSink( temporaryFolder.getRoot().getPath(), 10, 0 );
+		csvResultsSink.append( tspModel );
+		csvResultsSink.close();
+		csvResultsSink.close();
+		assertLines( csvFile, header, row, row, row, row );
+	}
+
+	private void assertLines( Path csvFile, String... expectedLines ) throws Exception{
+		List<String> lines = Files.readAllLines( csvFile, StandardCharsets.UTF_8 );
+		Assert.assertArrayEquals( expectedLines, lines.toArray( new String[0] ) );
+	}
+}
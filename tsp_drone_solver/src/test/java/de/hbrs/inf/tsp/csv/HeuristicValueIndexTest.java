@@ -0,0 +1,65 @@
+package de.hbrs.inf.tsp.csv;
+
+import de.hbrs.inf.tsp.TspModel;
+import de.hbrs.inf.tsp.json.JsonTspMapper;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class HeuristicValueIndexTest{
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void getHeuristicValueTest() throws Exception{
+		File csvFile = temporaryFolder.newFile( "heuristicValues.csv" );
+		Files.write( csvFile.toPath(), Arrays.asList(
+						"Name;Type;Objective;TruckSpeed;DroneSpeed;DroneFleetSize;DroneFlightRangePercentage",
+						"gr48;tsp;5046;-;-;-;-",
+						"gr48;PDSTSP;504,9;10;20;4;0,4",
+						"gr48;PDSTSP;invalid;10;20;4;0,5",
+						"bayg29;FSTSP;1234.5;2;3;-;0.4",
+						"bayg29;FSTSP;1;2;3",
+						"" ), StandardCharsets.UTF_8 );
+
+		HeuristicValueIndex heuristicValueIndex = HeuristicValueIndex.load( csvFile.getPath() );
+		Assert.assertNotNull( heuristicValueIndex );
+		Assert.assertEquals( 3, heuristicValueIndex.size() );
+
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/gr48.json" ) );
+		Assert.assertEquals( 5046, heuristicValueIndex.getHeuristicValue( tspModel ), 0 );
+
+		tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/pdstsplib_small/gr48.json" ),
+						10, 20, 4, 40, true );
+		Assert.assertEquals( 504.9, heuristicValueIndex.getHeuristicValue( tspModel ), 0 );
+
+		tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/pdstsplib_small/gr48.json" ),
+						10, 20, 4, 50, true );
+		Assert.assertEquals( -1.0, heuristicValueIndex.getHeuristicValue( tspModel ), 0 );
+
+		tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/fstsplib_small/bayg29.json" ),
+						2, 3, 1, 40, true );
+		Assert.assertEquals( 1234.5, heuristicValueIndex.getHeuristicValue( tspModel ), 0 );
+	}
+
+	@Test
+	public void loadTest(){
+		Assert.assertNull( HeuristicValueIndex.load( "src/test/resources/missing.csv" ) );
+		Assert.assertNotNull( HeuristicValueIndex.load( "src/test/resources/test.csv" ) );
+	}
+}
@@ -0,0 +1,77 @@
+package de.hbrs.inf.tsp.graph;
+
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.BitSet;
+
+public class CandidateTruckEdgesTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void kNearestEdgesTest(){
+		//nodes on a line with distance |i - j|
+		int dimension = 6;
+		DistanceMatrix distances = new DistanceMatrix( dimension, true );
+		for( int i = 0; i < dimension; i++ ){
+			for( int j = i + 1; j < dimension; j++ ){
+				distances.set( i, j, j - i );
+			}
+		}
+		BitSet candidateEdges = CandidateTruckEdges.createKNearestEdges( distances, 1 );
+		//each node is connected to its nearest neighbour, ties are broken by the smaller index
+		Assert.assertEquals( dimension - 1, candidateEdges.cardinality() );
+		for( int i = 0; i < dimension - 1; i++ ){
+			Assert.assertTrue( candidateEdges.get( TruckEdgeSolution.getEdgeIndex( dimension, i, i + 1 ) ) );
+		}
+
+		candidateEdges = CandidateTruckEdges.createKNearestEdges( distances, dimension );
+		Assert.assertEquals( dimension * ( dimension - 1 ) / 2, candidateEdges.cardinality() );
+	}
+
+	@Test
+	public void alphaNearnessListsTest(){
+		//node 0 is far away from the nodes 1, 2 and 3 on a line
+		double[] positions = { 0, 10, 11, 12 };
+		DistanceMatrix distances = new DistanceMatrix( positions.length, true );
+		for( int i = 0; i < positions.length; i++ ){
+			for( int j = i + 1; j < positions.length; j++ ){
+				distances.set( i, j, (int)( positions[j] - positions[i] ) );
+			}
+		}
+		int[][] neighbourLists = CandidateTruckEdges.createAlphaNearnessLists( distances, 3 );
+		//the tree edges ( 1, 2 ) and ( 0, 1 ) have alpha 0, the edge ( 1, 3 ) is 1 longer than the longest edge on the tree path
+		Assert.assertArrayEquals( new int[] { 2, 0, 3 }, neighbourLists[1] );
+		Assert.assertArrayEquals( new int[] { 1, 2, 3 }, neighbourLists[0] );
+		Assert.assertArrayEquals( new int[] { 2, 1, 0 }, neighbourLists[3] );
+
+		neighbourLists = CandidateTruckEdges.createAlphaNearnessLists( distances, 1 );
+		Assert.assertArrayEquals( new int[] { 1 }, neighbourLists[0] );
+		Assert.assertArrayEquals( new int[] { 2 }, neighbourLists[1] );
+	}
+
+	@Test
+	public void quadrantNeighbourEdgesTest(){
+		//two clusters, node 0 has its nearest neighbours in the first quadrant and node 5 of the other cluster in the second quadrant
+		double[][] nodes = { { 0, 0 }, { 1, 1 }, { 1, 2 }, { 2, 1 }, { 2, 2 }, { -30, 5 }, { -31, 5 }, { -30, 6 }, { -31, 6 }, { -32, 5 } };
+		int dimension = nodes.length;
+		DistanceMatrix distances = DistanceCalculator.calculateEuclideanDistances( nodes, dimension );
+
+		BitSet kNearestEdges = CandidateTruckEdges.createKNearestEdges( distances, 4 );
+		Assert.assertFalse( kNearestEdges.get( TruckEdgeSolution.getEdgeIndex( dimension, 0, 5 ) ) );
+
+		BitSet quadrantEdges = CandidateTruckEdges.createQuadrantNeighbourEdges( nodes, distances, 4 );
+		Assert.assertTrue( quadrantEdges.get( TruckEdgeSolution.getEdgeIndex( dimension, 0, 5 ) ) );
+		Assert.assertTrue( quadrantEdges.get( TruckEdgeSolution.getEdgeIndex( dimension, 0, 1 ) ) );
+
+		//without coordinates the k nearest neighbours are used
+		Assert.assertEquals( kNearestEdges, CandidateTruckEdges.createQuadrantNeighbourEdges( null, distances, 4 ) );
+	}
+}
@@ -0,0 +1,74 @@
+package de.hbrs.inf.tsp.graph;
+
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class DistanceCalculatorTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void geoDistancesTest(){
+		//enough nodes for the parallel calculation, compared with the former calculation of both triangles
+		int dimension = 600;
+		double[][] nodeCoordinates = createNodeCoordinates( dimension, 90.0, 180.0 );
+		DistanceMatrix distances = DistanceCalculator.calculateGeoDistances( nodeCoordinates, dimension );
+
+		for( int i = 0; i < dimension; i++ ){
+			double latitudeI = toRadians( nodeCoordinates[i][0] );
+			double longitudeI = toRadians( nodeCoordinates[i][1] );
+			for( int j = 0; j < dimension; j++ ){
+				int expectedDistance = 0;
+				if( i != j ){
+					double latitudeJ = toRadians( nodeCoordinates[j][0] );
+					double longitudeJ = toRadians( nodeCoordinates[j][1] );
+					double q1 = Math.cos( longitudeI - longitudeJ );
+					double q2 = Math.cos( latitudeI - latitudeJ );
+					double q3 = Math.cos( latitudeI + latitudeJ );
+					expectedDistance = (int)( 6378.388 * Math.acos( 0.5 * ( ( 1.0 + q1 ) * q2 - ( 1.0 - q1 ) * q3 ) ) + 1.0 );
+				}
+				Assert.assertEquals( expectedDistance, distances.get( i, j ) );
+			}
+		}
+	}
+
+	@Test
+	public void euclideanDistancesTest(){
+		int dimension = 600;
+		double[][] nodeCoordinates = createNodeCoordinates( dimension, 10000.0, 10000.0 );
+		DistanceMatrix distances = DistanceCalculator.calculateEuclideanDistances( nodeCoordinates, dimension );
+
+		for( int i = 0; i < dimension; i++ ){
+			for( int j = 0; j < dimension; j++ ){
+				double deltaX = nodeCoordinates[i][0] - nodeCoordinates[j][0];
+				double deltaY = nodeCoordinates[i][1] - nodeCoordinates[j][1];
+				int expectedDistance = i == j ? 0 : (int)( Math.sqrt( deltaX * deltaX + deltaY * deltaY ) + 0.5 );
+				Assert.assertEquals( expectedDistance, distances.get( i, j ) );
+			}
+		}
+	}
+
+	private double[][] createNodeCoordinates( int dimension, double maxX, double maxY ){
+		Random random = new Random( 42 );
+		double[][] nodeCoordinates = new double[dimension][2];
+		for( int i = 0; i < dimension; i++ ){
+			nodeCoordinates[i][0] = ( random.nextDouble() * 2.0 - 1.0 ) * maxX;
+			nodeCoordinates[i][1] = ( random.nextDouble() * 2.0 - 1.0 ) * maxY;
+		}
+		return nodeCoordinates;
+	}
+
+	private double toRadians( double coordinate ){
+		int degrees = (int)coordinate;
+		double minutes = coordinate - degrees;
+		return Math.PI * ( degrees + 5.0 * minutes / 3.0 ) / 180.0;
+	}
+}
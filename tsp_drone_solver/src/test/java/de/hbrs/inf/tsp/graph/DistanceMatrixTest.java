@@ -0,0 +1,56 @@
+package de.hbrs.inf.tsp.graph;
+
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DistanceMatrixTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void symmetricDistanceMatrixTest(){
+		int dimension = 7;
+		int[][] distances = new int[dimension][dimension];
+		for( int i = 0; i < dimension; i++ ){
+			for( int j = 0; j < dimension; j++ ){
+				distances[i][j] = i == j ? 0 : 10 * ( i + j ) + Math.abs( i - j );
+			}
+		}
+		DistanceMatrix distanceMatrix = DistanceMatrix.fromArray( distances );
+		Assert.assertTrue( distanceMatrix.isSymmetric() );
+		Assert.assertArrayEquals( distances, distanceMatrix.toArray() );
+
+		//views share the values and calculate the times like the former copies
+		DistanceMatrix scaledDistances = distanceMatrix.scale( 100 );
+		DistanceMatrix droneTimes = scaledDistances.toTravelTimes( 3.0 );
+		for( int i = 0; i < dimension; i++ ){
+			for( int j = 0; j < dimension; j++ ){
+				Assert.assertEquals( distances[i][j] * 100, scaledDistances.get( i, j ) );
+				Assert.assertEquals( (int)( ( distances[i][j] * 100 / 3.0 ) + 0.5d ), droneTimes.get( i, j ) );
+			}
+		}
+
+		//setting ( i, j ) of a symmetric matrix sets ( j, i ) as well
+		distanceMatrix.set( 5, 2, 1 );
+		Assert.assertEquals( 1, distanceMatrix.get( 2, 5 ) );
+		Assert.assertEquals( 100, scaledDistances.get( 2, 5 ) );
+	}
+
+	@Test
+	public void asymmetricDistanceMatrixTest(){
+		int[][] distances = { { 0, 1, 2 }, { 3, 0, 4 }, { 5, 6, 0 } };
+		DistanceMatrix distanceMatrix = DistanceMatrix.fromArray( distances );
+		Assert.assertFalse( distanceMatrix.isSymmetric() );
+		Assert.assertArrayEquals( distances, distanceMatrix.toArray() );
+
+		//the undirected distance is the one of the upper triangle in both directions
+		Assert.assertEquals( 4, distanceMatrix.getUndirected( 1, 2 ) );
+		Assert.assertEquals( 4, distanceMatrix.getUndirected( 2, 1 ) );
+	}
+}
@@ -0,0 +1,55 @@
+package de.hbrs.inf.tsp.graph;
+
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class MinCutSeparatorTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void findViolatedSubtourSetsInFractionalSolutionTest(){
+		//two triangles 0-1-2 and 3-4-5 which are only connected by fractional edges, so the support graph is connected
+		int[][] edges = TruckEdgeSolution.createCompleteGraphEdges( 6 );
+		double[] edgeValues = new double[edges[0].length];
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 6, 0, 1 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 6, 1, 2 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 6, 0, 2 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 6, 3, 4 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 6, 4, 5 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 6, 3, 5 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 6, 2, 3 )] = 0.25;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 6, 0, 5 )] = 0.25;
+
+		MinCutSeparator minCutSeparator = new MinCutSeparator( 6, 0, 1e-3 );
+		ArrayList<ArrayList<Integer>> violatedSets = minCutSeparator.findViolatedSubtourSets( edges[0], edges[1], edgeValues );
+
+		Assert.assertEquals( 1, violatedSets.size() );
+		Assert.assertEquals( new ArrayList<>( Arrays.asList( 3, 4, 5 ) ), violatedSets.get( 0 ) );
+	}
+
+	@Test
+	public void findNoViolatedSubtourSetsInTourTest(){
+		int[][] edges = TruckEdgeSolution.createCompleteGraphEdges( 5 );
+		double[] edgeValues = new double[edges[0].length];
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 5, 0, 2 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 5, 2, 4 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 5, 4, 1 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 5, 1, 3 )] = 1.0;
+		edgeValues[TruckEdgeSolution.getEdgeIndex( 5, 3, 0 )] = 1.0;
+
+		MinCutSeparator minCutSeparator = new MinCutSeparator( 5, 0, 1e-3 );
+		ArrayList<ArrayList<Integer>> violatedSets = minCutSeparator.findViolatedSubtourSets( edges[0], edges[1], edgeValues );
+
+		Assert.assertEquals( 0, violatedSets.size() );
+	}
+}
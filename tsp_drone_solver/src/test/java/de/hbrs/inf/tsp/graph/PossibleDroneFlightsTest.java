@@ -0,0 +1,44 @@
+package de.hbrs.inf.tsp.graph;
+
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PossibleDroneFlightsTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void possibleDroneFlightsTest(){
+		//nodes on a line with distance 1 between neighbours, customers 2 and 3 can be served by drones
+		int dimension = 5;
+		DistanceMatrix droneTimes = new DistanceMatrix( dimension, true );
+		for( int i = 0; i < dimension; i++ ){
+			for( int j = i; j < dimension; j++ ){
+				droneTimes.set( i, j, j - i );
+			}
+		}
+		PossibleDroneFlights possibleDroneFlights = new PossibleDroneFlights( dimension, new int[]{ 3, 2 }, droneTimes, 2.0 );
+
+		//customer 2: ({ 1, 3 }, 2), customer 3: ({ 2, 4 }, 3)
+		Assert.assertEquals( 2, possibleDroneFlights.size() );
+		Assert.assertEquals( 0, possibleDroneFlights.indexOf( 3, 1, 2 ) );
+		Assert.assertEquals( 1, possibleDroneFlights.indexOf( 2, 4, 3 ) );
+		Assert.assertFalse( possibleDroneFlights.contains( 0, 4, 2 ) );
+		Assert.assertFalse( possibleDroneFlights.contains( 1, 3, 1 ) );
+
+		Assert.assertTrue( possibleDroneFlights.hasDroneFlights( 3, 1 ) );
+		Assert.assertFalse( possibleDroneFlights.hasDroneFlights( 0, 1 ) );
+
+		Assert.assertEquals( 0, possibleDroneFlights.getCustomerFlightsEnd( 1 ) - possibleDroneFlights.getCustomerFlightsBegin( 1 ) );
+		Assert.assertEquals( 1, possibleDroneFlights.getNodeFlightsEnd( 3 ) - possibleDroneFlights.getNodeFlightsBegin( 3 ) );
+		Assert.assertEquals( 0, possibleDroneFlights.getNodeFlightsEnd( 0 ) - possibleDroneFlights.getNodeFlightsBegin( 0 ) );
+		Assert.assertEquals( 1, possibleDroneFlights.getNodeFlightsEnd( 4 ) - possibleDroneFlights.getNodeFlightsBegin( 4 ) );
+		Assert.assertEquals( 1, possibleDroneFlights.getNodeFlight( possibleDroneFlights.getNodeFlightsBegin( 4 ) ) );
+	}
+}
@@ -0,0 +1,53 @@
+package de.hbrs.inf.tsp.graph;
+
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+public class SubtourFinderTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void findSubtoursTest(){
+		//two subtours 0-3-5 and 1-2-4, vertex 6 is not part of the solution
+		double[][] edgeVars = new double[7][7];
+		addEdge( edgeVars, 0, 3 );
+		addEdge( edgeVars, 3, 5 );
+		addEdge( edgeVars, 5, 0 );
+		addEdge( edgeVars, 1, 2 );
+		addEdge( edgeVars, 2, 4 );
+		addEdge( edgeVars, 4, 1 );
+
+		ArrayList<ArrayList<Integer>> subtours = SubtourFinder.findSubtours( edgeVars );
+		Assert.assertEquals( 2, subtours.size() );
+		Assert.assertEquals( Arrays.asList( 0, 5, 3 ), subtours.get( 0 ) );
+		Assert.assertEquals( Arrays.asList( 1, 4, 2 ), subtours.get( 1 ) );
+	}
+
+	@Test
+	public void findSubtoursVisitingOrderTest(){
+		double[][] edgeVars = new double[6][6];
+		int[] tour = { 0, 2, 5, 1, 4, 3 };
+		for( int i = 0; i < tour.length; i++ ){
+			addEdge( edgeVars, tour[i], tour[( i + 1 ) % tour.length] );
+		}
+
+		ArrayList<ArrayList<Integer>> subtours = SubtourFinder.findSubtours( edgeVars );
+		Assert.assertEquals( 1, subtours.size() );
+		Assert.assertEquals( Arrays.asList( 0, 3, 4, 1, 5, 2 ), subtours.get( 0 ) );
+	}
+
+	private void addEdge( double[][] edgeVars, int i, int j ){
+		edgeVars[i][j] = 1.0;
+		edgeVars[j][i] = 1.0;
+	}
+}
@@ -0,0 +1,102 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.Defines;
+import de.hbrs.inf.tsp.Fstsp;
+import de.hbrs.inf.tsp.Pdstsp;
+import de.hbrs.inf.tsp.TspModel;
+import de.hbrs.inf.tsp.json.JsonTspMapper;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class FstspAlnsTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void solveTest(){
+		//optimal objective of the test instance
+		assertSolution( "../resources/test/fstsp_test2.json", -1, false, 2417500 );
+		assertSolution( "../resources/test/fstsp_test.json", -1, false, -1 );
+		//all customers can be served by the drone within the given percentage of the maximum distance from the depot
+		assertSolution( "../resources/fstsplib_small/bayg29.json", 50, true, -1 );
+		assertSolution( "../resources/pdstsplib/a280.json", 20, true, -1 );
+	}
+
+	private void assertSolution( String jsonFile, int droneFlightRangePercentage, boolean allCustomers, long optimalObjective ){
+		Fstsp fstsp = createFstsp( jsonFile, droneFlightRangePercentage, allCustomers );
+		HeuristicTour heuristicTour = new LocalSearchTsp( fstsp.getTruckTimes() ).solve( 8, 42 );
+		FstspHeuristic.Solution startSolution = new FstspHeuristic( fstsp.getTruckTimes(), fstsp.getDroneTimes(), fstsp.getDroneFlightTime(),
+						fstsp.getPossibleDroneFlights() ).solve( heuristicTour.getTour() );
+		FstspHeuristic.Solution solution = new FstspAlns( fstsp.getTruckTimes(), fstsp.getDroneTimes(), fstsp.getDroneFlightTime(),
+						fstsp.getPossibleDroneFlights() ).solve( startSolution, 2, 42, 1.0 );
+
+		//each node is served exactly once by the truck or the drone
+		int dimension = fstsp.getDimension();
+		int[] servedCounts = new int[dimension];
+		ArrayList<Integer> truckTour = solution.getTruckTour();
+		Assert.assertEquals( 0, (int)truckTour.get( 0 ) );
+		Assert.assertTrue( truckTour.size() >= 3 );
+		long[] prefixTimes = new long[truckTour.size()];
+		long objective = 0;
+		for( int k = 0; k < truckTour.size(); k++ ){
+			int i = truckTour.get( k );
+			int j = truckTour.get( ( k + 1 ) % truckTour.size() );
+			objective += fstsp.getTruckTimes().get( Math.min( i, j ), Math.max( i, j ) );
+			if( k + 1 < truckTour.size() ){
+				prefixTimes[k + 1] = objective;
+			}
+			servedCounts[i]++;
+		}
+
+		//the drone flights are feasible and do not overlap on the truck tour
+		int lastEnd = 0;
+		for( int f = 0; f < solution.getDroneFlights().size(); f++ ){
+			Integer[] droneFlight = solution.getDroneFlights().get( f );
+			int i = Math.min( droneFlight[0], droneFlight[1] );
+			int j = Math.max( droneFlight[0], droneFlight[1] );
+			int customer = droneFlight[2];
+			Assert.assertTrue( fstsp.getPossibleDroneFlights().contains( i, j, customer ) );
+			int start = truckTour.indexOf( droneFlight[0] );
+			int end = truckTour.indexOf( droneFlight[1] );
+			Assert.assertTrue( start >= lastEnd && end > start );
+			lastEnd = end;
+			long truckTime = prefixTimes[end] - prefixTimes[start];
+			long flightTime = fstsp.getDroneTimes().get( i, customer ) + fstsp.getDroneTimes().get( customer, j );
+			Assert.assertTrue( truckTime <= fstsp.getDroneFlightTime() && flightTime <= fstsp.getDroneFlightTime() );
+			Assert.assertEquals( Math.max( 0, flightTime - truckTime ), solution.getWaitTimes()[f] );
+			objective += solution.getWaitTimes()[f];
+			servedCounts[customer]++;
+		}
+		for( int i = 0; i < dimension; i++ ){
+			Assert.assertEquals( 1, servedCounts[i] );
+		}
+		Assert.assertEquals( objective, solution.getObjective() );
+
+		//the alns does not accept a worse best solution than the start solution
+		Assert.assertTrue( solution.getObjective() <= startSolution.getObjective() );
+		if( optimalObjective > 0 ){
+			Assert.assertEquals( optimalObjective, solution.getObjective() );
+		}
+	}
+
+	private Fstsp createFstsp( String jsonFile, int droneFlightRangePercentage, boolean allCustomers ){
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( jsonFile ), -1, -1, -1,
+						droneFlightRangePercentage, allCustomers );
+		assert tspModel != null;
+		if( tspModel instanceof Fstsp ){
+			return (Fstsp)tspModel;
+		}
+		//larger instances only exist for the PDSTSP, so their drone parameters are used for an FSTSP
+		Pdstsp pdstsp = (Pdstsp)tspModel;
+		return new Fstsp( pdstsp.getName(), "", Defines.FSTSP, pdstsp.getDimension(), pdstsp.getNodes(), pdstsp.getDistances(), pdstsp.getTruckSpeed(),
+						pdstsp.getTruckTimes(), pdstsp.getDroneSpeed(), pdstsp.getDroneFlightTime(), pdstsp.getDroneTimes(), pdstsp.getDroneDeliveryPossible() );
+	}
+}
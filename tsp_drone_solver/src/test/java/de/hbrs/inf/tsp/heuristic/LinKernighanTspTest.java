@@ -0,0 +1,74 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.TspModel;
+import de.hbrs.inf.tsp.json.JsonTspMapper;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class LinKernighanTspTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void solveTest(){
+		//optimal tour lengths of the TSPLIB (the distances are scaled by 100)
+		assertTour( "../resources/tsplib/wi29.json", 2760300, 1.0 );
+		assertTour( "../resources/tsplib/a280.json", 257900, 1.02 );
+		assertTour( "../resources/tsplib/gr666.json", 29435800, 1.02 );
+	}
+
+	@Test
+	public void improveTourTest(){
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/a280.json" ) );
+		assert tspModel != null;
+		LinKernighanTsp linKernighanTsp = new LinKernighanTsp( tspModel.getDistances() );
+
+		//reversed order of the nodes as bad incumbent, which is not changed by the improvement
+		int[] tour = new int[tspModel.getDimension()];
+		for( int i = 0; i < tour.length; i++ ){
+			tour[i] = ( tour.length - i ) % tour.length;
+		}
+		int[] incumbent = tour.clone();
+		HeuristicTour heuristicTour = linKernighanTsp.improveTour( tour, 42, 0.2 );
+		Assert.assertArrayEquals( incumbent, tour );
+		assertValidTour( linKernighanTsp, heuristicTour );
+		Assert.assertTrue( heuristicTour.getLength() < linKernighanTsp.calculateLength( tour ) );
+		Assert.assertTrue( heuristicTour.getLength() <= 1.05 * 257900 );
+	}
+
+	private void assertTour( String jsonFile, long optimalLength, double maxRatio ){
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( jsonFile ) );
+		assert tspModel != null;
+		LinKernighanTsp linKernighanTsp = new LinKernighanTsp( tspModel.getDistances() );
+
+		//without time for restarts
+		HeuristicTour heuristicTour = linKernighanTsp.solve( 4, 42 );
+		assertValidTour( linKernighanTsp, heuristicTour );
+		Assert.assertTrue( heuristicTour.getLength() <= 1.05 * optimalLength );
+
+		HeuristicTour restartedTour = linKernighanTsp.solve( 4, 42, 1.0 );
+		assertValidTour( linKernighanTsp, restartedTour );
+		Assert.assertTrue( restartedTour.getLength() >= optimalLength );
+		Assert.assertTrue( restartedTour.getLength() <= maxRatio * optimalLength );
+		Assert.assertTrue( restartedTour.getLength() <= heuristicTour.getLength() );
+	}
+
+	private void assertValidTour( LinKernighanTsp linKernighanTsp, HeuristicTour heuristicTour ){
+		int[] tour = heuristicTour.getTourArray();
+		Assert.assertEquals( 0, tour[0] );
+		int[] sortedTour = tour.clone();
+		Arrays.sort( sortedTour );
+		for( int i = 0; i < sortedTour.length; i++ ){
+			Assert.assertEquals( i, sortedTour[i] );
+		}
+		Assert.assertEquals( linKernighanTsp.calculateLength( tour ), heuristicTour.getLength() );
+	}
+}
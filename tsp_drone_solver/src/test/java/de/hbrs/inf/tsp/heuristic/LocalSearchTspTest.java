@@ -0,0 +1,48 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.TspModel;
+import de.hbrs.inf.tsp.json.JsonTspMapper;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class LocalSearchTspTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void solveTest(){
+		//optimal tour lengths of the TSPLIB (the distances are scaled by 100)
+		assertTour( "../resources/tsplib/wi29.json", 2760300 );
+		assertTour( "../resources/tsplib/a280.json", 257900 );
+		assertTour( "../resources/tsplib/gr666.json", 29435800 );
+	}
+
+	private void assertTour( String jsonFile, long optimalLength ){
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( jsonFile ) );
+		assert tspModel != null;
+		LocalSearchTsp localSearchTsp = new LocalSearchTsp( tspModel.getDistances() );
+		HeuristicTour heuristicTour = localSearchTsp.solve( 8, 42 );
+
+		int[] tour = heuristicTour.getTourArray();
+		Assert.assertEquals( 0, tour[0] );
+		int[] sortedTour = tour.clone();
+		Arrays.sort( sortedTour );
+		for( int i = 0; i < sortedTour.length; i++ ){
+			Assert.assertEquals( i, sortedTour[i] );
+		}
+		Assert.assertEquals( localSearchTsp.calculateLength( tour ), heuristicTour.getLength() );
+		Assert.assertTrue( heuristicTour.getLength() >= optimalLength );
+		Assert.assertTrue( heuristicTour.getLength() <= 1.08 * optimalLength );
+
+		//the result does not depend on the number of threads
+		Assert.assertEquals( heuristicTour.getLength(), localSearchTsp.solve( 8, 42 ).getLength() );
+	}
+}
@@ -0,0 +1,74 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.Pdstsp;
+import de.hbrs.inf.tsp.json.JsonTspMapper;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+
+public class PdstspAlnsTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void solveTest(){
+		//optimal makespan of the test instance
+		assertSolution( "../resources/test/pdstsp_test.json", -1, 193800 );
+		//the drones reach the customers within half of the maximum distance from the depot
+		assertSolution( "../resources/pdstsplib/a280.json", 50, -1 );
+		assertSolution( "../resources/pdstsplib/gr666.json", 50, -1 );
+	}
+
+	private void assertSolution( String jsonFile, int droneFlightRangePercentage, long optimalMakespan ){
+		Pdstsp pdstsp = (Pdstsp)JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( jsonFile ), -1, -1, -1,
+						droneFlightRangePercentage, false );
+		assert pdstsp != null;
+		HeuristicTour heuristicTour = new LocalSearchTsp( pdstsp.getDistances() ).solve( 8, 42 );
+		PdstspHeuristic.Solution startSolution = new PdstspHeuristic( pdstsp.getTruckTimes(), pdstsp.getDroneTimes(), pdstsp.getDroneFleetSize(),
+						pdstsp.getDroneDeliveryPossibleAndInFlightRange() ).solve( heuristicTour.getTour() );
+		PdstspHeuristic.Solution solution = new PdstspAlns( pdstsp.getTruckTimes(), pdstsp.getDroneTimes(), pdstsp.getDroneFleetSize(),
+						pdstsp.getDroneDeliveryPossibleAndInFlightRange() ).solve( startSolution, 2, 42, 1.0 );
+
+		//each node is served exactly once, the drone customers are in flight range
+		int dimension = pdstsp.getDimension();
+		int[] servedCounts = new int[dimension];
+		ArrayList<Integer> truckTour = solution.getTruckTour();
+		Assert.assertEquals( 0, (int)truckTour.get( 0 ) );
+		Assert.assertTrue( truckTour.size() >= 3 );
+		long truckTime = 0;
+		for( int k = 0; k < truckTour.size(); k++ ){
+			int i = truckTour.get( k );
+			int j = truckTour.get( ( k + 1 ) % truckTour.size() );
+			truckTime += pdstsp.getTruckTimes().get( Math.min( i, j ), Math.max( i, j ) );
+			servedCounts[i]++;
+		}
+		long maxDroneTime = 0;
+		Assert.assertEquals( pdstsp.getDroneFleetSize(), solution.getDroneCustomers().size() );
+		for( ArrayList<Integer> droneCustomers : solution.getDroneCustomers() ){
+			long droneTime = 0;
+			for( int i : droneCustomers ){
+				Assert.assertTrue( pdstsp.getDroneDeliveryPossibleAndInFlightRange().contains( i ) );
+				droneTime += pdstsp.getDroneTimes().get( 0, i ) + pdstsp.getDroneTimes().get( i, 0 );
+				servedCounts[i]++;
+			}
+			maxDroneTime = Math.max( maxDroneTime, droneTime );
+		}
+		for( int i = 0; i < dimension; i++ ){
+			Assert.assertEquals( 1, servedCounts[i] );
+		}
+		Assert.assertEquals( Math.max( truckTime, maxDroneTime ), solution.getMakespan() );
+
+		//the alns does not accept a worse best solution than the start solution
+		Assert.assertTrue( solution.getMakespan() <= startSolution.getMakespan() );
+		if( optimalMakespan > 0 ){
+			Assert.assertEquals( optimalMakespan, solution.getMakespan() );
+		}
+	}
+}
@@ -0,0 +1,59 @@
+package de.hbrs.inf.tsp.heuristic;
+
+import de.hbrs.inf.tsp.TspModel;
+import de.hbrs.inf.tsp.json.JsonTspMapper;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+
+public class SubtourRepairTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void repairTest(){
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib/wi29.json" ) );
+		assert tspModel != null;
+		int dimension = tspModel.getDimension();
+
+		//the nodes are split into subtours in the order of their numbers, the depot is not at the first position of its subtour
+		ArrayList<ArrayList<Integer>> subtours = new ArrayList<>();
+		for( int first = 0; first < dimension; first += 7 ){
+			ArrayList<Integer> subtour = new ArrayList<>();
+			for( int i = first; i < Math.min( first + 7, dimension ); i++ ){
+				subtour.add( i );
+			}
+			subtours.add( subtour );
+		}
+		Collections.rotate( subtours.get( 0 ), 3 );
+
+		SubtourRepair subtourRepair = new SubtourRepair( tspModel.getDistances() );
+		ArrayList<Integer> tour = subtourRepair.repair( subtours );
+		Assert.assertEquals( 0, (int)tour.get( 0 ) );
+		ArrayList<Integer> sortedTour = new ArrayList<>( tour );
+		Collections.sort( sortedTour );
+		for( int i = 0; i < dimension; i++ ){
+			Assert.assertEquals( i, (int)sortedTour.get( i ) );
+		}
+
+		//optimal tour length of wi29 (the distances are scaled by 100)
+		long length = subtourRepair.calculateLength( tour );
+		Assert.assertTrue( length >= 2760300 );
+
+		//the cheapest insertion of a node into a tour without it does not increase the length of the repaired tour more than any other position
+		int node = tour.remove( tour.size() - 1 );
+		long lengthWithoutNode = subtourRepair.calculateLength( tour );
+		subtourRepair.insertCheapest( tour, node );
+		Assert.assertEquals( dimension, tour.size() );
+		Assert.assertEquals( 0, (int)tour.get( 0 ) );
+		Assert.assertTrue( subtourRepair.calculateLength( tour ) - lengthWithoutNode <= length - lengthWithoutNode );
+	}
+}
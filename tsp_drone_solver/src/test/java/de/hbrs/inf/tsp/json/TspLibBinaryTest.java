@@ -0,0 +1,51 @@
+package de.hbrs.inf.tsp.json;
+
+import com.google.gson.Gson;
+import de.hbrs.inf.tsp.TspModel;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+
+public class TspLibBinaryTest{
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void writeAndReadTest() throws Exception{
+		//the models of the binary files have to be the same as the ones of the json files
+		assertSameModel( "../resources/tsplib/gr48.json", TspLibJson.class );
+		assertSameModel( "../resources/tsplib_small/eil51.json", TspLibJson.class );
+		assertSameModel( "../resources/test/pdstsp_test.json", PdstspLibJson.class );
+		assertSameModel( "../resources/pdstsplib_small/gr48.json", PdstspLibJson.class );
+		assertSameModel( "../resources/test/fstsp_test2.json", FstspLibJson.class );
+	}
+
+	private void assertSameModel( String fileName, Class<? extends TspLibJson> expectedClass ) throws Exception{
+		TspLibJson tspLibJson = JsonTspMapper.getJsonObjectFromJson( fileName );
+		Assert.assertNotNull( tspLibJson );
+		File binaryFile = new File( temporaryFolder.getRoot(), tspLibJson.getName() + TspLibBinary.FILE_EXTENSION );
+		Assert.assertTrue( TspLibBinary.write( tspLibJson, JsonTspMapper.getDistances( tspLibJson ), binaryFile.getPath() ) );
+
+		TspLibJson binaryTspLibJson = JsonTspMapper.getJsonObjectFromJson( binaryFile.getPath() );
+		Assert.assertNotNull( binaryTspLibJson );
+		Assert.assertEquals( expectedClass, binaryTspLibJson.getClass() );
+		Assert.assertNotNull( binaryTspLibJson.getDistances() );
+
+		Gson gson = new Gson();
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( tspLibJson, 2.0, 3.0, 2, 40, true );
+		TspModel binaryTspModel = JsonTspMapper.getTspModelFromJsonObject( binaryTspLibJson, 2.0, 3.0, 2, 40, true );
+		Assert.assertEquals( gson.toJson( tspModel ), gson.toJson( binaryTspModel ) );
+	}
+}
@@ -0,0 +1,47 @@
+package de.hbrs.inf.tsp.json;
+
+import com.google.gson.Gson;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+
+public class TspLibJsonReaderTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void readTest() throws IOException{
+		//the streaming reader has to create the same objects as gson with the type specific classes
+		assertSameAsGson( "../resources/tsplib/gr48.json", TspLibJson.class );
+		assertSameAsGson( "../resources/tsplib/wi29.json", TspLibJson.class );
+		assertSameAsGson( "../resources/tsplib_small/ulysses16.json", TspLibJson.class );
+		assertSameAsGson( "../resources/test/pdstsp_test.json", PdstspLibJson.class );
+		assertSameAsGson( "../resources/pdstsplib_small/gr48.json", PdstspLibJson.class );
+		assertSameAsGson( "../resources/test/fstsp_test2.json", FstspLibJson.class );
+		assertSameAsGson( "../resources/fstsplib_small/bayg29.json", FstspLibJson.class );
+	}
+
+	private void assertSameAsGson( String fileName, Class<? extends TspLibJson> expectedClass ) throws IOException{
+		Gson gson = new Gson();
+		TspLibJson expected;
+		try( Reader reader = new FileReader( fileName ) ){
+			expected = gson.fromJson( reader, expectedClass );
+		}
+		TspLibJson actual;
+		try( Reader reader = new FileReader( fileName ) ){
+			actual = TspLibJsonReader.read( reader );
+		}
+		Assert.assertNotNull( actual );
+		Assert.assertEquals( expectedClass, actual.getClass() );
+		Assert.assertEquals( gson.toJson( expected ), gson.toJson( actual ) );
+	}
+}
@@ -0,0 +1,80 @@
+package de.hbrs.inf.tsp.json;
+
+import com.google.gson.Gson;
+import de.hbrs.inf.tsp.Fstsp;
+import de.hbrs.inf.tsp.Pdstsp;
+import de.hbrs.inf.tsp.Tsp;
+import de.hbrs.inf.tsp.TspModel;
+import de.hbrs.inf.tsp.solver.Configuration;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+public class TspModelJsonResultsWriterTest{
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void writePdstspTest() throws Exception{
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/test/pdstsp_test.json" ),
+						2.0, 3.0, 2, 40, true );
+		for( boolean isCompact : new boolean[] { false, true } ){
+			Pdstsp pdstsp = (Pdstsp)writeAndRead( tspModel, isCompact );
+			//the travel times can be derived from the distances and are not written
+			Assert.assertNull( pdstsp.getTruckTimes() );
+			Assert.assertNull( pdstsp.getDroneTimes() );
+			Assert.assertEquals( tspModel.getName(), pdstsp.getName() );
+			//the distances of the GEO instance can be calculated from the nodes and are not written
+			Assert.assertNull( pdstsp.getDistances() );
+			pdstsp.calculateDistancesIfMissing();
+			Assert.assertArrayEquals( tspModel.getDistances().toArray(), pdstsp.getDistances().toArray() );
+			Assert.assertArrayEquals( ( (Pdstsp)tspModel ).getDroneDeliveryPossible(), pdstsp.getDroneDeliveryPossible() );
+		}
+	}
+
+	@Test
+	public void writeFstspTest() throws Exception{
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/test/fstsp_test2.json" ),
+						2.0, 3.0, 2, 40, true );
+		Fstsp fstsp = (Fstsp)writeAndRead( tspModel, true );
+		Assert.assertNull( fstsp.getPossibleDroneFlights() );
+		Assert.assertNull( fstsp.getTruckTimes() );
+		Assert.assertNull( fstsp.getDistances() );
+		fstsp.calculateDistancesIfMissing();
+		Assert.assertArrayEquals( tspModel.getDistances().toArray(), fstsp.getDistances().toArray() );
+		Assert.assertArrayEquals( ( (Fstsp)tspModel ).getDroneDeliveryPossible(), fstsp.getDroneDeliveryPossible() );
+	}
+
+	@Test
+	public void writeExplicitTspTest() throws Exception{
+		//the nodes of explicit instances are only display data, so the distances are written
+		TspModel tspModel = JsonTspMapper.getTspModelFromJsonObject( JsonTspMapper.getJsonObjectFromJson( "../resources/tsplib_small/bayg29.json" ) );
+		Assert.assertFalse( tspModel.isDistancesDerivable() );
+		Tsp tsp = (Tsp)writeAndRead( tspModel, true );
+		Assert.assertArrayEquals( tspModel.getDistances().toArray(), tsp.getDistances().toArray() );
+	}
+
+	private TspModel writeAndRead( TspModel tspModel, boolean isCompact ) throws Exception{
+		File resultsFile = temporaryFolder.newFile();
+		TspModelJsonResultsWriter.write( tspModel, resultsFile.toPath(), isCompact );
+		byte[] content = Files.readAllBytes( resultsFile.toPath() );
+		Assert.assertEquals( !isCompact, new String( content, StandardCharsets.UTF_8 ).contains( "\n" ) );
+		try( Reader reader = Files.newBufferedReader( resultsFile.toPath(), StandardCharsets.UTF_8 ) ){
+			return new Gson().fromJson( reader, tspModel.getClass() );
+		}
+	}
+}
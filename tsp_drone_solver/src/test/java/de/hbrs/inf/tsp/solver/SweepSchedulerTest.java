@@ -0,0 +1,110 @@
+package de.hbrs.inf.tsp.solver;
+
+import de.hbrs.inf.tsp.Defines;
+import de.hbrs.inf.tsp.Tsp;
+import de.hbrs.inf.tsp.TspModel;
+import de.hbrs.inf.tsp.TspModelResult;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SweepSchedulerTest{
+
+	@Before
+	public void setUp() {
+		Configuration.setLogLevel( "DEBUG" );
+		Configuration.setSystemProperties();
+	}
+
+	@Test
+	public void threadCountPerJobTest() throws Exception{
+		//the core budget is divided between the parallel jobs, but each job gets at least one thread
+		Assert.assertEquals( 2, new SweepScheduler( 3, 8, 0 ).getThreadCountPerJob() );
+		Assert.assertEquals( 1, new SweepScheduler( 4, 2, 0 ).getThreadCountPerJob() );
+		//without core budget each job uses the given thread count
+		SweepScheduler sweepScheduler = new SweepScheduler( 2, 0, 3 );
+		Assert.assertEquals( 3, sweepScheduler.getThreadCountPerJob() );
+
+		TspModel tspModel = createTspModel( "job", null );
+		sweepScheduler.submit( tspModel, model -> {
+		} );
+		sweepScheduler.shutdown();
+		Assert.assertEquals( 3, tspModel.getThreadCount() );
+	}
+
+	@Test
+	public void pendingJobsTest() throws Exception{
+		//with one parallel job, one job is solved and one waits, so the third submit blocks until the first job is finished
+		SweepScheduler sweepScheduler = new SweepScheduler( 1, 0, 1 );
+		CountDownLatch optimizationLatch = new CountDownLatch( 1 );
+		AtomicInteger submittedCounter = new AtomicInteger();
+		Thread submitter = new Thread( () -> {
+			try{
+				for( int i = 0; i < 3; i++ ){
+					sweepScheduler.submit( createTspModel( "job" + i, optimizationLatch ), model -> {
+					} );
+					submittedCounter.incrementAndGet();
+				}
+			} catch( InterruptedException e ){
+				Thread.currentThread().interrupt();
+			}
+		} );
+		submitter.start();
+
+		submitter.join( 500 );
+		Assert.assertTrue( submitter.isAlive() );
+		Assert.assertEquals( 2, submittedCounter.get() );
+
+		optimizationLatch.countDown();
+		submitter.join();
+		Assert.assertEquals( 3, submittedCounter.get() );
+		sweepScheduler.shutdown();
+	}
+
+	@Test
+	public void writeResultsTest() throws Exception{
+		//each result is written exactly once and all results are written by the same thread before shutdown returns
+		int jobCount = 20;
+		SweepScheduler sweepScheduler = new SweepScheduler( 4, 0, 1 );
+		Map<String, AtomicInteger> writeCounters = new ConcurrentHashMap<>();
+		Set<Thread> writerThreads = Collections.newSetFromMap( new ConcurrentHashMap<>() );
+		for( int i = 0; i < jobCount; i++ ){
+			sweepScheduler.submit( createTspModel( "job" + i, null ), model -> {
+				writerThreads.add( Thread.currentThread() );
+				writeCounters.computeIfAbsent( model.getName(), name -> new AtomicInteger() ).incrementAndGet();
+			} );
+		}
+		sweepScheduler.shutdown();
+
+		Assert.assertEquals( jobCount, writeCounters.size() );
+		for( AtomicInteger writeCounter : writeCounters.values() ){
+			Assert.assertEquals( 1, writeCounter.get() );
+		}
+		Assert.assertEquals( 1, writerThreads.size() );
+		Assert.assertFalse( writerThreads.contains( Thread.currentThread() ) );
+	}
+
+	//the optimization of the model only waits for the latch, so the tests do not depend on the solver
+	private static TspModel createTspModel( String name, CountDownLatch optimizationLatch ){
+		return new Tsp( name, "", Defines.TSP, 0, new double[0][], null ){
+			@Override
+			public TspModelResult grbOptimize(){
+				if( optimizationLatch != null ){
+					try{
+						optimizationLatch.await();
+					} catch( InterruptedException e ){
+						Thread.currentThread().interrupt();
+					}
+				}
+				return getResult();
+			}
+		};
+	}
+}